@@ -6,16 +6,29 @@
  */
 package org.mule.runtime.core.context.notification;
 
+import org.mule.runtime.core.api.context.WorkManager;
+import org.mule.runtime.core.api.context.notification.ServerNotification;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
 import org.mule.tck.size.SmallTest;
 
+import javax.resource.spi.work.Work;
+
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 
 @SmallTest
 public class NotificationManagerTestCase extends AbstractMuleTestCase
@@ -33,6 +46,12 @@ public class NotificationManagerTestCase extends AbstractMuleTestCase
         manager = new ServerNotificationManager();
     }
 
+    @After
+    public void disposeManager()
+    {
+        manager.dispose();
+    }
+
     protected void registerDefaultEvents() throws ClassNotFoundException
     {
         manager.addInterfaceToType(Listener1.class, SubEvent1.class);
@@ -179,6 +198,118 @@ public class NotificationManagerTestCase extends AbstractMuleTestCase
         assertTrue(listener2.isNotified());
     }
 
+    @Test
+    public void testAsynchronousNotification() throws Exception
+    {
+        registerDefaultEvents();
+        registerDefaultListeners();
+        manager.start(threadPerWorkManager(), null);
+        manager.fireNotification(new SubSubEvent1("id1"));
+        manager.fireNotification(new Event2());
+
+        new PollingProber(1000, 50).check(new JUnitLambdaProbe(() ->
+        {
+            assertTrue(listener1.isNotified());
+            assertTrue(listener2.isNotified());
+            assertThat(manager.getNotificationStatistics().get(Event2.class).getQueued(), is(0L));
+            return true;
+        }));
+    }
+
+    @Test
+    public void testNotificationsAreDroppedWhenGroupBufferIsFull() throws Exception
+    {
+        registerDefaultEvents();
+        ListenerSubscriptionPair pair = new ListenerSubscriptionPair(listener2);
+        pair.setOverflowPolicy(OverflowPolicy.DROP);
+        manager.addListenerSubscriptionPair(pair);
+        manager.setNotificationBufferSize(4);
+
+        // nothing drains the buffer until the manager is started
+        for (int i = 0; i < 10; i++)
+        {
+            manager.fireNotification(new Event2());
+        }
+
+        NotificationTypeStatistics statistics = manager.getNotificationStatistics().get(Event2.class);
+        assertThat(statistics.getQueued(), is(4L));
+        assertThat(statistics.getDropped(), is(6L));
+    }
+
+    @Test
+    public void testSlowGroupDoesNotDelayOthers() throws Exception
+    {
+        registerDefaultEvents();
+        SlowListener2 slowListener = new SlowListener2();
+        ListenerSubscriptionPair slowPair = new ListenerSubscriptionPair(slowListener);
+        slowPair.setGroup("slow");
+        manager.addListenerSubscriptionPair(slowPair);
+        manager.addListener(listener2);
+        manager.start(threadPerWorkManager(), null);
+
+        manager.fireNotification(new Event2());
+
+        new PollingProber(1000, 50).check(new JUnitLambdaProbe(() -> listener2.isNotified()));
+        slowListener.release();
+    }
+
+    @Test
+    public void testNotificationsOfTypesWithoutListenersAreNotQueued() throws Exception
+    {
+        registerDefaultEvents();
+        registerDefaultListeners();
+        manager.fireNotification(new Event3());
+        assertFalse(manager.getNotificationStatistics().containsKey(Event3.class));
+    }
+
+    private WorkManager threadPerWorkManager() throws Exception
+    {
+        WorkManager workManager = mock(WorkManager.class);
+        doAnswer(invocation ->
+        {
+            Thread thread = new Thread((Work) invocation.getArguments()[0]);
+            thread.setDaemon(true);
+            thread.start();
+            return null;
+        }).when(workManager).scheduleWork(any(Work.class), anyLong(), any(), any());
+        return workManager;
+    }
+
+    private static class SlowListener2 extends Listener2
+    {
+
+        private final Object lock = new Object();
+        private boolean released;
+
+        @Override
+        public void onNotification(ServerNotification notification)
+        {
+            synchronized (lock)
+            {
+                while (!released)
+                {
+                    try
+                    {
+                        lock.wait();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        return;
+                    }
+                }
+            }
+        }
+
+        void release()
+        {
+            synchronized (lock)
+            {
+                released = true;
+                lock.notifyAll();
+            }
+        }
+    }
+
     protected void assertNoListenersNotified()
     {
         assertFalse(listener1.isNotified());
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.keygenerator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+@SmallTest
+public class Murmur3MuleEventKeyGeneratorTestCase extends AbstractMuleContextTestCase
+{
+
+    private static final String TEST_INPUT = "TEST";
+
+    private Murmur3MuleEventKeyGenerator keyGenerator = new Murmur3MuleEventKeyGenerator();
+
+    @Test
+    public void generatesKeyOf128Bits() throws Exception
+    {
+        String key = (String) keyGenerator.generateKey(getTestEvent(TEST_INPUT));
+        assertThat(key.length(), is(32));
+    }
+
+    @Test
+    public void generatesKeyPerPayload() throws Exception
+    {
+        String key = (String) keyGenerator.generateKey(getTestEvent(TEST_INPUT));
+        assertThat((String) keyGenerator.generateKey(getTestEvent(TEST_INPUT)), equalTo(key));
+        assertThat((String) keyGenerator.generateKey(getTestEvent("OTHER")), not(equalTo(key)));
+    }
+
+    @Test
+    public void generatesSameKeyFromStream() throws Exception
+    {
+        String key = (String) keyGenerator.generateKey(getTestEvent(TEST_INPUT));
+        MuleEvent event = getTestEvent(new ByteArrayInputStream(TEST_INPUT.getBytes(UTF_8)));
+        assertThat((String) keyGenerator.generateKey(event), equalTo(key));
+        assertThat(IOUtils.toString((InputStream) event.getMessage().getPayload()), is(TEST_INPUT));
+    }
+
+}
@@ -7,14 +7,18 @@
 package org.mule.runtime.core.keygenerator;
 
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.util.IOUtils;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.NotSerializableException;
 
 import org.junit.Test;
@@ -37,6 +41,23 @@ public class SHA256MuleEventKeyGeneratorTestCase extends AbstractMuleContextTest
         assertEquals(TEST_HASH, key);
     }
 
+    @Test
+    public void generatesKeyFromStreamKeepingItsContent() throws Exception
+    {
+        MuleEvent event = getTestEvent(new ByteArrayInputStream(TEST_INPUT.getBytes(UTF_8)));
+        String key = (String) keyGenerator.generateKey(event);
+        assertEquals(TEST_HASH, key);
+        assertEquals(TEST_INPUT, IOUtils.toString((InputStream) event.getMessage().getPayload()));
+    }
+
+    @Test
+    public void generatesSameKeyForSamePayload() throws Exception
+    {
+        keyGenerator.generateKey(getTestEvent("OTHER"));
+        String key = (String) keyGenerator.generateKey(getTestEvent(TEST_INPUT));
+        assertEquals(TEST_HASH, key);
+    }
+
     @Test(expected = NotSerializableException.class)
     public void failsToGenerateKeyWhenCannotReadPayload() throws Exception
     {
@@ -7,7 +7,11 @@
 package org.mule.runtime.core.management.stats;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.junit4.rule.SystemProperty;
@@ -161,4 +165,30 @@ public class ComponentStatisticsTestCase extends AbstractMuleTestCase
         stats.addExecutionBranchTime(true, 100L, 100L);
         assertValues(stats, 2L, 200L, 100L, 100L, 100L);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void executionTimePercentiles()
+    {
+        ComponentStatistics stats = new ComponentStatistics();
+        for (long time = 1; time <= 1000; time++)
+        {
+            stats.addExecutionTime(time);
+        }
+        assertThat(stats.getExecutionTimePercentile(50), is(both(greaterThanOrEqualTo(500L)).and(lessThanOrEqualTo(503L))));
+        assertThat(stats.getExecutionTimePercentile(99), is(both(greaterThanOrEqualTo(990L)).and(lessThanOrEqualTo(991L))));
+        assertThat(stats.getExecutionTimePercentile(100), is(1007L));
+        stats.clear();
+        assertThat(stats.getExecutionTimePercentile(99), is(0L));
+    }
+
+    @Test
+    public void branchExecutionTimePercentilesUseCompleteTime()
+    {
+        ComponentStatistics stats = new ComponentStatistics();
+        stats.addExecutionBranchTime(true, 5L, 5L);
+        assertThat(stats.getExecutionTimePercentile(50), is(0L));
+        stats.addExecutionBranchTime(false, 5L, 10L);
+        stats.addCompleteExecutionTime(10L);
+        assertThat(stats.getExecutionTimePercentile(50), is(10L));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+@SmallTest
+public class LatencyHistogramTestCase extends AbstractMuleTestCase
+{
+
+    @Test
+    public void smallValuesAreExact()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 20; value++)
+        {
+            histogram.record(value);
+        }
+        assertThat(histogram.getCount(), is(20L));
+        assertThat(histogram.getValueAtPercentile(50), is(9L));
+        assertThat(histogram.getValueAtPercentile(100), is(19L));
+    }
+
+    @Test
+    public void largeValuesAreWithinPrecision()
+    {
+        for (long value : new long[] {33, 1000, 123456, 987654321L, 1L << 40})
+        {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            long reported = histogram.getValueAtPercentile(99.9);
+            assertThat(reported, greaterThanOrEqualTo(value));
+            assertThat(reported, lessThanOrEqualTo(value + value / 32));
+        }
+    }
+
+    @Test
+    public void valuesOutOfRangeAreCountedInTheLastBucket()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertThat(histogram.getValueAtPercentile(50), is(0L));
+        assertThat(histogram.getValueAtPercentile(100), is((1L << 41) - 1));
+    }
+
+    @Test
+    public void add()
+    {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 90; i++)
+        {
+            first.record(1);
+        }
+        for (int i = 0; i < 10; i++)
+        {
+            second.record(20);
+        }
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(first);
+        merged.add(second);
+
+        assertThat(merged.getCount(), is(100L));
+        assertThat(merged.getValueAtPercentile(90), is(1L));
+        assertThat(merged.getValueAtPercentile(91), is(20L));
+    }
+
+    @Test
+    public void concurrentRecording() throws Exception
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            threads.add(new Thread(() ->
+            {
+                for (int j = 0; j < 10000; j++)
+                {
+                    histogram.record(j % 100);
+                }
+            }));
+        }
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertThat(histogram.getCount(), is(80000L));
+    }
+
+    @Test
+    public void reset()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.reset();
+        assertThat(histogram.getCount(), is(0L));
+        assertThat(histogram.getValueAtPercentile(50), is(0L));
+    }
+
+}
@@ -21,6 +21,7 @@ import static org.mule.runtime.api.metadata.MediaType.ANY;
 import static org.mule.runtime.api.metadata.MediaType.HTML;
 import static org.mule.runtime.api.metadata.MediaType.TEXT;
 import static org.mule.runtime.api.metadata.MediaType.XML;
+import static org.mule.runtime.core.api.config.MuleProperties.CONTENT_TYPE_PROPERTY;
 import static org.mule.runtime.core.message.NullAttributes.NULL_ATTRIBUTES;
 
 import org.mule.runtime.api.message.Attributes;
@@ -54,6 +55,7 @@ public class DefaultMuleMessageBuilderTestCase extends AbstractMuleTestCase
     private static final Attributes TEST_ATTR = NULL_ATTRIBUTES;
     private static final Attributes TEST_ATTR_2 = new BaseAttributes() { };
     private static final String PROPERTY_KEY = "propertyKey";
+    private static final String NEW_PROPERTY_KEY = "newPropertyKey";
     private static final Serializable PROPERTY_VALUE = "propertyValue";
     private static final String ATTACHMENT_KEY = "attachmentKey";
     private static final String ATTACHMENT_VALUE = "attachmentValue";
@@ -227,6 +229,44 @@ public class DefaultMuleMessageBuilderTestCase extends AbstractMuleTestCase
         assertThat(copy.getOutboundPropertyNames(), hasItem(PROPERTY_KEY));
     }
 
+    @Test
+    public void outboundPropertyAddedToCopyIsNotVisibleInOriginal()
+    {
+        MuleMessage message = new DefaultMuleMessageBuilder().payload(TEST_PAYLOAD)
+                .addOutboundProperty(PROPERTY_KEY, PROPERTY_VALUE).build();
+        MuleMessage copy = new DefaultMuleMessageBuilder(message).addOutboundProperty(NEW_PROPERTY_KEY, PROPERTY_VALUE)
+                .removeOutboundProperty(PROPERTY_KEY).build();
+
+        assertThat(message.getOutboundPropertyNames(), hasSize(1));
+        assertThat(message.getOutboundProperty(PROPERTY_KEY), equalTo(PROPERTY_VALUE));
+        assertThat(copy.getOutboundPropertyNames(), hasSize(1));
+        assertThat(copy.getOutboundProperty(NEW_PROPERTY_KEY), equalTo(PROPERTY_VALUE));
+    }
+
+    @Test
+    public void inboundPropertyAddedToBuilderIsNotVisibleInBuiltMessage()
+    {
+        DefaultMuleMessageBuilder builder = new DefaultMuleMessageBuilder();
+        builder.payload(TEST_PAYLOAD).addInboundProperty(PROPERTY_KEY, PROPERTY_VALUE);
+        MuleMessage message = builder.build();
+        builder.addInboundProperty(NEW_PROPERTY_KEY, PROPERTY_VALUE);
+
+        assertThat(message.getInboundPropertyNames(), hasSize(1));
+        assertThat(builder.build().getInboundPropertyNames(), hasSize(2));
+    }
+
+    @Test
+    public void copyKeepsDataTypeFromContentTypeProperty()
+    {
+        MuleMessage message = new DefaultMuleMessageBuilder().payload(TEST_PAYLOAD)
+                .addOutboundProperty(CONTENT_TYPE_PROPERTY, HTML.toString()).build();
+
+        MuleMessage copy = new DefaultMuleMessageBuilder(message).build();
+
+        assertThat(copy.getDataType(), equalTo(message.getDataType()));
+        assertThat(copy.getOutboundProperty(CONTENT_TYPE_PROPERTY), equalTo(HTML.toString()));
+    }
+
     @Test
     public void inboundProperty()
     {
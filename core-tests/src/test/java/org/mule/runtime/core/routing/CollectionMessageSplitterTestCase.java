@@ -6,8 +6,11 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
@@ -21,6 +24,7 @@ import static org.mule.runtime.core.api.config.MuleProperties.MULE_CORRELATION_S
 
 import org.mule.runtime.core.DefaultMuleEvent;
 import org.mule.runtime.core.VoidMuleEvent;
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleEvent;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.MuleMessage;
@@ -39,13 +43,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.After;
 import org.junit.Test;
 
 public class CollectionMessageSplitterTestCase extends AbstractMuleContextTestCase
 {
     private static final List<String> TEST_LIST_MULTIPLE = Arrays.asList("abc", "def", "ghi");
     private static final List<String> TEST_LIST_SINGLE = Arrays.asList("abc");
+    private static final List<String> TEST_LIST_LONG = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
+
+    private CollectionSplitter parallelSplitter;
 
     public CollectionMessageSplitterTestCase()
     {
@@ -145,6 +154,103 @@ public class CollectionMessageSplitterTestCase extends AbstractMuleContextTestCa
         assertRouted(new IteratorMessageSequence<>(TEST_LIST_SINGLE.iterator()), 1, false);
     }
 
+    @After
+    public void disposeParallelSplitter()
+    {
+        if (parallelSplitter != null)
+        {
+            parallelSplitter.dispose();
+        }
+    }
+
+    @Test
+    public void parallelResultsKeepSequenceOrder() throws Exception
+    {
+        createParallelSplitter(3, true, event ->
+        {
+            // the first elements take longer, so they are completed after the ones that follow them
+            sleep(('h' - ((String) event.getMessage().getPayload()).charAt(0)) * 10);
+            return event;
+        });
+
+        assertThat(processInParallel(TEST_LIST_LONG), is(TEST_LIST_LONG));
+    }
+
+    @Test
+    public void parallelUnorderedResults() throws Exception
+    {
+        createParallelSplitter(3, false, event ->
+        {
+            sleep(('h' - ((String) event.getMessage().getPayload()).charAt(0)) * 10);
+            return event;
+        });
+
+        assertThat(processInParallel(TEST_LIST_LONG), containsInAnyOrder(TEST_LIST_LONG.toArray()));
+    }
+
+    @Test
+    public void parallelProcessingIsBounded() throws Exception
+    {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        createParallelSplitter(2, true, event ->
+        {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(20);
+            active.decrementAndGet();
+            return event;
+        });
+
+        assertThat(processInParallel(TEST_LIST_LONG), is(TEST_LIST_LONG));
+        assertThat(maxActive.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test(expected = DefaultMuleException.class)
+    public void parallelProcessingFailure() throws Exception
+    {
+        createParallelSplitter(3, true, event ->
+        {
+            if ("c".equals(event.getMessage().getPayload()))
+            {
+                throw new DefaultMuleException("Expected failure");
+            }
+            return event;
+        });
+
+        processInParallel(TEST_LIST_LONG);
+    }
+
+    private void createParallelSplitter(int maxConcurrency, boolean ordered, MessageProcessor listener) throws MuleException
+    {
+        parallelSplitter = new CollectionSplitter();
+        parallelSplitter.setMuleContext(muleContext);
+        parallelSplitter.setMaxConcurrency(maxConcurrency);
+        parallelSplitter.setOrdered(ordered);
+        parallelSplitter.setListener(listener);
+        parallelSplitter.initialise();
+        parallelSplitter.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> processInParallel(List<String> payload) throws Exception
+    {
+        Flow fc = getTestFlow();
+        MuleEvent result = parallelSplitter.process(new DefaultMuleEvent(MuleMessage.builder().payload(payload).build(), fc, getTestSession(fc, muleContext)));
+        return ((List<MuleMessage>) result.getMessage().getPayload()).stream().map(message -> (String) message.getPayload()).collect(toList());
+    }
+
+    private static void sleep(long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void assertRouted(Object payload, int count, boolean counted) throws Exception, MuleException
     {
         Flow fc = getTestFlow();
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization;
+
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.core.RequestContext;
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.serialization.internal.BinaryCodec;
+import org.mule.runtime.core.serialization.internal.BinaryInput;
+import org.mule.runtime.core.serialization.internal.BinaryObjectSerializer;
+import org.mule.runtime.core.serialization.internal.BinaryOutput;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class BinaryObjectSerializerTestCase extends AbstractObjectSerializerContractTestCase
+{
+
+    private BinaryObjectSerializer binarySerializer;
+
+    @Override
+    protected void doSetUp() throws Exception
+    {
+        binarySerializer = new BinaryObjectSerializer();
+        binarySerializer.setMuleContext(muleContext);
+        serializer = binarySerializer;
+    }
+
+    @Test(expected = SerializationException.class)
+    public void notSerializable() throws Exception
+    {
+        serializer.serialize(new Object());
+    }
+
+    @Test
+    public void builtInTypes() throws Exception
+    {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("string", "h\u00e9llo");
+        map.put("int", -17);
+        map.put("long", Long.MAX_VALUE);
+        map.put("double", 2.5d);
+        map.put("float", 1.5f);
+        map.put("short", (short) 3);
+        map.put("byte", (byte) -1);
+        map.put("char", 'x');
+        map.put("boolean", true);
+        map.put("date", new Date(1000));
+        map.put("null", null);
+        List<Object> list = new ArrayList<>();
+        list.add("item");
+        list.add(new HashMap<>());
+        map.put("list", list);
+
+        Map<String, Object> deserialized = serializer.deserialize(serializer.serialize(map));
+
+        assertThat(deserialized.getClass(), equalTo((Object) LinkedHashMap.class));
+        assertThat(deserialized, equalTo(map));
+    }
+
+    @Test
+    public void byteArray() throws Exception
+    {
+        byte[] bytes = new byte[] {1, 2, 3};
+        byte[] deserialized = serializer.deserialize(serializer.serialize(bytes));
+        assertThat(deserialized, equalTo(bytes));
+    }
+
+    @Test
+    public void message() throws Exception
+    {
+        MuleMessage message = MuleMessage.builder()
+                                         .payload("payload")
+                                         .mediaType(MediaType.TEXT.withCharset(UTF_16))
+                                         .correlationId("correlation")
+                                         .addInboundProperty("inbound", 1)
+                                         .addOutboundProperty("outbound", "value", DataType.builder().type(String.class).mediaType(MediaType.JSON).build())
+                                         .build();
+
+        MuleMessage deserialized = serializer.deserialize(serializer.serialize(message));
+
+        assertThat(deserialized.getUniqueId(), is(message.getUniqueId()));
+        assertThat(deserialized.getMessageRootId(), is(message.getMessageRootId()));
+        assertThat(deserialized.getPayload(), is((Object) "payload"));
+        assertThat(deserialized.getDataType(), equalTo(message.getDataType()));
+        assertThat(deserialized.getCorrelationId(), is("correlation"));
+        assertThat(deserialized.getInboundProperty("inbound"), is((Serializable) 1));
+        assertThat(deserialized.getOutboundProperty("outbound"), is((Serializable) "value"));
+        assertThat(deserialized.getOutboundPropertyDataType("outbound"), equalTo(message.getOutboundPropertyDataType("outbound")));
+    }
+
+    @Test
+    public void messageIsSmallerThanWithJavaSerialization() throws Exception
+    {
+        MuleMessage message = MuleMessage.builder()
+                                         .payload("payload")
+                                         .addInboundProperty("inbound", "value")
+                                         .addOutboundProperty("outbound", "value")
+                                         .build();
+
+        assertThat(serializer.serialize(message).length, lessThan(muleContext.getObjectSerializer().serialize(message).length));
+    }
+
+    @Test
+    public void event() throws Exception
+    {
+        MuleEvent event = getTestEvent("payload");
+        event.setFlowVariable("variable", "value");
+        RequestContext.setEvent(event);
+
+        MuleEvent deserialized = serializer.deserialize(serializer.serialize(event));
+
+        assertThat(deserialized.getId(), is(event.getId()));
+        assertThat(deserialized.getMessage().getPayload(), is((Object) "payload"));
+        assertThat(deserialized.getFlowVariable("variable"), is((Object) "value"));
+    }
+
+    @Test
+    public void eventWithNonSerializablePayload() throws Exception
+    {
+        MuleEvent event = getTestEvent(new ByteArrayInputStream("payload".getBytes()));
+        RequestContext.setEvent(event);
+
+        MuleEvent deserialized = serializer.deserialize(serializer.serialize(event));
+
+        assertThat((byte[]) deserialized.getMessage().getPayload(), equalTo("payload".getBytes()));
+    }
+
+    @Test
+    public void registeredClass() throws Exception
+    {
+        binarySerializer.registerClass(Point.class, new BinaryCodec<Point>()
+        {
+            @Override
+            public void write(Point value, BinaryOutput output) throws IOException
+            {
+                output.writeInt(value.x);
+                output.writeInt(value.y);
+            }
+
+            @Override
+            public Point read(BinaryInput input) throws IOException
+            {
+                return new Point(input.readInt(), input.readInt());
+            }
+        });
+
+        List<Point> points = new ArrayList<>();
+        points.add(new Point(1, -2));
+        List<Point> deserialized = serializer.deserialize(serializer.serialize(points));
+
+        assertThat(deserialized.get(0).x, is(1));
+        assertThat(deserialized.get(0).y, is(-2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerSameClassTwice() throws Exception
+    {
+        BinaryCodec<Point> codec = new BinaryCodec<Point>()
+        {
+            @Override
+            public void write(Point value, BinaryOutput output)
+            {
+            }
+
+            @Override
+            public Point read(BinaryInput input)
+            {
+                return null;
+            }
+        };
+        binarySerializer.registerClass(Point.class, codec);
+        binarySerializer.registerClass(Point.class, codec);
+    }
+
+    private static class Point
+    {
+
+        private final int x;
+        private final int y;
+
+        private Point(int x, int y)
+        {
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
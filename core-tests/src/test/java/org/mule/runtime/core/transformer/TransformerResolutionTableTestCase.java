@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.transformer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.transformer.TransformerResolutionTable.MAX_ENTRIES;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class TransformerResolutionTableTestCase extends AbstractMuleTestCase
+{
+
+    private final TransformerResolutionTable<String> table = new TransformerResolutionTable<>();
+
+    @Test
+    public void missingResolution()
+    {
+        assertThat(table.get(DataType.STRING, DataType.BYTE_ARRAY), is(nullValue()));
+    }
+
+    @Test
+    public void resolutionsArePerPair()
+    {
+        table.putIfAbsent(DataType.STRING, DataType.BYTE_ARRAY, "stringToBytes");
+        table.putIfAbsent(DataType.STRING, DataType.OBJECT, "stringToObject");
+        table.putIfAbsent(DataType.BYTE_ARRAY, DataType.STRING, "bytesToString");
+
+        assertThat(table.get(DataType.STRING, DataType.BYTE_ARRAY), is("stringToBytes"));
+        assertThat(table.get(DataType.STRING, DataType.OBJECT), is("stringToObject"));
+        assertThat(table.get(DataType.BYTE_ARRAY, DataType.STRING), is("bytesToString"));
+        assertThat(table.get(DataType.BYTE_ARRAY, DataType.OBJECT), is(nullValue()));
+        assertThat(table.size(), is(3));
+    }
+
+    @Test
+    public void keepsFirstResolution()
+    {
+        assertThat(table.putIfAbsent(DataType.STRING, DataType.BYTE_ARRAY, "first"), is("first"));
+        assertThat(table.putIfAbsent(DataType.STRING, DataType.BYTE_ARRAY, "second"), is("first"));
+        assertThat(table.get(DataType.STRING, DataType.BYTE_ARRAY), is("first"));
+    }
+
+    @Test
+    public void equalDataTypesShareResolution()
+    {
+        table.putIfAbsent(DataType.builder().type(String.class).mediaType(MediaType.JSON).build(), DataType.BYTE_ARRAY, "jsonToBytes");
+
+        assertThat(table.get(DataType.builder().type(String.class).mediaType(MediaType.JSON).build(), DataType.BYTE_ARRAY), is("jsonToBytes"));
+        assertThat(table.get(DataType.builder().type(String.class).mediaType(MediaType.XML).build(), DataType.BYTE_ARRAY), is(nullValue()));
+    }
+
+    @Test
+    public void clear()
+    {
+        table.putIfAbsent(DataType.STRING, DataType.BYTE_ARRAY, "stringToBytes");
+        table.clear();
+        assertThat(table.get(DataType.STRING, DataType.BYTE_ARRAY), is(nullValue()));
+        assertThat(table.size(), is(0));
+    }
+
+    @Test
+    public void startsOverWhenFull()
+    {
+        for (int i = 0; i < MAX_ENTRIES; i++)
+        {
+            table.putIfAbsent(DataType.builder().type(String.class).mediaType("text/x-type" + i).build(), DataType.STRING, "value" + i);
+        }
+        assertThat(table.size(), is(MAX_ENTRIES));
+
+        table.putIfAbsent(DataType.STRING, DataType.BYTE_ARRAY, "stringToBytes");
+
+        assertThat(table.size(), is(1));
+        assertThat(table.get(DataType.STRING, DataType.BYTE_ARRAY), is("stringToBytes"));
+    }
+
+}
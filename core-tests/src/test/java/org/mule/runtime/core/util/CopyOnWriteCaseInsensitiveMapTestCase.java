@@ -188,6 +188,28 @@ public class CopyOnWriteCaseInsensitiveMapTestCase extends AbstractMuleTestCase
         assertFalse(copyOnWriteMap.containsKey("newOriginal"));
     }
 
+    @Test
+    public void putCopy() throws Exception
+    {
+        CopyOnWriteCaseInsensitiveMap<String, Object> original = createTestMap();
+        Map<String, Object> copyOnWriteMap = new CopyOnWriteCaseInsensitiveMap<>(original);
+
+        original.put("newOriginal", "val");
+        copyOnWriteMap.put("newCopy", "val");
+
+        // Assert state of original map
+        assertMapContents(original);
+        assertEquals(3, original.size());
+        assertFalse(original.containsKey("newCopy"));
+        assertTrue(original.containsKey("newOriginal"));
+
+        // Assert state of copy on write map
+        assertMapContents(copyOnWriteMap);
+        assertEquals(3, copyOnWriteMap.size());
+        assertTrue(copyOnWriteMap.containsKey("newCopy"));
+        assertFalse(copyOnWriteMap.containsKey("newOriginal"));
+    }
+
     @Test
     public void putAllClone() throws Exception
     {
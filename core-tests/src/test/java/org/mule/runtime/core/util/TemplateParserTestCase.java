@@ -10,6 +10,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mule.runtime.core.util.TemplateParser.MAX_COMPILED_TEMPLATES;
 
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
@@ -308,6 +309,28 @@ public class TemplateParserTestCase extends AbstractMuleTestCase
         assertTrue(tp.isValid("#[foo:blah = '#[foo]']"));
     }
 
+    @Test
+    public void muleParserEvaluatesCompiledTemplateEachTime()
+    {
+        TemplateParser tp = TemplateParser.createMuleStyleParser();
+        String template = "Order #[id] for #[customer]: $#[total]";
+
+        assertEquals("Order 1 for a\\b: $10", tp.parse(token -> "id".equals(token) ? 1 : "customer".equals(token) ? "a\\b" : 10, template));
+        assertEquals("Order 2 for $1: $20", tp.parse(token -> "id".equals(token) ? 2 : "customer".equals(token) ? "$1" : 20, template));
+    }
+
+    @Test
+    public void muleParserKeepsParsingWhenCompiledTemplatesAreDropped()
+    {
+        TemplateParser tp = TemplateParser.createMuleStyleParser();
+
+        for (int i = 0; i <= MAX_COMPILED_TEMPLATES; i++)
+        {
+            assertEquals(i + ":value", tp.parse(token -> "value", i + ":#[token]"));
+        }
+        assertEquals("0:value", tp.parse(token -> "value", "0:#[token]"));
+    }
+
     private Map<String, Object> buildMap()
     {
         Map<String, Object> props = new HashMap<String, Object>();
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.monitor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+@SmallTest
+public class TimingWheelTestCase extends AbstractMuleTestCase
+{
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 8;
+    private static final long START = 1000;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    public void expiresAfterDeadline()
+    {
+        wheel.schedule("item", START + 55);
+
+        wheel.advance(START + 55, expired::add);
+        assertThat(expired, is(empty()));
+
+        wheel.advance(START + 80, expired::add);
+        assertThat(expired, contains("item"));
+        assertThat(wheel.size(), is(0));
+    }
+
+    @Test
+    public void expiresPastDeadlineRightAway()
+    {
+        wheel.schedule("item", START - 100);
+
+        wheel.advance(START, expired::add);
+        assertThat(expired, contains("item"));
+    }
+
+    @Test
+    public void cascadesFromUpperLevels()
+    {
+        long farDeadline = START + TICK * WHEEL_SIZE * WHEEL_SIZE * 3;
+        wheel.schedule("far", farDeadline);
+        wheel.schedule("near", START + TICK * 3);
+
+        wheel.advance(START + TICK * 5, expired::add);
+        assertThat(expired, contains("near"));
+
+        wheel.advance(farDeadline - TICK, expired::add);
+        assertThat(expired, contains("near"));
+
+        wheel.advance(farDeadline + TICK * 2, expired::add);
+        assertThat(expired, contains("near", "far"));
+    }
+
+    @Test
+    public void expiresEveryItemInTime()
+    {
+        Random random = new Random(1);
+        int items = 5000;
+        for (int i = 0; i < items; i++)
+        {
+            long deadline = START + random.nextInt(100000);
+            wheel.schedule(String.valueOf(deadline), deadline);
+        }
+
+        long previous = START;
+        for (long now = START; now <= START + 100000 + 3 * TICK; now += random.nextInt(50) + 1)
+        {
+            final long current = now;
+            final long last = previous;
+            wheel.advance(now, item -> {
+                long deadline = Long.parseLong(item);
+                assertTrue("Expired before its deadline", deadline < current);
+                assertTrue("Expired too late", deadline >= last - 2 * TICK);
+                expired.add(item);
+            });
+            previous = now;
+        }
+
+        assertThat(expired.size(), is(items));
+        assertThat(wheel.size(), is(0));
+    }
+}
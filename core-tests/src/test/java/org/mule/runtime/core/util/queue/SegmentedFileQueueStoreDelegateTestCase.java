@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.MuleTestUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class SegmentedFileQueueStoreDelegateTestCase extends AbstractMuleTestCase
+{
+
+    private static final String TEST_QUEUE_NAME = "test-queue";
+    private static final int SMALL_SEGMENT_SIZE = 100;
+    private static final long TIMEOUT = 5000;
+
+    @Rule
+    public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+    private MuleContext mockMuleContext;
+
+    @Before
+    public void before()
+    {
+        mockMuleContext = mock(MuleContext.class);
+        when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+        addJavaSerializerToMockMuleContext(mockMuleContext);
+    }
+
+    @Test
+    public void nameWithInvalidCharacters()
+    {
+        String[] testNames = new String[] {
+                "test:/test",
+                "test?test",
+                "test:\\test",
+                "seda.queue(post:\\Customer:ApiTest-config.1)"
+        };
+
+        for (String testName : testNames)
+        {
+            SegmentedFileQueueStoreDelegate queue = new SegmentedFileQueueStoreDelegate(testName, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 1);
+            queue.dispose();
+        }
+    }
+
+    @Test
+    public void readMessagesInOrderAcrossSegments() throws Exception
+    {
+        withSmallSegments(() -> {
+            SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+            for (int i = 0; i < 50; i++)
+            {
+                queueStore.putNow(createTestDataForIndex(i));
+            }
+            assertThat(queueStore.getSegmentCount(), greaterThan(1));
+            assertThat(queueStore.getSize(), is(50));
+            for (int i = 0; i < 50; i++)
+            {
+                assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+            }
+            assertThat(queueStore.poll(0), nullValue());
+            queueStore.close();
+        });
+    }
+
+    @Test
+    public void recoverMessagesAfterClose() throws Exception
+    {
+        withSmallSegments(() -> {
+            SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+            for (int i = 0; i < 30; i++)
+            {
+                queueStore.putNow(createTestDataForIndex(i));
+            }
+            for (int i = 0; i < 10; i++)
+            {
+                queueStore.poll(0);
+            }
+            queueStore.close();
+
+            queueStore = createTestQueueStore();
+            assertThat(queueStore.getSize(), is(20));
+            assertThat(queueStore.peek(), is(createTestDataForIndex(10)));
+            for (int i = 10; i < 30; i++)
+            {
+                assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+            }
+            queueStore.close();
+        });
+    }
+
+    @Test
+    public void untakenMessageIsFirstAfterRecovery() throws Exception
+    {
+        SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+        queueStore.putNow(createTestDataForIndex(0));
+        queueStore.putNow(createTestDataForIndex(1));
+        Serializable taken = queueStore.poll(0);
+        queueStore.untake(taken);
+        assertThat(queueStore.peek(), is(createTestDataForIndex(0)));
+        queueStore.close();
+
+        queueStore = createTestQueueStore();
+        assertThat(queueStore.getSize(), is(2));
+        assertThat(queueStore.poll(0), is(createTestDataForIndex(0)));
+        assertThat(queueStore.poll(0), is(createTestDataForIndex(1)));
+        queueStore.close();
+    }
+
+    @Test
+    public void untakenMessagesKeepOrderAfterRecovery() throws Exception
+    {
+        SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+        for (int i = 0; i < 3; i++)
+        {
+            queueStore.putNow(createTestDataForIndex(i));
+        }
+        Serializable first = queueStore.poll(0);
+        Serializable second = queueStore.poll(0);
+        queueStore.untake(first);
+        queueStore.untake(second);
+        assertThat(queueStore.peek(), is(createTestDataForIndex(1)));
+        queueStore.close();
+
+        queueStore = createTestQueueStore();
+        assertThat(queueStore.getSize(), is(3));
+        assertThat(queueStore.poll(0), is(createTestDataForIndex(1)));
+        assertThat(queueStore.poll(0), is(createTestDataForIndex(0)));
+        assertThat(queueStore.poll(0), is(createTestDataForIndex(2)));
+        queueStore.close();
+    }
+
+    @Test
+    public void consumedSegmentsAreReclaimed() throws Exception
+    {
+        withSmallSegments(() -> {
+            final SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+            for (int i = 0; i < 50; i++)
+            {
+                queueStore.putNow(createTestDataForIndex(i));
+            }
+            for (int i = 0; i < 50; i++)
+            {
+                queueStore.poll(0);
+            }
+            queueStore.peek();
+            assertThat(queueStore.getSegmentCount(), is(1));
+            new PollingProber(1000, 50).check(new JUnitProbe()
+            {
+                @Override
+                protected boolean test() throws Exception
+                {
+                    assertThat(queueStore.getSegmentsDirectory().listFiles().length, is(1));
+                    return true;
+                }
+            });
+            queueStore.close();
+        });
+    }
+
+    @Test
+    public void removeAndContains() throws Exception
+    {
+        SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+        queueStore.putNow(createTestDataForIndex(0));
+        queueStore.putNow(createTestDataForIndex(1));
+        queueStore.putNow(createTestDataForIndex(2));
+
+        assertThat(queueStore.contains(createTestDataForIndex(1)), is(true));
+        queueStore.remove(createTestDataForIndex(1));
+        assertThat(queueStore.contains(createTestDataForIndex(1)), is(false));
+        assertThat(queueStore.getSize(), is(2));
+        assertThat(queueStore.poll(0), is(createTestDataForIndex(0)));
+        assertThat(queueStore.poll(0), is(createTestDataForIndex(2)));
+        queueStore.close();
+    }
+
+    @Test
+    public void offerWaitsForCapacity() throws Exception
+    {
+        SegmentedFileQueueStoreDelegate queueStore = new SegmentedFileQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 1);
+        assertThat(queueStore.offer(createTestDataForIndex(0), 0, 0), is(true));
+        assertThat(queueStore.offer(createTestDataForIndex(1), 0, 10), is(false));
+        queueStore.poll(0);
+        assertThat(queueStore.offer(createTestDataForIndex(1), 0, 0), is(true));
+        queueStore.dispose();
+    }
+
+    @Test
+    public void concurrentProducersAndConsumers() throws Exception
+    {
+        final int messagesPerProducer = 200;
+        final int producers = 4;
+        final SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+        final CountDownLatch consumed = new CountDownLatch(messagesPerProducer * producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers * 2);
+        try
+        {
+            for (int p = 0; p < producers; p++)
+            {
+                final int producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < messagesPerProducer; i++)
+                    {
+                        queueStore.putNow(producer + "-" + i);
+                    }
+                });
+                executor.submit(() -> {
+                    while (consumed.getCount() > 0)
+                    {
+                        if (queueStore.poll(10) != null)
+                        {
+                            consumed.countDown();
+                        }
+                    }
+                    return null;
+                });
+            }
+            assertThat(consumed.await(TIMEOUT, TimeUnit.MILLISECONDS), is(true));
+            assertThat(queueStore.getSize(), is(0));
+        }
+        finally
+        {
+            executor.shutdownNow();
+            queueStore.dispose();
+        }
+    }
+
+    @Test
+    public void allFilesDeletedAfterDispose()
+    {
+        SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+        queueStore.putNow("item");
+        File segmentsDirectory = queueStore.getSegmentsDirectory();
+        assertThat(segmentsDirectory.exists(), is(true));
+
+        queueStore.dispose();
+        assertThat(segmentsDirectory.exists(), is(false));
+    }
+
+    private void withSmallSegments(MuleTestUtils.TestCallback callback) throws Exception
+    {
+        MuleTestUtils.testWithSystemProperty(SegmentedFileQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY, String.valueOf(SMALL_SEGMENT_SIZE), callback);
+    }
+
+    private String createTestDataForIndex(int index)
+    {
+        return "some value " + index;
+    }
+
+    private SegmentedFileQueueStoreDelegate createTestQueueStore()
+    {
+        return new SegmentedFileQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 0);
+    }
+
+}
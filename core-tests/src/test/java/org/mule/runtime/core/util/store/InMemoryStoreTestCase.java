@@ -7,10 +7,16 @@
 package org.mule.runtime.core.util.store;
 
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
 import org.junit.After;
 import org.junit.Test;
 
@@ -113,17 +119,12 @@ public class InMemoryStoreTestCase extends AbstractMuleTestCase
         // exceed threshold
         store.store("4", "4");
 
-        // the oldest entry should still be there, not yet expired
-        assertTrue(store.contains("1"));
-
-        // expire manually
-        store.expire();
+        // the oldest entry is discarded right away
         assertObjectsExpired("1");
         assertObjectsInStore("2", "3", "4");
 
         // exceed some more
         storeObjects("5");
-        store.expire();
         assertObjectsExpired("2");
         assertObjectsInStore("3", "4", "5");
 
@@ -134,6 +135,105 @@ public class InMemoryStoreTestCase extends AbstractMuleTestCase
         assertObjectsExpired("3", "4", "5", "6");
     }
 
+    @Test
+    public void testStoreAfterRemove() throws Exception
+    {
+        createBoundedObjectStore(2);
+
+        storeObjects("1", "2");
+        store.remove("1");
+        storeObjects("3");
+
+        assertObjectsInStore("2", "3");
+        assertObjectsExpired("1");
+    }
+
+    @Test
+    public void testConcurrentStoreNeverExceedsMaxSize() throws Exception
+    {
+        final int maxEntries = 100;
+        createBoundedObjectStore(maxEntries);
+
+        Thread[] writers = new Thread[4];
+        for (int i = 0; i < writers.length; i++)
+        {
+            final int writer = i;
+            writers[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++)
+                {
+                    try
+                    {
+                        store.store(writer + "-" + j, "value");
+                    }
+                    catch (ObjectStoreException e)
+                    {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+            writers[i].start();
+        }
+        for (Thread writer : writers)
+        {
+            writer.join();
+        }
+
+        assertTrue(store.store.size() <= maxEntries);
+
+        // once the writers are done, the last stored entries are the ones retained
+        for (int i = 0; i < maxEntries; i++)
+        {
+            store.store("last-" + i, "value");
+        }
+        assertEquals(maxEntries, store.store.size());
+        for (int i = 0; i < maxEntries; i++)
+        {
+            assertObjectsInStore("last-" + i);
+        }
+    }
+
+    @Test
+    public void testEvictionKeepsEntryStoredAgainUnderSameKey() throws Exception
+    {
+        createBoundedObjectStore(2);
+        storeObjects("1", "2");
+
+        // removes and stores "1" again right when the eviction of its previous entry is about to take place
+        Map<Serializable, InMemoryObjectStore.StoredObject<String>> entries = store.store;
+        store.store = new ConcurrentHashMap<Serializable, InMemoryObjectStore.StoredObject<String>>()
+        {
+            private boolean interleaved = false;
+
+            @Override
+            public InMemoryObjectStore.StoredObject<String> computeIfPresent(Serializable key,
+                                                                             BiFunction<? super Serializable, ? super InMemoryObjectStore.StoredObject<String>, ? extends InMemoryObjectStore.StoredObject<String>> remappingFunction)
+            {
+                if ("1".equals(key) && !interleaved)
+                {
+                    interleaved = true;
+                    try
+                    {
+                        store.remove("1");
+                        store.store("1", "stored again");
+                    }
+                    catch (ObjectStoreException e)
+                    {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return super.computeIfPresent(key, remappingFunction);
+            }
+        };
+        store.store.putAll(entries);
+
+        storeObjects("3");
+
+        assertEquals("stored again", store.retrieve("1"));
+        assertObjectsInStore("1", "3");
+        assertObjectsExpired("2");
+        assertEquals(2, store.store.size());
+    }
+
     private void storeObjects(String... objects) throws Exception
     {
         for (String entry : objects)
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase
+{
+
+    private static final int SMALL_SEGMENT_SIZE = 1024;
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+    private static final FilenameFilter LOG_FILES = (dir, name) -> name.endsWith(".log");
+    private static final String COMPACTOR_THREAD_NAME = "test-compactor";
+    private static final long COMPACTION_TIMEOUT = 5000;
+
+    @Rule
+    public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+    @Mock
+    private MuleContext muleContext;
+
+    private LogStructuredObjectStorePartition<String> partition;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+        addJavaSerializerToMockMuleContext(muleContext);
+        partition = createPartition();
+    }
+
+    @Test
+    public void storeRetrieveAndRemove() throws Exception
+    {
+        partition.store("key", "value");
+        assertThat(partition.contains("key"), is(true));
+        assertThat(partition.retrieve("key"), is("value"));
+
+        assertThat(partition.remove("key"), is("value"));
+        assertThat(partition.contains("key"), is(false));
+        assertThat(partition.allKeys().isEmpty(), is(true));
+    }
+
+    @Test(expected = ObjectAlreadyExistsException.class)
+    public void storeSameKeyTwice() throws Exception
+    {
+        partition.store("key", "value");
+        partition.store("key", "other value");
+    }
+
+    @Test
+    public void indicatesUnexistentKeyOnRetrieveError() throws Exception
+    {
+        try
+        {
+            partition.retrieve("nonExistentKey");
+            fail("Supposed to thrown an exception as key is not valid");
+        }
+        catch (ObjectDoesNotExistException e)
+        {
+            assertTrue(e.getMessage().contains("nonExistentKey"));
+        }
+    }
+
+    @Test
+    public void restoresEntriesFromSnapshot() throws Exception
+    {
+        storeEntries(20);
+        partition.remove("key5");
+        partition.close();
+
+        partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), DIRECT_EXECUTOR);
+        partition.open();
+        assertThat(partition.getPartitionName(), is("test"));
+        assertEntries(20, 5);
+    }
+
+    @Test
+    public void restoresEntriesReplayingLogs() throws Exception
+    {
+        storeEntries(20);
+        partition.remove("key5");
+        partition.close();
+        assertTrue(new File(objectStoreFolder.getRoot(), "index.snapshot").delete());
+
+        partition = createPartition();
+        assertEntries(20, 5);
+    }
+
+    @Test
+    public void restoresChangesAfterSnapshot() throws Exception
+    {
+        storeEntries(10);
+        partition.close();
+
+        partition = createPartition();
+        partition.remove("key3");
+        partition.store("key10", "value10");
+        // simulates a crash by not closing the partition, so the snapshot is outdated
+        partition = createPartition();
+
+        assertThat(partition.contains("key3"), is(false));
+        assertThat(partition.retrieve("key10"), is("value10"));
+        assertThat(partition.allKeys().size(), is(10));
+    }
+
+    @Test
+    public void compactsRemovedEntries() throws Exception
+    {
+        storeEntries(100);
+        int logFilesBeforeRemove = objectStoreFolder.getRoot().list(LOG_FILES).length;
+        for (int i = 0; i < 100; i++)
+        {
+            if (i % 10 != 0)
+            {
+                partition.remove("key" + i);
+            }
+        }
+        partition.expire(UNBOUNDED, UNBOUNDED);
+
+        assertThat(objectStoreFolder.getRoot().list(LOG_FILES).length, lessThan(logFilesBeforeRemove));
+        for (int i = 0; i < 100; i += 10)
+        {
+            assertThat(partition.retrieve("key" + i), is("value" + i));
+        }
+
+        partition.close();
+        assertTrue(new File(objectStoreFolder.getRoot(), "index.snapshot").delete());
+        partition = createPartition();
+        assertThat(partition.allKeys().size(), is(10));
+        assertThat(partition.contains("key95"), is(false));
+        assertThat(partition.retrieve("key90"), is("value90"));
+    }
+
+    @Test
+    public void expiresOldestEntriesOverMaxEntries() throws Exception
+    {
+        storeEntries(10);
+        partition.expire(UNBOUNDED, 4);
+
+        assertThat(partition.allKeys().size(), is(4));
+        for (int i = 6; i < 10; i++)
+        {
+            assertThat(partition.contains("key" + i), is(true));
+        }
+    }
+
+    @Test
+    public void expiresEntriesOverTtl() throws Exception
+    {
+        storeEntries(5);
+        Thread.sleep(20);
+        partition.store("recent", "value");
+        partition.expire(10, UNBOUNDED);
+
+        assertThat(partition.allKeys().size(), is(1));
+        assertThat(partition.contains("recent"), is(true));
+    }
+
+    @Test
+    public void clear() throws Exception
+    {
+        storeEntries(50);
+        partition.clear();
+
+        assertThat(partition.allKeys().isEmpty(), is(true));
+        partition.store("key0", "value0");
+        assertThat(partition.retrieve("key0"), is("value0"));
+
+        partition.close();
+        partition = createPartition();
+        assertThat(partition.allKeys().size(), is(1));
+    }
+
+    @Test
+    public void keepsEntriesWhenClosedWhileCompacting() throws Exception
+    {
+        CountDownLatch compactionStarted = new CountDownLatch(1);
+        CountDownLatch partitionClosed = new CountDownLatch(1);
+        ObjectSerializer serializer = muleContext.getObjectSerializer();
+        when(muleContext.getObjectSerializer()).thenReturn(new BlockingObjectSerializer(serializer, compactionStarted, partitionClosed));
+        ExecutorService compactionExecutor = newSingleThreadExecutor(runnable -> new Thread(runnable, COMPACTOR_THREAD_NAME));
+        try
+        {
+            partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), compactionExecutor, SMALL_SEGMENT_SIZE);
+            partition.open();
+            storeEntries(100);
+            for (int i = 0; i < 100; i++)
+            {
+                if (i % 10 != 0)
+                {
+                    partition.remove("key" + i);
+                }
+            }
+
+            assertThat(compactionStarted.await(COMPACTION_TIMEOUT, MILLISECONDS), is(true));
+            partition.close();
+            partitionClosed.countDown();
+        }
+        finally
+        {
+            compactionExecutor.shutdown();
+            assertThat(compactionExecutor.awaitTermination(COMPACTION_TIMEOUT, MILLISECONDS), is(true));
+        }
+
+        when(muleContext.getObjectSerializer()).thenReturn(serializer);
+        partition = createPartition();
+        assertThat(partition.allKeys().size(), is(10));
+        for (int i = 0; i < 100; i += 10)
+        {
+            assertThat(partition.retrieve("key" + i), is("value" + i));
+        }
+    }
+
+    private LogStructuredObjectStorePartition<String> createPartition() throws Exception
+    {
+        LogStructuredObjectStorePartition<String> partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), DIRECT_EXECUTOR, SMALL_SEGMENT_SIZE);
+        partition.open();
+        return partition;
+    }
+
+    private void storeEntries(int count) throws Exception
+    {
+        for (int i = 0; i < count; i++)
+        {
+            partition.store("key" + i, "value" + i);
+        }
+    }
+
+    private void assertEntries(int count, int removed) throws Exception
+    {
+        assertThat(partition.allKeys().size(), is(count - 1));
+        for (int i = 0; i < count; i++)
+        {
+            assertThat(partition.contains("key" + i), is(i != removed));
+        }
+        assertThat(partition.retrieve("key0"), is("value0"));
+    }
+
+    /**
+     * Blocks the compaction while it reads its first record, until the partition is closed.
+     */
+    private static class BlockingObjectSerializer implements ObjectSerializer
+    {
+
+        private final ObjectSerializer delegate;
+        private final CountDownLatch compactionStarted;
+        private final CountDownLatch partitionClosed;
+
+        BlockingObjectSerializer(ObjectSerializer delegate, CountDownLatch compactionStarted, CountDownLatch partitionClosed)
+        {
+            this.delegate = delegate;
+            this.compactionStarted = compactionStarted;
+            this.partitionClosed = partitionClosed;
+        }
+
+        @Override
+        public byte[] serialize(Object object) throws SerializationException
+        {
+            return delegate.serialize(object);
+        }
+
+        @Override
+        public void serialize(Object object, OutputStream out) throws SerializationException
+        {
+            delegate.serialize(object, out);
+        }
+
+        @Override
+        public <T> T deserialize(byte[] bytes) throws SerializationException
+        {
+            if (COMPACTOR_THREAD_NAME.equals(Thread.currentThread().getName()))
+            {
+                compactionStarted.countDown();
+                try
+                {
+                    partitionClosed.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return delegate.deserialize(bytes);
+        }
+
+        @Override
+        public <T> T deserialize(byte[] bytes, ClassLoader classLoader) throws SerializationException
+        {
+            return delegate.deserialize(bytes, classLoader);
+        }
+
+        @Override
+        public <T> T deserialize(InputStream inputStream) throws SerializationException
+        {
+            return delegate.deserialize(inputStream);
+        }
+
+        @Override
+        public <T> T deserialize(InputStream inputStream, ClassLoader classLoader) throws SerializationException
+        {
+            return delegate.deserialize(inputStream, classLoader);
+        }
+    }
+}
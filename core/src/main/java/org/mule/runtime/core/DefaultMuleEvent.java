@@ -433,7 +433,7 @@ public class DefaultMuleEvent implements MuleEvent, DeserializationPostInitialis
             }
             else
             {
-                this.flowVariables.putAll(((DefaultMuleEvent) rewriteEvent).flowVariables);
+                this.flowVariables = ((DefaultMuleEvent) rewriteEvent).flowVariables.clone();
             }
         }
         else
@@ -36,6 +36,7 @@ class Configuration
     private Set<Class<? extends ServerNotification>> disabledNotificationTypes = new HashSet<Class<? extends ServerNotification>>();
     private volatile boolean dirty = true;
     private Policy policy;
+    private Map<NotificationDispatchLane.Key, Policy> lanePolicies;
 
     synchronized void addInterfaceToType(Class<? extends ServerNotificationListener> iface, Class<? extends ServerNotification> type)
     {
@@ -155,6 +156,7 @@ class Configuration
                 if (dirty)
                 {
                     policy = new Policy(interfaceToTypes, listenerSubscriptionPairs, disabledInterfaces, disabledNotificationTypes);
+                    lanePolicies = createLanePolicies();
                     dirty = false;
                 }
             }
@@ -162,6 +164,36 @@ class Configuration
         return policy;
     }
 
+    /**
+     * @return a policy for the listeners of each dispatch lane, rebuilt together with {@link #getPolicy()}
+     */
+    protected Map<NotificationDispatchLane.Key, Policy> getLanePolicies()
+    {
+        getPolicy();
+        return lanePolicies;
+    }
+
+    private Map<NotificationDispatchLane.Key, Policy> createLanePolicies()
+    {
+        Map<NotificationDispatchLane.Key, Set<ListenerSubscriptionPair>> lanePairs = new HashMap<NotificationDispatchLane.Key, Set<ListenerSubscriptionPair>>();
+        for (ListenerSubscriptionPair pair : listenerSubscriptionPairs)
+        {
+            NotificationDispatchLane.Key key = new NotificationDispatchLane.Key(pair.getGroup(), pair.getOverflowPolicy());
+            if (!lanePairs.containsKey(key))
+            {
+                lanePairs.put(key, new HashSet<ListenerSubscriptionPair>());
+            }
+            lanePairs.get(key).add(pair);
+        }
+
+        Map<NotificationDispatchLane.Key, Policy> policies = new HashMap<NotificationDispatchLane.Key, Policy>();
+        for (Map.Entry<NotificationDispatchLane.Key, Set<ListenerSubscriptionPair>> entry : lanePairs.entrySet())
+        {
+            policies.put(entry.getKey(), new Policy(interfaceToTypes, entry.getValue(), disabledInterfaces, disabledNotificationTypes));
+        }
+        return Collections.unmodifiableMap(policies);
+    }
+
     // for tests -------------------------------
 
     Map<Class<? extends ServerNotificationListener>, Set<Class<? extends ServerNotification>>> getInterfaceToTypes()
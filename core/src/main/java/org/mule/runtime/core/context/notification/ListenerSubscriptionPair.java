@@ -11,13 +11,19 @@ import org.mule.runtime.core.util.ClassUtils;
 
 /**
  * A simple tuple that stores a listener with an optional subscription (used to match a resource ID).
+ * It also tells how asynchronous notifications reach the listener: listeners in the same group with the
+ * same {@link OverflowPolicy} share a bounded buffer and a dispatch thread.
  */
 public class ListenerSubscriptionPair
 {
 
+    public static final String DEFAULT_GROUP = "default";
+
     private ServerNotificationListener listener;
     private String subscription = ServerNotificationManager.NULL_SUBSCRIPTION;
     private boolean nullSubscription = true;
+    private String group = DEFAULT_GROUP;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
 
     /**
      * For config - must be constructed using the setters
@@ -52,6 +58,22 @@ public class ListenerSubscriptionPair
         }
     }
 
+    public void setGroup(String group)
+    {
+        if (null != group)
+        {
+            this.group = group;
+        }
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy)
+    {
+        if (null != overflowPolicy)
+        {
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
+
     public ServerNotificationListener getListener()
     {
         return listener;
@@ -62,6 +84,16 @@ public class ListenerSubscriptionPair
         return subscription;
     }
 
+    public String getGroup()
+    {
+        return group;
+    }
+
+    public OverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
     public boolean isNullSubscription()
     {
         return nullSubscription;
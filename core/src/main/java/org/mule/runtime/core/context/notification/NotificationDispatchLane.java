@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.resource.spi.work.Work;
+
+/**
+ * Delivers the asynchronous notifications of one group of listeners sharing an {@link OverflowPolicy}.
+ * Notifications are written to a {@link NotificationRingBuffer} by the threads firing them, and a single
+ * {@link Work} drains it in batches, so a slow group never delays the others.
+ */
+class NotificationDispatchLane implements Work
+{
+
+    static final int BATCH_SIZE = 64;
+
+    private static final long IDLE_PARK_NANOS = MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = MICROSECONDS.toNanos(50);
+
+    private final Key key;
+    private final NotificationRingBuffer buffer;
+    private final Function<Class<? extends ServerNotification>, NotificationTypeStatistics> statistics;
+    private final AtomicInteger sampleCounter = new AtomicInteger();
+    private volatile Policy policy;
+    private volatile Thread consumer;
+    private volatile boolean parked;
+    private volatile boolean stopped;
+
+    NotificationDispatchLane(Key key, int bufferSize, Function<Class<? extends ServerNotification>, NotificationTypeStatistics> statistics)
+    {
+        this.key = key;
+        this.buffer = new NotificationRingBuffer(bufferSize);
+        this.statistics = statistics;
+    }
+
+    Key getKey()
+    {
+        return key;
+    }
+
+    /**
+     * @param policy the policy for the listeners of this group, or null if the group no longer has listeners
+     */
+    void setPolicy(Policy policy)
+    {
+        this.policy = policy;
+    }
+
+    boolean accepts(ServerNotification notification)
+    {
+        Policy current = policy;
+        return current != null && current.isNotificationDispatched(notification.getClass());
+    }
+
+    void offer(ServerNotification notification)
+    {
+        NotificationTypeStatistics typeStatistics = statistics.apply(notification.getClass());
+        typeStatistics.incrementQueued();
+        if (enqueue(notification))
+        {
+            if (parked)
+            {
+                Thread current = consumer;
+                if (current != null)
+                {
+                    unpark(current);
+                }
+            }
+        }
+        else
+        {
+            typeStatistics.decrementQueued();
+            typeStatistics.incrementDropped();
+        }
+    }
+
+    private boolean enqueue(ServerNotification notification)
+    {
+        switch (key.getOverflowPolicy())
+        {
+            case DROP:
+                return buffer.offer(notification);
+            case SAMPLE:
+                if (buffer.size() >= buffer.capacity() / 2 && sampleCounter.incrementAndGet() % ServerNotificationManager.SAMPLE_RATE != 0)
+                {
+                    return false;
+                }
+                return buffer.offer(notification);
+            default:
+                while (!buffer.offer(notification))
+                {
+                    Thread current = consumer;
+                    // waiting only makes sense while someone else is draining the buffer
+                    if (stopped || current == null || current == currentThread() || currentThread().isInterrupted())
+                    {
+                        return false;
+                    }
+                    unpark(current);
+                    parkNanos(this, FULL_PARK_NANOS);
+                }
+                return true;
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        consumer = currentThread();
+        ServerNotification[] batch = new ServerNotification[BATCH_SIZE];
+        try
+        {
+            while (!stopped)
+            {
+                int count = buffer.drainTo(batch);
+                if (count == 0)
+                {
+                    parked = true;
+                    if (buffer.isEmpty() && !stopped)
+                    {
+                        parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    parked = false;
+                    // interruptions only matter when stopping, which is checked by the loop
+                    Thread.interrupted();
+                    continue;
+                }
+
+                Policy current = policy;
+                for (int i = 0; i < count; i++)
+                {
+                    ServerNotification notification = batch[i];
+                    batch[i] = null;
+                    statistics.apply(notification.getClass()).decrementQueued();
+                    if (current != null)
+                    {
+                        current.dispatch(notification);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            consumer = null;
+        }
+    }
+
+    @Override
+    public void release()
+    {
+        stopped = true;
+        Thread current = consumer;
+        if (current != null)
+        {
+            unpark(current);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "NotificationDispatchLane [group=" + key.getGroup() + ", overflowPolicy=" + key.getOverflowPolicy() + "]";
+    }
+
+    /**
+     * Identifies a lane: listeners in the same group with the same overflow policy share one.
+     */
+    static final class Key
+    {
+
+        private final String group;
+        private final OverflowPolicy overflowPolicy;
+
+        Key(String group, OverflowPolicy overflowPolicy)
+        {
+            this.group = group;
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        String getGroup()
+        {
+            return group;
+        }
+
+        OverflowPolicy getOverflowPolicy()
+        {
+            return overflowPolicy;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+            Key other = (Key) obj;
+            return group.equals(other.group) && overflowPolicy == other.overflowPolicy;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * group.hashCode() + overflowPolicy.hashCode();
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer of notifications that can be written by many threads and
+ * is read by a single consumer.
+ *
+ * <p>Every slot has a sequence number: a producer may only claim a slot whose sequence matches
+ * its position, and the consumer may only take it once the producer has published position + 1.
+ * Consuming a slot moves its sequence a full lap ahead, handing it back to the producers.</p>
+ */
+class NotificationRingBuffer
+{
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<ServerNotification> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * @param requestedCapacity the minimum number of notifications to hold, rounded up to a power of two
+     */
+    NotificationRingBuffer(int requestedCapacity)
+    {
+        if (requestedCapacity < 1)
+        {
+            throw new IllegalArgumentException("Notification buffer capacity must be positive: " + requestedCapacity);
+        }
+        capacity = Integer.highestOneBit(requestedCapacity) == requestedCapacity ? requestedCapacity : Integer.highestOneBit(requestedCapacity) << 1;
+        mask = capacity - 1;
+        slots = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++)
+        {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(ServerNotification notification)
+    {
+        long position = tail.get();
+        while (true)
+        {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0)
+            {
+                if (tail.compareAndSet(position, position + 1))
+                {
+                    slots.lazySet(index, notification);
+                    // a volatile write, so that it is ordered with the consumer's check for parking
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            }
+            else if (difference < 0)
+            {
+                return false;
+            }
+            else
+            {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code batch.length} notifications into {@code batch}. Must only be called from the consumer thread.
+     *
+     * @return the number of notifications taken
+     */
+    int drainTo(ServerNotification[] batch)
+    {
+        long position = head;
+        int count = 0;
+        while (count < batch.length)
+        {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1)
+            {
+                break;
+            }
+            batch[count++] = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.lazySet(index, position + capacity);
+            position++;
+        }
+        head = position;
+        return count;
+    }
+
+    boolean isEmpty()
+    {
+        long position = head;
+        return sequences.get((int) position & mask) != position + 1;
+    }
+
+    int size()
+    {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    int capacity()
+    {
+        return capacity;
+    }
+
+}
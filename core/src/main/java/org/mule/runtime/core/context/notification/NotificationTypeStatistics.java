@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the asynchronous dispatch of one notification type. A notification delivered to several
+ * listener groups is counted once per group.
+ *
+ * @since 4.0
+ */
+public class NotificationTypeStatistics
+{
+
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @return the number of notifications of this type waiting in the buffers to be delivered
+     */
+    public long getQueued()
+    {
+        return queued.sum();
+    }
+
+    /**
+     * @return the number of notifications of this type discarded because a buffer was full
+     */
+    public long getDropped()
+    {
+        return dropped.sum();
+    }
+
+    void incrementQueued()
+    {
+        queued.increment();
+    }
+
+    void decrementQueued()
+    {
+        queued.decrement();
+    }
+
+    void incrementDropped()
+    {
+        dropped.increment();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "NotificationTypeStatistics [queued=" + getQueued() + ", dropped=" + getDropped() + "]";
+    }
+
+}
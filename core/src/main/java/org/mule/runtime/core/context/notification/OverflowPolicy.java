@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+/**
+ * What the {@link ServerNotificationManager} does with an asynchronous notification when the
+ * bounded buffer of the listener group that should receive it is full.
+ *
+ * @since 4.0
+ */
+public enum OverflowPolicy
+{
+
+    /**
+     * The notification is discarded and counted as dropped.
+     */
+    DROP,
+
+    /**
+     * The thread firing the notification waits until the listeners of the group make room for it.
+     * This never loses notifications while the group is being dispatched, at the price of slowing
+     * down the flows when the listeners can't keep up.
+     */
+    BLOCK,
+
+    /**
+     * Once the buffer is half full only one in every {@link ServerNotificationManager#SAMPLE_RATE}
+     * notifications is accepted, and notifications are discarded when it is full. Under sustained load
+     * listeners keep seeing a thinned out, evenly spread stream instead of bursts separated by gaps.
+     */
+    SAMPLE
+
+}
@@ -138,6 +138,30 @@ class Policy
         return found;
     }
 
+    /**
+     * Unlike {@link #isNotificationEnabled(Class)}, this is exact: it is true only if some listener
+     * would be sent a notification of the given class (subscriptions aside).
+     *
+     * @param notfnClass The class of the notification being generated
+     * @return false if dispatching the notification would reach no listener
+     */
+    boolean isNotificationDispatched(Class notfnClass)
+    {
+        Boolean known = (Boolean) knownEventsExact.get(notfnClass);
+        if (known == null)
+        {
+            boolean found = false;
+            for (Iterator events = eventToSenders.keySet().iterator(); events.hasNext() && !found;)
+            {
+                Class event = (Class) events.next();
+                found = event.isAssignableFrom(notfnClass);
+            }
+            known = Boolean.valueOf(found);
+            knownEventsExact.put(notfnClass, known);
+        }
+        return known.booleanValue();
+    }
+
     /**
      * This returns a very "conservative" value - it is true if the notification or any subclass would be
      * accepted.  So if it returns false then you can be sure that there is no need to send the
@@ -6,7 +6,8 @@
  */
 package org.mule.runtime.core.context.notification;
 
-import static java.lang.Thread.currentThread;
+import static java.lang.Integer.getInteger;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
@@ -19,16 +20,16 @@ import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.LifecycleException;
 import org.mule.runtime.core.util.ClassUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import javax.resource.spi.work.Work;
 import javax.resource.spi.work.WorkException;
 import javax.resource.spi.work.WorkListener;
 
@@ -60,17 +61,45 @@ import org.slf4j.LoggerFactory;
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
  * <li>Enquiring whether an event is enabled returns true if any subclass is enabled.</li>
  * </ul>
+ *
+ * <p>Notifications that are not {@link BlockingServerEvent}s are delivered asynchronously. Listeners
+ * are grouped by their {@link ListenerSubscriptionPair#getGroup() group} and
+ * {@link ListenerSubscriptionPair#getOverflowPolicy() overflow policy}, and each group gets a bounded,
+ * lock-free buffer drained in batches by its own {@link javax.resource.spi.work.Work}. Firing a notification
+ * only writes it to the buffers of the groups with a listener for it, and what happens when a buffer is full
+ * is decided by the group's {@link OverflowPolicy}. {@link #getNotificationStatistics()} tells how many
+ * notifications of each type are queued and how many were dropped.</p>
  */
-public class ServerNotificationManager implements Work, Disposable, ServerNotificationHandler, MuleContextAware
+public class ServerNotificationManager implements Disposable, ServerNotificationHandler, MuleContextAware
 {
     public static final String NULL_SUBSCRIPTION = "NULL";
+
+    /**
+     * System property with the capacity of the buffer of each listener group.
+     */
+    public static final String NOTIFICATION_BUFFER_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.bufferSize";
+    public static final int DEFAULT_NOTIFICATION_BUFFER_SIZE = 8192;
+
+    /**
+     * One in how many notifications a group with the {@link OverflowPolicy#SAMPLE} policy accepts once
+     * its buffer is half full.
+     */
+    public static final int SAMPLE_RATE = 10;
+
+    private static final NotificationDispatchLane[] NO_LANES = new NotificationDispatchLane[0];
+
     protected Logger logger = LoggerFactory.getLogger(getClass());
     private boolean dynamic = false;
     private Configuration configuration = new Configuration();
     private AtomicBoolean disposed = new AtomicBoolean(false);
-    private volatile Thread runningThread;
-    private BlockingDeque<ServerNotification> eventQueue = new LinkedBlockingDeque<ServerNotification>();
     private MuleContext muleContext;
+    private int notificationBufferSize = getInteger(NOTIFICATION_BUFFER_SIZE_PROPERTY, DEFAULT_NOTIFICATION_BUFFER_SIZE);
+    private final ConcurrentMap<NotificationDispatchLane.Key, NotificationDispatchLane> dispatchLanes = new ConcurrentHashMap<>();
+    private volatile NotificationDispatchLane[] activeLanes = NO_LANES;
+    private volatile Map<NotificationDispatchLane.Key, Policy> activeLanePolicies;
+    private final ConcurrentMap<Class<? extends ServerNotification>, NotificationTypeStatistics> statistics = new ConcurrentHashMap<>();
+    private WorkManager workManager;
+    private WorkListener workListener;
 
     @Override
     public boolean isNotificationDynamic()
@@ -89,18 +118,40 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
         this.dynamic = dynamic;
     }
 
+    /**
+     * Sets the capacity of the buffers of the listener groups that don't have one yet. It defaults to the
+     * value of {@link #NOTIFICATION_BUFFER_SIZE_PROPERTY}, or {@link #DEFAULT_NOTIFICATION_BUFFER_SIZE}.
+     */
+    public void setNotificationBufferSize(int notificationBufferSize)
+    {
+        this.notificationBufferSize = notificationBufferSize;
+    }
+
     public void start(WorkManager workManager, WorkListener workListener) throws LifecycleException
     {
-        try
-        {
-            workManager.scheduleWork(this, WorkManager.INDEFINITE, null, workListener);
-        }
-        catch (WorkException e)
+        synchronized (dispatchLanes)
         {
-            throw new LifecycleException(e, this);
+            this.workManager = workManager;
+            this.workListener = workListener;
+            try
+            {
+                for (NotificationDispatchLane lane : dispatchLanes.values())
+                {
+                    scheduleLane(lane);
+                }
+            }
+            catch (WorkException e)
+            {
+                throw new LifecycleException(e, this);
+            }
         }
     }
 
+    private void scheduleLane(NotificationDispatchLane lane) throws WorkException
+    {
+        workManager.scheduleWork(lane, WorkManager.INDEFINITE, null, workListener);
+    }
+
     public void addInterfaceToType(Class<? extends ServerNotificationListener> iface, Class<? extends ServerNotification> event)
     {
         configuration.addInterfaceToType(iface, event);
@@ -174,15 +225,11 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
             }
             else
             {
-                try
+                for (NotificationDispatchLane lane : getActiveLanes())
                 {
-                    eventQueue.put(notification);
-                }
-                catch (InterruptedException e)
-                {
-                    if (!disposed.get())
+                    if (lane.accepts(notification))
                     {
-                        logger.error("Failed to queue notification: " + notification, e);
+                        lane.offer(notification);
                     }
                 }
             }
@@ -208,14 +255,100 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
         return enabled;
     }
 
+    /**
+     * Returns the dispatch lanes for the current configuration, updating them first if the configuration
+     * changed since they were last set up.
+     */
+    private NotificationDispatchLane[] getActiveLanes()
+    {
+        Configuration current = configuration;
+        if (current == null)
+        {
+            return NO_LANES;
+        }
+        Map<NotificationDispatchLane.Key, Policy> lanePolicies = current.getLanePolicies();
+        if (lanePolicies != activeLanePolicies)
+        {
+            updateLanes(lanePolicies);
+        }
+        return activeLanes;
+    }
+
+    private void updateLanes(Map<NotificationDispatchLane.Key, Policy> lanePolicies)
+    {
+        synchronized (dispatchLanes)
+        {
+            if (lanePolicies == activeLanePolicies || disposed.get())
+            {
+                return;
+            }
+            // lanes are kept when their group goes away, there are few of them and they may come back
+            for (NotificationDispatchLane lane : dispatchLanes.values())
+            {
+                if (!lanePolicies.containsKey(lane.getKey()))
+                {
+                    lane.setPolicy(null);
+                }
+            }
+
+            List<NotificationDispatchLane> lanes = new ArrayList<>(lanePolicies.size());
+            for (Map.Entry<NotificationDispatchLane.Key, Policy> entry : lanePolicies.entrySet())
+            {
+                NotificationDispatchLane lane = dispatchLanes.get(entry.getKey());
+                if (lane == null)
+                {
+                    lane = new NotificationDispatchLane(entry.getKey(), notificationBufferSize, this::getStatistics);
+                    dispatchLanes.put(entry.getKey(), lane);
+                    if (workManager != null)
+                    {
+                        try
+                        {
+                            scheduleLane(lane);
+                        }
+                        catch (WorkException e)
+                        {
+                            logger.error("Failed to start the dispatch of notifications for " + lane, e);
+                        }
+                    }
+                }
+                lane.setPolicy(entry.getValue());
+                lanes.add(lane);
+            }
+            activeLanes = lanes.toArray(new NotificationDispatchLane[lanes.size()]);
+            activeLanePolicies = lanePolicies;
+        }
+    }
+
+    private NotificationTypeStatistics getStatistics(Class<? extends ServerNotification> type)
+    {
+        NotificationTypeStatistics typeStatistics = statistics.get(type);
+        if (typeStatistics == null)
+        {
+            typeStatistics = statistics.computeIfAbsent(type, key -> new NotificationTypeStatistics());
+        }
+        return typeStatistics;
+    }
+
+    /**
+     * @return the dispatch counters of each notification type that was fired asynchronously
+     */
+    public Map<Class<? extends ServerNotification>, NotificationTypeStatistics> getNotificationStatistics()
+    {
+        return Collections.unmodifiableMap(statistics);
+    }
+
     @Override
     public void dispose()
     {
         disposed.set(true);
         configuration = null;
-        if (runningThread != null)
+        synchronized (dispatchLanes)
         {
-            runningThread.interrupt();
+            for (NotificationDispatchLane lane : dispatchLanes.values())
+            {
+                lane.release();
+            }
+            activeLanes = NO_LANES;
         }
     }
 
@@ -231,34 +364,11 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
         }
     }
 
-    @Override
     public void release()
     {
         dispose();
     }
 
-    @Override
-    public void run()
-    {
-        runningThread = currentThread();
-        while (!disposed.get())
-        {
-            try
-            {
-                int timeout = muleContext.getConfiguration().getDefaultQueueTimeout();
-                ServerNotification notification = eventQueue.poll(timeout, TimeUnit.MILLISECONDS);
-                if (notification != null)
-                {
-                    notifyListeners(notification);
-                }
-            }
-            catch (InterruptedException e)
-            {
-                currentThread().interrupt();
-            }
-        }
-    }
-
     /**
      * Support string or class parameters
      */
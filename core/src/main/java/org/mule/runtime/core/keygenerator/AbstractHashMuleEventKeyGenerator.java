@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.keygenerator;
+
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleEventKeyGenerator;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.util.StringUtils;
+
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base {@link MuleEventKeyGenerator} that generates the key by hashing the event's message payload.
+ * <p/>
+ * A stream payload is hashed as it is read, and replaced by a stream with the same content so the message can still
+ * be consumed afterwards (see {@link PayloadHasher#hashStream(InputStream)}). Any other payload is hashed over its
+ * byte representation.
+ */
+public abstract class AbstractHashMuleEventKeyGenerator implements MuleEventKeyGenerator
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractHashMuleEventKeyGenerator.class);
+
+    @Override
+    public Serializable generateKey(MuleEvent event) throws NotSerializableException
+    {
+        try
+        {
+            PayloadHasher hasher = createHasher();
+            MuleMessage message = event.getMessage();
+            if (message != null && message.getPayload() instanceof InputStream)
+            {
+                InputStream content = hasher.hashStream((InputStream) message.getPayload());
+                event.setMessage(MuleMessage.builder(message).payload(content).build());
+            }
+            else
+            {
+                hasher.write(event.getMessageAsBytes());
+            }
+            String key = StringUtils.toHexString(hasher.hash());
+
+            if (logger.isDebugEnabled())
+            {
+                logger.debug(String.format("Generated key for event: %s key: %s", event, key));
+            }
+
+            return key;
+        }
+        catch (Exception e)
+        {
+            // TODO: The exception may not necessarily be caused by a serialization problem, but we still throw
+            // NotSerializableException to keep backwards compatibility. The interface needs to be changed.
+
+            NotSerializableException notSerializableException = new NotSerializableException(e.getMessage());
+            notSerializableException.initCause(e);
+
+            throw notSerializableException;
+        }
+    }
+
+    /**
+     * @return a new hasher to compute the key of an event
+     * @throws Exception if the hasher cannot be created
+     */
+    protected abstract PayloadHasher createHasher() throws Exception;
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.keygenerator;
+
+/**
+ * Implements {@link org.mule.runtime.core.api.MuleEventKeyGenerator} applying the 128 bit murmur3 hash to the
+ * event's message payload.
+ * <p/>
+ * It is much faster than {@link SHA256MuleEventKeyGenerator}, but it is not a cryptographic hash, so it should only
+ * be used when the payloads can't be crafted to produce the same key.
+ */
+public class Murmur3MuleEventKeyGenerator extends AbstractHashMuleEventKeyGenerator
+{
+
+    @Override
+    protected PayloadHasher createHasher()
+    {
+        return PayloadHasher.murmur3_128();
+    }
+}
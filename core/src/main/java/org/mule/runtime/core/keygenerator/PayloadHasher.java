@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.keygenerator;
+
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.FileBackedOutputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes a hash of the bytes written to it, so content can be hashed as it is produced instead of collecting it
+ * in a byte array first.
+ * <p/>
+ * Instances are meant to be used by a single thread to compute a single hash.
+ */
+public abstract class PayloadHasher extends OutputStream
+{
+
+    /**
+     * System property with the number of bytes of a hashed stream that are kept in memory, the rest of the content
+     * is kept in a temporary file until the stream returned by {@link #hashStream(InputStream)} is closed.
+     */
+    public static final String MEMORY_THRESHOLD_PROPERTY = SYSTEM_PROPERTY_PREFIX + "keyGenerator.memoryThreshold";
+
+    private static final int DEFAULT_MEMORY_THRESHOLD = 256 * 1024;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MEMORY_THRESHOLD = Integer.getInteger(MEMORY_THRESHOLD_PROPERTY, DEFAULT_MEMORY_THRESHOLD);
+
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * @param algorithm the name of a {@link MessageDigest} algorithm
+     * @return a hasher that uses a {@link MessageDigest} that is reused by the calling thread
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     */
+    public static PayloadHasher digest(String algorithm) throws NoSuchAlgorithmException
+    {
+        Map<String, MessageDigest> digests = DIGESTS.get();
+        MessageDigest digest = digests.get(algorithm);
+        if (digest == null)
+        {
+            digest = MessageDigest.getInstance(algorithm);
+            digests.put(algorithm, digest);
+        }
+        else
+        {
+            digest.reset();
+        }
+        return new DigestHasher(digest);
+    }
+
+    /**
+     * @return a hasher that computes the 128 bit murmur3 hash, which is much faster than a cryptographic hash but
+     *         should not be used when the content may be crafted to produce collisions
+     */
+    public static PayloadHasher murmur3_128()
+    {
+        return new GuavaHasher(Hashing.murmur3_128().newHasher());
+    }
+
+    /**
+     * @return the hash of the bytes written so far
+     */
+    public abstract byte[] hash();
+
+    /**
+     * Hashes the content of the given stream, which is consumed and closed.
+     *
+     * @param stream the stream to hash
+     * @return a stream with the same content. It is kept in memory up to {@link #MEMORY_THRESHOLD_PROPERTY} bytes
+     *         and in a temporary file beyond that, which is deleted when the returned stream is closed
+     * @throws IOException if the stream cannot be read
+     */
+    public InputStream hashStream(InputStream stream) throws IOException
+    {
+        FileBackedOutputStream content = new FileBackedOutputStream(MEMORY_THRESHOLD, true);
+        try (InputStream input = stream)
+        {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1)
+            {
+                write(buffer, 0, read);
+                content.write(buffer, 0, read);
+            }
+        }
+        catch (IOException e)
+        {
+            content.reset();
+            throw e;
+        }
+        finally
+        {
+            content.close();
+        }
+        return new ContentInputStream(content);
+    }
+
+    private static final class DigestHasher extends PayloadHasher
+    {
+
+        private final MessageDigest digest;
+
+        private DigestHasher(MessageDigest digest)
+        {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b)
+        {
+            digest.update((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length)
+        {
+            digest.update(bytes, offset, length);
+        }
+
+        @Override
+        public byte[] hash()
+        {
+            return digest.digest();
+        }
+    }
+
+    private static final class GuavaHasher extends PayloadHasher
+    {
+
+        private final Hasher hasher;
+
+        private GuavaHasher(Hasher hasher)
+        {
+            this.hasher = hasher;
+        }
+
+        @Override
+        public void write(int b)
+        {
+            hasher.putByte((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length)
+        {
+            hasher.putBytes(bytes, offset, length);
+        }
+
+        @Override
+        public byte[] hash()
+        {
+            return hasher.hash().asBytes();
+        }
+    }
+
+    /**
+     * Reads the content kept by a {@link FileBackedOutputStream}, deleting its temporary file once closed.
+     */
+    private static final class ContentInputStream extends FilterInputStream
+    {
+
+        private final FileBackedOutputStream content;
+
+        private ContentInputStream(FileBackedOutputStream content) throws IOException
+        {
+            super(content.asByteSource().openStream());
+            this.content = content;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                super.close();
+            }
+            finally
+            {
+                content.reset();
+            }
+        }
+    }
+}
@@ -6,50 +6,18 @@
  */
 package org.mule.runtime.core.keygenerator;
 
-import org.mule.runtime.core.api.MuleEvent;
-import org.mule.runtime.core.api.MuleEventKeyGenerator;
-import org.mule.runtime.core.util.StringUtils;
-
-import java.io.NotSerializableException;
-import java.io.Serializable;
-import java.security.MessageDigest;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * Implements {@link org.mule.runtime.core.api.MuleEventKeyGenerator} applying SHA-256 digest to the event's
  * message payload.
  */
-public class SHA256MuleEventKeyGenerator implements MuleEventKeyGenerator
+public class SHA256MuleEventKeyGenerator extends AbstractHashMuleEventKeyGenerator
 {
 
-    private static final Logger logger = LoggerFactory.getLogger(SHA256MuleEventKeyGenerator.class);
-
-    public Serializable generateKey(MuleEvent event) throws NotSerializableException
+    @Override
+    protected PayloadHasher createHasher() throws NoSuchAlgorithmException
     {
-        try
-        {
-            byte[] bytesOfMessage = event.getMessageAsBytes();
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            String key = StringUtils.toHexString(md.digest(bytesOfMessage));
-
-            if (logger.isDebugEnabled())
-            {
-                logger.debug(String.format("Generated key for event: %s key: %s", event, key));
-            }
-
-            return key;
-        }
-        catch (Exception e)
-        {
-            // TODO: The exception may not necessarily be caused by a serialization problem, but we still throw
-            // NotSerializableException to keep backwards compatibility. The interface needs to be changed.
-
-            NotSerializableException notSerializableException = new NotSerializableException(e.getMessage());
-            notSerializableException.initCause(e);
-
-            throw notSerializableException;
-        }
+        return PayloadHasher.digest("SHA-256");
     }
 }
@@ -124,4 +124,26 @@ public class AllStatistics
     {
         return appStats;
     }
+
+    /**
+     * @param percentile between 0 and 100, for instance 99.9
+     * @return the processing time below which the given percentage of the events of all the flows completed
+     */
+    public long getProcessingTimePercentile(double percentile)
+    {
+        return appStats.getProcessingTimePercentile(percentile);
+    }
+
+    /**
+     * @return the processing time percentile of each flow construct, by name
+     */
+    public synchronized Map<String, Long> getProcessingTimePercentiles(double percentile)
+    {
+        Map<String, Long> percentiles = new HashMap<String, Long>();
+        for (Map.Entry<String, FlowConstructStatistics> entry : flowConstructStats.entrySet())
+        {
+            percentiles.put(entry.getKey(), entry.getValue().getProcessingTimePercentile(percentile));
+        }
+        return percentiles;
+    }
 }
@@ -102,6 +102,20 @@ public class ApplicationStatistics extends FlowConstructStatistics
         return total;
     }
 
+    @Override
+    public LatencyHistogram getProcessingTimeHistogram()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (FlowConstructStatistics stats : parent.getServiceStatistics())
+        {
+            if (!(stats instanceof ApplicationStatistics))
+            {
+                histogram.add(stats.getProcessingTimeHistogram());
+            }
+        }
+        return histogram;
+    }
+
     @Override
     public long getExecutionErrors()
     {
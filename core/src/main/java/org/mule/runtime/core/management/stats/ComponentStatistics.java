@@ -11,14 +11,20 @@ import org.mule.runtime.core.management.stats.printers.SimplePrinter;
 import org.mule.runtime.core.util.StringUtils;
 
 import java.io.PrintWriter;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. This class is not
- * thread-safe - occasional errors in reported statistics should be expected, especially when the {@link #clear()}
- * method is used.
+ * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. Measurements are
+ * recorded without locking, in striped counters and a {@link LatencyHistogram} that provides percentiles of the
+ * execution time. The values are not read atomically - occasional errors in reported statistics should be expected,
+ * especially when the {@link #clear()} method is used.
  */
 public class ComponentStatistics implements Statistics
 {
@@ -30,14 +36,15 @@ public class ComponentStatistics implements Statistics
      */
     private static final long serialVersionUID = -2086999226732861674L;
 
-    private long minExecutionTime = 0;
-    private long maxExecutionTime = 0;
-    private long averageExecutionTime = 0;
-    private long executedEvent = 0;
-    private long totalExecTime = 0;
+    // the accumulator functions are serialized along with the accumulators
+    private final LongAccumulator minExecutionTime = new LongAccumulator((LongBinaryOperator & Serializable) Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxExecutionTime = new LongAccumulator((LongBinaryOperator & Serializable) Math::max, 0);
+    private final LongAdder executedEvent = new LongAdder();
+    private final LongAdder totalExecTime = new LongAdder();
+    private final LatencyHistogram executionTimeHistogram = new LatencyHistogram();
     private boolean enabled = false;
     private long intervalTime = 0;
-    private long currentIntervalStartTime = 0;
+    private final AtomicLong currentIntervalStartTime = new AtomicLong(0);
     private boolean statIntervalTimeEnabled = false;
 
     /**
@@ -78,11 +85,11 @@ public class ComponentStatistics implements Statistics
      */
     public void clear()
     {
-        minExecutionTime = 0;
-        maxExecutionTime = 0;
-        executedEvent = 0;
-        totalExecTime = 0;
-        averageExecutionTime = 0;
+        minExecutionTime.reset();
+        maxExecutionTime.reset();
+        executedEvent.reset();
+        totalExecTime.reset();
+        executionTimeHistogram.reset();
     }
 
     /**
@@ -128,7 +135,7 @@ public class ComponentStatistics implements Statistics
      */
     public long getMaxExecutionTime()
     {
-        return maxExecutionTime;
+        return maxExecutionTime.get();
     }
 
     /**
@@ -138,7 +145,8 @@ public class ComponentStatistics implements Statistics
      */
     public long getMinExecutionTime()
     {
-        return minExecutionTime;
+        long min = minExecutionTime.get();
+        return min == Long.MAX_VALUE ? 0 : min;
     }
 
     /**
@@ -149,7 +157,7 @@ public class ComponentStatistics implements Statistics
      */
     public long getTotalExecutionTime()
     {
-        return totalExecTime;
+        return totalExecTime.sum();
     }
 
     /**
@@ -162,7 +170,7 @@ public class ComponentStatistics implements Statistics
      */
     public long getExecutedEvents()
     {
-        return executedEvent;
+        return executedEvent.sum();
     }
 
     /**
@@ -172,41 +180,23 @@ public class ComponentStatistics implements Statistics
      * @param branch the time to execute this branch
      * @param total the total time (so far) for processing this event
      */
-    public synchronized void addExecutionBranchTime(boolean first, long branch, long total)
+    public void addExecutionBranchTime(boolean first, long branch, long total)
     {
         // TODO MULE-9151 - ComponentStatistics should really create distinct Event
         // objects that can be used to aggregate statistics and then atomically
         // log them at completion time.
 
-        if (statIntervalTimeEnabled)
-        {
-            long currentTime = System.currentTimeMillis();
-            if (currentIntervalStartTime == 0)
-            {
-                currentIntervalStartTime = currentTime;
-            }
-
-            if ((currentTime - currentIntervalStartTime) > intervalTime)
-            {
-                clear();
-                currentIntervalStartTime = currentTime;
-            }
-        }
+        clearIfIntervalElapsed();
 
         if (first)
         {
-            executedEvent++;
+            executedEvent.increment();
         }
 
-        if (executedEvent > 0)
+        if (executedEvent.sum() > 0)
         {
-            totalExecTime += ProcessingTime.getEffectiveTime(branch);
-            long effectiveTotal = ProcessingTime.getEffectiveTime(total);
-            if (maxExecutionTime == 0 || effectiveTotal > maxExecutionTime)
-            {
-                maxExecutionTime = effectiveTotal;
-            }
-            averageExecutionTime = totalExecTime / executedEvent;
+            totalExecTime.add(ProcessingTime.getEffectiveTime(branch));
+            maxExecutionTime.accumulate(ProcessingTime.getEffectiveTime(total));
         }
     }
 
@@ -217,15 +207,13 @@ public class ComponentStatistics implements Statistics
      * 
      * @param time the total time required to process this event
      */
-    public synchronized void addCompleteExecutionTime(long time)
+    public void addCompleteExecutionTime(long time)
     {
-        if (executedEvent > 0)
+        if (executedEvent.sum() > 0)
         {
             long effectiveTime = ProcessingTime.getEffectiveTime(time);
-            if (minExecutionTime == 0 || effectiveTime < minExecutionTime)
-            {
-                minExecutionTime = effectiveTime;
-            }
+            minExecutionTime.accumulate(effectiveTime);
+            executionTimeHistogram.record(effectiveTime);
         }
     }
 
@@ -236,37 +224,37 @@ public class ComponentStatistics implements Statistics
      *
      * @param time The total event time to be logged/recorded.
      */
-    public synchronized void addExecutionTime(long time)
+    public void addExecutionTime(long time)
+    {
+        clearIfIntervalElapsed();
+
+        executedEvent.increment();
+
+        long effectiveTime = ProcessingTime.getEffectiveTime(time);
+        totalExecTime.add(effectiveTime);
+        minExecutionTime.accumulate(effectiveTime);
+        maxExecutionTime.accumulate(effectiveTime);
+        executionTimeHistogram.record(effectiveTime);
+    }
+
+    /**
+     * Clears the statistics when the statIntervalTime is enabled and has elapsed. Only one of the threads
+     * that find the interval elapsed does it.
+     */
+    private void clearIfIntervalElapsed()
     {
         if (statIntervalTimeEnabled)
         {
             long currentTime = System.currentTimeMillis();
-            if (currentIntervalStartTime == 0)
-            {
-                currentIntervalStartTime = currentTime;
-            }
+            currentIntervalStartTime.compareAndSet(0, currentTime);
+            long intervalStartTime = currentIntervalStartTime.get();
 
-            if ((currentTime - currentIntervalStartTime) > intervalTime)
+            if ((currentTime - intervalStartTime) > intervalTime
+                && currentIntervalStartTime.compareAndSet(intervalStartTime, currentTime))
             {
                 clear();
-                currentIntervalStartTime = currentTime;
             }
         }
-
-        executedEvent++;
-
-        long effectiveTime = ProcessingTime.getEffectiveTime(time);
-        totalExecTime += effectiveTime;
-
-        if (minExecutionTime == 0 || effectiveTime < minExecutionTime)
-        {
-            minExecutionTime = time;
-        }
-        if (maxExecutionTime == 0 || effectiveTime > maxExecutionTime)
-        {
-            maxExecutionTime = time;
-        }
-        averageExecutionTime = totalExecTime / executedEvent;
     }
 
     /**
@@ -276,7 +264,28 @@ public class ComponentStatistics implements Statistics
      */
     public long getAverageExecutionTime()
     {
-        return averageExecutionTime;
+        long executed = executedEvent.sum();
+        return executed == 0 ? 0 : totalExecTime.sum() / executed;
+    }
+
+    /**
+     * Returns the execution time below which the given percentage of the events completed. Only events whose
+     * complete execution time is known are considered, see {@link #addCompleteExecutionTime(long)}.
+     *
+     * @param percentile between 0 and 100, for instance 99.9
+     * @return the execution time at the percentile, or zero if no events have been completed.
+     */
+    public long getExecutionTimePercentile(double percentile)
+    {
+        return executionTimeHistogram.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * @return the histogram of the complete execution times, to aggregate it with those of other components.
+     */
+    public LatencyHistogram getExecutionTimeHistogram()
+    {
+        return executionTimeHistogram;
     }
 
 }
@@ -131,6 +131,38 @@ public class FlowConstructStatistics extends AbstractFlowConstructStatistics imp
         return flowStatistics.getTotalExecutionTime();
     }
 
+    /**
+     * @return the histogram of the processing times of the events, from which percentiles are calculated
+     */
+    public LatencyHistogram getProcessingTimeHistogram()
+    {
+        return flowStatistics.getExecutionTimeHistogram();
+    }
+
+    /**
+     * @param percentile between 0 and 100, for instance 99.9
+     * @return the processing time below which the given percentage of the events completed
+     */
+    public long getProcessingTimePercentile(double percentile)
+    {
+        return getProcessingTimeHistogram().getValueAtPercentile(percentile);
+    }
+
+    public long getProcessingTimeP50()
+    {
+        return getProcessingTimePercentile(50);
+    }
+
+    public long getProcessingTimeP99()
+    {
+        return getProcessingTimePercentile(99);
+    }
+
+    public long getProcessingTimeP999()
+    {
+        return getProcessingTimePercentile(99.9);
+    }
+
     public long getExecutionErrors()
     {
         return executionError.get();
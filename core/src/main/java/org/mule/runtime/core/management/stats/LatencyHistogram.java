@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.min;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A histogram of latencies that can be recorded concurrently without locking, and that is used to
+ * calculate percentiles of execution times.
+ * <p/>
+ * Values are counted in log-linear buckets, in the manner of an HDR histogram: values below 32 are
+ * counted exactly, and every power of two above that is split in 32 buckets, so the value reported
+ * for a percentile is within about 3% of the recorded one. Values above 2<sup>41</sup> are counted in
+ * the last bucket.
+ * <p/>
+ * Counts are striped by thread, so threads recording at the same time rarely write to the same
+ * cache lines. Stripes are only allocated once a thread that maps to them records a value, and are
+ * merged when the histogram is read. Histograms can also be {@link #add(LatencyHistogram) added}
+ * together, to aggregate the latencies of several flows.
+ */
+public class LatencyHistogram implements Serializable
+{
+
+    private static final long serialVersionUID = -3418226617062931856L;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final int STRIPES = stripes();
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+
+    private static int stripes()
+    {
+        int processors = min(Runtime.getRuntime().availableProcessors(), 8);
+        return Integer.highestOneBit(processors) == processors ? processors : Integer.highestOneBit(processors) << 1;
+    }
+
+    /**
+     * Records a value. Negative values are counted as zero.
+     */
+    public void record(long value)
+    {
+        stripe().incrementAndGet(bucketIndex(value));
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     */
+    public void add(LatencyHistogram other)
+    {
+        long[] counts = other.counts();
+        AtomicLongArray stripe = stripe();
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            if (counts[i] != 0)
+            {
+                stripe.addAndGet(i, counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Discards all the recorded values. Values recorded concurrently may or may not be kept.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < STRIPES; i++)
+        {
+            stripes.set(i, null);
+        }
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long getCount()
+    {
+        long count = 0;
+        for (long bucketCount : counts())
+        {
+            count += bucketCount;
+        }
+        return count;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the largest value that is equivalent to the value at the given percentile, or zero if
+     *         nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile)
+    {
+        long[] counts = counts();
+        long total = 0;
+        for (long bucketCount : counts)
+        {
+            total += bucketCount;
+        }
+        if (total == 0)
+        {
+            return 0;
+        }
+
+        // the tolerance keeps floating point noise, as in 99.9 * 1000, from moving the rank up by one
+        long rank = Math.max(1, (long) Math.ceil(min(percentile, 100.0) * total / 100.0 - 1e-9));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += counts[i];
+            if (seen >= rank)
+            {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(BUCKETS - 1);
+    }
+
+    private AtomicLongArray stripe()
+    {
+        int index = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null)
+        {
+            stripes.compareAndSet(index, null, new AtomicLongArray(BUCKETS));
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    private long[] counts()
+    {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < STRIPES; i++)
+        {
+            AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null)
+            {
+                for (int j = 0; j < BUCKETS; j++)
+                {
+                    counts[j] += stripe.get(j);
+                }
+            }
+        }
+        return counts;
+    }
+
+    static int bucketIndex(long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return value < 0 ? 0 : (int) value;
+        }
+        int exponent = 63 - numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT)
+        {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + mantissa;
+    }
+
+    static long highestEquivalentValue(int index)
+    {
+        if (index < SUB_BUCKETS)
+        {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int mantissa = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + mantissa + 1) << shift) - 1;
+    }
+
+}
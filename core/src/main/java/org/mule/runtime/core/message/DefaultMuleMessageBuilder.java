@@ -48,7 +48,6 @@ import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.metadata.DefaultCollectionDataType;
 import org.mule.runtime.core.metadata.TypedValue;
-import org.mule.runtime.core.util.CaseInsensitiveMapWrapper;
 import org.mule.runtime.core.util.CopyOnWriteCaseInsensitiveMap;
 import org.mule.runtime.core.util.MapUtils;
 import org.mule.runtime.core.util.ObjectUtils;
@@ -95,8 +94,8 @@ public class DefaultMuleMessageBuilder implements MuleMessage.Builder, MuleMessa
     private Object replyTo;
     private ExceptionPayload exceptionPayload;
 
-    private Map<String, TypedValue<Serializable>> inboundProperties = new CaseInsensitiveMapWrapper<>(HashMap.class);
-    private Map<String, TypedValue<Serializable>> outboundProperties = new CaseInsensitiveMapWrapper<>(HashMap.class);
+    private Map<String, TypedValue<Serializable>> inboundProperties = new CopyOnWriteCaseInsensitiveMap<>();
+    private Map<String, TypedValue<Serializable>> outboundProperties = new CopyOnWriteCaseInsensitiveMap<>();
     private Map<String, DataHandler> inboundAttachments = new HashMap<>();
     private Map<String, DataHandler> outboundAttachments = new HashMap<>();
 
@@ -118,6 +117,33 @@ public class DefaultMuleMessageBuilder implements MuleMessage.Builder, MuleMessa
         this.replyTo = message.getReplyTo();
         this.rootId = message.getMessageRootId();
         this.exceptionPayload = message.getExceptionPayload();
+        if (message instanceof MuleMessageImplementation)
+        {
+            copyMessageProperties((MuleMessageImplementation) message);
+        }
+        else
+        {
+            addMessageProperties(message);
+        }
+        message.getInboundAttachmentNames().forEach(name -> addInboundAttachment(name, message.getInboundAttachment(name)));
+        message.getOutboundAttachmentNames().forEach(name -> addOutboundAttachment(name, message.getOutboundAttachment(name)));
+    }
+
+    /**
+     * Shares the properties of the given message, which are only copied when either the message or
+     * this builder modifies them.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void copyMessageProperties(MuleMessageImplementation message)
+    {
+        this.inboundProperties = new CopyOnWriteCaseInsensitiveMap(message.properties.inboundMap);
+        this.outboundProperties = new CopyOnWriteCaseInsensitiveMap(message.properties.outboundMap);
+        inboundProperties.forEach((key, value) -> updateDataTypeWithProperty(key, value.getValue()));
+        outboundProperties.forEach((key, value) -> updateDataTypeWithProperty(key, value.getValue()));
+    }
+
+    private void addMessageProperties(MuleMessage message)
+    {
         message.getInboundPropertyNames().forEach(key -> {
             if (message.getInboundPropertyDataType(key) != null)
             {
@@ -138,8 +164,6 @@ public class DefaultMuleMessageBuilder implements MuleMessage.Builder, MuleMessa
                 addOutboundProperty(key, message.getOutboundProperty(key));
             }
         });
-        message.getInboundAttachmentNames().forEach(name -> addInboundAttachment(name, message.getInboundAttachment(name)));
-        message.getOutboundAttachmentNames().forEach(name -> addOutboundAttachment(name, message.getOutboundAttachment(name)));
     }
 
     public DefaultMuleMessageBuilder(org.mule.runtime.api.message.MuleMessage message)
@@ -498,8 +522,8 @@ public class DefaultMuleMessageBuilder implements MuleMessage.Builder, MuleMessa
             this.rootId = rootId != null ? rootId : id;
             this.typedValue = typedValue;
             this.attributes = attributes;
-            this.properties.inboundMap.putAll(inboundProperties);
-            this.properties.outboundMap.putAll(outboundProperties);
+            this.properties.inboundMap = new CopyOnWriteCaseInsensitiveMap(inboundProperties);
+            this.properties.outboundMap = new CopyOnWriteCaseInsensitiveMap(outboundProperties);
             this.inboundAttachments = inboundAttachments;
             this.outboundAttachments = outboundAttachments;
             setCorrelationId(corealationId);
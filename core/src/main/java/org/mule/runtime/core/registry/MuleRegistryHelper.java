@@ -30,6 +30,7 @@ import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.transformer.TransformerResolutionTable;
 import org.mule.runtime.core.util.Predicate;
 import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.core.util.UUID;
@@ -42,7 +43,6 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -68,8 +68,8 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider
     /**
      * We cache transformer searches so that we only search once
      */
-    protected ConcurrentHashMap/*<String, Transformer>*/ exactTransformerCache = new ConcurrentHashMap/*<String, Transformer>*/(8);
-    protected ConcurrentHashMap/*Map<String, List<Transformer>>*/ transformerListCache = new ConcurrentHashMap/*<String, List<Transformer>>*/(8);
+    protected TransformerResolutionTable<Transformer> exactTransformerCache = new TransformerResolutionTable<>();
+    protected TransformerResolutionTable<List<Transformer>> transformerListCache = new TransformerResolutionTable<>();
 
     private MuleContext muleContext;
 
@@ -152,8 +152,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider
     @Override
     public Transformer lookupTransformer(DataType source, DataType result) throws TransformerException
     {
-        final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-        Transformer cachedTransformer = (Transformer) exactTransformerCache.get(dataTypePairHash);
+        Transformer cachedTransformer = exactTransformerCache.get(source, result);
         if (cachedTransformer != null)
         {
             return cachedTransformer;
@@ -163,16 +162,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider
 
         if (trans != null)
         {
-            Transformer concurrentlyAddedTransformer = (Transformer) exactTransformerCache.putIfAbsent(
-                    dataTypePairHash, trans);
-            if (concurrentlyAddedTransformer != null)
-            {
-                return concurrentlyAddedTransformer;
-            }
-            else
-            {
-                return trans;
-            }
+            return exactTransformerCache.putIfAbsent(source, result, trans);
         }
         else
         {
@@ -217,9 +207,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider
     @Override
     public List<Transformer> lookupTransformers(DataType source, DataType result)
     {
-        final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-
-        List<Transformer> results = (List<Transformer>) transformerListCache.get(dataTypePairHash);
+        List<Transformer> results = transformerListCache.get(source, result);
         if (results != null)
         {
             return results;
@@ -250,16 +238,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider
             readLock.unlock();
         }
 
-        List<Transformer> concurrentlyAddedTransformers = (List<Transformer>) transformerListCache.putIfAbsent(
-                dataTypePairHash, results);
-        if (concurrentlyAddedTransformers != null)
-        {
-            return concurrentlyAddedTransformers;
-        }
-        else
-        {
-            return results;
-        }
+        return transformerListCache.putIfAbsent(source, result, results);
     }
 
     /**
@@ -686,12 +665,6 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider
         return false;
     }
 
-    private String getDataTypeSourceResultPairHash(DataType source, DataType result)
-    {
-        return source.getClass().getName() + source.hashCode() + ":" + result.getClass().getName()
-               + result.hashCode();
-    }
-
     private class TransformerResolverComparator implements Comparator<TransformerResolver>
     {
 
@@ -21,6 +21,7 @@ import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.transformer.TransformerChain;
+import org.mule.runtime.core.transformer.TransformerResolutionTable;
 import org.mule.runtime.core.transformer.TransformerWeighting;
 import org.mule.runtime.core.transformer.graph.GraphTransformerResolver;
 import org.mule.runtime.core.transformer.simple.ObjectToByteArray;
@@ -31,8 +32,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,7 +53,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
 
     private MuleContext muleContext;
 
-    protected Map<String, Transformer> exactTransformerCache = new ConcurrentHashMap/*<String, Transformer>*/(8);
+    protected TransformerResolutionTable<Transformer> exactTransformerCache = new TransformerResolutionTable<>();
 
     protected TransformerResolver graphTransformerResolver = new GraphTransformerResolver();
 
@@ -86,7 +85,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
     @Override
     public Transformer resolve(DataType source, DataType result) throws ResolverException
     {
-        Transformer transformer = exactTransformerCache.get(source.toString() + result.toString());
+        Transformer transformer = exactTransformerCache.get(source, result);
         if (transformer != null)
         {
             return transformer;
@@ -143,7 +142,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
 
         if (transformer != null)
         {
-            exactTransformerCache.put(source.toString() + result.toString(), transformer);
+            transformer = exactTransformerCache.putIfAbsent(source, result, transformer);
         }
         return transformer;
     }
@@ -10,7 +10,6 @@ import org.mule.runtime.core.DefaultMuleEvent;
 import org.mule.runtime.core.api.MuleEvent;
 import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.expression.ExpressionManager;
-import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.expression.ExpressionConfig;
 
@@ -33,7 +32,6 @@ import org.w3c.dom.NodeList;
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/Sequencer.html">http://www.eaipatterns.com/Sequencer.html</a>
  */
 public class ExpressionSplitter extends AbstractSplitter
-    implements Initialisable
 {
 
     protected ExpressionManager expressionManager;
@@ -54,6 +52,7 @@ public class ExpressionSplitter extends AbstractSplitter
     {
         expressionManager = muleContext.getExpressionManager();
         config.validate(expressionManager);
+        super.initialise();
     }
 
     @Override
@@ -15,6 +15,7 @@ import org.mule.runtime.core.api.MuleEvent;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.NonBlockingSupported;
+import org.mule.runtime.core.api.config.ThreadingProfile;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.processor.MessageProcessor;
@@ -47,6 +48,10 @@ import org.w3c.dom.Document;
  * <p/>
  * Defining a groupSize greater than one, allows iterating over collections of elements of the specified size.
  * <p/>
+ * Defining a maxConcurrency greater than one processes up to that number of elements (or groups) at the same time.
+ * Each element is then processed with its own copy of the flow variables, so the changes done to them while
+ * iterating are not visible once foreach finishes.
+ * <p/>
  * The {@link MuleEvent} sent to the next message processor is the same that arrived to foreach.
  */
 public class Foreach extends AbstractMessageProcessorOwner implements Initialisable, MessageProcessor, NonBlockingSupported
@@ -65,6 +70,9 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     private String collectionExpression;
     private ExpressionConfig expressionConfig = new ExpressionConfig();
     private int batchSize;
+    private int maxConcurrency = 1;
+    private boolean ordered = true;
+    private ThreadingProfile threadingProfile;
     private String rootMessageVariableName;
     private String counterVariableName;
     private boolean xpathCollection;
@@ -207,6 +215,9 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
             splitter = new CollectionMapSplitter();
         }
         splitter.setBatchSize(batchSize);
+        splitter.setMaxConcurrency(maxConcurrency);
+        splitter.setOrdered(ordered);
+        splitter.setThreadingProfile(threadingProfile);
         splitter.setCounterVariableName(counterVariableName);
         splitter.setMuleContext(muleContext);
         messageProcessors.add(0, splitter);
@@ -242,6 +253,21 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
         this.batchSize = batchSize;
     }
 
+    public void setMaxConcurrency(int maxConcurrency)
+    {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public void setOrdered(boolean ordered)
+    {
+        this.ordered = ordered;
+    }
+
+    public void setThreadingProfile(ThreadingProfile threadingProfile)
+    {
+        this.threadingProfile = threadingProfile;
+    }
+
     public void setRootMessageVariableName(String rootMessageVariableName)
     {
         this.rootMessageVariableName = rootMessageVariableName;
@@ -9,12 +9,15 @@ package org.mule.runtime.core.routing;
 import org.mule.runtime.core.api.MessagingException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.routing.RoutingException;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.keygenerator.PayloadHasher;
 import org.mule.runtime.core.transformer.simple.ByteArrayToHexString;
 import org.mule.runtime.core.transformer.simple.SerializableToByteArray;
 
-import java.security.MessageDigest;
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.NoSuchAlgorithmException;
 
 /**
@@ -27,6 +30,9 @@ import java.security.NoSuchAlgorithmException;
  * for the same semantic message content. Care should be taken to ensure that messages do
  * not contain extraneous bytes. This class is useful when the message does not support
  * unique identifiers.
+ * <p/>
+ * A stream payload is hashed over its content as it is read, and replaced by a stream with
+ * the same content so the message can still be consumed.
  */
 
 public class IdempotentSecureHashMessageFilter extends IdempotentMessageFilter
@@ -41,11 +47,18 @@ public class IdempotentSecureHashMessageFilter extends IdempotentMessageFilter
     {
         try
         {
+            PayloadHasher hasher = PayloadHasher.digest(messageDigestAlgorithm);
             Object payload = event.getMessage().getPayload();
-            byte[] bytes = (byte[]) objectToByteArray.transform(payload);
-            MessageDigest md = MessageDigest.getInstance(messageDigestAlgorithm);
-            byte[] digestedBytes = md.digest(bytes);
-            return (String)byteArrayToHexString.transform(digestedBytes);
+            if (payload instanceof InputStream)
+            {
+                InputStream content = hasher.hashStream((InputStream) payload);
+                event.setMessage(MuleMessage.builder(event.getMessage()).payload(content).build());
+            }
+            else
+            {
+                hasher.write((byte[]) objectToByteArray.transform(payload));
+            }
+            return (String)byteArrayToHexString.transform(hasher.hash());
         }
         catch (NoSuchAlgorithmException nsa)
         {
@@ -55,6 +68,10 @@ public class IdempotentSecureHashMessageFilter extends IdempotentMessageFilter
         {
             throw new RoutingException(event, this, te);
         }
+        catch (IOException e)
+        {
+            throw new RoutingException(event, this, e);
+        }
     }
 
     public String getMessageDigestAlgorithm()
@@ -34,12 +34,15 @@ import org.mule.runtime.core.util.StringMessageUtils;
 import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
 import org.mule.runtime.core.util.monitor.Expirable;
 import org.mule.runtime.core.util.monitor.ExpiryMonitor;
+import org.mule.runtime.core.util.monitor.TimingWheel;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -59,9 +62,15 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
 
     protected long groupTimeToLive = ONE_DAY_IN_MILLI;
 
-    protected final Object groupsLock = new Object();
+    private static final int GROUP_LOCK_STRIPES = 64;
 
-    // @GuardedBy groupsLock
+    /**
+     * Locks used to serialize the processing of each event group. Groups are assigned to a lock based on their id,
+     * so events for different groups are processed concurrently.
+     */
+    private final Object[] groupLocks = new Object[GROUP_LOCK_STRIPES];
+
+    // @GuardedBy the lock for each group
     protected ObjectStore<Long> processedGroups = null;
 
     private long timeout = -1; // undefined
@@ -83,7 +92,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
     private PartitionableObjectStore correlatorStore = null;
     private String storePrefix;
 
-    private EventCorrelator.ExpiringGroupMonitoringThread expiringGroupMonitoringThread;
+    private volatile EventCorrelator.ExpiringGroupMonitoringThread expiringGroupMonitoringThread;
     private final String name;
 
     private final FlowConstruct flowConstruct;
@@ -121,6 +130,22 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
         this.correlatorStore = correlatorStore;
         this.storePrefix = storePrefix;
         this.processedGroups = processedGroups;
+
+        for (int i = 0; i < groupLocks.length; i++)
+        {
+            groupLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * @param groupId the id of an event group
+     * @return the lock that guards the processing of the given group
+     */
+    protected Object getGroupLock(Object groupId)
+    {
+        int hash = groupId.hashCode();
+        hash ^= (hash >>> 16);
+        return groupLocks[hash & (groupLocks.length - 1)];
     }
 
     public void forceGroupExpiry(String groupId) throws MessagingException
@@ -212,6 +237,10 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
                     EventGroup eventGroup = callback.createEventGroup(event, groupId);
                     eventGroup.initEventsStore(correlatorStore);
                     group = this.addEventGroup(eventGroup);
+                    if (group == eventGroup)
+                    {
+                        scheduleGroupExpiry(group);
+                    }
                 }
                 catch (ObjectStoreException e)
                 {
@@ -220,7 +249,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
             }
 
             // ensure that only one thread at a time evaluates this EventGroup
-            synchronized (groupsLock)
+            synchronized (getGroupLock(groupId))
             {
                 if (logger.isDebugEnabled())
                 {
@@ -273,6 +302,15 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
         }
     }
 
+    private void scheduleGroupExpiry(EventGroup group)
+    {
+        ExpiringGroupMonitoringThread monitoringThread = expiringGroupMonitoringThread;
+        if (monitoringThread != null)
+        {
+            monitoringThread.schedule((Serializable) group.getGroupId(), group.getCreated());
+        }
+    }
+
     protected EventGroup getEventGroup(Serializable groupId) throws ObjectStoreException
     {
         try
@@ -314,7 +352,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
     protected void removeEventGroup(EventGroup group) throws ObjectStoreException
     {
         final Object groupId = group.getGroupId();
-        synchronized (groupsLock)
+        synchronized (getGroupLock(groupId))
         {
             if (!isGroupAlreadyProcessed(groupId))
             {
@@ -326,7 +364,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
 
     protected void addProcessedGroup(Object id) throws ObjectStoreException
     {
-        synchronized (groupsLock)
+        synchronized (getGroupLock(id))
         {
             processedGroups.store((Serializable) id, System.currentTimeMillis());
         }
@@ -334,7 +372,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
 
     protected boolean isGroupAlreadyProcessed(Object id) throws ObjectStoreException
     {
-        synchronized (groupsLock)
+        synchronized (getGroupLock(id))
         {
             return processedGroups.contains((Serializable) id);
         }
@@ -468,6 +506,12 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
 
         private ExpiryMonitor expiryMonitor;
         public static final long DELAY_TIME = 10;
+        private static final int WHEEL_SIZE = 64;
+        private static final long GROUP_SCAN_INTERVAL = 5000;
+
+        private final TimingWheel<Serializable> expiryWheel = new TimingWheel<>(DELAY_TIME, WHEEL_SIZE, System.currentTimeMillis());
+        private final Set<Serializable> scheduledGroups = ConcurrentHashMap.newKeySet();
+        private long nextGroupScan;
 
         public ExpiringGroupMonitoringThread()
         {
@@ -504,34 +548,73 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
             }
         }
 
+        /**
+         * Tracks the expiry of a group, unless it is already tracked.
+         *
+         * @param groupId the id of the group
+         * @param created the creation time of the group
+         */
+        public void schedule(Serializable groupId, long created)
+        {
+            if (scheduledGroups.add(groupId))
+            {
+                expiryWheel.schedule(groupId, created + getTimeout());
+            }
+        }
+
         @Override
         public void doRun()
         {
+            long now = System.currentTimeMillis();
 
             ////TODO(pablo.kraan): is not good to have threads doing nothing in all the nodes but the primary. Need to
             ////start the thread on the primary node only, and then use a notification schema to start a new thread
             ////in a different node when the primary goes down.
-            if (!muleContext.isPrimaryPollingInstance())
+            boolean primaryPollingInstance = muleContext.isPrimaryPollingInstance();
+            if (primaryPollingInstance && now >= nextGroupScan)
+            {
+                scheduleUntrackedGroups();
+                nextGroupScan = now + GROUP_SCAN_INTERVAL;
+            }
+
+            List<Serializable> expiredGroupIds = new ArrayList<>();
+            expiryWheel.advance(now, expiredGroupIds::add);
+            if (expiredGroupIds.isEmpty())
             {
                 return;
             }
+            if (!primaryPollingInstance)
+            {
+                // groups will be tracked again by the scan if this node becomes the primary one
+                scheduledGroups.removeAll(expiredGroupIds);
+                return;
+            }
 
-            List<EventGroup> expired = new ArrayList<>(1);
-            try
+            List<EventGroup> expired = new ArrayList<>(expiredGroupIds.size());
+            for (Serializable groupId : expiredGroupIds)
             {
-                for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey()))
+                scheduledGroups.remove(groupId);
+                try
                 {
-                    EventGroup group = getEventGroup(o);
-                    // group may have been removed by another thread right after eventGroups.allKeys()
-                    if (group != null && group.getCreated() + getTimeout() < System.currentTimeMillis())
+                    EventGroup group = getEventGroup(groupId);
+                    // group may have been aggregated or removed by another thread after being scheduled
+                    if (group == null)
+                    {
+                        continue;
+                    }
+                    if (group.getCreated() + getTimeout() < now)
                     {
                         expired.add(group);
                     }
+                    else
+                    {
+                        schedule(groupId, group.getCreated());
+                    }
+                }
+                catch (ObjectStoreException e)
+                {
+                    logger.warn("expiry failed dues to ObjectStoreException " + e);
                 }
-            }
-            catch (ObjectStoreException e)
-            {
-                logger.warn("expiry failed dues to ObjectStoreException " + e);
             }
             for (final EventGroup group : expired)
             {
@@ -555,6 +638,34 @@ public class EventCorrelator implements Startable, Stoppable, Disposable
             }
         }
 
+        /**
+         * Schedules the groups in the store that are not tracked yet, which are the ones that existed before this
+         * correlator was started or were created by another node of the cluster.
+         */
+        private void scheduleUntrackedGroups()
+        {
+            try
+            {
+                for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey()))
+                {
+                    if (scheduledGroups.contains(o))
+                    {
+                        continue;
+                    }
+                    EventGroup group = getEventGroup(o);
+                    // group may have been removed by another thread right after eventGroups.allKeys()
+                    if (group != null)
+                    {
+                        schedule(o, group.getCreated());
+                    }
+                }
+            }
+            catch (ObjectStoreException e)
+            {
+                logger.warn("expiry failed dues to ObjectStoreException " + e);
+            }
+        }
+
         @Override
         public void dispose()
         {
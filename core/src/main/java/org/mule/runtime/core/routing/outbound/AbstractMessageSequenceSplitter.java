@@ -13,22 +13,40 @@ import static org.mule.runtime.core.routing.CorrelationMode.NEVER;
 import org.mule.runtime.core.DefaultMuleEvent;
 import org.mule.runtime.core.RequestContext;
 import org.mule.runtime.core.VoidMuleEvent;
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.MuleEvent;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.MuleMessage.Builder;
+import org.mule.runtime.core.api.config.ThreadingProfile;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.context.WorkManager;
+import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.lifecycle.Initialisable;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.lifecycle.Startable;
 import org.mule.runtime.core.api.routing.MessageInfoMapping;
 import org.mule.runtime.core.api.routing.RouterResultsHandler;
+import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
 import org.mule.runtime.core.routing.AbstractSplitter;
 import org.mule.runtime.core.routing.CorrelationMode;
 import org.mule.runtime.core.routing.DefaultRouterResultsHandler;
 import org.mule.runtime.core.routing.MessageSequence;
+import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
+import org.mule.runtime.core.work.AbstractMuleEventWork;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import javax.resource.spi.work.WorkException;
 
 /**
  * Base implementation of a {@link MuleMessage} splitter, that converts its payload 
@@ -36,6 +54,13 @@ import java.util.List;
  * Implementations must implement {@link #splitMessageIntoSequence(MuleEvent)} and determine how 
  * the message is split.
  * <p>
+ * The elements are processed one after the other by default. When {@link #setMaxConcurrency(int)} is greater
+ * than one, they are processed by the threads of a work manager, with at most that number of elements being
+ * processed or waiting to be handed over at any time, so a large sequence is consumed at the pace it is processed.
+ * Each element then works over its own copy of the flow variables, and results are handed over in the order of the
+ * sequence unless {@link #setOrdered(boolean)} is set to false. Processing is always sequential within a
+ * transaction.
+ * <p>
  * <b>EIP Reference:</b> <a
  * href="http://www.eaipatterns.com/Sequencer.html">http://www
  * .eaipatterns.com/Sequencer.html</a>
@@ -44,7 +69,7 @@ import java.util.List;
  * @see AbstractSplitter
  */
 public abstract class AbstractMessageSequenceSplitter extends AbstractInterceptingMessageProcessor
-    implements MuleContextAware
+    implements MuleContextAware, Initialisable, Startable, Disposable
 {
     protected MuleContext muleContext;
     protected RouterResultsHandler resultsHandler = new DefaultRouterResultsHandler();
@@ -52,6 +77,53 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     protected MessageInfoMapping messageInfoMapping;
     protected int batchSize;
     protected String counterVariableName;
+    protected int maxConcurrency = 1;
+    protected boolean ordered = true;
+    protected ThreadingProfile threadingProfile;
+    private WorkManager workManager;
+
+    @Override
+    public void initialise() throws InitialisationException
+    {
+        if (maxConcurrency > 1 && workManager == null)
+        {
+            if (threadingProfile == null)
+            {
+                threadingProfile = muleContext.getDefaultThreadingProfile();
+            }
+            if (threadingProfile.isDoThreading())
+            {
+                workManager = threadingProfile.createWorkManager(ThreadNameHelper.getPrefix(muleContext) + "SplitterWorkManager",
+                                                                 muleContext.getConfiguration().getShutdownTimeout());
+            }
+        }
+    }
+
+    @Override
+    public void start() throws MuleException
+    {
+        if (workManager != null)
+        {
+            workManager.start();
+        }
+    }
+
+    @Override
+    public void dispose()
+    {
+        if (workManager != null)
+        {
+            try
+            {
+                workManager.dispose();
+            }
+            catch (Exception e)
+            {
+                logger.error("Exception found while trying to dispose work manager. Will continue with the disposal", e);
+            }
+            workManager = null;
+        }
+    }
 
     @Override
     public final MuleEvent process(MuleEvent event) throws MuleException
@@ -99,13 +171,28 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     protected abstract MessageSequence<?> splitMessageIntoSequence(MuleEvent event) throws MuleException;
 
     protected List<MuleEvent> processParts(MessageSequence<?> seq, MuleEvent originalEvent) throws MuleException
+    {
+        List<MuleEvent> resultEvents = new ArrayList<>();
+        processParts(seq, originalEvent, resultEvents::add);
+        return resultEvents;
+    }
+
+    /**
+     * Processes each element of the sequence, handing each non empty result to the given consumer as soon as it is
+     * available instead of collecting them. The consumer is always invoked from the calling thread.
+     *
+     * @param seq the sequence to process
+     * @param originalEvent the event that was split
+     * @param resultConsumer receives the result of processing each element
+     * @throws MuleException the first failure found processing an element. No more elements are processed after it
+     */
+    protected void processParts(MessageSequence<?> seq, MuleEvent originalEvent, Consumer<MuleEvent> resultConsumer) throws MuleException
     {
         if (messageInfoMapping == null)
         {
             messageInfoMapping = originalEvent.getFlowConstruct().getMessageInfoMapping();
         }
         String correlationId = messageInfoMapping.getCorrelationId(originalEvent);
-        List<MuleEvent> resultEvents = new ArrayList<>();
         int correlationSequence = 0;
         MessageSequence<?> messageSequence = seq;
         if (batchSize > 1)
@@ -113,14 +200,30 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
             messageSequence = new PartitionedMessageSequence(seq, batchSize);
         }
         Integer count = messageSequence.size();
-        for (; messageSequence.hasNext();)
+        boolean parallel = workManager != null && !originalEvent.isTransacted();
+        Deque<PartWork> pendingWorks = new ArrayDeque<>();
+        BlockingQueue<PartWork> completedWorks = ordered ? null : new LinkedBlockingQueue<>();
+        MuleException failure = null;
+        for (; failure == null && messageSequence.hasNext();)
         {
             MuleEvent event = createEvent(messageSequence.next(), originalEvent);
 
             correlationSequence++;
+            if (parallel)
+            {
+                // flow variables are shared with the original event, each element gets its own copy of them
+                event = DefaultMuleEvent.copy(event);
+            }
             if (counterVariableName != null)
             {
-                originalEvent.setFlowVariable(counterVariableName, correlationSequence);
+                if (parallel)
+                {
+                    event.setFlowVariable(counterVariableName, correlationSequence);
+                }
+                else
+                {
+                    originalEvent.setFlowVariable(counterVariableName, correlationSequence);
+                }
             }
 
             final Builder builder = MuleMessage.builder(event.getMessage());
@@ -141,17 +244,93 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
 
             event.setMessage(builder.build());
 
-            MuleEvent resultEvent = processNext(RequestContext.setEvent(event));
-            if (resultEvent != null && !VoidMuleEvent.getInstance().equals(resultEvent))
+            if (parallel)
             {
-                resultEvents.add(resultEvent);
+                if (pendingWorks.size() >= maxConcurrency)
+                {
+                    failure = handOver(pendingWorks, completedWorks, resultConsumer, failure);
+                }
+                if (failure == null)
+                {
+                    PartWork work = new PartWork(event, completedWorks);
+                    pendingWorks.add(work);
+                    try
+                    {
+                        workManager.scheduleWork(work);
+                    }
+                    catch (WorkException e)
+                    {
+                        pendingWorks.removeLast();
+                        failure = new DefaultMuleException(CoreMessages.createStaticMessage("Could not schedule the processing of a split element"), e);
+                    }
+                }
             }
+            else
+            {
+                consumeResult(processNext(RequestContext.setEvent(event)), resultConsumer);
+            }
+        }
+        // elements already scheduled are always waited for, so none is still running once this returns
+        while (!pendingWorks.isEmpty())
+        {
+            failure = handOver(pendingWorks, completedWorks, resultConsumer, failure);
+        }
+        if (failure != null)
+        {
+            throw failure;
         }
         if (correlationSequence == 1)
         {
             logger.debug("Splitter only returned a single result. If this is not expected, please check your split expression");
         }
-        return resultEvents;
+    }
+
+    /**
+     * Waits for the next element to be handed over, which is the oldest one when ordered or any completed one
+     * otherwise, and hands its result over unless a failure was already found.
+     *
+     * @return the first failure found so far
+     */
+    private MuleException handOver(Deque<PartWork> pendingWorks, BlockingQueue<PartWork> completedWorks,
+                                   Consumer<MuleEvent> resultConsumer, MuleException failure) throws MuleException
+    {
+        PartWork work;
+        try
+        {
+            if (completedWorks == null)
+            {
+                work = pendingWorks.removeFirst();
+                work.await();
+            }
+            else
+            {
+                work = completedWorks.take();
+                pendingWorks.remove(work);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new DefaultMuleException(CoreMessages.createStaticMessage("Was interrupted while waiting for the split elements to be processed"), e);
+        }
+        if (failure != null)
+        {
+            return failure;
+        }
+        if (work.exception != null)
+        {
+            return work.exception;
+        }
+        consumeResult(work.result, resultConsumer);
+        return null;
+    }
+
+    private void consumeResult(MuleEvent resultEvent, Consumer<MuleEvent> resultConsumer)
+    {
+        if (resultEvent != null && !VoidMuleEvent.getInstance().equals(resultEvent))
+        {
+            resultConsumer.accept(resultEvent);
+        }
     }
 
     private MuleEvent createEvent(Object payload, MuleEvent originalEvent)
@@ -198,4 +377,79 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     {
         this.counterVariableName = counterVariableName;
     }
+
+    /**
+     * The max number of elements that are processed at the same time. Defaults to 1, processing the elements
+     * sequentially in the calling thread.
+     */
+    public void setMaxConcurrency(int maxConcurrency)
+    {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Whether the results of elements processed concurrently are handed over in the order of the sequence, or as soon
+     * as each one is available. Defaults to true.
+     */
+    public void setOrdered(boolean ordered)
+    {
+        this.ordered = ordered;
+    }
+
+    /**
+     * The {@link ThreadingProfile} of the work manager used when {@link #setMaxConcurrency(int)} is greater than one.
+     * Defaults to the one of the {@link MuleContext}.
+     */
+    public void setThreadingProfile(ThreadingProfile threadingProfile)
+    {
+        this.threadingProfile = threadingProfile;
+    }
+
+    /**
+     * Processes one element of the sequence in a thread of the work manager.
+     */
+    private class PartWork extends AbstractMuleEventWork
+    {
+
+        private final BlockingQueue<PartWork> completedWorks;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private MuleEvent result;
+        private MuleException exception;
+
+        private PartWork(MuleEvent event, BlockingQueue<PartWork> completedWorks)
+        {
+            super(event, false);
+            this.completedWorks = completedWorks;
+        }
+
+        @Override
+        protected void doRun()
+        {
+            try
+            {
+                result = processNext(event);
+            }
+            catch (MuleException e)
+            {
+                exception = e;
+            }
+            catch (RuntimeException e)
+            {
+                exception = new DefaultMuleException(e);
+            }
+            finally
+            {
+                latch.countDown();
+                if (completedWorks != null)
+                {
+                    completedWorks.add(this);
+                }
+            }
+        }
+
+        private void await() throws InterruptedException
+        {
+            latch.await();
+        }
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads instances of a class registered in a {@link BinaryObjectSerializer}.
+ *
+ * @param <T> the type of the encoded instances
+ * @since 4.0
+ */
+public interface BinaryCodec<T>
+{
+
+    /**
+     * Writes the state of the given instance
+     *
+     * @param value  the instance to write, never null
+     * @param output where to write the instance
+     * @throws IOException if the instance cannot be written
+     */
+    void write(T value, BinaryOutput output) throws IOException;
+
+    /**
+     * Reads an instance previously written by {@link #write(Object, BinaryOutput)}
+     *
+     * @param input where to read the instance from
+     * @return the read instance
+     * @throws IOException if the instance cannot be read
+     */
+    T read(BinaryInput input) throws IOException;
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Reads the encoding written by a {@link BinaryOutput}.
+ *
+ * @since 4.0
+ */
+public final class BinaryInput
+{
+
+    private final BinaryObjectSerializer serializer;
+    private final ClassLoader classLoader;
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    BinaryInput(BinaryObjectSerializer serializer, ClassLoader classLoader, byte[] buffer, int offset, int length)
+    {
+        this.serializer = serializer;
+        this.classLoader = classLoader;
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Reads an object written by {@link BinaryOutput#writeObject(Object)}.
+     *
+     * @return the object, which may be null
+     * @throws IOException if the object cannot be read
+     */
+    public <T> T readObject() throws IOException
+    {
+        return (T) serializer.readObject(this);
+    }
+
+    /**
+     * @return the {@link ClassLoader} to use to resolve the classes of the read objects
+     */
+    public ClassLoader getClassLoader()
+    {
+        return classLoader;
+    }
+
+    public boolean readBoolean() throws IOException
+    {
+        return read() != 0;
+    }
+
+    public int readInt() throws IOException
+    {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readLong() throws IOException
+    {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public int readVarInt() throws IOException
+    {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7)
+        {
+            int b = read();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length int");
+    }
+
+    public long readVarLong() throws IOException
+    {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7)
+        {
+            int b = read();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length long");
+    }
+
+    public int readFixedInt() throws IOException
+    {
+        require(4);
+        int value = ((buffer[position] & 0xFF) << 24) | ((buffer[position + 1] & 0xFF) << 16)
+                    | ((buffer[position + 2] & 0xFF) << 8) | (buffer[position + 3] & 0xFF);
+        position += 4;
+        return value;
+    }
+
+    public long readFixedLong() throws IOException
+    {
+        return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+    }
+
+    public String readString() throws IOException
+    {
+        int length = readVarInt() - 1;
+        if (length < 0)
+        {
+            return null;
+        }
+        require(length);
+        String value = new String(buffer, position, length, UTF_8);
+        position += length;
+        return value;
+    }
+
+    public byte[] readBytes() throws IOException
+    {
+        int length = readVarInt();
+        require(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    public int read() throws IOException
+    {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    byte[] buffer()
+    {
+        return buffer;
+    }
+
+    int position()
+    {
+        return position;
+    }
+
+    void skip(int length) throws IOException
+    {
+        require(length);
+        position += length;
+    }
+
+    private void require(int length) throws IOException
+    {
+        if (length < 0 || position + length > limit)
+        {
+            throw new EOFException();
+        }
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.message.DefaultMuleMessageBuilder.MuleMessageImplementation;
+import org.mule.runtime.core.metadata.DefaultCollectionDataType;
+import org.mule.runtime.core.metadata.SimpleDataType;
+import org.mule.runtime.core.util.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.io.input.ClassLoaderObjectInputStream;
+
+/**
+ * Implementation of {@link org.mule.runtime.core.api.serialization.ObjectSerializer} that uses a compact tagged
+ * binary encoding instead of Java's serialization for the types that are most frequently persisted.
+ * <p/>
+ * Strings, boxed primitives, byte arrays, dates and the most common collections are written with a one byte tag
+ * followed by their value. Classes registered through {@link #registerClass(Class, BinaryCodec)} are written as
+ * their registration id followed by what their {@link BinaryCodec} writes, so no class descriptor is ever written
+ * for them. Messages and data types are registered out of the box.
+ * <p/>
+ * Any other {@link Serializable} object, events included, falls back to Java's serialization. Registered objects
+ * found while serializing it, like the message and the flow variables' data types of an event, are still written
+ * with their codec.
+ * <p/>
+ * Since classes are identified by the order in which they were registered, the same classes have to be
+ * registered in the same order on the instance that deserializes the data.
+ * <p/>
+ * An application selects it by declaring it as a bean and referencing it from the
+ * {@code defaultObjectSerializer-ref} attribute of its configuration element.
+ *
+ * @since 4.0
+ */
+public class BinaryObjectSerializer extends AbstractObjectSerializer
+{
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int TRUE = 1;
+    private static final int FALSE = 2;
+    private static final int INT = 3;
+    private static final int LONG = 4;
+    private static final int SHORT = 5;
+    private static final int BYTE = 6;
+    private static final int CHAR = 7;
+    private static final int FLOAT = 8;
+    private static final int DOUBLE = 9;
+    private static final int STRING = 10;
+    private static final int BYTES = 11;
+    private static final int DATE = 12;
+    private static final int ARRAY_LIST = 13;
+    private static final int HASH_MAP = 14;
+    private static final int LINKED_HASH_MAP = 15;
+    private static final int HASH_SET = 16;
+    private static final int REGISTERED = 17;
+    private static final int JAVA = 18;
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    // bigger buffers are not kept, so serializing a large object doesn't retain its memory
+    private static final int MAX_CACHED_BUFFER_SIZE = 64 * 1024;
+
+    private final ThreadLocal<BinaryOutput> cachedOutput = new ThreadLocal<>();
+    private final Map<Class<?>, Registration> registrationsByClass = new ConcurrentHashMap<>();
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    public BinaryObjectSerializer()
+    {
+        DataTypeCodec dataTypeCodec = new DataTypeCodec();
+        registerClass(SimpleDataType.class, dataTypeCodec);
+        registerClass(DefaultCollectionDataType.class, dataTypeCodec);
+        registerClass(MuleMessageImplementation.class, new MuleMessageCodec(this));
+    }
+
+    /**
+     * Registers a class to be written with the given codec. Only instances of exactly that class are written with
+     * it, not the ones of its subclasses.
+     *
+     * @param type  the class to register
+     * @param codec the codec that writes and reads the instances of the class
+     * @throws IllegalArgumentException if the class was already registered
+     */
+    public synchronized <T> void registerClass(Class<? extends T> type, BinaryCodec<T> codec)
+    {
+        if (registrationsByClass.containsKey(type))
+        {
+            throw new IllegalArgumentException(String.format("Class %s is already registered", type.getName()));
+        }
+        Registration registration = new Registration(registrations.size(), codec);
+        registrations.add(registration);
+        registrationsByClass.put(type, registration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected byte[] doSerialize(Object object) throws Exception
+    {
+        BinaryOutput output = acquireOutput();
+        try
+        {
+            output.write(FORMAT_VERSION);
+            writeObject(object, output);
+            return output.toByteArray();
+        }
+        finally
+        {
+            releaseOutput(output);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception
+    {
+        byte[] bytes = IOUtils.toByteArray(inputStream);
+        BinaryInput input = new BinaryInput(this, classLoader, bytes, 0, bytes.length);
+        int version = input.read();
+        if (version != FORMAT_VERSION)
+        {
+            throw new SerializationException(String.format("Unsupported binary serialization format version %d", version));
+        }
+        return input.readObject();
+    }
+
+    MuleContext getMuleContext()
+    {
+        return muleContext;
+    }
+
+    void writeObject(Object object, BinaryOutput output) throws IOException
+    {
+        if (object == null)
+        {
+            output.write(NULL);
+            return;
+        }
+
+        Class<?> type = object.getClass();
+        if (type == String.class)
+        {
+            output.write(STRING);
+            output.writeString((String) object);
+        }
+        else if (type == Integer.class)
+        {
+            output.write(INT);
+            output.writeInt((Integer) object);
+        }
+        else if (type == Long.class)
+        {
+            output.write(LONG);
+            output.writeLong((Long) object);
+        }
+        else if (type == Boolean.class)
+        {
+            output.write((Boolean) object ? TRUE : FALSE);
+        }
+        else if (type == byte[].class)
+        {
+            output.write(BYTES);
+            output.writeBytes((byte[]) object);
+        }
+        else if (type == Double.class)
+        {
+            output.write(DOUBLE);
+            output.writeFixedLong(Double.doubleToRawLongBits((Double) object));
+        }
+        else if (type == Float.class)
+        {
+            output.write(FLOAT);
+            output.writeFixedInt(Float.floatToRawIntBits((Float) object));
+        }
+        else if (type == Short.class)
+        {
+            output.write(SHORT);
+            output.writeInt((Short) object);
+        }
+        else if (type == Byte.class)
+        {
+            output.write(BYTE);
+            output.write((Byte) object);
+        }
+        else if (type == Character.class)
+        {
+            output.write(CHAR);
+            output.writeVarInt((Character) object);
+        }
+        else if (type == Date.class)
+        {
+            output.write(DATE);
+            output.writeLong(((Date) object).getTime());
+        }
+        else if (type == ArrayList.class)
+        {
+            output.write(ARRAY_LIST);
+            writeElements((Collection<?>) object, output);
+        }
+        else if (type == HashMap.class)
+        {
+            output.write(HASH_MAP);
+            writeEntries((Map<?, ?>) object, output);
+        }
+        else if (type == LinkedHashMap.class)
+        {
+            output.write(LINKED_HASH_MAP);
+            writeEntries((Map<?, ?>) object, output);
+        }
+        else if (type == HashSet.class)
+        {
+            output.write(HASH_SET);
+            writeElements((Collection<?>) object, output);
+        }
+        else
+        {
+            Registration registration = registrationsByClass.get(type);
+            if (registration != null)
+            {
+                output.write(REGISTERED);
+                output.writeVarInt(registration.id);
+                registration.codec.write(object, output);
+            }
+            else if (object instanceof Serializable)
+            {
+                writeJava(object, output);
+            }
+            else
+            {
+                throw new SerializationException(String.format(
+                        "Was expecting a Serializable type. %s was found instead", type.getName()));
+            }
+        }
+    }
+
+    Object readObject(BinaryInput input) throws IOException
+    {
+        int tag = input.read();
+        switch (tag)
+        {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return input.readInt();
+            case LONG:
+                return input.readLong();
+            case SHORT:
+                return (short) input.readInt();
+            case BYTE:
+                return (byte) input.read();
+            case CHAR:
+                return (char) input.readVarInt();
+            case FLOAT:
+                return Float.intBitsToFloat(input.readFixedInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(input.readFixedLong());
+            case STRING:
+                return input.readString();
+            case BYTES:
+                return input.readBytes();
+            case DATE:
+                return new Date(input.readLong());
+            case ARRAY_LIST:
+            {
+                int size = input.readVarInt();
+                return readElements(new ArrayList<>(size), size, input);
+            }
+            case HASH_MAP:
+            {
+                int size = input.readVarInt();
+                return readEntries(new HashMap<>(capacityFor(size)), size, input);
+            }
+            case LINKED_HASH_MAP:
+            {
+                int size = input.readVarInt();
+                return readEntries(new LinkedHashMap<>(capacityFor(size)), size, input);
+            }
+            case HASH_SET:
+            {
+                int size = input.readVarInt();
+                return readElements(new HashSet<>(capacityFor(size)), size, input);
+            }
+            case REGISTERED:
+            {
+                int id = input.readVarInt();
+                if (id >= registrations.size())
+                {
+                    throw new IOException(String.format("No class registered with id %d", id));
+                }
+                return registrations.get(id).codec.read(input);
+            }
+            case JAVA:
+                return readJava(input);
+            default:
+                throw new IOException(String.format("Unknown type tag %d", tag));
+        }
+    }
+
+    private void writeElements(Collection<?> collection, BinaryOutput output) throws IOException
+    {
+        output.writeVarInt(collection.size());
+        for (Object element : collection)
+        {
+            writeObject(element, output);
+        }
+    }
+
+    private void writeEntries(Map<?, ?> map, BinaryOutput output) throws IOException
+    {
+        output.writeVarInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet())
+        {
+            writeObject(entry.getKey(), output);
+            writeObject(entry.getValue(), output);
+        }
+    }
+
+    private Collection<Object> readElements(Collection<Object> collection, int size, BinaryInput input) throws IOException
+    {
+        for (int i = 0; i < size; i++)
+        {
+            collection.add(readObject(input));
+        }
+        return collection;
+    }
+
+    private Map<Object, Object> readEntries(Map<Object, Object> map, int size, BinaryInput input) throws IOException
+    {
+        for (int i = 0; i < size; i++)
+        {
+            map.put(readObject(input), readObject(input));
+        }
+        return map;
+    }
+
+    private static int capacityFor(int size)
+    {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * Writes the object with Java's serialization, preceded by the length of its serialized form.
+     */
+    private void writeJava(Object object, BinaryOutput output) throws IOException
+    {
+        output.write(JAVA);
+        int lengthPosition = output.position();
+        output.writeFixedInt(0);
+        ObjectOutputStream stream = new RegisteredClassesObjectOutputStream(output);
+        stream.writeObject(object);
+        stream.flush();
+        output.writeFixedIntAt(lengthPosition, output.position() - lengthPosition - 4);
+    }
+
+    private Object readJava(BinaryInput input) throws IOException
+    {
+        int length = input.readFixedInt();
+        int start = input.position();
+        input.skip(length);
+        ObjectInputStream stream = new RegisteredClassesObjectInputStream(input.getClassLoader(), new ByteArrayInputStream(input.buffer(), start, length));
+        try
+        {
+            return stream.readObject();
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new SerializationException("Could not deserialize object", e);
+        }
+    }
+
+    /**
+     * The output buffer of each thread is reused, unless it's already in use by an outer serialization.
+     */
+    private BinaryOutput acquireOutput()
+    {
+        BinaryOutput output = cachedOutput.get();
+        if (output == null)
+        {
+            return new BinaryOutput(this, INITIAL_BUFFER_SIZE);
+        }
+        cachedOutput.set(null);
+        output.reset();
+        return output;
+    }
+
+    private void releaseOutput(BinaryOutput output)
+    {
+        if (output.capacity() <= MAX_CACHED_BUFFER_SIZE)
+        {
+            cachedOutput.set(output);
+        }
+    }
+
+    private static final class Registration
+    {
+
+        private final int id;
+        private final BinaryCodec<Object> codec;
+
+        private Registration(int id, BinaryCodec<?> codec)
+        {
+            this.id = id;
+            this.codec = (BinaryCodec<Object>) codec;
+        }
+    }
+
+    /**
+     * Stands for a registered object inside a Java serialized graph.
+     */
+    private static final class EncodedObject implements Serializable
+    {
+
+        private static final long serialVersionUID = -2318316434526540232L;
+
+        private final byte[] bytes;
+
+        private EncodedObject(byte[] bytes)
+        {
+            this.bytes = bytes;
+        }
+    }
+
+    private class RegisteredClassesObjectOutputStream extends ObjectOutputStream
+    {
+
+        private RegisteredClassesObjectOutputStream(OutputStream out) throws IOException
+        {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException
+        {
+            if (obj != null && registrationsByClass.containsKey(obj.getClass()))
+            {
+                BinaryOutput output = acquireOutput();
+                try
+                {
+                    BinaryObjectSerializer.this.writeObject(obj, output);
+                    return new EncodedObject(output.toByteArray());
+                }
+                finally
+                {
+                    releaseOutput(output);
+                }
+            }
+            return obj;
+        }
+    }
+
+    private class RegisteredClassesObjectInputStream extends ClassLoaderObjectInputStream
+    {
+
+        private final ClassLoader classLoader;
+
+        private RegisteredClassesObjectInputStream(ClassLoader classLoader, InputStream in) throws IOException
+        {
+            super(classLoader, in);
+            this.classLoader = classLoader;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) throws IOException
+        {
+            if (obj instanceof EncodedObject)
+            {
+                byte[] bytes = ((EncodedObject) obj).bytes;
+                return BinaryObjectSerializer.this.readObject(new BinaryInput(BinaryObjectSerializer.this, classLoader, bytes, 0, bytes.length));
+            }
+            return obj;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable buffer where {@link BinaryObjectSerializer} writes its encoding. Integers are written as variable
+ * length values so small numbers, which are the most common, take a single byte.
+ * <p/>
+ * Instances are reused by the serializer, so they must not be referenced once the object has been serialized.
+ *
+ * @since 4.0
+ */
+public final class BinaryOutput extends OutputStream
+{
+
+    private final BinaryObjectSerializer serializer;
+    private byte[] buffer;
+    private int position;
+
+    BinaryOutput(BinaryObjectSerializer serializer, int initialCapacity)
+    {
+        this.serializer = serializer;
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Writes any object, using the most compact encoding available for its type.
+     *
+     * @param object the object to write, may be null
+     * @throws IOException if the object cannot be written
+     */
+    public void writeObject(Object object) throws IOException
+    {
+        serializer.writeObject(object, this);
+    }
+
+    public void writeBoolean(boolean value)
+    {
+        write(value ? 1 : 0);
+    }
+
+    /**
+     * Writes an int using zig-zag encoding, so small negative numbers are compact too.
+     */
+    public void writeInt(int value)
+    {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes a long using zig-zag encoding, so small negative numbers are compact too.
+     */
+    public void writeLong(long value)
+    {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a non negative int, like a length or an id.
+     */
+    public void writeVarInt(int value)
+    {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0)
+        {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeVarLong(long value)
+    {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0)
+        {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeFixedInt(int value)
+    {
+        ensureCapacity(4);
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeFixedLong(long value)
+    {
+        writeFixedInt((int) (value >>> 32));
+        writeFixedInt((int) value);
+    }
+
+    /**
+     * Writes a string as its UTF-8 bytes preceded by their length. A null string is supported.
+     */
+    public void writeString(String value)
+    {
+        if (value == null)
+        {
+            writeVarInt(0);
+            return;
+        }
+        int length = value.length();
+        ensureCapacity(5 + length);
+        int start = position;
+        writeVarInt(length + 1);
+        for (int i = 0; i < length; i++)
+        {
+            char c = value.charAt(i);
+            if (c >= 0x80)
+            {
+                // not ASCII, rewrite it as UTF-8
+                position = start;
+                byte[] bytes = value.getBytes(UTF_8);
+                writeVarInt(bytes.length + 1);
+                write(bytes, 0, bytes.length);
+                return;
+            }
+            buffer[position++] = (byte) c;
+        }
+    }
+
+    public void writeBytes(byte[] bytes)
+    {
+        writeVarInt(bytes.length);
+        write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void write(int b)
+    {
+        ensureCapacity(1);
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length)
+    {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    int position()
+    {
+        return position;
+    }
+
+    void writeFixedIntAt(int offset, int value)
+    {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    int capacity()
+    {
+        return buffer.length;
+    }
+
+    void reset()
+    {
+        position = 0;
+    }
+
+    byte[] toByteArray()
+    {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int required)
+    {
+        if (position + required > buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + required));
+        }
+    }
+}
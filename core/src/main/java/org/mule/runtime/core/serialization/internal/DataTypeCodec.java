@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link BinaryCodec} for {@link DataType}s, which are written as the name of their type and their media type.
+ * Reading them goes through the {@link org.mule.runtime.api.metadata.DataTypeBuilder}, so equal data types end up
+ * being the same cached instance.
+ *
+ * @since 4.0
+ */
+final class DataTypeCodec implements BinaryCodec<DataType>
+{
+
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+
+    static
+    {
+        for (Class<?> type : new Class<?>[] {boolean.class, byte.class, char.class, short.class, int.class, long.class,
+                float.class, double.class, void.class})
+        {
+            PRIMITIVE_TYPES.put(type.getName(), type);
+        }
+    }
+
+    @Override
+    public void write(DataType dataType, BinaryOutput output) throws IOException
+    {
+        output.writeString(dataType.getType().getName());
+        output.writeString(dataType.getMediaType().toRfcString());
+        if (dataType instanceof CollectionDataType)
+        {
+            output.writeBoolean(true);
+            write(((CollectionDataType) dataType).getItemDataType(), output);
+        }
+        else
+        {
+            output.writeBoolean(false);
+        }
+    }
+
+    @Override
+    public DataType read(BinaryInput input) throws IOException
+    {
+        Class<?> type = loadClass(input.readString(), input.getClassLoader());
+        MediaType mediaType = MediaType.parse(input.readString());
+        if (input.readBoolean())
+        {
+            DataType itemDataType = read(input);
+            return DataType.builder()
+                           .collectionType((Class<? extends Collection>) type)
+                           .itemType(itemDataType.getType())
+                           .itemMediaType(itemDataType.getMediaType())
+                           .mediaType(mediaType)
+                           .build();
+        }
+        return DataType.builder().type(type).mediaType(mediaType).build();
+    }
+
+    private Class<?> loadClass(String name, ClassLoader classLoader) throws IOException
+    {
+        Class<?> primitiveType = PRIMITIVE_TYPES.get(name);
+        if (primitiveType != null)
+        {
+            return primitiveType;
+        }
+        try
+        {
+            return Class.forName(name, false, classLoader);
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new IOException("Could not load data type class " + name, e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import org.mule.runtime.api.message.Attributes;
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.ExceptionPayload;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.message.DefaultMuleMessageBuilder;
+import org.mule.runtime.core.message.DefaultMuleMessageBuilder.MuleMessageImplementation.SerializedDataHandler;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.activation.DataHandler;
+
+/**
+ * {@link BinaryCodec} for the messages built by {@link DefaultMuleMessageBuilder}. It writes the same state
+ * that the Java serialization of the message does, and rebuilds the message with a new builder.
+ *
+ * @since 4.0
+ */
+final class MuleMessageCodec implements BinaryCodec<MuleMessage>
+{
+
+    private final BinaryObjectSerializer serializer;
+
+    MuleMessageCodec(BinaryObjectSerializer serializer)
+    {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public void write(MuleMessage message, BinaryOutput output) throws IOException
+    {
+        output.writeString(message.getUniqueId());
+        output.writeString(message.getMessageRootId());
+        writePayload(message, output);
+        output.writeObject(message.getDataType());
+        output.writeObject(message.getAttributes());
+        output.writeObject(message.getExceptionPayload());
+        writeProperties(message.getInboundPropertyNames(), message::getInboundProperty, message::getInboundPropertyDataType, output);
+        writeProperties(message.getOutboundPropertyNames(), message::getOutboundProperty, message::getOutboundPropertyDataType, output);
+        writeAttachments(message.getInboundAttachmentNames(), message::getInboundAttachment, output);
+        writeAttachments(message.getOutboundAttachmentNames(), message::getOutboundAttachment, output);
+    }
+
+    @Override
+    public MuleMessage read(BinaryInput input) throws IOException
+    {
+        DefaultMuleMessageBuilder builder = new DefaultMuleMessageBuilder();
+        builder.id(input.readString());
+        builder.rootId(input.readString());
+        Object payload = input.readObject();
+        DataType dataType = input.readObject();
+        builder.attributes(input.<Attributes>readObject());
+        builder.exceptionPayload(input.<ExceptionPayload>readObject());
+
+        int inboundProperties = input.readVarInt();
+        for (int i = 0; i < inboundProperties; i++)
+        {
+            builder.addInboundProperty(input.readString(), input.<Serializable>readObject(), input.<DataType>readObject());
+        }
+        int outboundProperties = input.readVarInt();
+        for (int i = 0; i < outboundProperties; i++)
+        {
+            builder.addOutboundProperty(input.readString(), input.<Serializable>readObject(), input.<DataType>readObject());
+        }
+        int inboundAttachments = input.readVarInt();
+        for (int i = 0; i < inboundAttachments; i++)
+        {
+            builder.addInboundAttachment(input.readString(), input.<SerializedDataHandler>readObject().getHandler());
+        }
+        int outboundAttachments = input.readVarInt();
+        for (int i = 0; i < outboundAttachments; i++)
+        {
+            builder.addOutboundAttachment(input.readString(), input.<SerializedDataHandler>readObject().getHandler());
+        }
+
+        // the payload goes last since some properties override the data type
+        if (dataType instanceof CollectionDataType && payload instanceof Collection)
+        {
+            DataType itemDataType = ((CollectionDataType) dataType).getItemDataType();
+            builder.collectionPayload((Collection) payload, itemDataType.getType()).itemMediaType(itemDataType.getMediaType());
+        }
+        else
+        {
+            builder.payload(payload).mediaType(dataType.getMediaType());
+        }
+        return builder.build();
+    }
+
+    private void writePayload(MuleMessage message, BinaryOutput output) throws IOException
+    {
+        Object payload = message.getPayload();
+        if (payload == null || payload instanceof Serializable)
+        {
+            output.writeObject(payload);
+        }
+        else
+        {
+            try
+            {
+                output.writeObject(serializer.getMuleContext().getTransformationService().transform(message, BYTE_ARRAY).getPayload());
+            }
+            catch (TransformerException e)
+            {
+                throw new IOException("Could not transform payload to be serialized", e);
+            }
+        }
+    }
+
+    private void writeProperties(Set<String> names, Function<String, Serializable> values, Function<String, DataType> dataTypes,
+                                 BinaryOutput output) throws IOException
+    {
+        output.writeVarInt(names.size());
+        for (String name : names)
+        {
+            output.writeString(name);
+            output.writeObject(values.apply(name));
+            output.writeObject(dataTypes.apply(name));
+        }
+    }
+
+    private void writeAttachments(Set<String> names, Function<String, DataHandler> attachments, BinaryOutput output) throws IOException
+    {
+        output.writeVarInt(names.size());
+        for (String name : names)
+        {
+            output.writeString(name);
+            output.writeObject(new SerializedDataHandler(name, attachments.apply(name), serializer.getMuleContext()));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.transformer;
+
+import org.mule.runtime.api.metadata.DataType;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches the result of resolving a transformation from a source {@link DataType} to a result {@link DataType}.
+ * <p/>
+ * The table is an immutable two level map, keyed by source and then by result data type, that is replaced as a
+ * whole when a resolution is added or the table is cleared. Looking up a resolution therefore takes no lock and,
+ * unlike keys built by concatenating the data types, allocates nothing. Adding one copies the table, which is
+ * cheap for the few pairs of data types an application converts between. Tables that grow past
+ * {@link #MAX_ENTRIES} entries are dropped and built again, to bound them when the data types come from the
+ * messages themselves, as with charsets.
+ *
+ * @param <T> the type of the resolved values
+ * @since 4.0
+ */
+public final class TransformerResolutionTable<T>
+{
+
+    public static final int MAX_ENTRIES = 4096;
+
+    private final AtomicReference<Table<T>> table = new AtomicReference<>(Table.empty());
+
+    /**
+     * @return the resolution for the pair of data types, or null if there is none yet
+     */
+    public T get(DataType source, DataType result)
+    {
+        Map<DataType, T> resolutions = table.get().resolutions.get(source);
+        return resolutions == null ? null : resolutions.get(result);
+    }
+
+    /**
+     * Adds a resolution to the table unless there already is one for the pair of data types.
+     *
+     * @param value must not be null
+     * @return the resolution in the table for the pair of data types
+     */
+    public T putIfAbsent(DataType source, DataType result, T value)
+    {
+        while (true)
+        {
+            Table<T> current = table.get();
+            Map<DataType, T> resolutions = current.resolutions.get(source);
+            T existing = resolutions == null ? null : resolutions.get(result);
+            if (existing != null)
+            {
+                return existing;
+            }
+            if (table.compareAndSet(current, current.with(source, result, value)))
+            {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Discards all the resolutions, for instance because the available transformers changed.
+     */
+    public void clear()
+    {
+        table.set(Table.empty());
+    }
+
+    /**
+     * @return the number of pairs of data types with a resolution
+     */
+    public int size()
+    {
+        return table.get().size;
+    }
+
+    private static final class Table<T>
+    {
+
+        private static final Table<?> EMPTY = new Table<>(Collections.emptyMap(), 0);
+
+        private final Map<DataType, Map<DataType, T>> resolutions;
+        private final int size;
+
+        private Table(Map<DataType, Map<DataType, T>> resolutions, int size)
+        {
+            this.resolutions = resolutions;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Table<T> empty()
+        {
+            return (Table<T>) EMPTY;
+        }
+
+        private Table<T> with(DataType source, DataType result, T value)
+        {
+            Map<DataType, Map<DataType, T>> copy = size >= MAX_ENTRIES ? new HashMap<>() : new HashMap<>(this.resolutions);
+            Map<DataType, T> sourceResolutions = copy.get(source);
+            Map<DataType, T> sourceCopy = sourceResolutions == null ? new HashMap<>(4) : new HashMap<>(sourceResolutions);
+            sourceCopy.put(result, value);
+            copy.put(source, sourceCopy);
+            return new Table<>(copy, size >= MAX_ENTRIES ? 1 : size + 1);
+        }
+    }
+
+}
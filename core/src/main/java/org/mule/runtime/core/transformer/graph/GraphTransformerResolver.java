@@ -12,19 +12,26 @@ import org.mule.runtime.core.api.registry.TransformerResolver;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.transformer.TransformerResolutionTable;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.apache.commons.collections.map.LRUMap;
-
+/**
+ * Resolves transformations through chains of {@link Converter}s found in a {@link TransformationGraph}.
+ * <p/>
+ * Resolutions, including the lack of one, are kept in a {@link TransformerResolutionTable} that is cleared
+ * whenever the graph changes, so resolving a pair of data types that was already seen takes no lock. The
+ * graph is only searched, under the read lock, for pairs seen for the first time since the last change.
+ */
 public class GraphTransformerResolver implements TransformerResolver
 {
 
     private ReentrantReadWriteLock readWriteLock;
     private TransformationGraph graph;
     private CompositeConverterFilter converterFilter;
-    private LRUMap cache;
+    private TransformerResolutionTable<Optional<Transformer>> resolutions;
     private TransformationGraphLookupStrategy lookupStrategyTransformation;
 
     public GraphTransformerResolver()
@@ -33,60 +40,37 @@ public class GraphTransformerResolver implements TransformerResolver
         this.graph = new TransformationGraph();
         lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
         converterFilter = new CompositeConverterFilter(new TransformationLengthConverterFilter(), new PriorityWeightingConverterFilter(), new NameConverterFilter());
-        cache = new LRUMap();
+        resolutions = new TransformerResolutionTable<>();
     }
 
     @Override
     public Transformer resolve(DataType source, DataType result) throws ResolverException
     {
-        String cacheKey = getDataTypeSourceResultPairHash(source, result);
+        Optional<Transformer> resolution = resolutions.get(source, result);
+        if (resolution != null)
+        {
+            return resolution.orElse(null);
+        }
 
         readWriteLock.readLock().lock();
         try
         {
-            if (cache.containsKey(cacheKey))
+            List<Converter> converters = converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
+
+            if (converters.size() > 1)
             {
-                return (Converter) cache.get(cacheKey);
+                throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
             }
-        }
-        finally
-        {
-            readWriteLock.readLock().unlock();
-        }
 
-        List<Converter> converters = converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
+            Transformer converter = (converters.size() == 0) ? null : converters.get(0);
 
-        if (converters.size() > 1)
-        {
-            throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
-        }
-
-        Transformer converter = (converters.size() == 0) ? null : converters.get(0);
-
-
-        readWriteLock.writeLock().lock();
-        try
-        {
-            cache.put(cacheKey, converter);
+            // added while holding the read lock, so it can't outlive a change of the graph
+            return resolutions.putIfAbsent(source, result, Optional.ofNullable(converter)).orElse(null);
         }
         finally
         {
-            readWriteLock.writeLock().unlock();
+            readWriteLock.readLock().unlock();
         }
-
-        return converter;
-    }
-
-    private String getDataTypeSourceResultPairHash(DataType source, DataType result)
-    {
-        StringBuilder builder = new StringBuilder();
-        builder.append(source.getClass().getName());
-        builder.append(source.hashCode());
-        builder.append(":");
-        builder.append(result.getClass().getName());
-        builder.append(result.hashCode());
-
-        return builder.toString();
     }
 
     @Override
@@ -101,7 +85,7 @@ public class GraphTransformerResolver implements TransformerResolver
                 return;
             }
 
-            cache.clear();
+            resolutions.clear();
 
             if (registryAction == RegistryAction.ADDED)
             {
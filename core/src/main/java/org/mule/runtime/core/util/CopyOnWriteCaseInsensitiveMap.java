@@ -41,11 +41,22 @@ public class CopyOnWriteCaseInsensitiveMap<K, V> implements Map<K, V>, Serializa
         updateCore(new CaseInsensitiveHashMap());
     }
 
+    /**
+     * Creates a new map sharing the entries of the given one until any of them is modified.
+     * <p/>
+     * When {@code that} is also a {@link CopyOnWriteCaseInsensitiveMap} both maps become
+     * independent snapshots of the same entries, so this is a constant time operation no
+     * matter how many entries are shared.
+     *
+     * @param that map which entries are shared with the new one
+     */
     public CopyOnWriteCaseInsensitiveMap(Map<K, V> that)
     {
         if (that instanceof CopyOnWriteCaseInsensitiveMap)
         {
-            updateCore(((CopyOnWriteCaseInsensitiveMap) that).core);
+            final CopyOnWriteCaseInsensitiveMap<K, V> source = (CopyOnWriteCaseInsensitiveMap<K, V>) that;
+            updateCore(source.core);
+            source.requiresCopy = true;
         }
         else
         {
@@ -58,14 +69,7 @@ public class CopyOnWriteCaseInsensitiveMap<K, V> implements Map<K, V>, Serializa
     @Override
     public CopyOnWriteCaseInsensitiveMap<K, V> clone()
     {
-        try
-        {
-            return new CopyOnWriteCaseInsensitiveMap(this);
-        }
-        finally
-        {
-            requiresCopy = true;
-        }
+        return new CopyOnWriteCaseInsensitiveMap(this);
     }
 
     @SuppressWarnings("unchecked")
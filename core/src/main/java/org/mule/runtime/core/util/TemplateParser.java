@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -19,6 +20,10 @@ import org.slf4j.LoggerFactory;
 /**
  * <code>TemplateParser</code> is a simple string parser that will substitute
  * tokens in a string with values supplied in a Map.
+ * <p/>
+ * Each template is split in its literal text and tokens the first time it is parsed, and
+ * kept by template style and string, so parsing it again just appends the literal text and
+ * the values of the tokens without matching it against the style's regular expression.
  */
 public final class TemplateParser
 {
@@ -27,9 +32,14 @@ public final class TemplateParser
     public static final String CURLY_TEMPLATE_STYLE = "curly";
     public static final String WIGGLY_MULE_TEMPLATE_STYLE = "mule";
 
-    private static final String DOLLAR_ESCAPE = "@@@";
     private static final String NULL_AS_STRING = "null";
 
+    /**
+     * The max number of compiled templates kept per template style. They are dropped as a
+     * whole when there are more, to bound them when templates are built at run time.
+     */
+    public static final int MAX_COMPILED_TEMPLATES = 4096;
+
     private static final Map<String, PatternInfo> patterns = new HashMap<>();
 
     static
@@ -117,21 +127,25 @@ public final class TemplateParser
 
     protected String parse(Map<?, ?> props, String template, TemplateCallback callback)
     {
-        String result = template;
+        CompiledTemplate compiledTemplate = compile(template);
+        if (compiledTemplate.tokens.length == 0)
+        {
+            return template;
+        }
+
         Map<?, ?> newProps = props;
         if (props != null && !(props instanceof CaseInsensitiveHashMap))
         {
             newProps = new CaseInsensitiveHashMap(props);
         }
 
-        Matcher m = pattern.matcher(result);
-
-        while (m.find())
+        StringBuilder result = new StringBuilder(template.length() + 16 * compiledTemplate.tokens.length);
+        for (int i = 0; i < compiledTemplate.tokens.length; i++)
         {
-            Object value = null;
+            result.append(compiledTemplate.literals[i]);
 
-            String match = m.group();
-            String propname = match.substring(pre, match.length() - post);
+            Object value = null;
+            String propname = compiledTemplate.tokens[i];
 
             if (callback != null)
             {
@@ -152,31 +166,43 @@ public final class TemplateParser
                 {
                     logger.debug("Value " + propname + " not found in context");
                 }
+                result.append(style.getPrefix()).append(propname).append(style.getSuffix());
             }
             else
             {
-                String matchRegex = Pattern.quote(match);
-                String valueString = value.toString();
-                //need to escape $ as they resolve into group references, escaping them was not enough
-                //This smells a bit like a hack, but one way or another these characters need to be escaped
-                if (valueString.indexOf('$') != -1)
-                {
-                    valueString = valueString.replaceAll("\\$", DOLLAR_ESCAPE);
-                }
-
-                if (valueString.indexOf('\\') != -1)
-                {
-                    valueString = valueString.replaceAll("\\\\", "\\\\\\\\");
-                }
-
-                result = result.replaceAll(matchRegex, valueString);
+                result.append(value);
             }
         }
-        if (result.indexOf(DOLLAR_ESCAPE) != -1)
+        result.append(compiledTemplate.literals[compiledTemplate.tokens.length]);
+        return result.toString();
+    }
+
+    private CompiledTemplate compile(String template)
+    {
+        Map<String, CompiledTemplate> compiledTemplates = style.compiledTemplates;
+        CompiledTemplate compiledTemplate = compiledTemplates.get(template);
+        if (compiledTemplate == null)
         {
-            result = result.replaceAll(DOLLAR_ESCAPE, "\\$");
+            List<String> literals = new ArrayList<>();
+            List<String> tokens = new ArrayList<>();
+            Matcher m = pattern.matcher(template);
+            int literalStart = 0;
+            while (m.find())
+            {
+                literals.add(template.substring(literalStart, m.start()));
+                tokens.add(template.substring(m.start() + pre, m.end() - post));
+                literalStart = m.end();
+            }
+            literals.add(template.substring(literalStart));
+            compiledTemplate = new CompiledTemplate(literals.toArray(new String[literals.size()]),
+                                                    tokens.toArray(new String[tokens.size()]));
+            if (compiledTemplates.size() >= MAX_COMPILED_TEMPLATES)
+            {
+                compiledTemplates.clear();
+            }
+            compiledTemplates.put(template, compiledTemplate);
         }
-        return result;
+        return compiledTemplate;
     }
 
     /**
@@ -242,8 +268,7 @@ public final class TemplateParser
             return false;
         }
 
-        Matcher m = pattern.matcher(value);
-        return m.find();
+        return compile(value).tokens.length > 0;
     }
 
     public boolean isValid(String expression)
@@ -271,12 +296,31 @@ public final class TemplateParser
     }
 
 
+    /**
+     * A template split in its tokens and the literal text around them, there is always one more
+     * literal than tokens.
+     */
+    private static final class CompiledTemplate
+    {
+
+        private final String[] literals;
+        private final String[] tokens;
+
+        private CompiledTemplate(String[] literals, String[] tokens)
+        {
+            this.literals = literals;
+            this.tokens = tokens;
+        }
+    }
+
     public static class PatternInfo
     {
         String name;
         String regEx;
         String prefix;
         String suffix;
+        private final Pattern pattern;
+        private final Map<String, CompiledTemplate> compiledTemplates = new ConcurrentHashMap<>();
 
         PatternInfo(String name, String regEx, String prefix, String suffix)
         {
@@ -292,6 +336,7 @@ public final class TemplateParser
                 throw new IllegalArgumentException("Suffix can only be one character long: " + suffix);
             }
             this.suffix = suffix;
+            this.pattern = Pattern.compile(regEx, Pattern.CASE_INSENSITIVE);
         }
 
         public String getRegEx()
@@ -316,7 +361,7 @@ public final class TemplateParser
 
         public Pattern getPattern()
         {
-            return Pattern.compile(regEx, Pattern.CASE_INSENSITIVE);
+            return pattern;
         }
 
         public void validate(String expression) throws IllegalArgumentException
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * <code>TimingWheel</code> is a hierarchical timing wheel that tracks the deadlines of a large number of items
+ * with constant cost per scheduled item, instead of checking every item on each run.
+ * <p/>
+ * The first level has one bucket per tick. Each following level has buckets that span a whole revolution of the
+ * previous one, and items are moved down to lower levels as their deadline gets closer. Levels are created on
+ * demand so there's no upper limit for the deadlines.
+ * <p/>
+ * Items can be scheduled from any thread, but {@link #advance(long, Consumer)} must always be invoked by the same
+ * thread. Items are not removed from the wheel when they are no longer relevant, so the consumer of the expired
+ * items must be ready to discard them.
+ */
+public class TimingWheel<T>
+{
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final Queue<TimerEntry<T>> pending = new ConcurrentLinkedQueue<>();
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    /**
+     * @param tickMillis duration in milliseconds of each bucket of the first level
+     * @param wheelSize  number of buckets of each level
+     * @param startTime  time in milliseconds to start from
+     */
+    public TimingWheel(long tickMillis, int wheelSize, long startTime)
+    {
+        if (tickMillis <= 0 || wheelSize <= 1)
+        {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize must be greater than one");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = lastCompletedTick(startTime);
+        levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    /**
+     * Schedules an item to expire once the given deadline is reached.
+     *
+     * @param item     the item to schedule
+     * @param deadline time in milliseconds after which the item is expired
+     */
+    public void schedule(T item, long deadline)
+    {
+        pending.add(new TimerEntry<>(item, deadline));
+    }
+
+    /**
+     * Moves the wheel up to the given time, handing every item whose deadline has passed to the consumer.
+     *
+     * @param now             current time in milliseconds
+     * @param expiredConsumer receives the expired items
+     */
+    public void advance(long now, Consumer<T> expiredConsumer)
+    {
+        TimerEntry<T> entry;
+        while ((entry = pending.poll()) != null)
+        {
+            add(entry, expiredConsumer);
+        }
+
+        long target = lastCompletedTick(now);
+        if (size == 0)
+        {
+            currentTime = Math.max(currentTime, target);
+            return;
+        }
+        while (currentTime < target)
+        {
+            currentTime += tickMillis;
+            for (int i = levels.size() - 1; i >= 0; i--)
+            {
+                Level<T> level = levels.get(i);
+                if (currentTime % level.tick == 0)
+                {
+                    List<TimerEntry<T>> bucket = level.drain(currentTime);
+                    if (bucket != null)
+                    {
+                        size -= bucket.size();
+                        for (TimerEntry<T> cascaded : bucket)
+                        {
+                            add(cascaded, expiredConsumer);
+                        }
+                    }
+                }
+            }
+            if (size == 0)
+            {
+                currentTime = Math.max(currentTime, target);
+            }
+        }
+    }
+
+    /**
+     * @return the number of items in the wheel, not including the ones scheduled since the last advance.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the start of the last tick that is already complete at the given time, so every item expired while
+     * processing that tick has a deadline previous to that time.
+     */
+    private long lastCompletedTick(long time)
+    {
+        return (time / tickMillis) * tickMillis - tickMillis;
+    }
+
+    private void add(TimerEntry<T> entry, Consumer<T> expiredConsumer)
+    {
+        if (entry.deadline < currentTime + tickMillis)
+        {
+            expiredConsumer.accept(entry.item);
+            return;
+        }
+        for (int i = 0; ; i++)
+        {
+            if (i == levels.size())
+            {
+                Level<T> previous = levels.get(i - 1);
+                levels.add(new Level<>(previous.tick * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            if (level.tick > Long.MAX_VALUE / wheelSize / 2 || entry.deadline - currentTime < level.tick * wheelSize)
+            {
+                level.add(entry);
+                size++;
+                return;
+            }
+        }
+    }
+
+    private static final class Level<T>
+    {
+
+        private final long tick;
+        private final List<TimerEntry<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tick, int wheelSize)
+        {
+            this.tick = tick;
+            this.buckets = new List[wheelSize];
+        }
+
+        private int index(long time)
+        {
+            return (int) ((time / tick) % buckets.length);
+        }
+
+        private void add(TimerEntry<T> entry)
+        {
+            int index = index(entry.deadline);
+            if (buckets[index] == null)
+            {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(entry);
+        }
+
+        private List<TimerEntry<T>> drain(long time)
+        {
+            int index = index(time);
+            List<TimerEntry<T>> bucket = buckets[index];
+            buckets[index] = null;
+            return bucket;
+        }
+    }
+
+    private static final class TimerEntry<T>
+    {
+
+        private final T item;
+        private final long deadline;
+
+        private TimerEntry(T item, long deadline)
+        {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -18,6 +18,14 @@ import org.apache.commons.lang.NotImplementedException;
  */
 public class DefaultQueueStore implements RecoverableQueueStore
 {
+
+    /**
+     * System property to store persistent queues using {@link SegmentedFileQueueStoreDelegate} instead of
+     * {@link DualRandomAccessFileQueueStoreDelegate}. Both formats are not compatible, so the queues must be empty
+     * before changing it.
+     */
+    public static final String SEGMENTED_QUEUE_STORE_PROPERTY_KEY = "mule.queue.segmented";
+
     private QueueConfiguration config;
     private String name;
     private QueueStoreDelegate delegate;
@@ -46,7 +54,11 @@ public class DefaultQueueStore implements RecoverableQueueStore
         {
             this.config = new DefaultQueueConfiguration();
         }
-        if (this.config.isPersistent())
+        if (this.config.isPersistent() && Boolean.getBoolean(SEGMENTED_QUEUE_STORE_PROPERTY_KEY))
+        {
+            delegate = new SegmentedFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(), muleContext, this.config.getCapacity());
+        }
+        else if (this.config.isPersistent())
         {
             delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(), muleContext, this.config.getCapacity());
         }
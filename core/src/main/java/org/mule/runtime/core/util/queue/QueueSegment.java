@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+import org.mule.runtime.core.api.MuleRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, memory-mapped file holding a contiguous range of queue records.
+ * <p/>
+ * Each record is stored as a status byte, the length of the data as an int and the data itself. The status byte is
+ * written last so a partially written record is never considered part of the queue. Unused space in the segment
+ * is zero filled, which is read as the end of the segment.
+ * <p/>
+ * Records are only appended by the producer side of the queue, while the consumer side only flips the status byte
+ * of already written records, so both sides can work on the same segment without sharing a lock.
+ */
+class QueueSegment
+{
+
+    static final byte NONE = 0;
+    static final byte LIVE = 1;
+    static final byte REMOVED = 2;
+    static final byte UNTAKEN = 3;
+    static final int HEADER_SIZE = 5;
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueSegment.class);
+
+    private final long sequence;
+    private final File file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicInteger liveRecords = new AtomicInteger();
+    private final List<Integer> recoveredUntakenPositions = new ArrayList<>();
+    private int writePosition;
+
+    private QueueSegment(File file, long sequence, int capacity)
+    {
+        this.file = file;
+        this.sequence = sequence;
+        this.capacity = capacity;
+        try
+        {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            this.channel = randomAccessFile.getChannel();
+            this.buffer = channel.map(READ_WRITE, 0, capacity);
+        }
+        catch (IOException e)
+        {
+            throw new MuleRuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates a new empty segment.
+     *
+     * @param file     file to store the segment data
+     * @param sequence position of the segment within the queue
+     * @param capacity size in bytes of the segment
+     * @return the new segment
+     */
+    static QueueSegment create(File file, long sequence, int capacity)
+    {
+        return new QueueSegment(file, sequence, capacity);
+    }
+
+    /**
+     * Opens a previously created segment. {@link #recover()} must be invoked before using it.
+     *
+     * @param file     file containing the segment data
+     * @param sequence position of the segment within the queue
+     * @return the opened segment
+     */
+    static QueueSegment open(File file, long sequence)
+    {
+        return new QueueSegment(file, sequence, (int) file.length());
+    }
+
+    /**
+     * Scans the segment records to restore the write position and the number of records that are still part of
+     * the queue.
+     */
+    void recover()
+    {
+        int position = 0;
+        int live = 0;
+        while (!isEnd(position))
+        {
+            byte status = statusAt(position);
+            if (status == LIVE)
+            {
+                live++;
+            }
+            else if (status == UNTAKEN)
+            {
+                live++;
+                recoveredUntakenPositions.add(position);
+            }
+            position = nextRecord(position);
+        }
+        writePosition = position;
+        liveRecords.set(live);
+    }
+
+    /**
+     * @return the positions of the records that were restored to the front of the queue, in the order they were
+     *         written. Only available after {@link #recover()}.
+     */
+    List<Integer> getRecoveredUntakenPositions()
+    {
+        return recoveredUntakenPositions;
+    }
+
+    /**
+     * @param length size of the data to append
+     * @return true if a record of the given size fits in the remaining space of the segment
+     */
+    boolean hasRoomFor(int length)
+    {
+        return (long) writePosition + HEADER_SIZE + length <= capacity;
+    }
+
+    /**
+     * Appends a record at the end of the segment. Must only be invoked by one thread at a time.
+     *
+     * @param data   record data
+     * @param status status of the new record
+     * @return the position of the new record
+     */
+    int append(byte[] data, byte status)
+    {
+        int position = writePosition;
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + 1);
+        view.putInt(data.length);
+        view.put(data);
+        buffer.put(position, status);
+        writePosition = position + HEADER_SIZE + data.length;
+        liveRecords.incrementAndGet();
+        return position;
+    }
+
+    /**
+     * @param position position of a record
+     * @return true if there's no record at the given position
+     */
+    boolean isEnd(int position)
+    {
+        if (position + HEADER_SIZE > capacity || statusAt(position) == NONE)
+        {
+            return true;
+        }
+        int length = buffer.getInt(position + 1);
+        return length < 0 || (long) position + HEADER_SIZE + length > capacity;
+    }
+
+    byte statusAt(int position)
+    {
+        return buffer.get(position);
+    }
+
+    int nextRecord(int position)
+    {
+        return position + HEADER_SIZE + buffer.getInt(position + 1);
+    }
+
+    /**
+     * @param position position of a record
+     * @return the data of the record
+     */
+    byte[] read(int position)
+    {
+        byte[] data = new byte[buffer.getInt(position + 1)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + HEADER_SIZE);
+        view.get(data);
+        return data;
+    }
+
+    /**
+     * Marks the record at the given position as removed from the queue.
+     *
+     * @param position position of a record
+     * @return the number of records of the segment that are still part of the queue
+     */
+    int remove(int position)
+    {
+        buffer.put(position, REMOVED);
+        return liveRecords.decrementAndGet();
+    }
+
+    int getLiveRecords()
+    {
+        return liveRecords.get();
+    }
+
+    long getSequence()
+    {
+        return sequence;
+    }
+
+    File getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Flushes the segment content to the storage device.
+     */
+    void force()
+    {
+        try
+        {
+            buffer.force();
+        }
+        catch (Exception e)
+        {
+            logger.warn("Failure flushing queue segment " + file.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Releases the file handle held by this segment. The mapped content stays valid until the segment is
+     * garbage collected.
+     */
+    void close()
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failure closing queue segment " + file.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes and deletes the segment file.
+     */
+    void delete()
+    {
+        close();
+        if (!file.delete() && file.exists())
+        {
+            if (logger.isDebugEnabled())
+            {
+                logger.debug("Could not delete queue segment " + file.getAbsolutePath() + ", it will be deleted on exit");
+            }
+            file.deleteOnExit();
+        }
+    }
+}
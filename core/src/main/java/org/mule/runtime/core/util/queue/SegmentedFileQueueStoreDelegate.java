@@ -0,0 +1,786 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.util.FileUtils;
+import org.mule.runtime.core.util.Preconditions;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation that stores the queue data in append-only, memory-mapped
+ * segment files.
+ * <p/>
+ * New entries are appended to the last segment and a new segment is created once it gets full. Entries are consumed
+ * from the first segment by just flagging them as removed, and a segment is deleted in background once all its
+ * entries have been consumed. Producers and consumers use separate locks so they don't contend with each other.
+ * <p/>
+ * When {@link #SYNC_WRITES_PROPERTY_KEY} is enabled, which is the default, every operation waits until its changes
+ * are flushed to disk. Flushes are grouped so a single flush covers all the operations done concurrently.
+ * <p/>
+ * Entries restored to the front of the queue through {@link #untake(Serializable)} are kept in memory to preserve
+ * their position and flagged in the segment so they are restored to the front of the queue after a restart.
+ */
+public class SegmentedFileQueueStoreDelegate implements TransactionalQueueStoreDelegate
+{
+
+    public static final String SEGMENT_SIZE_PROPERTY_KEY = "mule.queue.segment.size";
+    public static final String SYNC_WRITES_PROPERTY_KEY = "mule.queue.segment.syncWrites";
+
+    private static final int ONE_MEGABYTE = 1024 * 1024;
+    private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+    private static final String SEGMENTS_DIRECTORY_SUFFIX = ".seg";
+    private static final String SEGMENT_FILE_PREFIX = "segment-";
+    private static final Pattern SAFE_QUEUE_NAME = Pattern.compile("[A-Za-z0-9._\\-]+");
+
+    protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ObjectSerializer serializer;
+    private final int capacity;
+    private final int segmentSize;
+    private final boolean syncWrites;
+    private final File segmentsDirectory;
+
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ConcurrentNavigableMap<Long, QueueSegment> segments = new ConcurrentSkipListMap<>();
+    // guarded by putLock
+    private volatile QueueSegment tail;
+    // guarded by takeLock
+    private QueueSegment head;
+    private int headPosition;
+    private final Deque<RecordPointer> untakenRecords = new ArrayDeque<>();
+
+    private final Object syncMonitor = new Object();
+    private final Set<QueueSegment> dirtySegments = ConcurrentHashMap.newKeySet();
+    private final AtomicLong writeSequence = new AtomicLong();
+    // guarded by syncMonitor
+    private long durableSequence;
+    private boolean syncInProgress;
+
+    private final ThreadPoolExecutor reclaimer;
+    private boolean closed;
+
+    public SegmentedFileQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity)
+    {
+        this.capacity = capacity;
+        this.serializer = muleContext.getObjectSerializer();
+        this.segmentSize = Integer.getInteger(SEGMENT_SIZE_PROPERTY_KEY, ONE_MEGABYTE);
+        this.syncWrites = Boolean.parseBoolean(System.getProperty(SYNC_WRITES_PROPERTY_KEY, "true"));
+        this.segmentsDirectory = getSegmentsDirectory(queueName, workingDirectory);
+        if (!segmentsDirectory.exists())
+        {
+            Preconditions.checkState(segmentsDirectory.mkdirs(), "Could not create queue store directory " + segmentsDirectory.getAbsolutePath());
+        }
+        this.reclaimer = new ThreadPoolExecutor(0, 1, 30, SECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory("queue-segment-reclaimer"));
+        recover();
+
+        if (logger.isDebugEnabled())
+        {
+            logger.debug(String.format("Queue %s has %s messages in %s segments", queueName, getSize(), segments.size()));
+        }
+    }
+
+    private static File getSegmentsDirectory(String queueName, String workingDirectory)
+    {
+        String directoryName = SAFE_QUEUE_NAME.matcher(queueName).matches() ? queueName : QueueFileProvider.toHex(queueName);
+        return new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY, directoryName + SEGMENTS_DIRECTORY_SUFFIX);
+    }
+
+    private void recover()
+    {
+        File[] files = segmentsDirectory.listFiles((dir, name) -> name.startsWith(SEGMENT_FILE_PREFIX));
+        List<QueueSegment> recovered = new ArrayList<>();
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                recovered.add(QueueSegment.open(file, Long.parseLong(file.getName().substring(SEGMENT_FILE_PREFIX.length()))));
+            }
+        }
+        recovered.parallelStream().forEach(QueueSegment::recover);
+
+        for (QueueSegment segment : recovered)
+        {
+            segments.put(segment.getSequence(), segment);
+        }
+        for (QueueSegment segment : segments.values())
+        {
+            if (segment.getLiveRecords() == 0 && segment != segments.lastEntry().getValue())
+            {
+                segments.remove(segment.getSequence());
+                segment.delete();
+                continue;
+            }
+            count.addAndGet(segment.getLiveRecords());
+            // records are recovered in the order they were untaken, and each untake goes before the previous ones
+            for (Integer position : segment.getRecoveredUntakenPositions())
+            {
+                untakenRecords.addFirst(new RecordPointer(segment, position));
+            }
+        }
+
+        if (segments.isEmpty())
+        {
+            QueueSegment segment = createSegment(0, segmentSize);
+            segments.put(segment.getSequence(), segment);
+        }
+        head = segments.firstEntry().getValue();
+        headPosition = 0;
+        tail = segments.lastEntry().getValue();
+    }
+
+    private QueueSegment createSegment(long sequence, int size)
+    {
+        return QueueSegment.create(new File(segmentsDirectory, String.format("%s%019d", SEGMENT_FILE_PREFIX, sequence)), sequence, size);
+    }
+
+    @Override
+    public void putNow(Serializable o)
+    {
+        byte[] data = serializer.serialize(o);
+        long sequence;
+        putLock.lock();
+        try
+        {
+            sequence = appendAndCount(data);
+        }
+        finally
+        {
+            putLock.unlock();
+        }
+        signalNotEmpty();
+        sync(sequence);
+    }
+
+    @Override
+    public boolean offer(Serializable o, int room, long timeout) throws InterruptedException
+    {
+        checkInterrupted();
+        if (capacity > 0 && capacity <= room)
+        {
+            throw new IllegalStateException("Can not add more objects than the capacity in one time");
+        }
+        byte[] data = o != null ? serializer.serialize(o) : null;
+        long sequence = 0;
+        putLock.lockInterruptibly();
+        try
+        {
+            if (capacity > 0)
+            {
+                long nanos = MILLISECONDS.toNanos(timeout);
+                while (count.get() >= capacity - room)
+                {
+                    if (nanos <= 0L)
+                    {
+                        return false;
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+            }
+            if (data != null)
+            {
+                sequence = appendAndCount(data);
+            }
+        }
+        finally
+        {
+            putLock.unlock();
+        }
+        if (data != null)
+        {
+            signalNotEmpty();
+            sync(sequence);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Serializable> items)
+    {
+        List<byte[]> serializedItems = new ArrayList<>(items.size());
+        for (Serializable item : items)
+        {
+            serializedItems.add(serializer.serialize(item));
+        }
+        long sequence = 0;
+        putLock.lock();
+        try
+        {
+            for (byte[] data : serializedItems)
+            {
+                sequence = appendAndCount(data);
+            }
+        }
+        finally
+        {
+            putLock.unlock();
+        }
+        if (!serializedItems.isEmpty())
+        {
+            signalNotEmpty();
+            sync(sequence);
+        }
+        return true;
+    }
+
+    @Override
+    public Serializable poll(long timeout) throws InterruptedException
+    {
+        checkInterrupted();
+        Serializable value;
+        long sequence;
+        takeLock.lockInterruptibly();
+        try
+        {
+            long nanos = MILLISECONDS.toNanos(timeout);
+            while (count.get() == 0)
+            {
+                if (nanos <= 0L)
+                {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            boolean untaken = !untakenRecords.isEmpty();
+            RecordPointer pointer = untaken ? untakenRecords.peekFirst() : nextLiveRecord();
+            if (pointer == null)
+            {
+                return null;
+            }
+            value = deserialize(pointer.read());
+            if (untaken)
+            {
+                untakenRecords.removeFirst();
+            }
+            sequence = removeRecord(pointer);
+            if (count.get() > 0)
+            {
+                notEmpty.signal();
+            }
+        }
+        finally
+        {
+            takeLock.unlock();
+        }
+        signalNotFull();
+        sync(sequence);
+        return value;
+    }
+
+    @Override
+    public Serializable peek() throws InterruptedException
+    {
+        checkInterrupted();
+        takeLock.lockInterruptibly();
+        try
+        {
+            if (count.get() == 0)
+            {
+                return null;
+            }
+            RecordPointer pointer = untakenRecords.isEmpty() ? nextLiveRecord() : untakenRecords.peekFirst();
+            return pointer == null ? null : deserialize(pointer.read());
+        }
+        finally
+        {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public void untake(Serializable item) throws InterruptedException
+    {
+        checkInterrupted();
+        byte[] data = serializer.serialize(item);
+        RecordPointer pointer;
+        putLock.lockInterruptibly();
+        try
+        {
+            pointer = append(data, QueueSegment.UNTAKEN);
+        }
+        finally
+        {
+            putLock.unlock();
+        }
+        long sequence = markDirty(pointer.segment);
+        takeLock.lock();
+        try
+        {
+            untakenRecords.addFirst(pointer);
+            count.incrementAndGet();
+            notEmpty.signal();
+        }
+        finally
+        {
+            takeLock.unlock();
+        }
+        sync(sequence);
+    }
+
+    @Override
+    public int getSize()
+    {
+        return count.get();
+    }
+
+    @Override
+    public void clear() throws InterruptedException
+    {
+        checkInterrupted();
+        fullyLock();
+        try
+        {
+            long nextSequence = tail.getSequence() + 1;
+            deleteSegments();
+            QueueSegment segment = createSegment(nextSequence, segmentSize);
+            segments.put(segment.getSequence(), segment);
+            head = segment;
+            headPosition = 0;
+            tail = segment;
+            notFull.signalAll();
+        }
+        finally
+        {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public void remove(Serializable value)
+    {
+        long sequence = 0;
+        fullyLock();
+        try
+        {
+            for (QueueSegment segment : segments.values())
+            {
+                int position = 0;
+                while (!segment.isEnd(position))
+                {
+                    byte status = segment.statusAt(position);
+                    if ((status == QueueSegment.LIVE || status == QueueSegment.UNTAKEN) && isSelected(segment, position, value))
+                    {
+                        RecordPointer pointer = new RecordPointer(segment, position);
+                        if (status == QueueSegment.UNTAKEN)
+                        {
+                            untakenRecords.remove(pointer);
+                        }
+                        sequence = removeRecord(pointer);
+                        notFull.signal();
+                        return;
+                    }
+                    position = segment.nextRecord(position);
+                }
+            }
+        }
+        finally
+        {
+            fullyUnlock();
+            sync(sequence);
+        }
+    }
+
+    @Override
+    public boolean contains(Serializable value)
+    {
+        fullyLock();
+        try
+        {
+            for (QueueSegment segment : segments.values())
+            {
+                int position = 0;
+                while (!segment.isEnd(position))
+                {
+                    byte status = segment.statusAt(position);
+                    if ((status == QueueSegment.LIVE || status == QueueSegment.UNTAKEN) && isSelected(segment, position, value))
+                    {
+                        return true;
+                    }
+                    position = segment.nextRecord(position);
+                }
+            }
+            return false;
+        }
+        finally
+        {
+            fullyUnlock();
+        }
+    }
+
+    private boolean isSelected(QueueSegment segment, int position, Serializable value)
+    {
+        try
+        {
+            return deserialize(segment.read(position)).equals(value);
+        }
+        catch (Exception e)
+        {
+            logger.warn("Failure trying to deserialize value " + e.getMessage());
+            if (logger.isDebugEnabled())
+            {
+                logger.debug("Failure trying to deserialize value", e);
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        fullyLock();
+        try
+        {
+            doClose();
+        }
+        finally
+        {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose()
+    {
+        fullyLock();
+        try
+        {
+            doClose();
+            deleteSegments();
+            FileUtils.deleteQuietly(segmentsDirectory);
+        }
+        finally
+        {
+            fullyUnlock();
+        }
+    }
+
+    private void doClose()
+    {
+        if (closed)
+        {
+            return;
+        }
+        closed = true;
+        reclaimer.shutdown();
+        try
+        {
+            reclaimer.awaitTermination(5, SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        for (QueueSegment segment : segments.values())
+        {
+            segment.force();
+            segment.close();
+        }
+    }
+
+    private void deleteSegments()
+    {
+        for (Iterator<Map.Entry<Long, QueueSegment>> iterator = segments.entrySet().iterator(); iterator.hasNext(); )
+        {
+            QueueSegment segment = iterator.next().getValue();
+            iterator.remove();
+            dirtySegments.remove(segment);
+            segment.delete();
+        }
+        untakenRecords.clear();
+        count.set(0);
+    }
+
+    /**
+     * Must be invoked holding the putLock.
+     */
+    private long appendAndCount(byte[] data)
+    {
+        RecordPointer pointer = append(data, QueueSegment.LIVE);
+        count.incrementAndGet();
+        return markDirty(pointer.segment);
+    }
+
+    /**
+     * Must be invoked holding the putLock.
+     */
+    private RecordPointer append(byte[] data, byte status)
+    {
+        QueueSegment segment = tail;
+        if (!segment.hasRoomFor(data.length))
+        {
+            segment = createSegment(segment.getSequence() + 1, Math.max(segmentSize, QueueSegment.HEADER_SIZE + data.length));
+            segments.put(segment.getSequence(), segment);
+            tail = segment;
+        }
+        return new RecordPointer(segment, segment.append(data, status));
+    }
+
+    /**
+     * Finds the first record that was appended and not yet consumed. Must be invoked holding the takeLock.
+     */
+    private RecordPointer nextLiveRecord()
+    {
+        while (true)
+        {
+            if (head.isEnd(headPosition))
+            {
+                Map.Entry<Long, QueueSegment> next = segments.higherEntry(head.getSequence());
+                if (next == null)
+                {
+                    return null;
+                }
+                // the producer may have completed a record in this segment before moving to the next one
+                if (!head.isEnd(headPosition))
+                {
+                    continue;
+                }
+                QueueSegment exhausted = head;
+                head = next.getValue();
+                headPosition = 0;
+                reclaimIfConsumed(exhausted);
+                continue;
+            }
+            if (head.statusAt(headPosition) == QueueSegment.LIVE)
+            {
+                return new RecordPointer(head, headPosition);
+            }
+            headPosition = head.nextRecord(headPosition);
+        }
+    }
+
+    /**
+     * Must be invoked holding the takeLock.
+     */
+    private long removeRecord(RecordPointer pointer)
+    {
+        pointer.segment.remove(pointer.position);
+        count.decrementAndGet();
+        long sequence = markDirty(pointer.segment);
+        reclaimIfConsumed(pointer.segment);
+        return sequence;
+    }
+
+    /**
+     * Must be invoked holding the takeLock.
+     */
+    private void reclaimIfConsumed(final QueueSegment segment)
+    {
+        if (segment.getLiveRecords() == 0 && segment.getSequence() < head.getSequence() && segments.remove(segment.getSequence(), segment))
+        {
+            dirtySegments.remove(segment);
+            reclaimer.execute(segment::delete);
+        }
+    }
+
+    private long markDirty(QueueSegment segment)
+    {
+        if (!syncWrites)
+        {
+            return 0;
+        }
+        dirtySegments.add(segment);
+        return writeSequence.incrementAndGet();
+    }
+
+    /**
+     * Waits until the changes tracked with the given sequence are flushed to disk. The first thread to arrive
+     * flushes the changes of every thread waiting, so concurrent operations share a single flush.
+     */
+    private void sync(long sequence)
+    {
+        if (!syncWrites || sequence == 0)
+        {
+            return;
+        }
+        boolean interrupted = false;
+        while (true)
+        {
+            long target;
+            synchronized (syncMonitor)
+            {
+                while (syncInProgress && durableSequence < sequence)
+                {
+                    try
+                    {
+                        syncMonitor.wait();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        interrupted = true;
+                    }
+                }
+                if (durableSequence >= sequence)
+                {
+                    break;
+                }
+                syncInProgress = true;
+                target = writeSequence.get();
+            }
+            // flush outside of the monitor so other threads can register their changes meanwhile
+            try
+            {
+                flushDirtySegments();
+            }
+            finally
+            {
+                synchronized (syncMonitor)
+                {
+                    durableSequence = Math.max(durableSequence, target);
+                    syncInProgress = false;
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushDirtySegments()
+    {
+        for (Iterator<QueueSegment> iterator = dirtySegments.iterator(); iterator.hasNext(); )
+        {
+            QueueSegment segment = iterator.next();
+            iterator.remove();
+            segment.force();
+        }
+    }
+
+    private Serializable deserialize(byte[] data)
+    {
+        return serializer.deserialize(data);
+    }
+
+    private void signalNotEmpty()
+    {
+        takeLock.lock();
+        try
+        {
+            notEmpty.signal();
+        }
+        finally
+        {
+            takeLock.unlock();
+        }
+    }
+
+    private void signalNotFull()
+    {
+        if (capacity <= 0)
+        {
+            return;
+        }
+        putLock.lock();
+        try
+        {
+            notFull.signal();
+        }
+        finally
+        {
+            putLock.unlock();
+        }
+    }
+
+    private void fullyLock()
+    {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    private void fullyUnlock()
+    {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+
+    private void checkInterrupted() throws InterruptedException
+    {
+        if (Thread.interrupted())
+        {
+            throw new InterruptedException();
+        }
+    }
+
+    //only for testing.
+    File getSegmentsDirectory()
+    {
+        return segmentsDirectory;
+    }
+
+    //only for testing.
+    int getSegmentCount()
+    {
+        return segments.size();
+    }
+
+    private static class RecordPointer
+    {
+
+        private final QueueSegment segment;
+        private final int position;
+
+        private RecordPointer(QueueSegment segment, int position)
+        {
+            this.segment = segment;
+            this.position = position;
+        }
+
+        private byte[] read()
+        {
+            return segment.read(position);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return obj instanceof RecordPointer && ((RecordPointer) obj).segment == segment && ((RecordPointer) obj).position == position;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * segment.hashCode() + position;
+        }
+    }
+}
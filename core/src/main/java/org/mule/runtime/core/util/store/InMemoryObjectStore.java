@@ -12,25 +12,33 @@ import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 
 import java.io.Serializable;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <code>InMemoryObjectStore</code> implements an optionally bounded
- * in-memory store for message IDs with periodic expiry of old entries. The bounded size
- * is a <i>soft</i> limit and only enforced periodically by the expiry process; this
- * means that the store may temporarily exceed its maximum size between expiry runs, but
- * will eventually shrink to its configured size.
+ * in-memory store for message IDs with periodic expiry of old entries.
+ * <p/>
+ * Entries are indexed by key, so lookups don't depend on the number of entries and never block, while a
+ * separate index ordered by insertion time is used to find the oldest entries. The bounded size is enforced
+ * each time an entry is stored by discarding the oldest entries, and entries exceeding their TTL are
+ * discarded periodically by the expiry process.
  */
 public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitoredObjectStore<T>
 {
-    protected ConcurrentSkipListMap<Long, StoredObject<T>> store;
+    protected ConcurrentMap<Serializable, StoredObject<T>> store;
+    private final ConcurrentSkipListMap<Long, StoredObject<T>> expiryIndex;
+    private final AtomicLong lastTimestamp = new AtomicLong(Long.MIN_VALUE);
 
     public InMemoryObjectStore()
     {
-        this.store = new ConcurrentSkipListMap<Long, StoredObject<T>>();
+        this.store = new ConcurrentHashMap<Serializable, StoredObject<T>>();
+        this.expiryIndex = new ConcurrentSkipListMap<Long, StoredObject<T>>();
     }
 
     @Override
@@ -42,100 +50,81 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
     @Override
     public boolean contains(Serializable key) throws ObjectStoreException
     {
-        if (key == null)
-        {
-            throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
-        }
-
-        synchronized (store)
-        {
-            return store.values().contains(new StoredObject<T>(key, null));
-        }
+        checkKey(key);
+        return store.containsKey(key);
     }
 
     @Override
     public void store(Serializable id, T value) throws ObjectStoreException
     {
-        if (id == null)
-        {
-            throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
-        }
+        checkKey(id);
 
-        // this block is unfortunately necessary to counter a possible race condition
-        // between multiple nonatomic calls to containsObject/storeObject
-        StoredObject<T> obj = new StoredObject<T>(id, value);
-        synchronized (store)
+        StoredObject<T> obj = new StoredObject<T>(id, value, nextTimestamp());
+        if (store.putIfAbsent(id, obj) != null)
         {
-            if (store.values().contains(obj))
-            {
-                throw new ObjectAlreadyExistsException();
-            }
-
-            boolean written = false;
-            while (!written)
-            {
-                Long key = Long.valueOf(System.nanoTime());
-                written = (store.put(key, obj) == null);
-            }
+            throw new ObjectAlreadyExistsException();
         }
+        expiryIndex.put(obj.getTimestamp(), obj);
+
+        trimToMaxSize();
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public T retrieve(Serializable key) throws ObjectStoreException
     {
-        synchronized (store)
+        checkKey(key);
+        StoredObject<T> object = store.get(key);
+        if (object != null)
         {
-            Map.Entry<?, ?> entry = findEntry(key);
-            if (entry != null)
-            {
-                StoredObject<T> object = (StoredObject<T>) entry.getValue();
-                return object.getItem();
-            }
+            return object.getItem();
         }
 
         throw new ObjectDoesNotExistException(CoreMessages.objectNotFound(key));
     }
 
-    @SuppressWarnings("unchecked")
-    private Map.Entry<?, ?> findEntry(Serializable key)
-    {
-        Iterator<?> entryIterator = store.entrySet().iterator();
-        while (entryIterator.hasNext())
-        {
-            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) entryIterator.next();
-
-            StoredObject<T> object = (StoredObject<T>) entry.getValue();
-            if (object.getId().equals(key))
-            {
-                return entry;
-            }
-        }
-        return null;
-    }
-
     @Override
     public T remove(Serializable key) throws ObjectStoreException
     {
-        synchronized (store)
+        checkKey(key);
+        StoredObject<T> removedObject = store.remove(key);
+        if (removedObject != null)
         {
-            Map.Entry<?, ?> entry = findEntry(key);
-            if (entry != null)
-            {
-                StoredObject<T> removedObject = store.remove(entry.getKey());
-                return removedObject.getItem();
-            }
+            expiryIndex.remove(removedObject.getTimestamp(), removedObject);
+            return removedObject.getItem();
         }
 
         throw new ObjectDoesNotExistException(CoreMessages.objectNotFound(key));
     }
-    
+
     @Override
     public void clear() throws ObjectStoreException
     {
-        synchronized (store)
+        store.clear();
+        expiryIndex.clear();
+    }
+
+    private void checkKey(Serializable key) throws ObjectStoreException
+    {
+        if (key == null)
+        {
+            throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
+        }
+    }
+
+    /**
+     * @return a unique timestamp, greater than any other timestamp returned before
+     */
+    private long nextTimestamp()
+    {
+        long now = System.nanoTime();
+        while (true)
         {
-            store.clear();
+            long last = lastTimestamp.get();
+            long next = now > last ? now : last + 1;
+            if (lastTimestamp.compareAndSet(last, next))
+            {
+                return next;
+            }
         }
     }
 
@@ -143,28 +132,26 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
     public void expire()
     {
         // this is not guaranteed to be precise, but we don't mind
-        int currentSize = store.size();
-
-        // first trim to maxSize if necessary
-        currentSize = trimToMaxSize(currentSize);
+        trimToMaxSize();
 
         // expire further if entry TTLs are enabled
-        if ((entryTTL > 0) && (currentSize != 0))
+        if ((entryTTL > 0) && !store.isEmpty())
         {
             final long now = System.nanoTime();
             int expiredEntries = 0;
-            Map.Entry<?, ?> oldestEntry;
+            Map.Entry<Long, StoredObject<T>> oldestEntry;
 
             purge:
-            while ((oldestEntry = store.firstEntry()) != null)
+            while ((oldestEntry = expiryIndex.firstEntry()) != null)
             {
-                Long oldestKey = (Long) oldestEntry.getKey();
-                long oldestKeyValue = oldestKey.longValue();
+                long oldestKeyValue = oldestEntry.getKey().longValue();
 
                 if (TimeUnit.NANOSECONDS.toMillis(now - oldestKeyValue) >= entryTTL)
                 {
-                    store.remove(oldestKey);
-                    expiredEntries++;
+                    if (evict(oldestEntry))
+                    {
+                        expiredEntries++;
+                    }
                 }
                 else
                 {
@@ -179,28 +166,54 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
         }
     }
 
-    private int trimToMaxSize(int currentSize)
+    private void trimToMaxSize()
     {
         if (maxEntries < 0)
         {
-            return currentSize;
+            return;
         }
 
-        int excess = (currentSize - maxEntries);
-        if (excess > 0)
+        int excess = 0;
+        Map.Entry<Long, StoredObject<T>> oldestEntry;
+        while (store.size() > maxEntries && (oldestEntry = expiryIndex.firstEntry()) != null)
         {
-            while (currentSize > maxEntries)
+            if (evict(oldestEntry))
             {
-                store.pollFirstEntry();
-                currentSize--;
+                excess++;
             }
+        }
 
-            if (logger.isDebugEnabled())
+        if (excess > 0 && logger.isDebugEnabled())
+        {
+            logger.debug("Expired " + excess + " excess entries");
+        }
+    }
+
+    /**
+     * Removes an entry from both indexes, unless it was already removed by a concurrent thread.
+     *
+     * @return true if the entry was removed by this call
+     */
+    private boolean evict(Map.Entry<Long, StoredObject<T>> entry)
+    {
+        StoredObject<T> object = entry.getValue();
+        if (!expiryIndex.remove(entry.getKey(), object))
+        {
+            return false;
+        }
+
+        // StoredObject equality only considers the id, so the entry is compared by identity in order not
+        // to discard a newer entry which was stored under the same key after this one was removed
+        AtomicBoolean removed = new AtomicBoolean(false);
+        store.computeIfPresent(object.getId(), (key, current) -> {
+            if (current == object)
             {
-                logger.debug("Expired " + excess + " excess entries");
+                removed.set(true);
+                return null;
             }
-        }
-        return currentSize;
+            return current;
+        });
+        return removed.get();
     }
 
     @Override
@@ -216,11 +229,18 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
     {
         private Serializable id;
         private T item;
+        private long timestamp;
 
         public StoredObject(Serializable id, T item)
+        {
+            this(id, item, 0);
+        }
+
+        public StoredObject(Serializable id, T item, long timestamp)
         {
             this.id = id;
             this.item = item;
+            this.timestamp = timestamp;
         }
 
         public Serializable getId()
@@ -233,6 +253,14 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
             return item;
         }
 
+        /**
+         * @return the time in nanoseconds when the object was stored
+         */
+        public long getTimestamp()
+        {
+            return timestamp;
+        }
+
         @Override
         @SuppressWarnings("unchecked")
         public boolean equals(Object o)
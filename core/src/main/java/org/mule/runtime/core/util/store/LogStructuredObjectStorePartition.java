@@ -0,0 +1,1046 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.config.i18n.Message;
+import org.mule.runtime.core.util.FileUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent object store partition that keeps all its entries in append-only log files instead of one file per
+ * entry.
+ * <p/>
+ * Every store and remove is appended to the active log file, which is replaced by a new one once it reaches
+ * {@link #SEGMENT_SIZE_PROPERTY} bytes. Entries are located through a hash index by key, which is saved to an
+ * index snapshot when the partition is closed and after every compaction. Opening the partition only needs to load
+ * the snapshot and replay the records appended after it, without reading the stored values.
+ * <p/>
+ * Log files whose content mostly belongs to removed or replaced entries are compacted in background by copying
+ * their live entries to the active log file and deleting them.
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> implements PersistentStorePartition<T>
+{
+
+    public static final String SEGMENT_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectstore.log.segmentSize";
+
+    static final String FORMAT_DESCRIPTOR_FILE = "partition-format";
+
+    private static final String FORMAT = "log-structured";
+    private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+    private static final String LOG_FILE_EXTENSION = ".log";
+    private static final String INDEX_SNAPSHOT_FILE = "index.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x4d4f5349;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // payload length and checksum
+    private static final int RECORD_HEADER_SIZE = 8;
+    // type, timestamp, sequence and key length
+    private static final int PAYLOAD_HEADER_SIZE = 21;
+
+    protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final MuleContext muleContext;
+    private final ObjectSerializer serializer;
+    private final File partitionDirectory;
+    private final int segmentSize;
+    private final Executor compactionExecutor;
+    private String partitionName;
+
+    private final ConcurrentMap<Serializable, EntryLocation> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Serializable> insertionOrder = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    // held to read from a segment, and exclusively to delete one
+    private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+    // serializes the changes to the log and to the index
+    private final Object writeLock = new Object();
+    private final Object snapshotLock = new Object();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    // @GuardedBy writeLock
+    private LogSegment activeSegment;
+    private long nextSequence;
+    private volatile boolean loaded = false;
+
+    LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory, Executor compactionExecutor)
+    {
+        this(muleContext, partitionName, partitionDirectory, compactionExecutor, Integer.getInteger(SEGMENT_SIZE_PROPERTY, DEFAULT_SEGMENT_SIZE));
+    }
+
+    LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory, Executor compactionExecutor, int segmentSize)
+    {
+        this.muleContext = muleContext;
+        this.serializer = muleContext.getObjectSerializer();
+        this.partitionName = partitionName;
+        this.partitionDirectory = partitionDirectory;
+        this.compactionExecutor = compactionExecutor;
+        this.segmentSize = segmentSize;
+    }
+
+    LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory, Executor compactionExecutor)
+        throws ObjectStoreNotAvaliableException
+    {
+        this(muleContext, readPartitionFileName(partitionDirectory), partitionDirectory, compactionExecutor);
+    }
+
+    /**
+     * @param partitionDirectory directory of an existing partition
+     * @return true if the partition in the given directory was created by this class
+     */
+    static boolean isLogStructured(File partitionDirectory)
+    {
+        return new File(partitionDirectory, FORMAT_DESCRIPTOR_FILE).exists();
+    }
+
+    private static String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvaliableException
+    {
+        try
+        {
+            return FileUtils.readFileToString(new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE));
+        }
+        catch (IOException e)
+        {
+            throw new ObjectStoreNotAvaliableException(e);
+        }
+    }
+
+    @Override
+    public synchronized void open() throws ObjectStoreException
+    {
+        try
+        {
+            if (!partitionDirectory.exists() && !partitionDirectory.mkdirs())
+            {
+                Message message = CoreMessages.failedToCreate("object store directory " + partitionDirectory.getAbsolutePath());
+                throw new MuleRuntimeException(message);
+            }
+            File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+            if (partitionDescriptorFile.exists())
+            {
+                partitionName = readPartitionFileName(partitionDirectory);
+            }
+            else
+            {
+                FileUtils.writeStringToFile(partitionDescriptorFile, partitionName);
+            }
+            File formatDescriptorFile = new File(partitionDirectory, FORMAT_DESCRIPTOR_FILE);
+            if (!formatDescriptorFile.exists())
+            {
+                FileUtils.writeStringToFile(formatDescriptorFile, FORMAT);
+            }
+        }
+        catch (ObjectStoreException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new ObjectStoreException(e);
+        }
+    }
+
+    /**
+     * Saves the index snapshot and releases the log files. The partition is loaded again if it is used after
+     * being closed.
+     */
+    @Override
+    public void close() throws ObjectStoreException
+    {
+        synchronized (snapshotLock)
+        {
+            synchronized (writeLock)
+            {
+                if (!loaded)
+                {
+                    return;
+                }
+                writeSnapshot();
+                segmentsLock.writeLock().lock();
+                try
+                {
+                    for (LogSegment segment : segments.values())
+                    {
+                        segment.close();
+                    }
+                    segments.clear();
+                    index.clear();
+                    insertionOrder.clear();
+                    activeSegment = null;
+                    loaded = false;
+                }
+                finally
+                {
+                    segmentsLock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Serializable> allKeys() throws ObjectStoreException
+    {
+        assureLoaded();
+        return Collections.unmodifiableList(new ArrayList<Serializable>(index.keySet()));
+    }
+
+    @Override
+    public boolean contains(Serializable key) throws ObjectStoreException
+    {
+        assureLoaded();
+        return index.containsKey(key);
+    }
+
+    @Override
+    public void store(Serializable key, T value) throws ObjectStoreException
+    {
+        assureLoaded();
+        if (index.containsKey(key))
+        {
+            throw new ObjectAlreadyExistsException();
+        }
+        byte[] keyBytes = serializer.serialize(key);
+        byte[] valueBytes = serializer.serialize(value);
+
+        synchronized (writeLock)
+        {
+            if (index.containsKey(key))
+            {
+                throw new ObjectAlreadyExistsException();
+            }
+            EntryLocation location = append(createRecord(PUT, System.currentTimeMillis(), nextSequence++, keyBytes, valueBytes));
+            index.put(key, location);
+            insertionOrder.put(location.sequence, key);
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    @Override
+    public T retrieve(Serializable key) throws ObjectStoreException
+    {
+        assureLoaded();
+        segmentsLock.readLock().lock();
+        try
+        {
+            EntryLocation location = index.get(key);
+            if (location == null)
+            {
+                throw new ObjectDoesNotExistException(CoreMessages.createStaticMessage("Key does not exist: " + key));
+            }
+            return readValue(location);
+        }
+        finally
+        {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public T remove(Serializable key) throws ObjectStoreException
+    {
+        assureLoaded();
+        T value;
+        synchronized (writeLock)
+        {
+            value = retrieve(key);
+            delete(key);
+        }
+        scheduleCompactionIfNeeded();
+        return value;
+    }
+
+    @Override
+    public void clear() throws ObjectStoreException
+    {
+        synchronized (writeLock)
+        {
+            segmentsLock.writeLock().lock();
+            try
+            {
+                for (LogSegment segment : segments.values())
+                {
+                    segment.delete();
+                }
+                for (File logFile : listLogFiles())
+                {
+                    FileUtils.deleteQuietly(logFile);
+                }
+                FileUtils.deleteQuietly(new File(partitionDirectory, INDEX_SNAPSHOT_FILE));
+                segments.clear();
+                index.clear();
+                insertionOrder.clear();
+                activeSegment = null;
+                loaded = false;
+            }
+            finally
+            {
+                segmentsLock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean isPersistent()
+    {
+        return true;
+    }
+
+    @Override
+    public void expire(int entryTTL, int maxEntries) throws ObjectStoreException
+    {
+        assureLoaded();
+
+        if (maxEntries != UNBOUNDED)
+        {
+            Map.Entry<Long, Serializable> oldest;
+            while (index.size() > maxEntries && (oldest = insertionOrder.firstEntry()) != null)
+            {
+                expireEntry(oldest);
+            }
+        }
+
+        if (entryTTL != UNBOUNDED)
+        {
+            final long now = System.currentTimeMillis();
+            Map.Entry<Long, Serializable> oldest;
+            while ((oldest = insertionOrder.firstEntry()) != null)
+            {
+                EntryLocation location = index.get(oldest.getValue());
+                if (location != null && now - location.timestamp < entryTTL)
+                {
+                    break;
+                }
+                expireEntry(oldest);
+            }
+        }
+
+        scheduleCompactionIfNeeded();
+    }
+
+    private void expireEntry(Map.Entry<Long, Serializable> entry) throws ObjectStoreException
+    {
+        synchronized (writeLock)
+        {
+            EntryLocation location = index.get(entry.getValue());
+            if (location != null && location.sequence == entry.getKey())
+            {
+                delete(entry.getValue());
+            }
+            else
+            {
+                insertionOrder.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public String getPartitionName()
+    {
+        return partitionName;
+    }
+
+    /**
+     * Must be invoked holding the writeLock.
+     */
+    private void delete(Serializable key) throws ObjectStoreException
+    {
+        EntryLocation location = index.get(key);
+        if (location == null)
+        {
+            return;
+        }
+        append(createRecord(DELETE, System.currentTimeMillis(), location.sequence, serializer.serialize(key), new byte[0]));
+        index.remove(key);
+        insertionOrder.remove(location.sequence, key);
+        LogSegment segment = segments.get(location.segmentSequence);
+        if (segment != null)
+        {
+            segment.liveBytes.addAndGet(-location.length);
+        }
+    }
+
+    private void assureLoaded() throws ObjectStoreException
+    {
+        if (!loaded)
+        {
+            load();
+        }
+    }
+
+    private void load() throws ObjectStoreException
+    {
+        synchronized (writeLock)
+        {
+            if (loaded)
+            {
+                return;
+            }
+            try
+            {
+                for (File logFile : listLogFiles())
+                {
+                    String name = logFile.getName();
+                    long sequence = Long.parseLong(name.substring(0, name.length() - LOG_FILE_EXTENSION.length()));
+                    segments.put(sequence, LogSegment.open(logFile, sequence));
+                }
+
+                LogPosition replayFrom = readSnapshot();
+                if (replayFrom == null)
+                {
+                    index.clear();
+                    insertionOrder.clear();
+                    replayFrom = new LogPosition(segments.isEmpty() ? 0 : segments.firstKey(), 0);
+                }
+                for (LogSegment segment : segments.tailMap(replayFrom.segmentSequence, true).values())
+                {
+                    replay(segment, segment.sequence == replayFrom.segmentSequence ? replayFrom.position : 0);
+                }
+
+                for (EntryLocation location : index.values())
+                {
+                    segments.get(location.segmentSequence).liveBytes.addAndGet(location.length);
+                    nextSequence = Math.max(nextSequence, location.sequence + 1);
+                }
+                activeSegment = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+                loaded = true;
+            }
+            catch (Exception e)
+            {
+                for (LogSegment segment : segments.values())
+                {
+                    segment.close();
+                }
+                segments.clear();
+                index.clear();
+                insertionOrder.clear();
+                String message = String.format("Could not restore object store data from %1s", partitionDirectory.getAbsolutePath());
+                throw new ObjectStoreException(CoreMessages.createStaticMessage(message), e);
+            }
+        }
+    }
+
+    private List<File> listLogFiles()
+    {
+        List<File> logFiles = new ArrayList<>();
+        File[] files = partitionDirectory.listFiles();
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                if (file.isFile() && file.getName().endsWith(LOG_FILE_EXTENSION))
+                {
+                    logFiles.add(file);
+                }
+            }
+        }
+        return logFiles;
+    }
+
+    /**
+     * Applies the records of a segment to the index, starting from the given position. Any incomplete record at
+     * the end of the segment, left by an abrupt shutdown, is discarded.
+     */
+    private void replay(LogSegment segment, long position) throws IOException
+    {
+        Record record;
+        while ((record = segment.readRecord(position)) != null)
+        {
+            Serializable key = serializer.deserialize(record.key());
+            EntryLocation previous = index.remove(key);
+            if (previous != null)
+            {
+                insertionOrder.remove(previous.sequence, key);
+            }
+            if (record.type() == PUT)
+            {
+                EntryLocation location = new EntryLocation(segment.sequence, position, record.length(), record.timestamp(), record.sequence());
+                index.put(key, location);
+                insertionOrder.put(location.sequence, key);
+            }
+            nextSequence = Math.max(nextSequence, record.sequence() + 1);
+            position += record.length();
+        }
+        if (position < segment.size)
+        {
+            logger.warn(String.format("Discarding incomplete data at the end of %s", segment.file.getAbsolutePath()));
+            segment.truncate(position);
+        }
+    }
+
+    /**
+     * Must be invoked holding the writeLock.
+     */
+    private EntryLocation append(ByteBuffer record) throws ObjectStoreException
+    {
+        try
+        {
+            int length = record.remaining();
+            if (activeSegment.size > 0 && activeSegment.size + length > segmentSize)
+            {
+                activeSegment = createSegment(activeSegment.sequence + 1);
+            }
+            Record parsed = new Record(record);
+            long position = activeSegment.append(record);
+            if (parsed.type() == PUT)
+            {
+                activeSegment.liveBytes.addAndGet(length);
+            }
+            return new EntryLocation(activeSegment.sequence, position, length, parsed.timestamp(), parsed.sequence());
+        }
+        catch (IOException e)
+        {
+            throw new ObjectStoreException(e);
+        }
+    }
+
+    private LogSegment createSegment(long sequence) throws IOException
+    {
+        LogSegment segment = LogSegment.open(new File(partitionDirectory, String.format("%019d%s", sequence, LOG_FILE_EXTENSION)), sequence);
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    private static ByteBuffer createRecord(byte type, long timestamp, long sequence, byte[] key, byte[] value)
+    {
+        int payloadLength = PAYLOAD_HEADER_SIZE + key.length + value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadLength);
+        buffer.putInt(payloadLength);
+        buffer.putInt(0);
+        buffer.put(type);
+        buffer.putLong(timestamp);
+        buffer.putLong(sequence);
+        buffer.putInt(key.length);
+        buffer.put(key);
+        buffer.put(value);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, payloadLength);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T readValue(EntryLocation location) throws ObjectStoreException
+    {
+        try
+        {
+            LogSegment segment = segments.get(location.segmentSequence);
+            if (segment == null)
+            {
+                throw new ObjectDoesNotExistException();
+            }
+            Record record = new Record(segment.read(location.position, (int) location.length));
+            T value = serializer.deserialize(record.value());
+            if (value instanceof DeserializationPostInitialisable)
+            {
+                DeserializationPostInitialisable.Implementation.init(value, muleContext);
+            }
+            return value;
+        }
+        catch (ObjectStoreException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new ObjectStoreException(e);
+        }
+    }
+
+    private void scheduleCompactionIfNeeded()
+    {
+        if (compactionExecutor != null && !compactionCandidates().isEmpty() && compactionScheduled.compareAndSet(false, true))
+        {
+            try
+            {
+                compactionExecutor.execute(() -> {
+                    try
+                    {
+                        compact();
+                    }
+                    catch (Exception e)
+                    {
+                        logger.warn("Could not compact object store partition " + partitionName, e);
+                    }
+                    finally
+                    {
+                        compactionScheduled.set(false);
+                    }
+                });
+            }
+            catch (RejectedExecutionException e)
+            {
+                // the store is being disposed
+                compactionScheduled.set(false);
+            }
+        }
+    }
+
+    private List<LogSegment> compactionCandidates()
+    {
+        List<LogSegment> candidates = new ArrayList<>();
+        LogSegment active = activeSegment;
+        for (LogSegment segment : segments.values())
+        {
+            if (segment != active && segment.getGarbageRatio() >= COMPACTION_THRESHOLD)
+            {
+                candidates.add(segment);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Copies the live entries of the segments that are mostly garbage to the active segment and deletes them.
+     * <p/>
+     * If the partition is closed while compacting, the segments are kept: the snapshot saved by {@link #close()}
+     * may still reference them, and they are compacted again once the partition is loaded.
+     */
+    void compact() throws ObjectStoreException
+    {
+        List<LogSegment> candidates = compactionCandidates();
+        if (candidates.isEmpty())
+        {
+            return;
+        }
+        try
+        {
+            for (LogSegment segment : candidates)
+            {
+                if (!relocateLiveRecords(segment, hasOlderSegmentsBesides(segment, candidates)))
+                {
+                    return;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ObjectStoreException(e);
+        }
+
+        // the snapshot must not reference the compacted segments before they are deleted
+        if (!writeSnapshot())
+        {
+            return;
+        }
+
+        segmentsLock.writeLock().lock();
+        try
+        {
+            if (!loaded)
+            {
+                return;
+            }
+            for (LogSegment segment : candidates)
+            {
+                // a segment that is no longer registered belongs to a previous load of the partition
+                if (segments.remove(segment.sequence, segment))
+                {
+                    segment.delete();
+                }
+            }
+        }
+        finally
+        {
+            segmentsLock.writeLock().unlock();
+        }
+        if (logger.isDebugEnabled())
+        {
+            logger.debug(String.format("Compacted %s log files of object store partition %s", candidates.size(), partitionName));
+        }
+    }
+
+    private boolean hasOlderSegmentsBesides(LogSegment segment, List<LogSegment> candidates)
+    {
+        for (LogSegment older : segments.headMap(segment.sequence).values())
+        {
+            if (!candidates.contains(older))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param keepTombstones whether the removals must be kept because an older segment that is not going to be
+     *                       deleted may contain the removed entries
+     * @return false if the partition was closed before all the live entries were copied
+     */
+    private boolean relocateLiveRecords(LogSegment segment, boolean keepTombstones) throws IOException, ObjectStoreException
+    {
+        long position = 0;
+        Record record;
+        while ((record = segment.readRecord(position)) != null)
+        {
+            Serializable key = serializer.deserialize(record.key());
+            synchronized (writeLock)
+            {
+                if (!loaded)
+                {
+                    return false;
+                }
+                EntryLocation location = index.get(key);
+                if (record.type() == PUT && location != null && location.segmentSequence == segment.sequence && location.position == position)
+                {
+                    EntryLocation relocated = append(record.copy());
+                    index.put(key, relocated);
+                    segment.liveBytes.addAndGet(-location.length);
+                }
+                else if (record.type() == DELETE && location == null && keepTombstones)
+                {
+                    append(record.copy());
+                }
+            }
+            position += record.length();
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the partition is not loaded, so no snapshot was written
+     */
+    private boolean writeSnapshot() throws ObjectStoreException
+    {
+        synchronized (snapshotLock)
+        {
+            LogPosition snapshotPosition;
+            List<Map.Entry<Serializable, EntryLocation>> entries;
+            synchronized (writeLock)
+            {
+                if (!loaded)
+                {
+                    return false;
+                }
+                snapshotPosition = new LogPosition(activeSegment.sequence, activeSegment.size);
+                entries = new ArrayList<>(index.entrySet());
+            }
+
+            File snapshotFile = new File(partitionDirectory, INDEX_SNAPSHOT_FILE);
+            File temporaryFile = new File(partitionDirectory, INDEX_SNAPSHOT_FILE + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile))))
+            {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(snapshotPosition.segmentSequence);
+                out.writeLong(snapshotPosition.position);
+                out.writeInt(entries.size());
+                for (Map.Entry<Serializable, EntryLocation> entry : entries)
+                {
+                    byte[] key = serializer.serialize(entry.getKey());
+                    EntryLocation location = entry.getValue();
+                    out.writeInt(key.length);
+                    out.write(key);
+                    out.writeLong(location.segmentSequence);
+                    out.writeLong(location.position);
+                    out.writeLong(location.length);
+                    out.writeLong(location.timestamp);
+                    out.writeLong(location.sequence);
+                }
+            }
+            catch (IOException e)
+            {
+                throw new ObjectStoreException(e);
+            }
+            FileUtils.deleteQuietly(snapshotFile);
+            if (!temporaryFile.renameTo(snapshotFile))
+            {
+                throw new ObjectStoreException(CoreMessages.createStaticMessage("Could not save index snapshot " + snapshotFile.getAbsolutePath()));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Loads the index snapshot, if there's a valid one.
+     *
+     * @return the position of the log up to which the snapshot is up to date, or null if there's no usable snapshot
+     */
+    private LogPosition readSnapshot()
+    {
+        File snapshotFile = new File(partitionDirectory, INDEX_SNAPSHOT_FILE);
+        if (!snapshotFile.exists())
+        {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile))))
+        {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION)
+            {
+                return null;
+            }
+            LogPosition position = new LogPosition(in.readLong(), in.readLong());
+            LogSegment segment = segments.get(position.segmentSequence);
+            if (segment == null || segment.size < position.position)
+            {
+                return null;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++)
+            {
+                byte[] keyBytes = new byte[in.readInt()];
+                in.readFully(keyBytes);
+                Serializable key = serializer.deserialize(keyBytes);
+                EntryLocation location = new EntryLocation(in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong());
+                if (!segments.containsKey(location.segmentSequence))
+                {
+                    return null;
+                }
+                index.put(key, location);
+                insertionOrder.put(location.sequence, key);
+            }
+            return position;
+        }
+        catch (Exception e)
+        {
+            logger.warn("Could not read index snapshot " + snapshotFile.getAbsolutePath() + ", log files will be replayed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class EntryLocation
+    {
+
+        private final long segmentSequence;
+        private final long position;
+        private final long length;
+        private final long timestamp;
+        private final long sequence;
+
+        private EntryLocation(long segmentSequence, long position, long length, long timestamp, long sequence)
+        {
+            this.segmentSequence = segmentSequence;
+            this.position = position;
+            this.length = length;
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class LogPosition
+    {
+
+        private final long segmentSequence;
+        private final long position;
+
+        private LogPosition(long segmentSequence, long position)
+        {
+            this.segmentSequence = segmentSequence;
+            this.position = position;
+        }
+    }
+
+    /**
+     * A complete record, including its header.
+     */
+    private static final class Record
+    {
+
+        private final ByteBuffer buffer;
+
+        private Record(ByteBuffer buffer)
+        {
+            this.buffer = buffer.duplicate();
+        }
+
+        private int length()
+        {
+            return buffer.remaining();
+        }
+
+        private byte type()
+        {
+            return buffer.get(buffer.position() + RECORD_HEADER_SIZE);
+        }
+
+        private long timestamp()
+        {
+            return buffer.getLong(buffer.position() + RECORD_HEADER_SIZE + 1);
+        }
+
+        private long sequence()
+        {
+            return buffer.getLong(buffer.position() + RECORD_HEADER_SIZE + 9);
+        }
+
+        private int keyLength()
+        {
+            return buffer.getInt(buffer.position() + RECORD_HEADER_SIZE + 17);
+        }
+
+        private byte[] key()
+        {
+            return bytes(buffer.position() + RECORD_HEADER_SIZE + PAYLOAD_HEADER_SIZE, keyLength());
+        }
+
+        private byte[] value()
+        {
+            int offset = RECORD_HEADER_SIZE + PAYLOAD_HEADER_SIZE + keyLength();
+            return bytes(buffer.position() + offset, length() - offset);
+        }
+
+        private ByteBuffer copy()
+        {
+            ByteBuffer copy = ByteBuffer.allocate(length());
+            copy.put(buffer.duplicate());
+            copy.flip();
+            return copy;
+        }
+
+        private byte[] bytes(int offset, int length)
+        {
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(bytes);
+            return bytes;
+        }
+    }
+
+    private static final class LogSegment
+    {
+
+        private final long sequence;
+        private final File file;
+        private final FileChannel channel;
+        private final AtomicLong liveBytes = new AtomicLong();
+        private volatile long size;
+
+        private LogSegment(File file, long sequence, FileChannel channel) throws IOException
+        {
+            this.file = file;
+            this.sequence = sequence;
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        private static LogSegment open(File file, long sequence) throws IOException
+        {
+            return new LogSegment(file, sequence, new RandomAccessFile(file, "rw").getChannel());
+        }
+
+        private long append(ByteBuffer record) throws IOException
+        {
+            long position = size;
+            long written = 0;
+            while (record.hasRemaining())
+            {
+                written += channel.write(record, position + written);
+            }
+            size = position + written;
+            return position;
+        }
+
+        private ByteBuffer read(long position, int length) throws IOException
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining())
+            {
+                if (channel.read(buffer, position + buffer.position()) < 0)
+                {
+                    throw new IOException("Unexpected end of file " + file.getAbsolutePath());
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        /**
+         * @return the record at the given position, or null if there's no complete and valid record there
+         */
+        private Record readRecord(long position) throws IOException
+        {
+            if (position + RECORD_HEADER_SIZE + PAYLOAD_HEADER_SIZE > size)
+            {
+                return null;
+            }
+            ByteBuffer header = read(position, RECORD_HEADER_SIZE);
+            int payloadLength = header.getInt();
+            int checksum = header.getInt();
+            if (payloadLength < PAYLOAD_HEADER_SIZE || position + RECORD_HEADER_SIZE + payloadLength > size)
+            {
+                return null;
+            }
+            ByteBuffer record = read(position, RECORD_HEADER_SIZE + payloadLength);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), RECORD_HEADER_SIZE, payloadLength);
+            return (int) crc.getValue() == checksum ? new Record(record) : null;
+        }
+
+        private void truncate(long length) throws IOException
+        {
+            channel.truncate(length);
+            size = length;
+        }
+
+        private double getGarbageRatio()
+        {
+            long currentSize = size;
+            return currentSize == 0 ? 0 : 1 - ((double) liveBytes.get() / currentSize);
+        }
+
+        private void close()
+        {
+            try
+            {
+                channel.force(false);
+                channel.close();
+            }
+            catch (IOException e)
+            {
+                LoggerFactory.getLogger(LogStructuredObjectStorePartition.class).warn("Could not close " + file.getAbsolutePath() + ": " + e.getMessage());
+            }
+        }
+
+        private void delete()
+        {
+            close();
+            FileUtils.deleteQuietly(file);
+        }
+    }
+}
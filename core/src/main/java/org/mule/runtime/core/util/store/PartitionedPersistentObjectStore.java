@@ -6,15 +6,20 @@
  */
 package org.mule.runtime.core.util.store;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.config.i18n.Message;
 import org.mule.runtime.core.util.FileUtils;
 import org.mule.runtime.core.util.UUID;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
 
 import java.io.File;
 import java.io.FileFilter;
@@ -24,17 +29,27 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 
 public class PartitionedPersistentObjectStore<T extends Serializable> extends
-        AbstractPartitionedObjectStore<T> implements MuleContextAware, PartitionableExpirableObjectStore<T>
+        AbstractPartitionedObjectStore<T> implements MuleContextAware, PartitionableExpirableObjectStore<T>, Disposable
 {
 
     public static final String OBJECT_STORE_DIR = "objectstore";
 
+    /**
+     * System property to create new partitions as {@link LogStructuredObjectStorePartition}s instead of using one
+     * file per entry. Existing partitions are always opened with the format they were created with.
+     */
+    public static final String LOG_STRUCTURED_PARTITIONS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectstore.logStructured";
+
     private MuleContext muleContext;
     private File storeDirectory;
-    private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<String, PersistentObjectStorePartition>();
+    private Map<String, PersistentStorePartition<T>> partitionsByName = new HashMap<String, PersistentStorePartition<T>>();
     private boolean initialized = false;
+    private boolean logStructuredPartitions = Boolean.getBoolean(LOG_STRUCTURED_PARTITIONS_PROPERTY);
+    private ThreadPoolExecutor compactionExecutor;
 
     public PartitionedPersistentObjectStore()
     {
@@ -83,9 +98,26 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends
 
     private void createPartition(String partitionName) throws ObjectStoreException
     {
-        PersistentObjectStorePartition persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
-        persistentObjectStorePartition.open();
-        partitionsByName.put(partitionName, persistentObjectStorePartition);
+        PersistentStorePartition<T> partition;
+        if (logStructuredPartitions)
+        {
+            partition = new LogStructuredObjectStorePartition<T>(muleContext, partitionName, getNewPartitionDirectory(), getCompactionExecutor());
+        }
+        else
+        {
+            partition = new PersistentObjectStorePartition<T>(muleContext, partitionName, getNewPartitionDirectory());
+        }
+        partition.open();
+        partitionsByName.put(partitionName, partition);
+    }
+
+    private synchronized ThreadPoolExecutor getCompactionExecutor()
+    {
+        if (compactionExecutor == null)
+        {
+            compactionExecutor = new ThreadPoolExecutor(0, 1, 30, SECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory("objectstore-compactor"));
+        }
+        return compactionExecutor;
     }
 
     private File getNewPartitionDirectory()
@@ -135,7 +167,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends
         this.getPartitionObjectStore(partitionName).clear();
     }
 
-    private PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException
+    private PersistentStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException
     {
         if (!partitionsByName.containsKey(partitionName))
         {
@@ -213,9 +245,17 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends
         {
             try
             {
-                PersistentObjectStorePartition persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionDirectory);
-                persistentObjectStorePartition.open();
-                partitionsByName.put(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
+                PersistentStorePartition<T> partition;
+                if (LogStructuredObjectStorePartition.isLogStructured(partitionDirectory))
+                {
+                    partition = new LogStructuredObjectStorePartition<T>(muleContext, partitionDirectory, getCompactionExecutor());
+                }
+                else
+                {
+                    partition = new PersistentObjectStorePartition<T>(muleContext, partitionDirectory);
+                }
+                partition.open();
+                partitionsByName.put(partition.getPartitionName(), partition);
             }
             catch (Exception e)
             {
@@ -230,6 +270,55 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends
         muleContext = context;
     }
 
+    public boolean isLogStructuredPartitions()
+    {
+        return logStructuredPartitions;
+    }
+
+    /**
+     * @param logStructuredPartitions whether new partitions are created as {@link LogStructuredObjectStorePartition}s
+     */
+    public void setLogStructuredPartitions(boolean logStructuredPartitions)
+    {
+        this.logStructuredPartitions = logStructuredPartitions;
+    }
+
+    @Override
+    public synchronized void dispose()
+    {
+        // let a running compaction finish, so it does not delete log files after the partitions are closed
+        if (compactionExecutor != null)
+        {
+            compactionExecutor.shutdown();
+            try
+            {
+                if (!compactionExecutor.awaitTermination(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS))
+                {
+                    logger.warn("Object store compaction did not finish before the shutdown timeout");
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            compactionExecutor = null;
+        }
+        for (PersistentStorePartition<T> partition : partitionsByName.values())
+        {
+            if (partition instanceof LogStructuredObjectStorePartition)
+            {
+                try
+                {
+                    partition.close();
+                }
+                catch (ObjectStoreException e)
+                {
+                    logger.warn("Could not close partition " + partition.getPartitionName(), e);
+                }
+            }
+        }
+    }
+
     @Override
     public void expire(int entryTTL, int maxEntries) throws ObjectStoreException
     {
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.mule.runtime.core.config.i18n.MessageFactory.createStaticMessage;
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.streaming.Producer;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+import org.mule.runtime.module.extension.file.api.FileAttributes;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Producer} which lists a local directory tree using several threads.
+ * <p>
+ * Each directory is listed through a {@link DirectoryStream} by a task of its own, so that
+ * sub-directories are traversed in parallel. The matching entries are handed to the consumer
+ * through a bounded buffer: when the consumer falls behind, the listing threads wait for it,
+ * so no matter how big the listed tree is, memory usage does not grow with it. Because of
+ * the parallel traversal, the order in which the entries are produced is not specified.
+ * <p>
+ * Instances <b>MUST</b> be closed or fully consumed, so that the listing threads are released.
+ *
+ * @since 4.0
+ */
+public final class LocalDirectoryListingProducer implements Producer<FileAttributes>
+{
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int MAX_LISTING_THREADS = 4;
+    private static final Object END_OF_LISTING = new Object();
+
+    private final boolean recursive;
+    private final Predicate<FileAttributes> matcher;
+    private final BlockingQueue<Object> entries = new ArrayBlockingQueue<>(BUFFER_SIZE);
+    private final AtomicInteger pendingDirectories = new AtomicInteger(0);
+    private final ExecutorService executorService;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new instance and starts listing the given {@code directory}
+     *
+     * @param directory the directory to be listed
+     * @param recursive whether to include the contents of sub-directories
+     * @param matcher   a {@link Predicate} of {@link FileAttributes} used to filter the output
+     */
+    public LocalDirectoryListingProducer(Path directory, boolean recursive, Predicate<FileAttributes> matcher)
+    {
+        this.recursive = recursive;
+        this.matcher = matcher;
+
+        int threads = recursive ? min(MAX_LISTING_THREADS, Runtime.getRuntime().availableProcessors()) : 1;
+        executorService = newFixedThreadPool(threads, new DaemonThreadFactory("file.list"));
+        scheduleListing(directory);
+    }
+
+    /**
+     * Returns the next listed entry, waiting for it to be listed if necessary
+     *
+     * @return a {@link FileAttributes} or {@code null} if the listing is over or {@code this} producer was closed
+     * @throws MuleRuntimeException if a directory could not be listed
+     */
+    @Override
+    public FileAttributes produce()
+    {
+        if (closed)
+        {
+            return null;
+        }
+
+        Object entry;
+        try
+        {
+            entry = entries.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            close();
+            return null;
+        }
+
+        if (entry == END_OF_LISTING)
+        {
+            close();
+            return null;
+        }
+        else if (entry instanceof MuleRuntimeException)
+        {
+            close();
+            throw (MuleRuntimeException) entry;
+        }
+
+        return (FileAttributes) entry;
+    }
+
+    /**
+     * Stops the listing threads and discards the entries which were not consumed yet
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        executorService.shutdownNow();
+        entries.clear();
+    }
+
+    /**
+     * @return -1, since the size of the listing is not known in advance
+     */
+    @Override
+    public int size()
+    {
+        return -1;
+    }
+
+    private void scheduleListing(Path directory)
+    {
+        pendingDirectories.incrementAndGet();
+        try
+        {
+            executorService.execute(() -> list(directory));
+        }
+        catch (RejectedExecutionException e)
+        {
+            // the producer was closed
+            pendingDirectories.decrementAndGet();
+        }
+    }
+
+    private void list(Path directory)
+    {
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory))
+        {
+            for (Path child : children)
+            {
+                if (closed)
+                {
+                    return;
+                }
+
+                FileAttributes attributes = new LocalFileAttributes(child);
+                if (!matcher.test(attributes))
+                {
+                    continue;
+                }
+
+                if (!enqueue(attributes))
+                {
+                    return;
+                }
+
+                if (recursive && attributes.isDirectory())
+                {
+                    scheduleListing(child);
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            enqueue(new MuleRuntimeException(createStaticMessage(format("Could not list directory '%s'", directory)), e));
+        }
+        finally
+        {
+            if (pendingDirectories.decrementAndGet() == 0)
+            {
+                enqueue(END_OF_LISTING);
+            }
+        }
+    }
+
+    private boolean enqueue(Object entry)
+    {
+        try
+        {
+            entries.put(entry);
+            return true;
+        }
+        catch (InterruptedException e)
+        {
+            // the producer was closed
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
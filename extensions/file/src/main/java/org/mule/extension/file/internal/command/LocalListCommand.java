@@ -7,8 +7,11 @@
 package org.mule.extension.file.internal.command;
 
 import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.internal.LocalDirectoryListingProducer;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.api.message.MuleMessage;
+import org.mule.runtime.core.streaming.ConsumerIterator;
+import org.mule.runtime.core.streaming.SimpleConsumer;
 import org.mule.runtime.module.extension.file.api.FileAttributes;
 import org.mule.runtime.module.extension.file.api.FileConnectorConfig;
 import org.mule.runtime.module.extension.file.api.TreeNode;
@@ -17,6 +20,7 @@ import org.mule.runtime.module.extension.file.api.command.ListCommand;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.function.Predicate;
 
 /**
@@ -41,11 +45,7 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
     @Override
     public TreeNode list(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher)
     {
-        Path path = resolveExistingPath(config, directoryPath);
-        if (!Files.isDirectory(path))
-        {
-            throw cannotListFileException(path);
-        }
+        Path path = resolveExistingDirectory(config, directoryPath);
 
         TreeNode.Builder treeNodeBuilder = TreeNode.Builder.forDirectory(new LocalFileAttributes(path));
         doList(config, path.toFile(), treeNodeBuilder, recursive, message, matcher);
@@ -53,6 +53,28 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
         return treeNodeBuilder.build();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sub-directories are listed in parallel by a {@link LocalDirectoryListingProducer}
+     */
+    @Override
+    public Iterator<FileAttributes> listLazily(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher)
+    {
+        Path path = resolveExistingDirectory(config, directoryPath);
+        return new ConsumerIterator<>(new SimpleConsumer<>(new LocalDirectoryListingProducer(path, recursive, matcher)));
+    }
+
+    private Path resolveExistingDirectory(FileConnectorConfig config, String directoryPath)
+    {
+        Path path = resolveExistingPath(config, directoryPath);
+        if (!Files.isDirectory(path))
+        {
+            throw cannotListFileException(path);
+        }
+        return path;
+    }
+
     private void doList(FileConnectorConfig config, File parent, TreeNode.Builder treeNodeBuilder, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher)
     {
         for (File child : parent.listFiles())
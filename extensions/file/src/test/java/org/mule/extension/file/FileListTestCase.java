@@ -18,6 +18,8 @@ import org.mule.runtime.module.extension.file.api.FileAttributes;
 import org.mule.runtime.module.extension.file.api.TreeNode;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -120,6 +122,35 @@ public class FileListTestCase extends FileConnectorTestCase
         assertThat(node.getChilds(), hasSize(6));
     }
 
+    @Test
+    public void listLazilyNotRecursive() throws Exception
+    {
+        List<FileAttributes> files = doListLazily(".", false);
+
+        assertThat(files, hasSize(6));
+        assertThat(files.stream().filter(FileAttributes::isDirectory).count(), is(1L));
+    }
+
+    @Test
+    public void listLazilyRecursive() throws Exception
+    {
+        List<FileAttributes> files = doListLazily(".", true);
+
+        assertThat(files, hasSize(8));
+        for (FileAttributes file : files)
+        {
+            if (file.isDirectory())
+            {
+                assertThat(file.getName(), equalTo(SUB_DIRECTORY_NAME));
+            }
+            else
+            {
+                assertThat(file.getName(), endsWith(".html"));
+                assertThat(file.getSize(), is(new Long(CONTENT.length())));
+            }
+        }
+    }
+
     private boolean assertListedFiles(List<TreeNode> nodes) throws Exception
     {
         boolean directoryWasFound = false;
@@ -144,6 +175,18 @@ public class FileListTestCase extends FileConnectorTestCase
         return directoryWasFound;
     }
 
+    private List<FileAttributes> doListLazily(String path, boolean recursive) throws Exception
+    {
+        Iterator<FileAttributes> iterator = (Iterator<FileAttributes>) flowRunner("listLazily")
+                .withFlowVariable("path", path)
+                .withFlowVariable("recursive", recursive)
+                .run().getMessage().getPayload();
+
+        List<FileAttributes> files = new ArrayList<>();
+        iterator.forEachRemaining(files::add);
+        return files;
+    }
+
     private TreeNode doList(String path, boolean recursive) throws Exception
     {
         return doList("list", path, recursive);
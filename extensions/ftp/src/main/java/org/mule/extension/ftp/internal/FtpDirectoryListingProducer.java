@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ftp.internal;
+
+import org.mule.extension.ftp.internal.ftp.connection.FtpFileSystem;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.core.api.connector.ConnectionManager;
+import org.mule.runtime.module.extension.file.api.FileAttributes;
+import org.mule.runtime.module.extension.file.api.stream.AbstractDirectoryListingProducer;
+
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * An {@link AbstractDirectoryListingProducer} which obtains a {@link FtpFileSystem}
+ * through a {@link ConnectionManager} and uses it to list the directories of a FTP/SFTP server.
+ * <p>
+ * Each directory is listed by its absolute path with {@link FtpFileSystem#listDirectory(String)},
+ * so that traversing the tree takes one command per directory instead of also
+ * changing the working directory back and forth.
+ * <p>
+ * When the producer is closed or fully consumed, the {@link FtpFileSystem}
+ * is released back to the {@link ConnectionManager}
+ *
+ * @since 4.0
+ */
+public final class FtpDirectoryListingProducer extends AbstractDirectoryListingProducer
+{
+
+    private final ConnectionHandler<FtpFileSystem> connectionHandler;
+    private final FtpFileSystem ftpFileSystem;
+
+    /**
+     * Establishes the underlying connection and returns a new instance of this class.
+     * <p>
+     * Instances returned by this method <b>MUST</b> be closed or fully consumed.
+     *
+     * @param config        the {@link FtpConnector} which is configuring the connection
+     * @param directoryPath the absolute path to the directory to be listed
+     * @param recursive     whether to include the contents of sub-directories
+     * @param matcher       a {@link Predicate} of {@link FileAttributes} used to filter the output
+     * @return a new {@link FtpDirectoryListingProducer}
+     * @throws ConnectionException if a connection could not be established
+     */
+    public static FtpDirectoryListingProducer newInstance(FtpConnector config, String directoryPath, boolean recursive, Predicate<FileAttributes> matcher) throws ConnectionException
+    {
+        ConnectionHandler<FtpFileSystem> connectionHandler = config.getConnectionManager().getConnection(config);
+        try
+        {
+            return new FtpDirectoryListingProducer(connectionHandler, directoryPath, recursive, matcher);
+        }
+        catch (ConnectionException e)
+        {
+            connectionHandler.release();
+            throw e;
+        }
+    }
+
+    private FtpDirectoryListingProducer(ConnectionHandler<FtpFileSystem> connectionHandler,
+                                        String directoryPath,
+                                        boolean recursive,
+                                        Predicate<FileAttributes> matcher) throws ConnectionException
+    {
+        super(directoryPath, recursive, matcher);
+        this.connectionHandler = connectionHandler;
+        this.ftpFileSystem = connectionHandler.getConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<? extends FileAttributes> listDirectory(String path)
+    {
+        return ftpFileSystem.listDirectory(path).iterator();
+    }
+
+    /**
+     * Releases the {@link FtpFileSystem} back to the {@link ConnectionManager}
+     */
+    @Override
+    protected void doClose()
+    {
+        connectionHandler.release();
+    }
+}
@@ -9,8 +9,13 @@ package org.mule.extension.ftp.internal.ftp.command;
 import static java.lang.String.format;
 
 import org.mule.extension.ftp.api.ftp.ClassicFtpFileAttributes;
+import org.mule.extension.ftp.internal.FtpConnector;
+import org.mule.extension.ftp.internal.FtpDirectoryListingProducer;
 import org.mule.extension.ftp.internal.ftp.connection.ClassicFtpFileSystem;
+import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.message.MuleMessage;
+import org.mule.runtime.core.streaming.ConsumerIterator;
+import org.mule.runtime.core.streaming.SimpleConsumer;
 import org.mule.runtime.core.util.ArrayUtils;
 import org.mule.runtime.module.extension.file.api.FileAttributes;
 import org.mule.runtime.module.extension.file.api.FileConnectorConfig;
@@ -20,6 +25,7 @@ import org.mule.runtime.module.extension.file.api.command.ListCommand;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.function.Predicate;
 
 import org.apache.commons.net.ftp.FTPClient;
@@ -87,6 +93,32 @@ public final class FtpListCommand extends ClassicFtpCommand implements ListComma
         return treeNodeBuilder.build();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The directories are listed by a {@link FtpDirectoryListingProducer} over a connection of its own
+     */
+    @Override
+    public Iterator<FileAttributes> listLazily(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher)
+    {
+        FileAttributes directoryAttributes = getExistingFile(config, directoryPath);
+        Path path = Paths.get(directoryAttributes.getPath());
+
+        if (!directoryAttributes.isDirectory())
+        {
+            throw cannotListFileException(path);
+        }
+
+        try
+        {
+            return new ConsumerIterator<>(new SimpleConsumer<>(FtpDirectoryListingProducer.newInstance((FtpConnector) config, path.toString(), recursive, matcher)));
+        }
+        catch (ConnectionException e)
+        {
+            throw exception("Could not obtain connection to list directory " + path, e);
+        }
+    }
+
     private void doList(FileConnectorConfig config,
                         Path path,
                         TreeNode.Builder treeNodeBuilder,
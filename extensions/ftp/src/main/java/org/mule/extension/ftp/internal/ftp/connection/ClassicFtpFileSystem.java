@@ -10,6 +10,8 @@ import static java.lang.String.format;
 import static org.apache.commons.lang.StringUtils.EMPTY;
 import static org.mule.extension.ftp.internal.FtpConnector.FTP_PROTOCOL;
 import static org.mule.runtime.core.config.i18n.MessageFactory.createStaticMessage;
+import org.mule.extension.ftp.api.FtpFileAttributes;
+import org.mule.extension.ftp.api.ftp.ClassicFtpFileAttributes;
 import org.mule.extension.ftp.api.ftp.FtpTransferMode;
 import org.mule.extension.ftp.internal.ftp.command.FtpCopyCommand;
 import org.mule.extension.ftp.internal.ftp.command.FtpCreateDirectoryCommand;
@@ -44,10 +46,14 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPConnectionClosedException;
+import org.apache.commons.net.ftp.FTPFile;
+import org.apache.commons.net.ftp.FTPReply;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -228,6 +234,41 @@ public final class ClassicFtpFileSystem extends AbstractFileSystem implements Ft
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The directory is listed with a single {@code LIST} command on the given {@code path}
+     */
+    @Override
+    public List<FtpFileAttributes> listDirectory(String path)
+    {
+        FTPFile[] files;
+        try
+        {
+            files = client.listFiles(path);
+        }
+        catch (Exception e)
+        {
+            throw new MuleRuntimeException(createStaticMessage(format("Exception was found trying to list directory '%s'. Ftp reply code: %d ", path, client.getReplyCode())), e);
+        }
+
+        if (!FTPReply.isPositiveCompletion(client.getReplyCode()))
+        {
+            throw new MuleRuntimeException(createStaticMessage(format("Failed to list directory '%s'. Ftp reply code: %d ", path, client.getReplyCode())));
+        }
+
+        Path directory = Paths.get(path);
+        List<FtpFileAttributes> attributes = new ArrayList<>(files.length);
+        for (FTPFile file : files)
+        {
+            if (file != null)
+            {
+                attributes.add(new ClassicFtpFileAttributes(directory.resolve(file.getName()), file));
+            }
+        }
+        return attributes;
+    }
+
     /**
      * Awaits for the underlying {@link #client} to complete
      * any pending commands. This is necessary for certain
@@ -6,11 +6,13 @@
  */
 package org.mule.extension.ftp.internal.ftp.connection;
 
+import org.mule.extension.ftp.api.FtpFileAttributes;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.module.extension.file.api.FileAttributes;
 import org.mule.runtime.module.extension.file.api.FileSystem;
 
 import java.io.InputStream;
+import java.util.List;
 
 /**
  * Specialization of the {@link FileSystem} contract for
@@ -39,6 +41,15 @@ public interface FtpFileSystem extends FileSystem
      */
     InputStream retrieveFileContent(FileAttributes filePayload);
 
+    /**
+     * Lists the immediate contents of the directory at the given {@code path}
+     * without changing the current working directory
+     *
+     * @param path the absolute path of the directory to be listed
+     * @return a {@link List} of {@link FtpFileAttributes}. Might be empty but will never be {@code null}
+     */
+    List<? extends FtpFileAttributes> listDirectory(String path);
+
     /**
      * Validates the underlying connection to the remote server
      *
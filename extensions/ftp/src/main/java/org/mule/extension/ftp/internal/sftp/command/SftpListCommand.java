@@ -10,9 +10,14 @@ import static org.mule.runtime.module.extension.file.api.TreeNode.Builder.forDir
 import static org.mule.runtime.module.extension.file.api.TreeNode.Builder.forFile;
 
 import org.mule.extension.ftp.api.sftp.SftpFileAttributes;
+import org.mule.extension.ftp.internal.FtpConnector;
+import org.mule.extension.ftp.internal.FtpDirectoryListingProducer;
 import org.mule.extension.ftp.internal.sftp.connection.SftpClient;
 import org.mule.extension.ftp.internal.sftp.connection.SftpFileSystem;
+import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.message.MuleMessage;
+import org.mule.runtime.core.streaming.ConsumerIterator;
+import org.mule.runtime.core.streaming.SimpleConsumer;
 import org.mule.runtime.module.extension.file.api.FileAttributes;
 import org.mule.runtime.module.extension.file.api.FileConnectorConfig;
 import org.mule.runtime.module.extension.file.api.TreeNode;
@@ -20,6 +25,7 @@ import org.mule.runtime.module.extension.file.api.command.ListCommand;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.function.Predicate;
 
 import org.slf4j.Logger;
@@ -63,6 +69,32 @@ public final class SftpListCommand extends SftpCommand implements ListCommand
         return treeNodeBuilder.build();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The directories are listed by a {@link FtpDirectoryListingProducer} over a connection of its own
+     */
+    @Override
+    public Iterator<FileAttributes> listLazily(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher)
+    {
+        FileAttributes directoryAttributes = getExistingFile(config, directoryPath);
+        Path path = Paths.get(directoryAttributes.getPath());
+
+        if (!directoryAttributes.isDirectory())
+        {
+            throw cannotListFileException(path);
+        }
+
+        try
+        {
+            return new ConsumerIterator<>(new SimpleConsumer<>(FtpDirectoryListingProducer.newInstance((FtpConnector) config, path.toString(), recursive, matcher)));
+        }
+        catch (ConnectionException e)
+        {
+            throw exception("Could not obtain connection to list directory " + path, e);
+        }
+    }
+
     private void doList(FileConnectorConfig config, String path, TreeNode.Builder treeNodeBuilder, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher)
     {
         LOGGER.debug("Listing directory {}", path);
@@ -9,6 +9,7 @@ package org.mule.extension.ftp.internal.sftp.connection;
 import static org.apache.commons.lang.StringUtils.EMPTY;
 import static org.mule.extension.ftp.internal.FtpConnector.FTP_PROTOCOL;
 import static org.mule.runtime.core.config.i18n.MessageFactory.createStaticMessage;
+import org.mule.extension.ftp.api.sftp.SftpFileAttributes;
 import org.mule.extension.ftp.internal.ftp.connection.FtpFileSystem;
 import org.mule.extension.ftp.internal.sftp.command.SftpCopyCommand;
 import org.mule.extension.ftp.internal.sftp.command.SftpCreateDirectoryCommand;
@@ -40,6 +41,7 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
+import java.util.List;
 
 import org.apache.commons.net.ftp.FTPClient;
 
@@ -110,6 +112,15 @@ public class SftpFileSystem extends AbstractFileSystem implements FtpFileSystem
         return client.getFileContent(filePayload.getPath());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SftpFileAttributes> listDirectory(String path)
+    {
+        return client.list(path);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -15,6 +15,7 @@ import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 
 import org.slf4j.Logger;
@@ -23,6 +24,9 @@ import org.slf4j.LoggerFactory;
 /**
  * This {@link SocketClient} implementation allows the reading and writing
  * to and from a specific connected TCP {@link Socket}.
+ * <p>
+ * The buffered streams are kept for the whole life of the socket, so data buffered but not consumed
+ * by a read is not lost when the pooled connection is reused by the next operation.
  */
 public final class TcpClient implements SocketClient
 {
@@ -30,6 +34,8 @@ public final class TcpClient implements SocketClient
     private static final Logger LOGGER = LoggerFactory.getLogger(TcpClient.class);
     private final Socket socket;
     private final TcpProtocol protocol;
+    private InputStream inputStream;
+    private OutputStream outputStream;
 
     public TcpClient(Socket socket, TcpProtocol protocol)
     {
@@ -43,9 +49,13 @@ public final class TcpClient implements SocketClient
     @Override
     public void write(Object data, String outputEncoding) throws IOException
     {
-        BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(socket.getOutputStream());
-        protocol.write(bufferedOutputStream, data, outputEncoding);
-        bufferedOutputStream.flush();
+        if (outputStream == null)
+        {
+            outputStream = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        protocol.write(outputStream, data, outputEncoding);
+        outputStream.flush();
     }
 
     /**
@@ -54,7 +64,11 @@ public final class TcpClient implements SocketClient
     @Override
     public InputStream read() throws IOException
     {
-        InputStream inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        if (inputStream == null)
+        {
+            inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        }
+
         return protocol.read(inputStream);
     }
 
@@ -6,6 +6,7 @@
  */
 package org.mule.module.socket.api.config;
 
+import org.mule.module.socket.api.provider.tcp.NioTcpListenerProvider;
 import org.mule.module.socket.api.provider.tcp.TcpListenerProvider;
 import org.mule.module.socket.api.provider.udp.UdpListenerProvider;
 import org.mule.module.socket.api.source.SocketListener;
@@ -23,7 +24,7 @@ import org.mule.runtime.extension.api.annotation.param.Optional;
  * @since 4.0
  */
 @Configuration(name = "listener-config")
-@Providers({TcpListenerProvider.class, UdpListenerProvider.class})
+@Providers({TcpListenerProvider.class, NioTcpListenerProvider.class, UdpListenerProvider.class})
 @Sources({SocketListener.class})
 public class ListenerConfig extends AbstractSocketConfig
 {
@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.module.socket.api.connection.tcp;
+
+import static java.lang.String.format;
+import static java.nio.channels.SelectionKey.OP_ACCEPT;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static java.nio.channels.SelectionKey.OP_WRITE;
+import static org.mule.module.socket.internal.SocketUtils.configureConnection;
+
+import org.mule.module.socket.api.ConnectionSettings;
+import org.mule.module.socket.api.ImmutableSocketAttributes;
+import org.mule.module.socket.api.SocketAttributes;
+import org.mule.module.socket.api.connection.ListenerConnection;
+import org.mule.module.socket.api.socket.tcp.NonBlockingTcpProtocol;
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.module.socket.api.socket.tcp.TcpProtocol;
+import org.mule.module.socket.api.socket.tcp.TcpServerSocketProperties;
+import org.mule.module.socket.api.worker.NioTcpWorker;
+import org.mule.module.socket.api.worker.SocketWorker;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionExceptionCode;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.extension.api.runtime.MessageHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Implementation of {@link ListenerConnection} that receives TCP connections using non-blocking channels.
+ * <p>
+ * All the accepted connections are multiplexed by a single {@link Selector}, which is driven by the thread
+ * invoking {@link #listen(MessageHandler)}. The data received on each connection is split into frames by the
+ * {@link TcpFrameDecoder} of the {@link NonBlockingTcpProtocol}, and one {@link NioTcpWorker} is created per
+ * complete frame. Reading from a connection is suspended until its worker responds, so responses are written
+ * in the same order as requests are received and no thread is held by idle connections.
+ * <p>
+ * All the connections share a single direct buffer for reading, as they are only read by the selector thread.
+ *
+ * @since 4.0
+ */
+public final class NioTcpListenerConnection extends AbstractTcpConnection implements ListenerConnection
+{
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long IDLE_CHECK_INTERVAL = 1000;
+
+    private final TcpServerSocketProperties socketProperties;
+    private final NonBlockingTcpProtocol nonBlockingProtocol;
+    private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final Set<ChannelContext> channels = ConcurrentHashMap.newKeySet();
+    // only accessed by the selector thread
+    private final Deque<ChannelContext> readyChannels = new ArrayDeque<>();
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    private ByteBuffer readBuffer;
+    private long nextIdleCheck;
+
+    public NioTcpListenerConnection(ConnectionSettings connectionSettings, TcpProtocol protocol,
+                                    TcpServerSocketProperties socketProperties) throws ConnectionException
+    {
+        super(connectionSettings, protocol);
+
+        if (!(protocol instanceof NonBlockingTcpProtocol))
+        {
+            throw new ConnectionException(format("Protocol '%s' cannot be used by a non-blocking TCP listener, it does not implement '%s'",
+                                                 protocol.getClass().getName(), NonBlockingTcpProtocol.class.getName()));
+        }
+
+        this.nonBlockingProtocol = (NonBlockingTcpProtocol) protocol;
+        this.socketProperties = socketProperties;
+    }
+
+    /**
+     * Drives the {@link Selector} until a complete frame is received on any of the accepted connections.
+     * <p>
+     * Accepted connections have the same {@link TcpServerSocketProperties} settings as the listener. The
+     * {@link TcpServerSocketProperties#getClientTimeout() client timeout} is the time after which idle
+     * connections are closed.
+     *
+     * @return a {@link NioTcpWorker} that processes the received frame
+     * @throws ConnectionException if the selector was closed by a different means than invoking {@link #disconnect()}
+     * @throws IOException         if the selector was closed by {@link #disconnect()} or the thread was interrupted
+     */
+    @Override
+    public SocketWorker listen(MessageHandler<InputStream, SocketAttributes> messageHandler) throws IOException, ConnectionException
+    {
+        for (; ; )
+        {
+            ChannelContext channel = readyChannels.poll();
+            if (channel != null)
+            {
+                return channel.createWorker(messageHandler);
+            }
+
+            try
+            {
+                select();
+            }
+            catch (ClosedSelectorException e)
+            {
+                if (!wasDisconnected)
+                {
+                    throw new ConnectionException("An error occurred while listening for new TCP connections", e);
+                }
+
+                LOGGER.debug("TCP listener selector has been gracefully closed");
+                throw new IOException("TCP listener selector was closed", e);
+            }
+
+            if (Thread.currentThread().isInterrupted())
+            {
+                throw new InterruptedIOException("Interrupted while listening for new TCP connections");
+            }
+        }
+    }
+
+    private void select() throws IOException
+    {
+        Integer idleTimeout = socketProperties.getClientTimeout();
+        if (idleTimeout != null && idleTimeout > 0)
+        {
+            selector.select(Math.min(idleTimeout, IDLE_CHECK_INTERVAL));
+        }
+        else
+        {
+            selector.select();
+        }
+
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null)
+        {
+            task.run();
+        }
+
+        Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+        while (selectedKeys.hasNext())
+        {
+            SelectionKey key = selectedKeys.next();
+            selectedKeys.remove();
+
+            if (!key.isValid())
+            {
+                continue;
+            }
+
+            if (key.isAcceptable())
+            {
+                accept();
+                continue;
+            }
+
+            ChannelContext channel = (ChannelContext) key.attachment();
+            if (key.isReadable())
+            {
+                channel.read();
+            }
+            if (key.isValid() && key.isWritable())
+            {
+                channel.write();
+            }
+        }
+
+        if (idleTimeout != null && idleTimeout > 0)
+        {
+            closeIdleChannels(idleTimeout);
+        }
+    }
+
+    private void accept() throws IOException
+    {
+        // drains the backlog, as a burst of connections is only notified once
+        SocketChannel socketChannel;
+        while ((socketChannel = serverChannel.accept()) != null)
+        {
+            try
+            {
+                configureConnection(socketChannel.socket(), socketProperties);
+                socketChannel.configureBlocking(false);
+                ChannelContext channel = new ChannelContext(socketChannel);
+                channel.key = socketChannel.register(selector, OP_READ, channel);
+                channels.add(channel);
+            }
+            catch (ConnectionException | IOException e)
+            {
+                LOGGER.warn("Could not configure accepted TCP connection", e);
+                closeQuietly(socketChannel);
+            }
+        }
+    }
+
+    private void closeIdleChannels(long idleTimeout)
+    {
+        long now = System.currentTimeMillis();
+        if (now < nextIdleCheck)
+        {
+            return;
+        }
+        nextIdleCheck = now + Math.min(idleTimeout, IDLE_CHECK_INTERVAL);
+
+        for (ChannelContext channel : channels)
+        {
+            if (channel.isIdle() && now - channel.lastActivity > idleTimeout)
+            {
+                if (LOGGER.isDebugEnabled())
+                {
+                    LOGGER.debug(format("Closing TCP connection from '%s' after being idle for %d ms", channel.remoteAddress(), idleTimeout));
+                }
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the given task in the selector thread.
+     */
+    private void execute(Runnable task)
+    {
+        pendingTasks.add(task);
+        selector.wakeup();
+    }
+
+    @Override
+    public void doDisconnect()
+    {
+        try
+        {
+            selector.close();
+            serverChannel.close();
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("An error occurred when closing TCP listener socket", e);
+        }
+
+        for (ChannelContext channel : channels)
+        {
+            channel.close();
+        }
+    }
+
+    /**
+     * Opens a non-blocking {@link ServerSocketChannel} and binds it with the {@link TcpServerSocketProperties} parameters.
+     * Connections are not accepted until {@link #listen(MessageHandler)} is invoked.
+     */
+    @Override
+    public void connect() throws ConnectionException
+    {
+        try
+        {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+
+            if (socketProperties.getReceiveBufferSize() != null)
+            {
+                serverChannel.socket().setReceiveBufferSize(socketProperties.getReceiveBufferSize());
+            }
+
+            serverChannel.socket().setReuseAddress(socketProperties.getReuseAddress());
+            serverChannel.configureBlocking(false);
+        }
+        catch (Exception e)
+        {
+            throw new ConnectionException("Could not create TCP listener socket", e);
+        }
+
+        InetSocketAddress address = getSocketAddress(connectionSettings, socketProperties.getFailOnUnresolvedHost());
+
+        try
+        {
+            serverChannel.socket().bind(address, socketProperties.getReceiveBacklog());
+            serverChannel.register(selector, OP_ACCEPT);
+        }
+        catch (IOException e)
+        {
+            throw new ConnectionException(format("Could not bind socket to host '%s' and port '%d'", connectionSettings.getHost(), connectionSettings.getPort()), e);
+        }
+
+        int bufferSize = socketProperties.getReceiveBufferSize() != null ? socketProperties.getReceiveBufferSize() : DEFAULT_BUFFER_SIZE;
+        readBuffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConnectionValidationResult validate()
+    {
+        if (!serverChannel.isOpen() || !selector.isOpen())
+        {
+            return ConnectionValidationResult.failure("TCP server socket was closed", ConnectionExceptionCode.UNKNOWN, null);
+        }
+        else if (!serverChannel.socket().isBound())
+        {
+            return ConnectionValidationResult.failure("TCP server socket was not bounded", ConnectionExceptionCode.UNKNOWN, null);
+        }
+
+        return ConnectionValidationResult.success();
+    }
+
+    private void closeQuietly(SocketChannel socketChannel)
+    {
+        try
+        {
+            socketChannel.close();
+        }
+        catch (IOException e)
+        {
+            if (LOGGER.isDebugEnabled())
+            {
+                LOGGER.debug("An error occurred when closing TCP connection", e);
+            }
+        }
+    }
+
+    /**
+     * State of an accepted connection. Except for {@link #close()}, it is only accessed by the selector thread.
+     */
+    private final class ChannelContext
+    {
+
+        private final SocketChannel socketChannel;
+        private final TcpFrameDecoder decoder = nonBlockingProtocol.createFrameDecoder();
+        private final SocketAttributes attributes;
+        private final Deque<byte[]> frames = new ArrayDeque<>();
+        private final Deque<ByteBuffer> output = new ArrayDeque<>();
+        private SelectionKey key;
+        private boolean processing;
+        private boolean inputClosed;
+        private long lastActivity = System.currentTimeMillis();
+
+        private ChannelContext(SocketChannel socketChannel)
+        {
+            this.socketChannel = socketChannel;
+            this.attributes = new ImmutableSocketAttributes(socketChannel.socket());
+        }
+
+        private void read()
+        {
+            readBuffer.clear();
+            try
+            {
+                int read = socketChannel.read(readBuffer);
+                lastActivity = System.currentTimeMillis();
+
+                if (read < 0)
+                {
+                    inputClosed = true;
+                    addFrame(decoder.endOfStream());
+                }
+                else
+                {
+                    readBuffer.flip();
+                    byte[] frame;
+                    while ((frame = decoder.decode(readBuffer)) != null)
+                    {
+                        frames.add(frame);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                if (LOGGER.isDebugEnabled())
+                {
+                    LOGGER.debug(format("An error occurred while reading from TCP connection '%s'", remoteAddress()), e);
+                }
+                close();
+                return;
+            }
+
+            dispatch();
+        }
+
+        private void write()
+        {
+            try
+            {
+                while (!output.isEmpty())
+                {
+                    ByteBuffer buffer = output.peek();
+                    socketChannel.write(buffer);
+                    if (buffer.hasRemaining())
+                    {
+                        break;
+                    }
+                    output.poll();
+                }
+                lastActivity = System.currentTimeMillis();
+            }
+            catch (IOException e)
+            {
+                if (LOGGER.isDebugEnabled())
+                {
+                    LOGGER.debug(format("An error occurred while sending TCP response to address '%s'", remoteAddress()), e);
+                }
+                close();
+                return;
+            }
+
+            dispatch();
+        }
+
+        /**
+         * Schedules the next frame if no frame is being processed, and updates the operations the
+         * selector waits for.
+         */
+        private void dispatch()
+        {
+            if (!key.isValid())
+            {
+                return;
+            }
+
+            if (!processing && !frames.isEmpty())
+            {
+                processing = true;
+                readyChannels.add(this);
+            }
+            else if (!processing && inputClosed && output.isEmpty())
+            {
+                close();
+                return;
+            }
+
+            int interestOps = 0;
+            if (!processing && !inputClosed)
+            {
+                interestOps |= OP_READ;
+            }
+            if (!output.isEmpty())
+            {
+                interestOps |= OP_WRITE;
+            }
+            key.interestOps(interestOps);
+        }
+
+        private SocketWorker createWorker(MessageHandler<InputStream, SocketAttributes> messageHandler)
+        {
+            return new NioTcpWorker(frames.poll(), nonBlockingProtocol, attributes, messageHandler, new NioTcpWorker.ResponseCallback()
+            {
+                @Override
+                public void respond(byte[] response)
+                {
+                    execute(() -> completed(response));
+                }
+
+                @Override
+                public void close()
+                {
+                    execute(ChannelContext.this::close);
+                }
+            });
+        }
+
+        private void completed(byte[] response)
+        {
+            processing = false;
+            if (response.length > 0)
+            {
+                output.add(ByteBuffer.wrap(response));
+                write();
+            }
+            else
+            {
+                dispatch();
+            }
+        }
+
+        private void addFrame(byte[] frame)
+        {
+            if (frame != null)
+            {
+                frames.add(frame);
+            }
+        }
+
+        private boolean isIdle()
+        {
+            return !processing && output.isEmpty();
+        }
+
+        private String remoteAddress()
+        {
+            return format("%s:%d", attributes.getHostAddress(), attributes.getPort());
+        }
+
+        private void close()
+        {
+            channels.remove(this);
+            if (key != null)
+            {
+                key.cancel();
+            }
+            closeQuietly(socketChannel);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import static org.mule.module.socket.internal.SocketUtils.configureConnection;
 import org.mule.module.socket.api.client.TcpClient;
 import org.mule.module.socket.api.ConnectionSettings;
 import org.mule.module.socket.api.connection.RequesterConnection;
+import org.mule.module.socket.api.provider.tcp.TcpRequesterProvider;
 import org.mule.module.socket.api.socket.tcp.TcpProtocol;
 import org.mule.module.socket.api.socket.tcp.TcpClientSocketProperties;
 import org.mule.module.socket.api.socket.factory.SimpleSocketFactory;
@@ -23,6 +24,9 @@ import java.net.Socket;
 
 /**
  * Implementation of {@link RequesterConnection} for establishing TCP connections.
+ * <p>
+ * Connections are pooled by the {@link TcpRequesterProvider}, so the connected socket is kept alive and
+ * reused by consecutive operations sent to the same host and port, always through the same {@link TcpClient}.
  *
  * @since 4.0
  */
@@ -30,6 +34,7 @@ public class TcpRequesterConnection extends AbstractTcpConnection implements Req
 {
 
     private Socket socket;
+    private TcpClient client;
     private final TcpClientSocketProperties socketProperties;
     private final ConnectionSettings localAddressSettings;
     private final SimpleSocketFactory socketFactory;
@@ -50,7 +55,7 @@ public class TcpRequesterConnection extends AbstractTcpConnection implements Req
     @Override
     public TcpClient getClient()
     {
-        return new TcpClient(socket, protocol);
+        return client;
     }
 
     @Override
@@ -78,6 +83,7 @@ public class TcpRequesterConnection extends AbstractTcpConnection implements Req
             configureConnection(socket, socketProperties);
             socket.bind(localAddressSettings.getInetSocketAddress());
             socket.connect(getSocketAddress(connectionSettings, socketProperties.getFailOnUnresolvedHost()), socketProperties.getConnectionTimeout());
+            client = new TcpClient(socket, protocol);
         }
         catch (Exception e)
         {
@@ -106,6 +112,11 @@ public class TcpRequesterConnection extends AbstractTcpConnection implements Req
         {
             return ConnectionValidationResult.failure("TCP client socket was closed", ConnectionExceptionCode.UNKNOWN, null);
         }
+        else if (socket.isInputShutdown() || socket.isOutputShutdown())
+        {
+            // pooled sockets cannot be reused once a protocol shuts them down
+            return ConnectionValidationResult.failure("TCP client socket was shut down", ConnectionExceptionCode.UNKNOWN, null);
+        }
 
         return ConnectionValidationResult.success();
     }
@@ -177,6 +177,19 @@ public abstract class AbstractByteProtocol implements TcpProtocol
         this.objectSerializer = objectSerializer;
     }
 
+    /**
+     * Reads a message from a complete frame using {@link #read(InputStream)}, so protocols
+     * framing non-blocking connections can use it for frames that contain the whole message.
+     *
+     * @param frame a complete frame
+     * @return an {@link InputStream} containing the message, or {@code null} if there is no message
+     * @throws IOException if an exception occurs
+     */
+    public InputStream readFrame(byte[] frame) throws IOException
+    {
+        return read(new ByteArrayInputStream(frame));
+    }
+
     protected InputStream nullIfEmptyArray(byte[] bytes)
     {
         return bytes.length == 0 ? null : new ByteArrayInputStream(bytes);
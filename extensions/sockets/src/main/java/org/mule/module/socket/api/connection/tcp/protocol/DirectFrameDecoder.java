@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.module.socket.api.connection.tcp.protocol;
+
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes frames written by {@link DirectProtocol}. As the protocol reads until no more
+ * bytes are (momentarily) available, all the data received at once is a single frame.
+ *
+ * @since 4.0
+ */
+public class DirectFrameDecoder implements TcpFrameDecoder
+{
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] decode(ByteBuffer data)
+    {
+        if (!data.hasRemaining())
+        {
+            return null;
+        }
+
+        byte[] frame = new byte[data.remaining()];
+        data.get(frame);
+        return frame;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] endOfStream()
+    {
+        return null;
+    }
+}
@@ -7,6 +7,8 @@
 package org.mule.module.socket.api.connection.tcp.protocol;
 
 import static org.mule.module.socket.internal.SocketUtils.getByteArray;
+import org.mule.module.socket.api.socket.tcp.NonBlockingTcpProtocol;
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.module.socket.api.socket.tcp.TcpProtocol;
 import org.mule.runtime.extension.api.annotation.Parameter;
 import org.mule.runtime.extension.api.annotation.param.Optional;
@@ -30,7 +32,7 @@ import org.apache.commons.logging.LogFactory;
  *
  * @since 4.0
  */
-public class DirectProtocol extends AbstractByteProtocol
+public class DirectProtocol extends AbstractByteProtocol implements NonBlockingTcpProtocol
 {
 
     protected static final int UNLIMITED = -1;
@@ -69,6 +71,15 @@ public class DirectProtocol extends AbstractByteProtocol
         return nullIfEmptyArray(consume(socketIs, UNLIMITED));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new DirectFrameDecoder();
+    }
+
     protected byte[] consume(InputStream is, int limit) throws IOException
     {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(bufferSize);
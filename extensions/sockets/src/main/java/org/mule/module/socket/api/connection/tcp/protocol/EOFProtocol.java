@@ -6,6 +6,7 @@
  */
 package org.mule.module.socket.api.connection.tcp.protocol;
 
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.module.socket.api.socket.tcp.TcpProtocol;
 import org.mule.runtime.extension.api.annotation.Alias;
 
@@ -20,6 +21,15 @@ import org.mule.runtime.extension.api.annotation.Alias;
 public class EOFProtocol extends DirectProtocol
 {
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new EOFFrameDecoder();
+    }
+
     /**
      * Repeat until EOF
      *
@@ -8,6 +8,7 @@ package org.mule.module.socket.api.connection.tcp.protocol;
 
 import static java.lang.String.format;
 import org.mule.module.socket.api.exceptions.LengthExceededException;
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.module.socket.api.socket.tcp.TcpProtocol;
 import org.mule.runtime.extension.api.annotation.Parameter;
 import org.mule.runtime.extension.api.annotation.param.Optional;
@@ -69,6 +70,15 @@ public class LengthProtocol extends DirectProtocol
         return nullIfEmptyArray(consume(socketIs));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new LengthFrameDecoder(maxMessageLength);
+    }
+
     /**
      * It first reads the size of an int in bytes from the {@link InputStream} that represents
      * the total length of the data to be read.
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.module.socket.api.connection.tcp.protocol;
+
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes frames written by {@link SafeProtocol}. Returned frames contain both the cookie
+ * and the data, so they can be read using {@link SafeProtocol#read(InputStream)}.
+ *
+ * @since 4.0
+ */
+public class SafeFrameDecoder implements TcpFrameDecoder
+{
+
+    private final TcpFrameDecoder cookieDecoder;
+    private final TcpFrameDecoder dataDecoder;
+    private byte[] cookie;
+
+    /**
+     * @param maxCookieLength  maximum length of the cookie
+     * @param maxMessageLength maximum length of the data, or a negative value if there is no limit
+     */
+    public SafeFrameDecoder(int maxCookieLength, int maxMessageLength)
+    {
+        cookieDecoder = new LengthFrameDecoder(maxCookieLength);
+        dataDecoder = new LengthFrameDecoder(maxMessageLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] decode(ByteBuffer data) throws IOException
+    {
+        if (cookie == null)
+        {
+            cookie = cookieDecoder.decode(data);
+            if (cookie == null)
+            {
+                return null;
+            }
+        }
+
+        byte[] frameData = dataDecoder.decode(data);
+        if (frameData == null)
+        {
+            return null;
+        }
+
+        byte[] frame = new byte[cookie.length + frameData.length];
+        System.arraycopy(cookie, 0, frame, 0, cookie.length);
+        System.arraycopy(frameData, 0, frame, cookie.length, frameData.length);
+        cookie = null;
+
+        return frame;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] endOfStream() throws IOException
+    {
+        if (cookie != null)
+        {
+            throw new EOFException("Connection closed after the cookie but before the data");
+        }
+        return cookieDecoder.endOfStream();
+    }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.module.socket.api.connection.tcp.protocol;
 
+import org.mule.module.socket.api.socket.tcp.NonBlockingTcpProtocol;
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.module.socket.api.socket.tcp.TcpProtocol;
 import org.mule.runtime.core.api.serialization.DefaultObjectSerializer;
 import org.mule.runtime.core.api.serialization.ObjectSerializer;
@@ -26,7 +28,7 @@ import javax.inject.Inject;
  *
  * @since 4.0
  */
-public class SafeProtocol extends AbstractByteProtocol
+public class SafeProtocol extends AbstractByteProtocol implements NonBlockingTcpProtocol
 {
 
     public static final String COOKIE = "You are using SafeProtocol";
@@ -74,6 +76,15 @@ public class SafeProtocol extends AbstractByteProtocol
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new SafeFrameDecoder(COOKIE.length(), maxMessageLeght);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -6,6 +6,7 @@
  */
 package org.mule.module.socket.api.connection.tcp.protocol;
 
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.runtime.extension.api.annotation.Alias;
 
 /**
@@ -16,6 +17,15 @@ import org.mule.runtime.extension.api.annotation.Alias;
 public class XmlMessageEOFProtocol extends XmlMessageProtocol
 {
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new XmlMessageFrameDecoder(true);
+    }
+
     /**
      * Continue reading til EOF or new document found
      *
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.module.socket.api.connection.tcp.protocol;
+
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Decodes frames written by {@link XmlMessageProtocol}, where each frame starts with an XML
+ * declaration.
+ * <p>
+ * A frame is complete when the start of the next document is received. As done by
+ * {@link XmlMessageProtocol}, the data received so far is also returned when no more data is available,
+ * unless the decoder waits until the end of the stream as done by {@link XmlMessageEOFProtocol}.
+ *
+ * @since 4.0
+ */
+public class XmlMessageFrameDecoder implements TcpFrameDecoder
+{
+
+    private static final byte[] XML_PATTERN = "<?xml".getBytes();
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final boolean waitForEndOfStream;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int count;
+    // pattern occurrences before this index have already been searched
+    private int searchIndex = 1;
+
+    /**
+     * @param waitForEndOfStream true if data is only returned when the next document starts or the
+     *                           connection is closed
+     */
+    public XmlMessageFrameDecoder(boolean waitForEndOfStream)
+    {
+        this.waitForEndOfStream = waitForEndOfStream;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] decode(ByteBuffer data)
+    {
+        append(data);
+
+        // start search at 2nd character (index=1) to indicate whether we have reached a new document
+        int patternIndex = indexOfPattern();
+        if (patternIndex > 0)
+        {
+            return take(patternIndex);
+        }
+        searchIndex = Math.max(1, count - XML_PATTERN.length + 1);
+
+        if (!waitForEndOfStream && count > 0)
+        {
+            return take(count);
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] endOfStream()
+    {
+        return count > 0 ? take(count) : null;
+    }
+
+    private void append(ByteBuffer data)
+    {
+        int length = data.remaining();
+        if (count + length > buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+        }
+        data.get(buffer, count, length);
+        count += length;
+    }
+
+    private int indexOfPattern()
+    {
+        for (int i = searchIndex; i <= count - XML_PATTERN.length; i++)
+        {
+            int j = 0;
+            while (j < XML_PATTERN.length && buffer[i + j] == XML_PATTERN[j])
+            {
+                j++;
+            }
+            if (j == XML_PATTERN.length)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private byte[] take(int length)
+    {
+        byte[] frame = Arrays.copyOf(buffer, length);
+        System.arraycopy(buffer, length, buffer, 0, count - length);
+        count -= length;
+        searchIndex = 1;
+
+        return frame;
+    }
+}
@@ -7,6 +7,8 @@
 package org.mule.module.socket.api.connection.tcp.protocol;
 
 import static org.mule.module.socket.internal.SocketUtils.getByteArray;
+import org.mule.module.socket.api.socket.tcp.NonBlockingTcpProtocol;
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -48,7 +50,7 @@ import java.util.concurrent.ConcurrentMap;
  * be read later.
  * </p>
  */
-public class XmlMessageProtocol extends AbstractByteProtocol
+public class XmlMessageProtocol extends AbstractByteProtocol implements NonBlockingTcpProtocol
 {
 
     private static final String XML_PATTERN = "<?xml";
@@ -69,6 +71,24 @@ public class XmlMessageProtocol extends AbstractByteProtocol
         return nullIfEmptyArray(consume(socketIs));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new XmlMessageFrameDecoder(false);
+    }
+
+    /**
+     * Frames already contain a single document, so they are not parsed again.
+     */
+    @Override
+    public InputStream readFrame(byte[] frame) throws IOException
+    {
+        return nullIfEmptyArray(frame);
+    }
+
     private byte[] consume(InputStream is) throws IOException
     {
         PushbackInputStream pbis = (PushbackInputStream) pbMap.get(is);
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.module.socket.api.provider.tcp;
+
+import org.mule.module.socket.api.ConnectionSettings;
+import org.mule.module.socket.api.connection.tcp.NioTcpListenerConnection;
+import org.mule.module.socket.api.connection.tcp.protocol.SafeProtocol;
+import org.mule.module.socket.api.socket.tcp.NonBlockingTcpProtocol;
+import org.mule.module.socket.api.socket.tcp.TcpProtocol;
+import org.mule.module.socket.api.socket.tcp.TcpServerSocketProperties;
+import org.mule.module.socket.api.source.SocketListener;
+import org.mule.module.socket.internal.SocketUtils;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandlingStrategy;
+import org.mule.runtime.api.connection.ConnectionHandlingStrategyFactory;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.extension.api.annotation.Alias;
+import org.mule.runtime.extension.api.annotation.Parameter;
+import org.mule.runtime.extension.api.annotation.ParameterGroup;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+
+import java.nio.channels.Selector;
+
+/**
+ * A {@link ConnectionProvider} which provides instances of
+ * {@link NioTcpListenerConnection} to be used by {@link SocketListener}
+ * <p>
+ * Unlike the {@link TcpListenerProvider}, accepted connections are multiplexed by a {@link Selector}
+ * instead of holding a thread each, so it fits listeners with many concurrent or idle connections.
+ * SSL is not supported.
+ *
+ * @since 4.0
+ */
+@Alias("nio-tcp-listener")
+public final class NioTcpListenerProvider implements ConnectionProvider<NioTcpListenerConnection>
+{
+
+    /**
+     * This configuration parameter refers to the address where the TCP socket should listen for incoming connections.
+     */
+    @ParameterGroup
+    private ConnectionSettings connectionSettings;
+
+    /**
+     * {@link java.net.ServerSocket} configuration properties. The client timeout is the time after which idle
+     * connections are closed.
+     */
+    @ParameterGroup
+    private TcpServerSocketProperties tcpServerSocketProperties;
+
+    /**
+     * {@link TcpProtocol} that knows how the data is going to be read and written.
+     * It must be a {@link NonBlockingTcpProtocol}. If not specified, the {@link SafeProtocol} will be used.
+     */
+    @Parameter
+    @Optional
+    private TcpProtocol protocol = new SafeProtocol();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NioTcpListenerConnection connect() throws ConnectionException
+    {
+        NioTcpListenerConnection connection = new NioTcpListenerConnection(connectionSettings, protocol, tcpServerSocketProperties);
+        connection.connect();
+        return connection;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disconnect(NioTcpListenerConnection connection)
+    {
+        connection.disconnect();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConnectionValidationResult validate(NioTcpListenerConnection connection)
+    {
+        return SocketUtils.validate(connection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConnectionHandlingStrategy<NioTcpListenerConnection> getHandlingStrategy(ConnectionHandlingStrategyFactory<NioTcpListenerConnection> handlingStrategyFactory)
+    {
+        return handlingStrategyFactory.none();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.module.socket.api.socket.tcp;
+
+import org.mule.module.socket.api.connection.tcp.NioTcpListenerConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link TcpProtocol} that can also read messages received on non-blocking
+ * connections, as done by the {@link NioTcpListenerConnection}.
+ *
+ * @since 4.0
+ */
+public interface NonBlockingTcpProtocol extends TcpProtocol
+{
+
+    /**
+     * @return a new {@link TcpFrameDecoder} to split the data received on a single connection into frames
+     */
+    TcpFrameDecoder createFrameDecoder();
+
+    /**
+     * Reads a message from a complete frame.
+     *
+     * @param frame a frame returned by a decoder created by this protocol
+     * @return an {@link InputStream} containing the message, or {@code null} if there is no message
+     * @throws IOException if an exception occurs
+     */
+    InputStream readFrame(byte[] frame) throws IOException;
+}
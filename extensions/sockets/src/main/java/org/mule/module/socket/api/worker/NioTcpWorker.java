@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.module.socket.api.worker;
+
+import static java.lang.String.format;
+import static org.mule.module.socket.internal.SocketUtils.createMuleMessage;
+
+import org.mule.module.socket.api.SocketAttributes;
+import org.mule.module.socket.api.connection.tcp.NioTcpListenerConnection;
+import org.mule.module.socket.api.socket.tcp.NonBlockingTcpProtocol;
+import org.mule.runtime.api.execution.CompletionHandler;
+import org.mule.runtime.api.execution.ExceptionCallback;
+import org.mule.runtime.api.message.MuleEvent;
+import org.mule.runtime.extension.api.runtime.MessageHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One worker is created per each complete frame received by the {@link NioTcpListenerConnection}.
+ * <p>
+ * Unlike the {@link TcpWorker}, this worker does not own the connection. It only processes
+ * a single message and hands the serialized response back to the listener connection through
+ * a {@link ResponseCallback}, so the connection is written without blocking.
+ *
+ * @since 4.0
+ */
+public final class NioTcpWorker extends SocketWorker
+{
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NioTcpWorker.class);
+    private static final byte[] NO_RESPONSE = new byte[0];
+
+    private final byte[] frame;
+    private final NonBlockingTcpProtocol protocol;
+    private final SocketAttributes attributes;
+    private final ResponseCallback responseCallback;
+
+    public NioTcpWorker(byte[] frame, NonBlockingTcpProtocol protocol, SocketAttributes attributes,
+                        MessageHandler<InputStream, SocketAttributes> messageHandler,
+                        ResponseCallback responseCallback)
+    {
+        super(messageHandler);
+        this.frame = frame;
+        this.protocol = protocol;
+        this.attributes = attributes;
+        this.responseCallback = responseCallback;
+    }
+
+    @Override
+    public void run()
+    {
+        InputStream content;
+        try
+        {
+            content = protocol.readFrame(frame);
+        }
+        catch (IOException e)
+        {
+            if (LOGGER.isDebugEnabled())
+            {
+                LOGGER.debug("An error occurred while reading a message received by the non-blocking TCP listener", e);
+            }
+
+            responseCallback.close();
+            return;
+        }
+
+        if (content == null)
+        {
+            responseCallback.respond(NO_RESPONSE);
+            return;
+        }
+
+        messageHandler.handle(createMuleMessage(content, attributes), new CompletionHandler<MuleEvent, Exception, MuleEvent>()
+        {
+            @Override
+            public void onCompletion(MuleEvent muleEvent, ExceptionCallback<MuleEvent, Exception> exceptionCallback)
+            {
+                ByteArrayOutputStream response = new ByteArrayOutputStream();
+                try
+                {
+                    protocol.write(response, muleEvent.getMessage().getPayload(), encoding);
+                    responseCallback.respond(response.toByteArray());
+                }
+                catch (IOException e)
+                {
+                    responseCallback.close();
+                    exceptionCallback.onException(new IOException(
+                            format("An error occurred while sending TCP response to address '%s:%d'",
+                                   attributes.getHostAddress(), attributes.getPort()), e));
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e)
+            {
+                LOGGER.error("TCP worker will not answer back due an exception was received", e);
+
+                responseCallback.close();
+            }
+        });
+    }
+
+    /**
+     * The connection is owned by the {@link NioTcpListenerConnection}, so there is nothing to release.
+     */
+    @Override
+    public void release()
+    {
+    }
+
+    @Override
+    public void dispose()
+    {
+    }
+
+    /**
+     * Receives the outcome of a {@link NioTcpWorker}. Exactly one of its methods is invoked per worker.
+     */
+    public interface ResponseCallback
+    {
+
+        /**
+         * @param response data to be written into the connection, which may be empty
+         */
+        void respond(byte[] response);
+
+        /**
+         * Closes the connection, as the message could not be processed.
+         */
+        void close();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket;
+
+import static org.junit.Assert.assertEquals;
+import org.mule.runtime.core.util.IOUtils;
+
+import java.io.InputStream;
+
+import org.junit.Test;
+
+public class NioTcpListenerTestCase extends ParameterizedProtocolTestCase
+{
+
+    @Override
+    protected String getConfigFile()
+    {
+        return "nio-tcp-listener-config.xml";
+    }
+
+    @Test
+    public void sendStringAndReceiveModifiedString() throws Exception
+    {
+        assertEquals(RESPONSE_TEST_STRING, send(TEST_STRING));
+    }
+
+    @Test
+    public void multipleSendOnPooledConnection() throws Exception
+    {
+        for (int i = 0; i < REPETITIONS; i++)
+        {
+            String message = TEST_STRING + i;
+            assertEquals(message + "_modified", send(message));
+        }
+    }
+
+    private String send(String message) throws Exception
+    {
+        InputStream payload = (InputStream) flowRunner("tcp-send")
+                .withPayload(message)
+                .run().getMessage().getPayload();
+
+        return IOUtils.toString(payload);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.protocol;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mule.module.socket.internal.SocketUtils.DEFAULT_ENCODING;
+import org.mule.module.socket.api.connection.tcp.protocol.EOFFrameDecoder;
+import org.mule.module.socket.api.connection.tcp.protocol.LengthFrameDecoder;
+import org.mule.module.socket.api.connection.tcp.protocol.LengthProtocol;
+import org.mule.module.socket.api.connection.tcp.protocol.SafeProtocol;
+import org.mule.module.socket.api.connection.tcp.protocol.XmlMessageFrameDecoder;
+import org.mule.module.socket.api.exceptions.LengthExceededException;
+import org.mule.module.socket.api.socket.tcp.NonBlockingTcpProtocol;
+import org.mule.module.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+@SmallTest
+public class FrameDecoderTestCase extends AbstractMuleTestCase
+{
+
+    private static final String TEST_MESSAGE = "hello";
+    private static final String OTHER_MESSAGE = "goodbye";
+
+    @Test
+    public void lengthFramesSplitAcrossReads() throws Exception
+    {
+        LengthProtocol protocol = new LengthProtocol();
+        byte[] data = concat(write(protocol, TEST_MESSAGE), write(protocol, OTHER_MESSAGE));
+        TcpFrameDecoder decoder = protocol.createFrameDecoder();
+
+        assertThat(decoder.decode(ByteBuffer.wrap(data, 0, 2)), is(nullValue()));
+        ByteBuffer remaining = ByteBuffer.wrap(data, 2, data.length - 2);
+        assertThat(read(protocol, decoder.decode(remaining)), is(TEST_MESSAGE));
+        assertThat(read(protocol, decoder.decode(remaining)), is(OTHER_MESSAGE));
+        assertThat(decoder.decode(remaining), is(nullValue()));
+        assertThat(decoder.endOfStream(), is(nullValue()));
+    }
+
+    @Test(expected = LengthExceededException.class)
+    public void lengthFrameExceedsLimit() throws Exception
+    {
+        new LengthFrameDecoder(2).decode(ByteBuffer.wrap(write(new LengthProtocol(), TEST_MESSAGE)));
+    }
+
+    @Test(expected = EOFException.class)
+    public void lengthFrameClosedBeforeEnd() throws Exception
+    {
+        TcpFrameDecoder decoder = new LengthFrameDecoder(-1);
+        decoder.decode(ByteBuffer.wrap(write(new LengthProtocol(), TEST_MESSAGE), 0, 6));
+        decoder.endOfStream();
+    }
+
+    @Test
+    public void safeFrameReceivedByteByByte() throws Exception
+    {
+        SafeProtocol protocol = new SafeProtocol();
+        byte[] data = write(protocol, TEST_MESSAGE);
+        TcpFrameDecoder decoder = protocol.createFrameDecoder();
+
+        byte[] frame = null;
+        for (int i = 0; i < data.length; i++)
+        {
+            assertThat(frame, is(nullValue()));
+            frame = decoder.decode(ByteBuffer.wrap(data, i, 1));
+        }
+        assertThat(read(protocol, frame), is(TEST_MESSAGE));
+    }
+
+    @Test
+    public void eofFrameReturnedWhenClosed() throws Exception
+    {
+        TcpFrameDecoder decoder = new EOFFrameDecoder();
+
+        assertThat(decoder.decode(ByteBuffer.wrap(TEST_MESSAGE.getBytes())), is(nullValue()));
+        assertThat(decoder.decode(ByteBuffer.wrap(OTHER_MESSAGE.getBytes())), is(nullValue()));
+        assertThat(new String(decoder.endOfStream()), is(TEST_MESSAGE + OTHER_MESSAGE));
+    }
+
+    @Test
+    public void xmlFramesSplitByDeclaration() throws Exception
+    {
+        String first = "<?xml version=\"1.0\"?><data>hello</data>";
+        String second = "<?xml version=\"1.0\"?><data>goodbye</data>";
+        TcpFrameDecoder decoder = new XmlMessageFrameDecoder(true);
+
+        assertThat(decoder.decode(ByteBuffer.wrap((first + "<?x").getBytes())), is(nullValue()));
+        assertThat(new String(decoder.decode(ByteBuffer.wrap(("ml" + second.substring(5)).getBytes()))), is(first));
+        assertThat(decoder.decode(ByteBuffer.allocate(0)), is(nullValue()));
+        assertThat(new String(decoder.endOfStream()), is(second));
+    }
+
+    private byte[] write(NonBlockingTcpProtocol protocol, String message) throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        protocol.write(out, message, DEFAULT_ENCODING);
+        return out.toByteArray();
+    }
+
+    private String read(NonBlockingTcpProtocol protocol, byte[] frame) throws Exception
+    {
+        return IOUtils.toString(protocol.readFrame(frame));
+    }
+
+    private byte[] concat(byte[] first, byte[] second)
+    {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -22,9 +22,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,14 +37,26 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * By using a {@link ClassLoaderLookupPolicy} this classLoader can use
  * parent-first, parent-only or child-first classloading lookup mode per package.
+ * <p/>
+ * Composed {@link FilteringArtifactClassLoader} that use an {@link ArtifactClassLoaderFilter} are indexed
+ * by their exported class packages, so they are only queried for the classes they can provide.
  */
 public class CompositeClassLoader extends ClassLoader implements ClassLoaderLookupPolicyProvider
 {
 
+    static
+    {
+        registerAsParallelCapable();
+    }
+
     protected static final Logger logger = LoggerFactory.getLogger(CompositeClassLoader.class);
 
+    private static final String EMPTY_PACKAGE = "";
+
     protected final List<ClassLoader> classLoaders;
     private final ClassLoaderLookupPolicy lookupPolicy;
+    private final Map<String, List<ClassLoader>> packageClassLoaders;
+    private final List<ClassLoader> unindexedClassLoaders;
 
     /**
      * Creates a new instance
@@ -58,6 +72,50 @@ public class CompositeClassLoader extends ClassLoader implements ClassLoaderLook
         checkArgument(lookupPolicy != null, "Lookup policy cannot be null");
         this.lookupPolicy = lookupPolicy;
         this.classLoaders = new LinkedList<>(classLoaders);
+
+        final Set<String> indexedPackages = new LinkedHashSet<>();
+        this.unindexedClassLoaders = new ArrayList<>();
+        for (ClassLoader classLoader : this.classLoaders)
+        {
+            final Set<String> exportedPackages = getExportedClassPackages(classLoader);
+            if (exportedPackages == null)
+            {
+                unindexedClassLoaders.add(classLoader);
+            }
+            else
+            {
+                indexedPackages.addAll(exportedPackages);
+            }
+        }
+
+        this.packageClassLoaders = new HashMap<>();
+        for (String packageName : indexedPackages)
+        {
+            final List<ClassLoader> packageDelegates = new ArrayList<>();
+            for (ClassLoader classLoader : this.classLoaders)
+            {
+                final Set<String> exportedPackages = getExportedClassPackages(classLoader);
+                if (exportedPackages == null || exportedPackages.contains(packageName))
+                {
+                    packageDelegates.add(classLoader);
+                }
+            }
+            packageClassLoaders.put(packageName, packageDelegates);
+        }
+    }
+
+    private Set<String> getExportedClassPackages(ClassLoader classLoader)
+    {
+        if (classLoader instanceof FilteringArtifactClassLoader)
+        {
+            final ClassLoaderFilter filter = ((FilteringArtifactClassLoader) classLoader).getFilter();
+            if (filter instanceof ArtifactClassLoaderFilter)
+            {
+                return ((ArtifactClassLoaderFilter) filter).getExportedClassPackages();
+            }
+        }
+
+        return null;
     }
 
     @Override
@@ -73,8 +131,9 @@ public class CompositeClassLoader extends ClassLoader implements ClassLoaderLook
     }
 
     @Override
-    protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
     {
+        // No class is defined by this classLoader, so there is no need to lock while delegating
         final ClassLoaderLookupStrategy lookupStrategy = lookupPolicy.getLookupStrategy(name);
         Class<?> result;
 
@@ -122,7 +181,7 @@ public class CompositeClassLoader extends ClassLoader implements ClassLoaderLook
 
     private Class<?> doLoadClass(String name, List<ClassNotFoundException> exceptions)
     {
-        for (ClassLoader classLoader : classLoaders)
+        for (ClassLoader classLoader : getClassLoaders(name))
         {
             try
             {
@@ -143,6 +202,15 @@ public class CompositeClassLoader extends ClassLoader implements ClassLoaderLook
         return null;
     }
 
+    private List<ClassLoader> getClassLoaders(String className)
+    {
+        final int packageSeparatorIndex = className.lastIndexOf('.');
+        final String packageName = packageSeparatorIndex < 0 ? EMPTY_PACKAGE : className.substring(0, packageSeparatorIndex);
+        final List<ClassLoader> packageDelegates = packageClassLoaders.get(packageName);
+
+        return packageDelegates == null ? unindexedClassLoaders : packageDelegates;
+    }
+
     @Override
     public URL getResource(String name)
     {
@@ -143,6 +143,14 @@ public class FilteringArtifactClassLoader extends ClassLoader implements Artifac
         return artifactClassLoader.getArtifactName();
     }
 
+    /**
+     * @return the filter that determines which classes and resources are exported. Non null.
+     */
+    public ClassLoaderFilter getFilter()
+    {
+        return filter;
+    }
+
     @Override
     public ClassLoader getClassLoader()
     {
@@ -14,6 +14,8 @@ import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStra
 import org.mule.runtime.module.artifact.classloader.exception.CompositeClassNotFoundException;
 
 import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Defines a {@link ClassLoader} which enables the control of the class
@@ -21,10 +23,22 @@ import java.net.URL;
  * <p/>
  * By using a {@link ClassLoaderLookupPolicy} this classLoader can use
  * parent-first, parent-only or child-first classloading lookup mode per package.
+ * <p/>
+ * This classLoader is parallel capable, so classes with different names are loaded concurrently. Names
+ * of classes that are not found in its own URLs are remembered, so they are not looked up again.
  */
 public class FineGrainedControlClassLoader extends GoodCitizenClassLoader implements ClassLoaderLookupPolicyProvider
 {
+
+    static
+    {
+        registerAsParallelCapable();
+    }
+
+    private static final int MAX_NOT_FOUND_CLASSES = 10000;
+
     private final ClassLoaderLookupPolicy lookupPolicy;
+    private final Set<String> notFoundClasses = ConcurrentHashMap.newKeySet();
 
     public FineGrainedControlClassLoader(URL[] urls, ClassLoader parent, ClassLoaderLookupPolicy lookupPolicy)
     {
@@ -34,7 +48,15 @@ public class FineGrainedControlClassLoader extends GoodCitizenClassLoader implem
     }
 
     @Override
-    protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+    {
+        synchronized (getClassLoadingLock(name))
+        {
+            return doLoadClass(name, resolve);
+        }
+    }
+
+    private Class<?> doLoadClass(String name, boolean resolve) throws ClassNotFoundException
     {
         Class<?> result = findLoadedClass(name);
 
@@ -64,14 +86,14 @@ public class FineGrainedControlClassLoader extends GoodCitizenClassLoader implem
                 catch (ClassNotFoundException e)
                 {
                     firstException = e;
-                    result = findClass(name);
+                    result = findLocalClass(name);
                 }
             }
             else
             {
                 try
                 {
-                    result = findClass(name);
+                    result = findLocalClass(name);
                 }
                 catch (ClassNotFoundException e)
                 {
@@ -111,6 +133,35 @@ public class FineGrainedControlClassLoader extends GoodCitizenClassLoader implem
         return super.findClass(name);
     }
 
+    private Class<?> findLocalClass(String name) throws ClassNotFoundException
+    {
+        if (notFoundClasses.contains(name))
+        {
+            throw new ClassNotFoundException(name);
+        }
+
+        try
+        {
+            return findClass(name);
+        }
+        catch (ClassNotFoundException e)
+        {
+            if (notFoundClasses.size() >= MAX_NOT_FOUND_CLASSES)
+            {
+                notFoundClasses.clear();
+            }
+            notFoundClasses.add(name);
+            throw e;
+        }
+    }
+
+    @Override
+    protected void addURL(URL url)
+    {
+        super.addURL(url);
+        notFoundClasses.clear();
+    }
+
     @Override
     public ClassLoaderLookupPolicy getClassLoaderLookupPolicy()
     {
@@ -7,12 +7,16 @@
 
 package org.mule.runtime.module.artifact.classloader;
 
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStrategy.PARENT_FIRST;
 import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStrategy.PARENT_ONLY;
@@ -22,6 +26,7 @@ import org.mule.runtime.module.artifact.classloader.TestClassLoader.TestClassNot
 import org.mule.runtime.module.artifact.classloader.exception.CompositeClassNotFoundException;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -216,6 +221,37 @@ public class CompositeClassLoaderTestCase extends AbstractMuleTestCase
         assertThat(library, equalTo(null));
     }
 
+    @Test
+    public void usesFilteringClassLoaderExportingClassPackage() throws Exception
+    {
+        classLoader1.addClass(CLASS_NAME, CLASS_FROM_CLASSLOADER1);
+        classLoader2.addClass(CLASS_NAME, CLASS_FROM_CLASSLOADER2);
+        final ArtifactClassLoader artifactClassLoader = mock(ArtifactClassLoader.class);
+        when(artifactClassLoader.getClassLoader()).thenReturn(classLoader1);
+        final FilteringArtifactClassLoader filteringClassLoader = new FilteringArtifactClassLoader(artifactClassLoader, new ArtifactClassLoaderFilter(singleton(CLASS_PACKAGE), emptySet()));
+
+        final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+        CompositeClassLoader compositeClassLoader = new CompositeClassLoader(parentClassLoader, Arrays.asList(filteringClassLoader, classLoader2), lookupPolicy);
+
+        Class<?> aClass = compositeClassLoader.loadClass(CLASS_NAME, true);
+        assertThat(aClass, equalTo(CLASS_FROM_CLASSLOADER1));
+    }
+
+    @Test
+    public void skipsFilteringClassLoaderNotExportingClassPackage() throws Exception
+    {
+        classLoader2.addClass(CLASS_NAME, CLASS_FROM_CLASSLOADER2);
+        final ArtifactClassLoader artifactClassLoader = mock(ArtifactClassLoader.class);
+        final FilteringArtifactClassLoader filteringClassLoader = new FilteringArtifactClassLoader(artifactClassLoader, new ArtifactClassLoaderFilter(singleton("org.foo"), emptySet()));
+
+        final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+        CompositeClassLoader compositeClassLoader = new CompositeClassLoader(parentClassLoader, Arrays.asList(filteringClassLoader, classLoader2), lookupPolicy);
+
+        Class<?> aClass = compositeClassLoader.loadClass(CLASS_NAME, true);
+        assertThat(aClass, equalTo(CLASS_FROM_CLASSLOADER2));
+        verify(artifactClassLoader, never()).getClassLoader();
+    }
+
     private CompositeClassLoader createCompositeClassLoader(ClassLoaderLookupPolicy lookupPolicy)
     {
         List<ClassLoader> classLoaders = new LinkedList<>();
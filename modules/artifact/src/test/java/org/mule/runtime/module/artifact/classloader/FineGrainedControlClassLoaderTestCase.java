@@ -29,6 +29,7 @@ import org.mule.tck.size.SmallTest;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -169,6 +170,63 @@ public class FineGrainedControlClassLoaderTestCase extends AbstractMuleTestCase
         invokeTestClassMethod(ext);
     }
 
+    @Test
+    public void doesNotLookUpMissingClassTwice() throws Exception
+    {
+        ClassLoader parent = Thread.currentThread().getContextClassLoader();
+
+        final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+        when(lookupPolicy.getLookupStrategy(TEST_CLASS_NAME)).thenReturn(CHILD_FIRST);
+
+        final AtomicInteger lookups = new AtomicInteger();
+        FineGrainedControlClassLoader ext = new FineGrainedControlClassLoader(new URL[0], parent, lookupPolicy)
+        {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException
+            {
+                lookups.incrementAndGet();
+                return super.findClass(name);
+            }
+        };
+
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                ext.loadClass(TEST_CLASS_NAME);
+            }
+            catch (ClassNotFoundException e)
+            {
+                // Expected
+            }
+        }
+
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void looksUpMissingClassAgainAfterAddingUrl() throws Exception
+    {
+        URLClassLoader parent = new URLClassLoader(new URL[0], Thread.currentThread().getContextClassLoader());
+
+        final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+        when(lookupPolicy.getLookupStrategy(TEST_CLASS_NAME)).thenReturn(CHILD_FIRST);
+
+        FineGrainedControlClassLoader ext = new FineGrainedControlClassLoader(new URL[0], parent, lookupPolicy);
+        try
+        {
+            ext.loadClass(TEST_CLASS_NAME);
+        }
+        catch (ClassNotFoundException e)
+        {
+            // Expected
+        }
+
+        ext.addURL(getChildFileResource());
+
+        assertEquals(EXPECTED_CHILD_MESSAGE, invokeTestClassMethod(ext));
+    }
+
     protected FineGrainedControlClassLoader buildFineGrainedControlClassLoader(ClassLoader parent, final ClassLoaderLookupPolicy lookupPolicy)
     {
         return new FineGrainedControlClassLoader(new URL[0], parent, lookupPolicy)
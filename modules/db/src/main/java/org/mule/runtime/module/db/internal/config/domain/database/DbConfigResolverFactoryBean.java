@@ -194,6 +194,7 @@ public class DbConfigResolverFactoryBean extends AnnotatedObjectFactoryBean<DbCo
     public void setPoolingProfile(DbPoolingProfile poolingProfile)
     {
         dataSourceConfig.setPoolingProfile(poolingProfile);
+        dbConfigFactory.setPoolingProfile(poolingProfile);
     }
 
     public void setCustomDataTypes(List<DbType> customDataTypes)
@@ -11,7 +11,8 @@ import static org.springframework.beans.factory.support.BeanDefinitionBuilder.ge
 
 import org.mule.runtime.module.db.internal.result.resultset.IteratorResultSetHandler;
 import org.mule.runtime.module.db.internal.result.resultset.ListResultSetHandler;
-import org.mule.runtime.module.db.internal.result.row.InsensitiveMapRowHandler;
+import org.mule.runtime.module.db.internal.result.resultset.PageIteratorResultSetHandler;
+import org.mule.runtime.module.db.internal.result.row.CompactRowHandler;
 
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -21,12 +22,16 @@ import org.w3c.dom.Element;
 public abstract class AbstractResultSetHandlerProcessorDefinitionParser extends AbstractSingleQueryProcessorDefinitionParser
 {
 
+    public static final String PAGE_SIZE_ATTRIBUTE = "pageSize";
+
     protected String resultSetHandlerBeanName;
+    protected String pageSize;
 
     @Override
     protected void doParseElement(Element element, ParserContext context, BeanDefinitionBuilder builder)
     {
         resultSetHandlerBeanName = getBeanName(element) + ".resultSetHandler";
+        pageSize = element.hasAttribute(PAGE_SIZE_ATTRIBUTE) ? element.getAttribute(PAGE_SIZE_ATTRIBUTE) : null;
         super.doParseElement(element, context, builder);
         builder.addConstructorArgValue(streaming);
     }
@@ -36,10 +41,18 @@ public abstract class AbstractResultSetHandlerProcessorDefinitionParser extends
     {
         super.processStreamingAttribute(streamingValue);
 
-        InsensitiveMapRowHandler recordHandler = new InsensitiveMapRowHandler();
+        CompactRowHandler recordHandler = new CompactRowHandler();
 
         BeanDefinition beanDefinition;
-        if (Boolean.parseBoolean(streamingValue))
+        if (Boolean.parseBoolean(streamingValue) && pageSize != null)
+        {
+            beanDefinition = genericBeanDefinition(PageIteratorResultSetHandler.class)
+                                                  .addConstructorArgValue(recordHandler)
+                                                  .addConstructorArgReference("db.statementStreamingResultSetCloser")
+                                                  .addConstructorArgValue(pageSize)
+                                                  .getBeanDefinition();
+        }
+        else if (Boolean.parseBoolean(streamingValue))
         {
             beanDefinition = genericBeanDefinition(IteratorResultSetHandler.class)
                                                   .addConstructorArgValue(recordHandler)
@@ -46,6 +46,7 @@ public class BulkUpdateMessageProcessorFactoryBean implements FactoryBean<Messag
     private QueryMetadataProvider queryMetadataProvider;
     private AutoGeneratedKeyStrategy autoGeneratedKeyStrategy;
     private StatementStreamingResultSetCloser streamingResultSetCloser;
+    private int bulkSize;
     private MuleContext muleContext;
 
     public BulkUpdateMessageProcessorFactoryBean(DbConfigResolver dbConfigResolver, QueryResolver queryResolver, BulkQueryExecutorFactory bulkUpdateExecutorFactory, TransactionalAction transactionalAction, List<QueryType> validQueryTypes, Query query)
@@ -69,7 +70,9 @@ public class BulkUpdateMessageProcessorFactoryBean implements FactoryBean<Messag
         }
         else
         {
-            bulkUpdateMessageProcessor = new PreparedBulkUpdateMessageProcessor(dbConfigResolver, queryResolver, bulkUpdateExecutorFactory, transactionalAction, validQueryTypes, new DynamicParamValueResolver(muleContext.getExpressionManager()));
+            PreparedBulkUpdateMessageProcessor preparedBulkUpdateMessageProcessor = new PreparedBulkUpdateMessageProcessor(dbConfigResolver, queryResolver, bulkUpdateExecutorFactory, transactionalAction, validQueryTypes, new DynamicParamValueResolver(muleContext.getExpressionManager()));
+            preparedBulkUpdateMessageProcessor.setBulkSize(bulkSize);
+            bulkUpdateMessageProcessor = preparedBulkUpdateMessageProcessor;
         }
 
         bulkUpdateMessageProcessor.setSource(source);
@@ -117,6 +120,11 @@ public class BulkUpdateMessageProcessorFactoryBean implements FactoryBean<Messag
     {
         this.streamingResultSetCloser = streamingResultSetCloser;
     }
+
+    public void setBulkSize(int bulkSize)
+    {
+        this.bulkSize = bulkSize;
+    }
     
     @Override
     public void setMuleContext(MuleContext muleContext)
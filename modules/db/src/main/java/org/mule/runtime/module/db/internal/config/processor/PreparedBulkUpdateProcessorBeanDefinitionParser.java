@@ -22,6 +22,8 @@ import org.w3c.dom.Element;
 public class PreparedBulkUpdateProcessorBeanDefinitionParser extends AbstractSingleQueryProcessorDefinitionParser
 {
 
+    public static final String BULK_SIZE_ATTRIBUTE = "bulkSize";
+
     private final List<QueryType> validQueryTypes;
 
     public PreparedBulkUpdateProcessorBeanDefinitionParser(List<QueryType> validQueryTypes)
@@ -44,6 +46,11 @@ public class PreparedBulkUpdateProcessorBeanDefinitionParser extends AbstractSin
         parseAutoGeneratedKeys(element, builder);
         parseMetadataProvider(element, builder);
         builder.addConstructorArgValue(queryBean);
+
+        if (element.hasAttribute(BULK_SIZE_ATTRIBUTE))
+        {
+            builder.addPropertyValue(BULK_SIZE_ATTRIBUTE, element.getAttribute(BULK_SIZE_ATTRIBUTE));
+        }
     }
 
     @Override
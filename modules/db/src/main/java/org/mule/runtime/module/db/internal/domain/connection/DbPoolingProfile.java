@@ -20,6 +20,8 @@ public class DbPoolingProfile
     private int acquireIncrement = 1;
     private int preparedStatementCacheSize = 5;
     private int maxWaitMillis = 300000;  // 30 seconds
+    private int connectionStatementCacheSize = 0;
+    private boolean statementCacheStatisticsEnabled = false;
 
     public int getPreparedStatementCacheSize()
     {
@@ -72,11 +74,40 @@ public class DbPoolingProfile
         this.maxWaitMillis = maxWaitMillis;
     }
 
+    public int getConnectionStatementCacheSize()
+    {
+        return connectionStatementCacheSize;
+    }
+
+    /**
+     * @param connectionStatementCacheSize number of idle statements that are kept by each connection used by the
+     *                                     DB operations, so they are not prepared again when the connection is
+     *                                     reused, as happens inside a transaction. Zero disables the cache.
+     */
+    public void setConnectionStatementCacheSize(int connectionStatementCacheSize)
+    {
+        this.connectionStatementCacheSize = connectionStatementCacheSize;
+    }
+
+    public boolean isStatementCacheStatisticsEnabled()
+    {
+        return statementCacheStatisticsEnabled;
+    }
+
+    /**
+     * @param statementCacheStatisticsEnabled whether hits, misses and evictions of the connection statement caches
+     *                                        are counted
+     */
+    public void setStatementCacheStatisticsEnabled(boolean statementCacheStatisticsEnabled)
+    {
+        this.statementCacheStatisticsEnabled = statementCacheStatisticsEnabled;
+    }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(minPoolSize, maxPoolSize, acquireIncrement, preparedStatementCacheSize, maxWaitMillis);
+        return Objects.hash(minPoolSize, maxPoolSize, acquireIncrement, preparedStatementCacheSize, maxWaitMillis,
+                            connectionStatementCacheSize, statementCacheStatisticsEnabled);
     }
 
     @Override
@@ -109,6 +140,14 @@ public class DbPoolingProfile
         {
             return false;
         }
+        if (connectionStatementCacheSize != that.connectionStatementCacheSize)
+        {
+            return false;
+        }
+        if (statementCacheStatisticsEnabled != that.statementCacheStatisticsEnabled)
+        {
+            return false;
+        }
         return maxWaitMillis == that.maxWaitMillis;
 
     }
@@ -31,13 +31,23 @@ import java.util.concurrent.Executor;
 
 /**
  * Delegates {@link Connection} behaviour to a delegate
+ * <p/>
+ * When a {@link StatementCache} is provided, the statements prepared by the DB operations are taken from it.
  */
 public class DefaultDbConnection extends AbstractDbConnection
 {
 
+    private final StatementCache statementCache;
+
     public DefaultDbConnection(Connection delegate, TransactionalAction transactionalAction, DefaultDbConnectionReleaser connectionReleaseListener, ParamTypeResolverFactory paramTypeResolverFactory)
+    {
+        this(delegate, transactionalAction, connectionReleaseListener, paramTypeResolverFactory, null);
+    }
+
+    public DefaultDbConnection(Connection delegate, TransactionalAction transactionalAction, DefaultDbConnectionReleaser connectionReleaseListener, ParamTypeResolverFactory paramTypeResolverFactory, StatementCache statementCache)
     {
         super(delegate, transactionalAction, connectionReleaseListener, paramTypeResolverFactory);
+        this.statementCache = statementCache;
     }
 
     @Override
@@ -49,6 +59,10 @@ public class DefaultDbConnection extends AbstractDbConnection
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException
     {
+        if (statementCache != null)
+        {
+            return statementCache.prepareStatement(sql, () -> delegate.prepareStatement(sql));
+        }
         return delegate.prepareStatement(sql);
     }
 
@@ -91,6 +105,10 @@ public class DefaultDbConnection extends AbstractDbConnection
     @Override
     public void close() throws SQLException
     {
+        if (statementCache != null)
+        {
+            statementCache.close();
+        }
         delegate.close();
     }
 
@@ -169,6 +187,10 @@ public class DefaultDbConnection extends AbstractDbConnection
     @Override
     public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException
     {
+        if (statementCache != null)
+        {
+            return (CallableStatement) statementCache.prepareStatement(sql, () -> delegate.prepareCall(sql, resultSetType, resultSetConcurrency), CallableStatement.class, resultSetType, resultSetConcurrency);
+        }
         return delegate.prepareCall(sql, resultSetType, resultSetConcurrency);
     }
 
@@ -241,18 +263,30 @@ public class DefaultDbConnection extends AbstractDbConnection
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException
     {
+        if (statementCache != null)
+        {
+            return statementCache.prepareStatement(sql, () -> delegate.prepareStatement(sql, autoGeneratedKeys), autoGeneratedKeys);
+        }
         return delegate.prepareStatement(sql, autoGeneratedKeys);
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException
     {
+        if (statementCache != null)
+        {
+            return statementCache.prepareStatement(sql, () -> delegate.prepareStatement(sql, columnIndexes), (Object) columnIndexes);
+        }
         return delegate.prepareStatement(sql, columnIndexes);
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException
     {
+        if (statementCache != null)
+        {
+            return statementCache.prepareStatement(sql, () -> delegate.prepareStatement(sql, columnNames), (Object) columnNames);
+        }
         return delegate.prepareStatement(sql, columnNames);
     }
 
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the prepared statements of a connection once they are closed, so executing the same SQL again on that
+ * connection does not need to prepare it again.
+ * <p/>
+ * Statements handed out by the cache are closed as usual, which resets them and returns them to the cache. Only
+ * statements that are not in use are kept, up to a maximum size, evicting the least recently used ones.
+ */
+public class StatementCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+
+    /**
+     * Prepares the statement on the underlying connection when it is not cached
+     */
+    public interface StatementCreator
+    {
+
+        PreparedStatement create() throws SQLException;
+    }
+
+    private final int maxSize;
+    private final StatementCacheStatistics statistics;
+    private final LinkedHashMap<Object, PreparedStatement> idleStatements;
+    private boolean closed;
+
+    /**
+     * @param maxSize maximum number of idle statements kept. Must be positive
+     * @param statistics collects the cache usage. Can be null.
+     */
+    public StatementCache(int maxSize, StatementCacheStatistics statistics)
+    {
+        this.maxSize = maxSize;
+        this.statistics = statistics;
+        this.idleStatements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets a statement for the given SQL and options, preparing it when there is none cached.
+     *
+     * @param sql SQL text of the statement
+     * @param creator prepares the statement when there is none cached
+     * @param options options the statement is prepared with, which are part of the cache key
+     * @return a statement that returns to the cache when it is closed
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(String sql, StatementCreator creator, Object... options) throws SQLException
+    {
+        Object key = createKey(sql, options);
+
+        PreparedStatement statement;
+        synchronized (this)
+        {
+            statement = closed ? null : idleStatements.remove(key);
+        }
+
+        if (statement == null)
+        {
+            if (statistics != null)
+            {
+                statistics.miss();
+            }
+            statement = creator.create();
+        }
+        else if (statistics != null)
+        {
+            statistics.hit();
+        }
+
+        return createCachedStatement(key, statement);
+    }
+
+    /**
+     * Closes all the idle statements. Statements in use are closed once they are released.
+     */
+    public void close()
+    {
+        List<PreparedStatement> statements;
+        synchronized (this)
+        {
+            closed = true;
+            statements = new ArrayList<>(idleStatements.values());
+            idleStatements.clear();
+        }
+
+        for (PreparedStatement statement : statements)
+        {
+            closeQuietly(statement);
+        }
+    }
+
+    public synchronized boolean isClosed()
+    {
+        return closed;
+    }
+
+    synchronized int size()
+    {
+        return idleStatements.size();
+    }
+
+    private void release(Object key, PreparedStatement statement, int fetchSize)
+    {
+        try
+        {
+            if (statement.isClosed())
+            {
+                // Closed through its result set
+                return;
+            }
+            statement.clearParameters();
+            statement.clearWarnings();
+            statement.setMaxRows(0);
+            statement.setQueryTimeout(0);
+            statement.setFetchSize(fetchSize);
+        }
+        catch (SQLException e)
+        {
+            if (logger.isDebugEnabled())
+            {
+                logger.debug("Unable to reset statement, it won't be cached", e);
+            }
+            closeQuietly(statement);
+            return;
+        }
+
+        PreparedStatement evicted = null;
+        boolean cached = false;
+        synchronized (this)
+        {
+            if (!closed && !idleStatements.containsKey(key))
+            {
+                idleStatements.put(key, statement);
+                cached = true;
+
+                if (idleStatements.size() > maxSize)
+                {
+                    Iterator<PreparedStatement> iterator = idleStatements.values().iterator();
+                    evicted = iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+
+        if (!cached)
+        {
+            closeQuietly(statement);
+        }
+        if (evicted != null)
+        {
+            if (statistics != null)
+            {
+                statistics.eviction();
+            }
+            closeQuietly(evicted);
+        }
+    }
+
+    private PreparedStatement createCachedStatement(Object key, PreparedStatement statement) throws SQLException
+    {
+        Class<?> statementInterface = statement instanceof CallableStatement ? CallableStatement.class : PreparedStatement.class;
+
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {statementInterface}, new CachedStatementHandler(key, statement));
+    }
+
+    private Object createKey(String sql, Object[] options)
+    {
+        List<Object> key = new ArrayList<>(options.length + 1);
+        key.add(sql);
+        for (Object option : options)
+        {
+            if (option instanceof int[])
+            {
+                key.add(Arrays.toString((int[]) option));
+            }
+            else if (option instanceof Object[])
+            {
+                key.add(Arrays.asList((Object[]) option));
+            }
+            else
+            {
+                key.add(option);
+            }
+        }
+
+        return key;
+    }
+
+    private static void closeQuietly(PreparedStatement statement)
+    {
+        try
+        {
+            statement.close();
+        }
+        catch (SQLException e)
+        {
+            if (logger.isDebugEnabled())
+            {
+                logger.debug("Error closing cached statement", e);
+            }
+        }
+    }
+
+    /**
+     * Delegates to a cached statement, restoring the settings changed by the executors and returning it to the
+     * cache instead of closing it.
+     */
+    private class CachedStatementHandler implements InvocationHandler
+    {
+
+        private final Object key;
+        private final PreparedStatement statement;
+        private final int fetchSize;
+        private boolean released;
+
+        private CachedStatementHandler(Object key, PreparedStatement statement) throws SQLException
+        {
+            this.key = key;
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            String methodName = method.getName();
+
+            if ("close".equals(methodName) && method.getParameterTypes().length == 0)
+            {
+                if (!released)
+                {
+                    released = true;
+                    release(key, statement, fetchSize);
+                }
+                return null;
+            }
+            else if ("isClosed".equals(methodName) && method.getParameterTypes().length == 0)
+            {
+                return released || statement.isClosed();
+            }
+            else if (released)
+            {
+                throw new SQLException("Statement is closed");
+            }
+
+            try
+            {
+                return method.invoke(statement, args);
+            }
+            catch (InvocationTargetException e)
+            {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.connection;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the hits, misses and evictions of the {@link StatementCache}s created by a connection factory
+ */
+public class StatementCacheStatistics
+{
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void hit()
+    {
+        hits.increment();
+    }
+
+    void miss()
+    {
+        misses.increment();
+    }
+
+    void eviction()
+    {
+        evictions.increment();
+    }
+
+    /**
+     * @return number of statements that were taken from a cache
+     */
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of statements that had to be prepared because there was none cached
+     */
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of cached statements that were closed to make room for others
+     */
+    public long getEvictions()
+    {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("StatementCacheStatistics{hits=%d, misses=%d, evictions=%d}", getHits(), getMisses(), getEvictions());
+    }
+}
@@ -16,6 +16,9 @@ import org.mule.runtime.module.db.internal.resolver.param.GenericParamTypeResolv
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
@@ -34,13 +37,37 @@ public class TransactionalDbConnectionFactory implements DbConnectionFactory
     protected final DbTypeManager dbTypeManager;
     private final ConnectionFactory connectionFactory;
     private final DataSource dataSource;
+    private final int statementCacheSize;
+    private final StatementCacheStatistics statementCacheStatistics;
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
 
     public TransactionalDbConnectionFactory(DbTransactionManager dbTransactionManager, DbTypeManager dbTypeManager, ConnectionFactory connectionFactory, DataSource dataSource)
+    {
+        this(dbTransactionManager, dbTypeManager, connectionFactory, dataSource, null);
+    }
+
+    /**
+     * Creates a factory whose connections cache their prepared statements as configured in the pooling profile
+     *
+     * @param poolingProfile pooling profile of the data source. Can be null.
+     */
+    public TransactionalDbConnectionFactory(DbTransactionManager dbTransactionManager, DbTypeManager dbTypeManager, ConnectionFactory connectionFactory, DataSource dataSource, DbPoolingProfile poolingProfile)
     {
         this.dbTransactionManager = dbTransactionManager;
         this.dbTypeManager = dbTypeManager;
         this.connectionFactory = connectionFactory;
         this.dataSource = dataSource;
+        this.statementCacheSize = poolingProfile == null ? 0 : poolingProfile.getConnectionStatementCacheSize();
+        this.statementCacheStatistics = statementCacheSize > 0 && poolingProfile.isStatementCacheStatisticsEnabled() ? new StatementCacheStatistics() : null;
+    }
+
+    /**
+     * @return the usage of the statement caches of the created connections, null when the statement cache or
+     *         its statistics are not enabled
+     */
+    public StatementCacheStatistics getStatementCacheStatistics()
+    {
+        return statementCacheStatistics;
     }
 
     @Override
@@ -101,7 +128,58 @@ public class TransactionalDbConnectionFactory implements DbConnectionFactory
 
     protected DbConnection doCreateDbConnection(Connection connection, TransactionalAction transactionalAction)
     {
-        return new DefaultDbConnection(connection, transactionalAction, new DefaultDbConnectionReleaser(this), new GenericParamTypeResolverFactory(dbTypeManager));
+        return new DefaultDbConnection(connection, transactionalAction, new DefaultDbConnectionReleaser(this), new GenericParamTypeResolverFactory(dbTypeManager), getStatementCache(connection));
+    }
+
+    /**
+     * Gets the statement cache of a connection. The same connection is wrapped again every time it is used inside
+     * a transaction, so the cache is kept for the connection itself, not for the wrapper.
+     */
+    private StatementCache getStatementCache(Connection connection)
+    {
+        if (statementCacheSize <= 0)
+        {
+            return null;
+        }
+
+        synchronized (statementCaches)
+        {
+            StatementCache statementCache = statementCaches.get(connection);
+            if (statementCache == null || statementCache.isClosed())
+            {
+                removeClosedStatementCaches();
+                statementCache = new StatementCache(statementCacheSize, statementCacheStatistics);
+                statementCaches.put(connection, statementCache);
+            }
+            return statementCache;
+        }
+    }
+
+    private void removeClosedStatementCaches()
+    {
+        Iterator<Map.Entry<Connection, StatementCache>> iterator = statementCaches.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<Connection, StatementCache> entry = iterator.next();
+            boolean closed = entry.getValue().isClosed();
+            if (!closed)
+            {
+                try
+                {
+                    closed = entry.getKey().isClosed();
+                }
+                catch (SQLException e)
+                {
+                    closed = true;
+                }
+            }
+
+            if (closed)
+            {
+                entry.getValue().close();
+                iterator.remove();
+            }
+        }
     }
 
     private Connection getConnectionFromTransaction(Transaction tx, DataSource dataSource) throws SQLException
@@ -8,6 +8,7 @@
 package org.mule.runtime.module.db.internal.domain.database;
 
 import org.mule.runtime.core.api.retry.RetryPolicyTemplate;
+import org.mule.runtime.module.db.internal.domain.connection.DbPoolingProfile;
 import org.mule.runtime.module.db.internal.domain.type.DbType;
 
 import java.util.List;
@@ -30,4 +31,11 @@ public interface ConfigurableDbConfigFactory extends DbConfigFactory
      * @param retryPolicyTemplate retry policety template. Can be null.
      */
     void setRetryPolicyTemplate(RetryPolicyTemplate retryPolicyTemplate);
+
+    /**
+     * Sets the pooling profile used to configure the connections of the created {@link DbConfig}
+     *
+     * @param poolingProfile pooling profile. Can be null.
+     */
+    void setPoolingProfile(DbPoolingProfile poolingProfile);
 }
@@ -13,6 +13,7 @@ import org.mule.runtime.core.api.retry.RetryPolicyTemplate;
 import org.mule.runtime.module.db.internal.domain.connection.ConnectionCreationException;
 import org.mule.runtime.module.db.internal.domain.connection.ConnectionFactory;
 import org.mule.runtime.module.db.internal.domain.connection.DbConnectionFactory;
+import org.mule.runtime.module.db.internal.domain.connection.DbPoolingProfile;
 import org.mule.runtime.module.db.internal.domain.connection.RetryConnectionFactory;
 import org.mule.runtime.module.db.internal.domain.connection.SimpleConnectionFactory;
 import org.mule.runtime.module.db.internal.domain.connection.TransactionalDbConnectionFactory;
@@ -69,6 +70,7 @@ public class GenericDbConfigFactory implements ConfigurableDbConfigFactory
 
     private List<DbType> customDataTypes;
     private RetryPolicyTemplate retryPolicyTemplate;
+    private DbPoolingProfile poolingProfile;
 
     @Override
     public DbConfig create(String name, Map<QName, Object> annotations, DataSource dataSource)
@@ -87,7 +89,7 @@ public class GenericDbConfigFactory implements ConfigurableDbConfigFactory
 
         DbTypeManager dbTypeManager = doCreateTypeManager();
 
-        DbConnectionFactory dbConnectionFactory = new TransactionalDbConnectionFactory(new TransactionCoordinationDbTransactionManager(), dbTypeManager, connectionFactory, dataSource);
+        DbConnectionFactory dbConnectionFactory = new TransactionalDbConnectionFactory(new TransactionCoordinationDbTransactionManager(), dbTypeManager, connectionFactory, dataSource, poolingProfile);
 
         return doCreateDbConfig(dataSource, dbTypeManager, dbConnectionFactory, name);
     }
@@ -152,4 +154,10 @@ public class GenericDbConfigFactory implements ConfigurableDbConfigFactory
     {
         this.retryPolicyTemplate = retryPolicyTemplate;
     }
+
+    @Override
+    public void setPoolingProfile(DbPoolingProfile poolingProfile)
+    {
+        this.poolingProfile = poolingProfile;
+    }
 }
@@ -13,7 +13,9 @@ import org.mule.runtime.module.db.internal.domain.query.Query;
 import org.mule.runtime.module.db.internal.domain.query.QueryParamValue;
 
 import java.sql.SQLException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Executes bulk queries against a database
@@ -41,4 +43,19 @@ public interface BulkExecutor
      * @throws SQLException if a database access error occurs or this method is called on a closed connection
      */
     Object execute(DbConnection connection, Query query, List<List<QueryParamValue>> paramValues) throws SQLException;
+
+    /**
+     * Executes a parameterized query using a bulk of parameter sets, sending them to the database in batches of
+     * a given size, so only the parameter sets of the batches in progress are kept in memory
+     *
+     * @param connection connection to the database where the query will be executed. Non null
+     * @param query parameterized query to executed using the sets of parameters
+     * @param paramValues provides the parameters to use to execute the query. Non null
+     * @param bulkSize maximum number of parameter sets sent in a single batch. Must be positive
+     * @param executor executes a batch while the parameter sets of the next one are obtained. Can be null, in which
+     *                 case batches are executed in the calling thread
+     * @return a non null result of the query execution
+     * @throws SQLException if a database access error occurs or this method is called on a closed connection
+     */
+    Object execute(DbConnection connection, Query query, Iterator<List<QueryParamValue>> paramValues, int bulkSize, Executor executor) throws SQLException;
 }
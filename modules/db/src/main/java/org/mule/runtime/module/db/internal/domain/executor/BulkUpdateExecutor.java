@@ -19,7 +19,13 @@ import org.mule.runtime.module.db.internal.domain.statement.StatementFactory;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 /**
  * Executes bulk queries
@@ -62,33 +68,193 @@ public class BulkUpdateExecutor extends AbstractExecutor implements BulkExecutor
 
     @Override
     public Object execute(DbConnection connection, Query query, List<List<QueryParamValue>> paramValues) throws SQLException
+    {
+        PreparedStatement preparedStatement = createPreparedStatement(connection, query);
+        try
+        {
+            return executeBatch(preparedStatement, query, paramValues);
+        }
+        finally
+        {
+            preparedStatement.clearParameters();
+            preparedStatement.close();
+        }
+    }
+
+    @Override
+    public Object execute(DbConnection connection, Query query, Iterator<List<QueryParamValue>> paramValues, int bulkSize, Executor executor) throws SQLException
+    {
+        PreparedStatement preparedStatement = createPreparedStatement(connection, query);
+        try
+        {
+            UpdateCounts updateCounts = new UpdateCounts();
+            List<List<QueryParamValue>> batch = nextBatch(paramValues, bulkSize);
+
+            while (!batch.isEmpty())
+            {
+                if (executor == null)
+                {
+                    updateCounts.add(executeBatch(preparedStatement, query, batch));
+                    batch = nextBatch(paramValues, bulkSize);
+                }
+                else
+                {
+                    // Executes the batch while the parameters of the next one are resolved, but the statement is
+                    // only used by one thread at a time
+                    List<List<QueryParamValue>> currentBatch = batch;
+                    FutureTask<int[]> execution = new FutureTask<>(() -> executeBatch(preparedStatement, query, currentBatch));
+                    executor.execute(execution);
+
+                    try
+                    {
+                        batch = nextBatch(paramValues, bulkSize);
+                    }
+                    catch (RuntimeException e)
+                    {
+                        awaitQuietly(execution);
+                        throw e;
+                    }
+                    updateCounts.add(await(execution));
+                }
+            }
+
+            return updateCounts.toArray();
+        }
+        finally
+        {
+            preparedStatement.clearParameters();
+            preparedStatement.close();
+        }
+    }
+
+    private PreparedStatement createPreparedStatement(DbConnection connection, Query query) throws SQLException
     {
         Statement statement = statementFactory.create(connection, query.getQueryTemplate());
 
         if (!(statement instanceof PreparedStatement))
         {
+            statement.close();
             throw new IllegalArgumentException("Bulk update must be executed on a prepared statement");
         }
 
-        PreparedStatement preparedStatement = (PreparedStatement) statement;
+        return (PreparedStatement) statement;
+    }
+
+    private int[] executeBatch(PreparedStatement preparedStatement, Query query, List<List<QueryParamValue>> paramValues) throws SQLException
+    {
         PreparedBulkQueryLogger queryLogger = queryLoggerFactory.createBulkQueryLogger(logger, query.getQueryTemplate(), paramValues.size());
+
+        for (List<QueryParamValue> params : paramValues)
+        {
+            doProcessParameters(preparedStatement, query.getQueryTemplate(), params, queryLogger);
+            preparedStatement.addBatch();
+            queryLogger.addParameterSet();
+        }
+
+        queryLogger.logQuery();
+
+        int[] updateCounts = preparedStatement.executeBatch();
+
+        if (logger.isDebugEnabled())
+        {
+            logger.debug(String.format("Executed batch of %d parameter sets. Update counts: %s", paramValues.size(), Arrays.toString(updateCounts)));
+        }
+
+        return updateCounts;
+    }
+
+    private List<List<QueryParamValue>> nextBatch(Iterator<List<QueryParamValue>> paramValues, int bulkSize)
+    {
+        List<List<QueryParamValue>> batch = new ArrayList<>(bulkSize);
+        while (batch.size() < bulkSize && paramValues.hasNext())
+        {
+            batch.add(paramValues.next());
+        }
+
+        return batch;
+    }
+
+    private int[] await(FutureTask<int[]> execution) throws SQLException
+    {
+        boolean interrupted = false;
         try
         {
-            for (List<QueryParamValue> params : paramValues)
+            while (true)
             {
-                doProcessParameters(preparedStatement, query.getQueryTemplate(), params, queryLogger);
-                preparedStatement.addBatch();
-                queryLogger.addParameterSet();
+                try
+                {
+                    return execution.get();
+                }
+                catch (InterruptedException e)
+                {
+                    // The statement can't be released until the batch finishes
+                    interrupted = true;
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof SQLException)
+                    {
+                        throw (SQLException) cause;
+                    }
+                    if (cause instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error)
+                    {
+                        throw (Error) cause;
+                    }
+                    throw new SQLException(cause);
+                }
             }
+        }
+        finally
+        {
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 
-            queryLogger.logQuery();
+    private void awaitQuietly(FutureTask<int[]> execution)
+    {
+        try
+        {
+            await(execution);
+        }
+        catch (SQLException | RuntimeException e)
+        {
+            if (logger.isDebugEnabled())
+            {
+                logger.debug("Error executing batch after failing to resolve the next one", e);
+            }
+        }
+    }
+
+    /**
+     * Accumulates the update counts of the executed batches
+     */
+    private static class UpdateCounts
+    {
+
+        private int[] counts = new int[16];
+        private int size;
 
-            return preparedStatement.executeBatch();
+        void add(int[] batchCounts)
+        {
+            if (size + batchCounts.length > counts.length)
+            {
+                counts = Arrays.copyOf(counts, Math.max(counts.length * 2, size + batchCounts.length));
+            }
+            System.arraycopy(batchCounts, 0, counts, size, batchCounts.length);
+            size += batchCounts.length;
         }
-        finally
+
+        int[] toArray()
         {
-            preparedStatement.clearParameters();
-            statement.close();
+            return Arrays.copyOf(counts, size);
         }
     }
 }
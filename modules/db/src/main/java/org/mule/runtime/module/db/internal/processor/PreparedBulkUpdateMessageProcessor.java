@@ -42,11 +42,15 @@ import java.util.List;
  * <p/>
  * Both database and queries are resolved, if required, using the {@link org.mule.runtime.core.api.MuleEvent}
  * being processed.
+ * <p/>
+ * When a bulk size is configured, the input is consumed as the query executes, sending batches of that size to
+ * the database. The parameters of a batch are resolved while the previous one executes.
  */
 public class PreparedBulkUpdateMessageProcessor extends AbstractBulkUpdateMessageProcessor
 {
 
     private final ParamValueResolver paramValueResolver;
+    private int bulkSize;
 
     public PreparedBulkUpdateMessageProcessor(DbConfigResolver dbConfigResolver, QueryResolver queryResolver, BulkQueryExecutorFactory bulkUpdateExecutorFactory, TransactionalAction transactionalAction, List<QueryType> validQueryTypes, ParamValueResolver paramValueResolver)
     {
@@ -61,9 +65,16 @@ public class PreparedBulkUpdateMessageProcessor extends AbstractBulkUpdateMessag
 
         validateQueryType(query.getQueryTemplate());
 
+        BulkExecutor bulkUpdateExecutor = bulkUpdateExecutorFactory.create();
+
+        if (bulkSize > 0)
+        {
+            Iterator<List<QueryParamValue>> paramValues = new ParamSetIterator(muleEvent, query, getIterator(muleEvent));
+            return bulkUpdateExecutor.execute(connection, query, paramValues, bulkSize, muleContext.getWorkManager());
+        }
+
         List<List<QueryParamValue>> paramValues = resolveParamSets(muleEvent, query);
 
-        BulkExecutor bulkUpdateExecutor = bulkUpdateExecutorFactory.create();
         return bulkUpdateExecutor.execute(connection, query, paramValues);
     }
 
@@ -75,15 +86,34 @@ public class PreparedBulkUpdateMessageProcessor extends AbstractBulkUpdateMessag
 
         while (paramsIterator.hasNext())
         {
-            MuleMessage itemMessage = MuleMessage.builder().payload(paramsIterator.next()).build();
-            MuleEvent itemEvent = new DefaultMuleEvent(itemMessage, muleEvent);
-            List<QueryParamValue> queryParamValues = paramValueResolver.resolveParams(itemEvent, query.getParamValues());
-            result.add(queryParamValues);
+            result.add(resolveParamSet(muleEvent, query, paramsIterator.next()));
         }
 
         return result;
     }
 
+    private List<QueryParamValue> resolveParamSet(MuleEvent muleEvent, Query query, Object item)
+    {
+        MuleMessage itemMessage = MuleMessage.builder().payload(item).build();
+        MuleEvent itemEvent = new DefaultMuleEvent(itemMessage, muleEvent);
+
+        return paramValueResolver.resolveParams(itemEvent, query.getParamValues());
+    }
+
+    public int getBulkSize()
+    {
+        return bulkSize;
+    }
+
+    /**
+     * @param bulkSize maximum number of parameter sets sent to the database in a single batch. Zero, the default,
+     *                 sends the whole input in one batch
+     */
+    public void setBulkSize(int bulkSize)
+    {
+        this.bulkSize = bulkSize;
+    }
+
     @Override
     protected List<FieldDebugInfo<?>> getMessageProcessorDebugInfo(DbConnection connection, MuleEvent muleEvent)
     {
@@ -123,4 +153,34 @@ public class PreparedBulkUpdateMessageProcessor extends AbstractBulkUpdateMessag
 
         return fields;
     }
+
+    /**
+     * Resolves the parameter sets as the input items are consumed
+     */
+    private class ParamSetIterator implements Iterator<List<QueryParamValue>>
+    {
+
+        private final MuleEvent muleEvent;
+        private final Query query;
+        private final Iterator<Object> paramsIterator;
+
+        private ParamSetIterator(MuleEvent muleEvent, Query query, Iterator<Object> paramsIterator)
+        {
+            this.muleEvent = muleEvent;
+            this.query = query;
+            this.paramsIterator = paramsIterator;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return paramsIterator.hasNext();
+        }
+
+        @Override
+        public List<QueryParamValue> next()
+        {
+            return resolveParamSet(muleEvent, query, paramsIterator.next());
+        }
+    }
 }
@@ -16,13 +16,22 @@ import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
 import org.mule.runtime.module.db.internal.parser.QueryTemplateParser;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Resolves a dynamic query evaluating expressions using a given event
+ * <p/>
+ * The templates parsed from the resolved SQL texts are kept, as dynamic queries usually resolve to a few
+ * distinct SQL texts. They are dropped as a whole when there are more than {@link #MAX_CACHED_QUERY_TEMPLATES},
+ * to bound them when values are embedded in the SQL text.
  */
 public class DynamicQueryResolver implements QueryResolver
 {
 
+    public static final int MAX_CACHED_QUERY_TEMPLATES = 256;
+
+    private final Map<String, QueryTemplate> queryTemplates = new ConcurrentHashMap<>();
     private final Query query;
     private final QueryTemplateParser queryTemplateParser;
     private final ExpressionManager expressionManager;
@@ -41,7 +50,16 @@ public class DynamicQueryResolver implements QueryResolver
         {
             QueryTemplate queryTemplate = query.getQueryTemplate();
             String resolvedSqlText = expressionManager.parse(queryTemplate.getSqlText(), muleEvent);
-            queryTemplate = queryTemplateParser.parse(resolvedSqlText);
+            queryTemplate = queryTemplates.get(resolvedSqlText);
+            if (queryTemplate == null)
+            {
+                queryTemplate = queryTemplateParser.parse(resolvedSqlText);
+                if (queryTemplates.size() >= MAX_CACHED_QUERY_TEMPLATES)
+                {
+                    queryTemplates.clear();
+                }
+                queryTemplates.put(resolvedSqlText, queryTemplate);
+            }
 
             return new Query(queryTemplate, Collections.<QueryParamValue>emptyList());
         }
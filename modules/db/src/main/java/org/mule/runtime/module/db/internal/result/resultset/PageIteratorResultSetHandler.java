@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.resultset;
+
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.result.row.RowHandler;
+import org.mule.runtime.module.db.internal.result.statement.StatementStreamingResultSetCloser;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Processes a {@link ResultSet} returning an iterator of pages, each one a list of maps.
+ * <p/>
+ * As in {@link IteratorResultSetHandler}, rows are read from the {@link ResultSet} as the pages are iterated.
+ */
+public class PageIteratorResultSetHandler implements ResultSetHandler
+{
+
+    private final IteratorResultSetHandler iteratorResultSetHandler;
+    private final int pageSize;
+
+    public PageIteratorResultSetHandler(RowHandler rowHandler, StatementStreamingResultSetCloser streamingResultSetCloser, int pageSize)
+    {
+        this.iteratorResultSetHandler = new IteratorResultSetHandler(rowHandler, streamingResultSetCloser);
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public ResultSetPageIterator processResultSet(DbConnection connection, ResultSet resultSet) throws SQLException
+    {
+        return new ResultSetPageIterator(iteratorResultSetHandler.processResultSet(connection, resultSet), pageSize);
+    }
+
+    @Override
+    public boolean requiresMultipleOpenedResults()
+    {
+        return iteratorResultSetHandler.requiresMultipleOpenedResults();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.resultset;
+
+import org.mule.runtime.core.api.Closeable;
+import org.mule.runtime.core.api.MuleException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the rows of a {@link ResultSetIterator} in pages of a given size
+ */
+public class ResultSetPageIterator implements Iterator<List<Map<String, Object>>>, Closeable
+{
+
+    private final ResultSetIterator resultSetIterator;
+    private final int pageSize;
+
+    public ResultSetPageIterator(ResultSetIterator resultSetIterator, int pageSize)
+    {
+        this.resultSetIterator = resultSetIterator;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return resultSetIterator.hasNext();
+    }
+
+    @Override
+    public List<Map<String, Object>> next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        List<Map<String, Object>> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize && resultSetIterator.hasNext())
+        {
+            page.add(resultSetIterator.next());
+        }
+
+        return page;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws MuleException
+    {
+        resultSetIterator.close();
+    }
+}
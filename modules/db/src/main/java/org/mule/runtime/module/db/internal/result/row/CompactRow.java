@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.row;
+
+import org.mule.runtime.core.util.CaseInsensitiveHashMap;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A case insensitive map holding the values of a row by position, and the column labels in a {@link RowHeader}
+ * shared with the other rows of the same result set.
+ * <p/>
+ * Values of existing columns can be replaced in place. Adding or removing keys copies the row to a
+ * {@link CaseInsensitiveHashMap} that backs the row from then on.
+ */
+public class CompactRow extends AbstractMap<String, Object> implements Serializable
+{
+
+    private static final long serialVersionUID = 6407291236874016839L;
+
+    private final RowHeader header;
+    private final Object[] values;
+    private Map<String, Object> map;
+
+    public CompactRow(RowHeader header, Object[] values)
+    {
+        this.header = header;
+        this.values = values;
+    }
+
+    @Override
+    public int size()
+    {
+        return map == null ? values.length : map.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return map == null ? header.indexOf(key) >= 0 : map.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key)
+    {
+        if (map != null)
+        {
+            return map.get(key);
+        }
+
+        int index = header.indexOf(key);
+
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Object put(String key, Object value)
+    {
+        if (map == null)
+        {
+            int index = header.indexOf(key);
+            if (index >= 0)
+            {
+                Object previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+        }
+
+        return getMap().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key)
+    {
+        return getMap().remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        getMap().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet()
+    {
+        if (map != null)
+        {
+            return map.entrySet();
+        }
+
+        return new AbstractSet<Entry<String, Object>>()
+        {
+            @Override
+            public Iterator<Entry<String, Object>> iterator()
+            {
+                return new ColumnIterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return CompactRow.this.size();
+            }
+        };
+    }
+
+    private Map<String, Object> getMap()
+    {
+        if (map == null)
+        {
+            Map<String, Object> copy = new CaseInsensitiveHashMap(values.length);
+            for (int i = 0; i < values.length; i++)
+            {
+                copy.put(header.getColumnLabel(i), values[i]);
+            }
+            map = copy;
+        }
+
+        return map;
+    }
+
+    private class ColumnIterator implements Iterator<Entry<String, Object>>
+    {
+
+        private int index = 0;
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < values.length;
+        }
+
+        @Override
+        public Entry<String, Object> next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            final int column = index++;
+
+            return new SimpleEntry<String, Object>(header.getColumnLabel(column), values[column])
+            {
+                @Override
+                public Object setValue(Object value)
+                {
+                    values[column] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.row;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.util.Map;
+
+/**
+ * Maps a row to a {@link CompactRow}, a case insensitive map that shares the column labels with the other rows
+ * of the same result set.
+ * <p/>
+ * The header of the last result set processed by each thread is kept, so the column labels are read once per
+ * result set instead of once per row.
+ */
+public class CompactRowHandler implements RowHandler
+{
+
+    private final ThreadLocal<ResultSetHeader> lastHeader = new ThreadLocal<>();
+
+    @Override
+    public Map<String, Object> process(ResultSet resultSet) throws SQLException
+    {
+        RowHeader header = getHeader(resultSet);
+        int cols = header.getColumnCount();
+        Object[] values = new Object[cols];
+
+        for (int i = 0; i < cols; i++)
+        {
+            Object value = resultSet.getObject(i + 1);
+
+            if (value instanceof SQLXML)
+            {
+                value = ((SQLXML) value).getString();
+            }
+
+            values[i] = value;
+        }
+
+        return new CompactRow(header, values);
+    }
+
+    private RowHeader getHeader(ResultSet resultSet) throws SQLException
+    {
+        ResultSetHeader resultSetHeader = lastHeader.get();
+
+        if (resultSetHeader == null || resultSetHeader.resultSet.get() != resultSet)
+        {
+            resultSetHeader = new ResultSetHeader(resultSet, RowHeader.create(resultSet.getMetaData()));
+            lastHeader.set(resultSetHeader);
+        }
+
+        return resultSetHeader.header;
+    }
+
+    private static class ResultSetHeader
+    {
+
+        private final WeakReference<ResultSet> resultSet;
+        private final RowHeader header;
+
+        private ResultSetHeader(ResultSet resultSet, RowHeader header)
+        {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.header = header;
+        }
+    }
+}
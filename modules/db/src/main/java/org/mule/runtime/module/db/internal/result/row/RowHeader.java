@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.row;
+
+import java.io.Serializable;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Describes the columns of the rows of a {@link java.sql.ResultSet}, so they are shared by all the
+ * {@link CompactRow}s created from it
+ */
+public class RowHeader implements Serializable
+{
+
+    private static final long serialVersionUID = -2417634316583329437L;
+
+    private final String[] columnLabels;
+    private final Map<String, Integer> columnIndexes;
+
+    /**
+     * Creates a header using the labels of the columns
+     *
+     * @param metaData metadata of the result set. Non null
+     * @return a non null header
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if two columns have the same label, ignoring case
+     */
+    public static RowHeader create(ResultSetMetaData metaData) throws SQLException
+    {
+        int cols = metaData.getColumnCount();
+        String[] columnLabels = new String[cols];
+
+        for (int i = 0; i < cols; i++)
+        {
+            columnLabels[i] = metaData.getColumnLabel(i + 1);
+        }
+
+        return new RowHeader(columnLabels);
+    }
+
+    public RowHeader(String[] columnLabels)
+    {
+        this.columnLabels = columnLabels;
+        this.columnIndexes = new HashMap<>(columnLabels.length * 2);
+
+        for (int i = 0; i < columnLabels.length; i++)
+        {
+            if (columnIndexes.put(columnLabels[i].toLowerCase(), i) != null)
+            {
+                throw new IllegalArgumentException("Record cannot be mapped as it contains multiple columns with the same label. Define column aliases to solve this problem");
+            }
+        }
+    }
+
+    public int getColumnCount()
+    {
+        return columnLabels.length;
+    }
+
+    public String getColumnLabel(int index)
+    {
+        return columnLabels[index];
+    }
+
+    /**
+     * @param key a column label, in any case
+     * @return the index of the column, -1 when there is no such column
+     */
+    public int indexOf(Object key)
+    {
+        if (key == null)
+        {
+            return -1;
+        }
+
+        Integer index = columnIndexes.get(key.toString().toLowerCase());
+
+        return index == null ? -1 : index;
+    }
+}
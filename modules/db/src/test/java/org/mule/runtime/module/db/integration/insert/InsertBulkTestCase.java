@@ -63,6 +63,26 @@ public class InsertBulkTestCase extends AbstractDbIntegrationTestCase
         assertBulkInsert(response.getPayload());
     }
 
+    @Test
+    public void insertsInBatches() throws Exception
+    {
+        List<String> planetNames = new ArrayList<String>();
+        planetNames.add("Pluto");
+        planetNames.add("Saturn");
+        planetNames.add("Mars");
+
+        final MuleEvent responseEvent = flowRunner("insertBulkInBatches").withPayload(planetNames.iterator()).run();
+
+        int[] counters = (int[]) responseEvent.getMessage().getPayload();
+        assertEquals(3, counters.length);
+        for (int counter : counters)
+        {
+            assertThat(counter, anyOf(equalTo(1), equalTo(Statement.SUCCESS_NO_INFO)));
+        }
+
+        assertPlanetRecordsFromQuery("Pluto", "Saturn", "Mars");
+    }
+
     @Test(expected = MessagingException.class)
     public void requiresCollectionPayload() throws Exception
     {
@@ -59,4 +59,18 @@ public class SelectStreamingChunkTestCase extends AbstractDbIntegrationTestCase
         assertThat(chunks.get(1), is(instanceOf(List.class)));
         assertRecords(chunks.get(1), getMarsRecord());
     }
+
+    @Test
+    public void streamsRecordPages() throws Exception
+    {
+        final MuleEvent responseEvent = flowRunner("selectStreamingPages").withPayload(TEST_MESSAGE).run();
+
+        final MuleMessage response = responseEvent.getMessage();
+        List pages = (List) response.getPayload();
+        assertEquals(2, pages.size());
+        assertThat(pages.get(0), is(instanceOf(List.class)));
+        assertRecords(pages.get(0), getVenusRecord(), getEarthRecord());
+        assertThat(pages.get(1), is(instanceOf(List.class)));
+        assertRecords(pages.get(1), getMarsRecord());
+    }
 }
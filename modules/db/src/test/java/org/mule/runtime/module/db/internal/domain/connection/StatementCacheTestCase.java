@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.connection;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class StatementCacheTestCase extends AbstractMuleTestCase
+{
+
+    private static final String SQL_TEXT = "select * from PLANET where id = ?";
+    private static final String OTHER_SQL_TEXT = "select * from PLANET where name = ?";
+
+    private final Connection connection = mock(Connection.class);
+    private final StatementCacheStatistics statistics = new StatementCacheStatistics();
+    private StatementCache statementCache;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        when(connection.prepareStatement(SQL_TEXT)).thenAnswer(invocation -> mock(PreparedStatement.class));
+        when(connection.prepareStatement(OTHER_SQL_TEXT)).thenAnswer(invocation -> mock(PreparedStatement.class));
+        statementCache = new StatementCache(1, statistics);
+    }
+
+    @Test
+    public void reusesClosedStatement() throws Exception
+    {
+        PreparedStatement statement = prepare(SQL_TEXT);
+        statement.executeQuery();
+        statement.close();
+
+        prepare(SQL_TEXT).executeQuery();
+
+        verify(connection, times(1)).prepareStatement(SQL_TEXT);
+        assertThat(statistics.getHits(), equalTo(1L));
+        assertThat(statistics.getMisses(), equalTo(1L));
+    }
+
+    @Test
+    public void preparesNewStatementWhileCachedOneIsInUse() throws Exception
+    {
+        prepare(SQL_TEXT);
+        prepare(SQL_TEXT);
+
+        verify(connection, times(2)).prepareStatement(SQL_TEXT);
+        assertThat(statistics.getMisses(), equalTo(2L));
+    }
+
+    @Test
+    public void resetsStatementBeforeCachingIt() throws Exception
+    {
+        PreparedStatement delegate = mock(PreparedStatement.class);
+        when(delegate.getFetchSize()).thenReturn(10);
+
+        PreparedStatement statement = statementCache.prepareStatement(SQL_TEXT, () -> delegate);
+        statement.setFetchSize(100);
+        statement.close();
+
+        verify(delegate).clearParameters();
+        verify(delegate).setMaxRows(0);
+        verify(delegate).setQueryTimeout(0);
+        verify(delegate).setFetchSize(10);
+        verify(delegate, never()).close();
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedStatement() throws Exception
+    {
+        PreparedStatement delegate = mock(PreparedStatement.class);
+        statementCache.prepareStatement(SQL_TEXT, () -> delegate).close();
+        prepare(OTHER_SQL_TEXT).close();
+
+        verify(delegate).close();
+        assertThat(statistics.getEvictions(), equalTo(1L));
+    }
+
+    @Test
+    public void differentiatesStatementOptions() throws Exception
+    {
+        prepare(SQL_TEXT).close();
+
+        PreparedStatement delegate = mock(PreparedStatement.class);
+        statementCache.prepareStatement(SQL_TEXT, () -> delegate, new String[] {"ID"});
+
+        assertThat(statistics.getMisses(), equalTo(2L));
+    }
+
+    @Test
+    public void keepsCallableStatementInterface() throws Exception
+    {
+        PreparedStatement statement = statementCache.prepareStatement(SQL_TEXT, () -> mock(CallableStatement.class), CallableStatement.class);
+
+        assertThat(statement, instanceOf(CallableStatement.class));
+    }
+
+    @Test
+    public void closesIdleStatementsOnClose() throws Exception
+    {
+        PreparedStatement delegate = mock(PreparedStatement.class);
+        statementCache.prepareStatement(SQL_TEXT, () -> delegate).close();
+
+        statementCache.close();
+
+        verify(delegate).close();
+    }
+
+    @Test
+    public void closesStatementReleasedAfterClose() throws Exception
+    {
+        PreparedStatement delegate = mock(PreparedStatement.class);
+        PreparedStatement statement = statementCache.prepareStatement(SQL_TEXT, () -> delegate);
+
+        statementCache.close();
+        statement.close();
+
+        verify(delegate).close();
+    }
+
+    @Test(expected = SQLException.class)
+    public void failsToUseClosedStatement() throws Exception
+    {
+        PreparedStatement statement = prepare(SQL_TEXT);
+        statement.close();
+
+        statement.executeQuery();
+    }
+
+    @Test(expected = SQLException.class)
+    public void propagatesStatementError() throws Exception
+    {
+        PreparedStatement delegate = mock(PreparedStatement.class);
+        when(delegate.executeQuery()).thenThrow(new SQLException("error"));
+
+        statementCache.prepareStatement(SQL_TEXT, () -> delegate).executeQuery();
+    }
+
+    private PreparedStatement prepare(String sql) throws SQLException
+    {
+        return statementCache.prepareStatement(sql, () -> connection.prepareStatement(sql));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.row;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.module.db.integration.TestRecordUtil;
+import org.mule.runtime.module.db.integration.model.Field;
+import org.mule.runtime.module.db.integration.model.Record;
+import org.mule.runtime.module.db.test.util.ColumnMetadata;
+import org.mule.runtime.module.db.test.util.ResultSetBuilder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+@SmallTest
+public class CompactRowHandlerTestCase extends AbstractMuleTestCase
+{
+
+    public static final String COLUMN_NAME = "columnName";
+    public static final String COLUMN_LABEL = "columnLabel";
+    public static final String COLUMN_VALUE = "columnValue";
+    public static final String OTHER_COLUMN_NAME = "otherColumnName";
+    public static final String OTHER_COLUMN_LABEL = "otherColumnLabel";
+
+    private final CompactRowHandler rowHandler = new CompactRowHandler();
+
+    @Test
+    public void usesColumnLabel() throws Exception
+    {
+        ResultSet resultSet = createResultSet(Collections.<String, Object>singletonMap(COLUMN_NAME, COLUMN_VALUE));
+        resultSet.next();
+
+        Map<String, Object> record = rowHandler.process(resultSet);
+
+        TestRecordUtil.assertRecord(new Record(record), new Record(new Field(COLUMN_LABEL, COLUMN_VALUE)));
+    }
+
+    @Test
+    public void ignoresKeyCase() throws Exception
+    {
+        ResultSet resultSet = createResultSet(Collections.<String, Object>singletonMap(COLUMN_NAME, COLUMN_VALUE));
+        resultSet.next();
+
+        Map<String, Object> record = rowHandler.process(resultSet);
+
+        assertThat(record.get(COLUMN_LABEL.toUpperCase()), equalTo((Object) COLUMN_VALUE));
+        assertThat(record.containsKey(COLUMN_LABEL.toLowerCase()), is(true));
+        assertThat(record.get(COLUMN_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void processesMultipleRows() throws Exception
+    {
+        ResultSet resultSet = createResultSet(createRow("Venus", 2), createRow("Earth", 3));
+
+        resultSet.next();
+        Map<String, Object> first = rowHandler.process(resultSet);
+        resultSet.next();
+        Map<String, Object> second = rowHandler.process(resultSet);
+
+        assertThat(first.get(COLUMN_LABEL), equalTo((Object) "Venus"));
+        assertThat(first.get(OTHER_COLUMN_LABEL), equalTo((Object) 2));
+        assertThat(second.get(COLUMN_LABEL), equalTo((Object) "Earth"));
+        assertThat(second.get(OTHER_COLUMN_LABEL), equalTo((Object) 3));
+    }
+
+    @Test
+    public void supportsMapModifications() throws Exception
+    {
+        ResultSet resultSet = createResultSet(createRow("Venus", 2));
+        resultSet.next();
+
+        Map<String, Object> record = rowHandler.process(resultSet);
+        record.put(COLUMN_LABEL, "Mars");
+        record.put("newColumn", "newValue");
+        record.remove(OTHER_COLUMN_LABEL);
+
+        assertThat(record.size(), equalTo(2));
+        assertThat(record.get(COLUMN_LABEL), equalTo((Object) "Mars"));
+        assertThat(record.get("NEWCOLUMN"), equalTo((Object) "newValue"));
+        assertThat(record.keySet(), hasItems(COLUMN_LABEL, "newColumn"));
+    }
+
+    @Test
+    public void equalsMapWithSameEntries() throws Exception
+    {
+        ResultSet resultSet = createResultSet(createRow("Venus", 2));
+        resultSet.next();
+
+        Map<String, Object> record = rowHandler.process(resultSet);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put(COLUMN_LABEL, "Venus");
+        expected.put(OTHER_COLUMN_LABEL, 2);
+        assertThat(record, equalTo(expected));
+        assertThat(record.hashCode(), equalTo(expected.hashCode()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void detectColumnLabelDuplication() throws Exception
+    {
+        List<ColumnMetadata> columns = new ArrayList<ColumnMetadata>();
+        columns.add(new ColumnMetadata(COLUMN_NAME, COLUMN_LABEL, 1));
+        columns.add(new ColumnMetadata(COLUMN_NAME, COLUMN_LABEL.toUpperCase(), 2));
+
+        ResultSetBuilder resultSetBuilder = new ResultSetBuilder(columns);
+        resultSetBuilder.with(Collections.<String, Object>emptyMap());
+        ResultSet build = resultSetBuilder.build();
+        build.next();
+
+        rowHandler.process(build);
+    }
+
+    @SafeVarargs
+    private final ResultSet createResultSet(Map<String, Object>... rows)
+    {
+        List<ColumnMetadata> columns = new ArrayList<ColumnMetadata>();
+        columns.add(new ColumnMetadata(COLUMN_NAME, COLUMN_LABEL, 1));
+        columns.add(new ColumnMetadata(OTHER_COLUMN_NAME, OTHER_COLUMN_LABEL, 2));
+
+        ResultSetBuilder resultSetBuilder = new ResultSetBuilder(columns);
+        for (Map<String, Object> row : rows)
+        {
+            resultSetBuilder.with(row);
+        }
+
+        return resultSetBuilder.build();
+    }
+
+    private Map<String, Object> createRow(String name, int position)
+    {
+        Map<String, Object> row = new HashMap<>();
+        row.put(COLUMN_NAME, name);
+        row.put(OTHER_COLUMN_NAME, position);
+
+        return row;
+    }
+}
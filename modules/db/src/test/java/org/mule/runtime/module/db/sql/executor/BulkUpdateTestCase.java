@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.sql.executor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.executor.BulkUpdateExecutor;
+import org.mule.runtime.module.db.internal.domain.param.DefaultInputQueryParam;
+import org.mule.runtime.module.db.internal.domain.param.QueryParam;
+import org.mule.runtime.module.db.internal.domain.query.Query;
+import org.mule.runtime.module.db.internal.domain.query.QueryParamValue;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.domain.query.QueryType;
+import org.mule.runtime.module.db.internal.domain.statement.StatementFactory;
+import org.mule.runtime.module.db.internal.domain.type.UnknownDbType;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+@SmallTest
+public class BulkUpdateTestCase extends AbstractMuleTestCase
+{
+
+    private static final String SQL_TEXT = "INSERT INTO PLANET(POSITION, NAME) VALUES (777, ?)";
+
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final DbConnection connection = mock(DbConnection.class);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private BulkUpdateExecutor bulkUpdateExecutor;
+    private Query query;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        QueryTemplate queryTemplate = new QueryTemplate(SQL_TEXT, QueryType.INSERT, Collections.<QueryParam>singletonList(new DefaultInputQueryParam(1, UnknownDbType.getInstance(), null)));
+        query = new Query(queryTemplate, null);
+
+        StatementFactory statementFactory = mock(StatementFactory.class);
+        when(statementFactory.create(connection, queryTemplate)).thenReturn(statement);
+        bulkUpdateExecutor = new BulkUpdateExecutor(statementFactory);
+    }
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void executesBatchesOfBulkSize() throws Exception
+    {
+        when(statement.executeBatch()).thenReturn(new int[] {1, 1}, new int[] {1});
+
+        Object result = bulkUpdateExecutor.execute(connection, query, createParamValues("Mercury", "Venus", "Earth"), 2, null);
+
+        assertArrayEquals(new int[] {1, 1, 1}, (int[]) result);
+        verify(statement, times(3)).addBatch();
+        verify(statement, times(2)).executeBatch();
+        verify(statement).close();
+    }
+
+    @Test
+    public void executesBatchesInExecutor() throws Exception
+    {
+        when(statement.executeBatch()).thenReturn(new int[] {1, 1}, new int[] {1, 1}, new int[] {1});
+
+        Object result = bulkUpdateExecutor.execute(connection, query, createParamValues("Mercury", "Venus", "Earth", "Mars", "Jupiter"), 2, executor);
+
+        assertArrayEquals(new int[] {1, 1, 1, 1, 1}, (int[]) result);
+
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement, times(2)).setObject(anyInt(), anyObject());
+        inOrder.verify(statement).executeBatch();
+        inOrder.verify(statement, times(2)).setObject(anyInt(), anyObject());
+        inOrder.verify(statement).executeBatch();
+        inOrder.verify(statement).setObject(anyInt(), anyObject());
+        inOrder.verify(statement).executeBatch();
+        inOrder.verify(statement).close();
+    }
+
+    @Test(expected = SQLException.class)
+    public void propagatesBatchErrorFromExecutor() throws Exception
+    {
+        when(statement.executeBatch()).thenThrow(new SQLException("error"));
+
+        try
+        {
+            bulkUpdateExecutor.execute(connection, query, createParamValues("Mercury", "Venus", "Earth"), 2, executor);
+        }
+        finally
+        {
+            verify(statement).close();
+        }
+    }
+
+    @Test
+    public void executesEmptyInput() throws Exception
+    {
+        Object result = bulkUpdateExecutor.execute(connection, query, createParamValues(), 2, executor);
+
+        assertArrayEquals(new int[0], (int[]) result);
+        verify(statement, times(0)).executeBatch();
+    }
+
+    private Iterator<List<QueryParamValue>> createParamValues(String... names)
+    {
+        List<List<QueryParamValue>> paramValues = new ArrayList<>();
+        for (String name : names)
+        {
+            paramValues.add(Collections.singletonList(new QueryParamValue(null, name)));
+        }
+
+        return paramValues.iterator();
+    }
+}
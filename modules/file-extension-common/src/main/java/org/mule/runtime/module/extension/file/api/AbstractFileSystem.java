@@ -25,6 +25,7 @@ import org.mule.runtime.module.extension.file.api.lock.PathLock;
 
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
 
@@ -93,6 +94,15 @@ public abstract class AbstractFileSystem implements FileSystem
         return getListCommand().list(config, directoryPath, recursive, message, matcher);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<FileAttributes> listLazily(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher)
+    {
+        return getListCommand().listLazily(config, directoryPath, recursive, message, matcher);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -55,6 +55,28 @@ public interface FileSystem
      */
     TreeNode list(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher);
 
+    /**
+     * Lists all the files in the {@code directoryPath} which match the given {@code matcher}, like
+     * {@link #list(FileConnectorConfig, String, boolean, MuleMessage, Predicate)} does, but without
+     * building the whole tree in memory.
+     * <p>
+     * The returned {@link Iterator} lists the directory as it is consumed, returning the {@link FileAttributes}
+     * of each matching file or directory. The order in which the entries are returned is not specified. The
+     * contents of the files are not read.
+     * <p>
+     * The returned {@link Iterator} is also a {@link org.mule.runtime.core.api.Closeable}. It <b>MUST</b> be closed
+     * or fully consumed so that the resources it holds are released.
+     *
+     * @param config        the config that is parameterizing this operation
+     * @param directoryPath the path to the directory to be listed
+     * @param recursive     whether to include the contents of sub-directories
+     * @param message       the {@link MuleMessage} on which this operation was triggered
+     * @param matcher       a {@link Predicate} of {@link FileAttributes} used to filter the output
+     * @return an {@link Iterator} of {@link FileAttributes}
+     * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+     */
+    Iterator<FileAttributes> listLazily(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher);
+
     /**
      * Obtains the content and metadata of a file at a given path.
      * <p>
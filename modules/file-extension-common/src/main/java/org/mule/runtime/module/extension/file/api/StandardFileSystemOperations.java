@@ -68,6 +68,38 @@ public class StandardFileSystemOperations
         return fileSystem.list(config, directoryPath, recursive, message, getPredicate(matchWith));
     }
 
+    /**
+     * Lists all the files in the {@code directoryPath} which match the given {@code matcher}, just like
+     * the {@link #list(FileConnectorConfig, FileSystem, String, boolean, MuleMessage, FilePredicateBuilder)}
+     * operation does, but without holding the whole listing in memory.
+     * <p>
+     * The output is an {@link Iterator} which returns the {@link FileAttributes} of each matching file
+     * or directory while the listing is still in progress, so the first entries are available right away,
+     * no matter how big the listed tree is. The order of the entries is not specified and the contents of
+     * the files are not read.
+     * <p>
+     * The returned {@link Iterator} holds resources such as threads or connections until it
+     * is fully consumed or closed.
+     *
+     * @param config        the config that is parameterizing this operation
+     * @param directoryPath the path to the directory to be listed
+     * @param recursive     whether to include the contents of sub-directories. Defaults to {@code false}
+     * @param message       the {@link MuleMessage} on which this operation was triggered
+     * @param matchWith     a matcher used to filter the output
+     * @return an {@link Iterator} of {@link FileAttributes}
+     * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+     */
+    public Iterator<FileAttributes> listLazily(@UseConfig FileConnectorConfig config,
+                                               @Connection FileSystem fileSystem,
+                                               @Optional String directoryPath,
+                                               @Optional(defaultValue = "false") boolean recursive,
+                                               MuleMessage message,
+                                               @Optional FilePredicateBuilder matchWith)
+    {
+        fileSystem.changeToBaseDir(config);
+        return fileSystem.listLazily(config, directoryPath, recursive, message, getPredicate(matchWith));
+    }
+
     /**
      * Obtains the content and metadata of a file at a given path. The operation itself
      * returns a {@link MuleMessage} which payload is a {@link InputStream} with the
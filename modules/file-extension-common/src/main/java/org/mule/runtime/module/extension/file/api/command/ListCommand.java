@@ -12,6 +12,7 @@ import org.mule.runtime.module.extension.file.api.FileConnectorConfig;
 import org.mule.runtime.module.extension.file.api.FileSystem;
 import org.mule.runtime.module.extension.file.api.TreeNode;
 
+import java.util.Iterator;
 import java.util.function.Predicate;
 
 /**
@@ -34,4 +35,17 @@ public interface ListCommand
      * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
      */
     TreeNode list(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher);
+
+    /**
+     * Lists files under the considerations of {@link FileSystem#listLazily(FileConnectorConfig, String, boolean, MuleMessage, Predicate)}
+     *
+     * @param config        the config that is parameterizing this operation
+     * @param directoryPath the path to the directory to be listed
+     * @param recursive     whether to include the contents of sub-directories
+     * @param message       the {@link MuleMessage} on which this operation was triggered
+     * @param matcher       a {@link Predicate} of {@link FileAttributes} used to filter the output
+     * @return an {@link Iterator} which lists the directory as it is consumed
+     * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+     */
+    Iterator<FileAttributes> listLazily(FileConnectorConfig config, String directoryPath, boolean recursive, MuleMessage message, Predicate<FileAttributes> matcher);
 }
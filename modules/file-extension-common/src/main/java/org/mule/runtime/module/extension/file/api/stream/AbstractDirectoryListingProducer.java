@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.file.api.stream;
+
+import static java.util.Collections.emptyIterator;
+import org.mule.runtime.api.message.MuleMessage;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.streaming.Producer;
+import org.mule.runtime.module.extension.file.api.FileAttributes;
+import org.mule.runtime.module.extension.file.api.FileConnectorConfig;
+import org.mule.runtime.module.extension.file.api.FileSystem;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class for {@link Producer}s which implement the
+ * {@link FileSystem#listLazily(FileConnectorConfig, String, boolean, MuleMessage, Predicate)}
+ * contract by listing one directory at a time.
+ * <p>
+ * A directory is only listed once all the entries of the previous one have been produced,
+ * so no matter how big the listed tree is, only the entries of one directory and the
+ * paths of the sub-directories which are still to be listed are held in memory.
+ * Sub-directories are listed depth first.
+ * <p>
+ * Instances <b>MUST</b> be closed or fully consumed, so that the resources held by
+ * the implementations are released.
+ *
+ * @since 4.0
+ */
+public abstract class AbstractDirectoryListingProducer implements Producer<FileAttributes>
+{
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDirectoryListingProducer.class);
+
+    private final Deque<String> pendingDirectories = new ArrayDeque<>();
+    private final boolean recursive;
+    private final Predicate<FileAttributes> matcher;
+    private Iterator<? extends FileAttributes> entries = emptyIterator();
+    private boolean closed = false;
+
+    /**
+     * Creates a new instance
+     *
+     * @param directoryPath the path to the directory to be listed
+     * @param recursive     whether to include the contents of sub-directories
+     * @param matcher       a {@link Predicate} of {@link FileAttributes} used to filter the output
+     */
+    protected AbstractDirectoryListingProducer(String directoryPath, boolean recursive, Predicate<FileAttributes> matcher)
+    {
+        this.recursive = recursive;
+        this.matcher = matcher;
+        pendingDirectories.push(directoryPath);
+    }
+
+    /**
+     * Returns the next entry which is accepted by the matcher, listing the next pending
+     * directory if the entries of the current one were exhausted.
+     * <p>
+     * If the listing fails, {@code this} producer is closed before the exception is thrown,
+     * since the consumer only closes it once it is exhausted.
+     *
+     * @return a {@link FileAttributes} or {@code null} if the listing is over or {@code this} producer was closed
+     */
+    @Override
+    public FileAttributes produce()
+    {
+        try
+        {
+            return doProduce();
+        }
+        catch (RuntimeException e)
+        {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    private FileAttributes doProduce()
+    {
+        while (!closed)
+        {
+            if (entries.hasNext())
+            {
+                FileAttributes attributes = entries.next();
+                if (isVirtualDirectory(attributes.getName()) || !matcher.test(attributes))
+                {
+                    continue;
+                }
+
+                if (recursive && attributes.isDirectory())
+                {
+                    pendingDirectories.push(attributes.getPath());
+                }
+                return attributes;
+            }
+            else if (pendingDirectories.isEmpty())
+            {
+                return null;
+            }
+            else
+            {
+                entries = listDirectory(pendingDirectories.pop());
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Lists the immediate contents of the directory at the given {@code path}
+     *
+     * @param path the path of the directory to be listed
+     * @return an {@link Iterator} with the {@link FileAttributes} of the directory's entries
+     */
+    protected abstract Iterator<? extends FileAttributes> listDirectory(String path);
+
+    /**
+     * Releases the resources held by {@code this} producer. This default implementation is empty.
+     *
+     * @throws MuleException if the resources could not be released
+     */
+    protected void doClose() throws MuleException
+    {
+    }
+
+    /**
+     * Stops the listing and invokes {@link #doClose()}. Subsequent invocations have no effect.
+     */
+    @Override
+    public final void close() throws MuleException
+    {
+        if (closed)
+        {
+            return;
+        }
+
+        closed = true;
+        pendingDirectories.clear();
+        entries = emptyIterator();
+        doClose();
+    }
+
+    /**
+     * @return -1, since the size of the listing is not known in advance
+     */
+    @Override
+    public int size()
+    {
+        return -1;
+    }
+
+    private void closeQuietly()
+    {
+        try
+        {
+            close();
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Exception was found closing the directory listing", e);
+        }
+    }
+
+    private boolean isVirtualDirectory(String fileName)
+    {
+        return ".".equals(fileName) || "..".equals(fileName);
+    }
+}
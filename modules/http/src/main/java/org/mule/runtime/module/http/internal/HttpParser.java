@@ -11,40 +11,30 @@ import static org.mule.runtime.core.util.StringUtils.WHITE_SPACE;
 
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.util.StringUtils;
+import org.mule.runtime.module.http.internal.multipart.HttpMultipartDecoder;
 import org.mule.runtime.module.http.internal.multipart.HttpPart;
 
-import com.google.common.collect.Lists;
-
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Enumeration;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import javax.mail.BodyPart;
-import javax.mail.Header;
-import javax.mail.MessagingException;
 import javax.mail.internet.ContentType;
-import javax.mail.internet.MimeMultipart;
 import javax.mail.internet.ParseException;
-import javax.mail.util.ByteArrayDataSource;
-
-import org.apache.commons.io.IOUtils;
 
 public class HttpParser
 {
 
     private static final String SPACE_ENTITY = "%20";
     private static final String PLUS_SIGN = "\\+";
-    private static final String CONTENT_DISPOSITION_PART_HEADER = "Content-Disposition";
-    private static final String NAME_ATTRIBUTE = "name";
 
     public static String extractPath(String uri)
     {
@@ -70,56 +60,7 @@ public class HttpParser
 
     public static Collection<HttpPart> parseMultipartContent(InputStream content, String contentType) throws IOException
     {
-        MimeMultipart mimeMultipart = null;
-        List<HttpPart> parts = Lists.newArrayList();
-
-        try
-        {
-            mimeMultipart = new MimeMultipart(new ByteArrayDataSource(content, contentType));
-        }
-        catch (MessagingException e)
-        {
-            throw new IOException(e);
-        }
-
-        try
-        {
-            int partCount = mimeMultipart.getCount();
-
-            for (int i = 0; i < partCount; i++)
-            {
-                BodyPart part = mimeMultipart.getBodyPart(i);
-
-                String filename = part.getFileName();
-                String partName = filename;
-                String[] contentDispositions = part.getHeader(CONTENT_DISPOSITION_PART_HEADER);
-                if (contentDispositions != null)
-                {
-                    String contentDisposition = contentDispositions[0];
-                    if (contentDisposition.contains(NAME_ATTRIBUTE))
-                    {
-                        partName = contentDisposition.substring(contentDisposition.indexOf(NAME_ATTRIBUTE) + NAME_ATTRIBUTE.length() + 2);
-                        partName = partName.substring(0, partName.indexOf("\""));
-                    }
-                }
-                HttpPart httpPart = new HttpPart(partName, filename, IOUtils.toByteArray(part.getInputStream()), part.getContentType(), part.getSize());
-
-                Enumeration<Header> headers = part.getAllHeaders();
-
-                while (headers.hasMoreElements())
-                {
-                    Header header = headers.nextElement();
-                    httpPart.addHeader(header.getName(), header.getValue());
-                }
-                parts.add(httpPart);
-            }
-        }
-        catch (MessagingException e)
-        {
-            throw new IOException(e);
-        }
-
-        return parts;
+        return HttpMultipartDecoder.decode(content, contentType);
     }
 
     public static String sanitizePathWithStartSlash(String path)
@@ -146,6 +87,75 @@ public class HttpParser
         return decodeString(urlEncodedBody, encoding);
     }
 
+    /**
+     * Decodes an x-www-form-urlencoded body as it is read, without loading all of it in a single string first.
+     *
+     * @param urlEncodedBody the body, which is not closed
+     * @param encoding the charset of the body
+     * @return the decoded parameters
+     */
+    public static ParameterMap decodeUrlEncodedBody(InputStream urlEncodedBody, Charset encoding) throws IOException
+    {
+        ParameterMap queryParams = new ParameterMap();
+        Reader reader = new InputStreamReader(urlEncodedBody, encoding);
+        char[] buffer = new char[1024];
+        StringBuilder name = new StringBuilder();
+        StringBuilder value = null;
+        // empty pairs are only kept if a pair follows them, as they would be when splitting the whole body
+        int pendingEmptyPairs = 0;
+        boolean blank = true;
+        int read;
+        while ((read = reader.read(buffer)) != -1)
+        {
+            for (int i = 0; i < read; i++)
+            {
+                char current = buffer[i];
+                blank = blank && Character.isWhitespace(current);
+                if (current == '&')
+                {
+                    if (name.length() == 0 && value == null)
+                    {
+                        pendingEmptyPairs++;
+                    }
+                    else
+                    {
+                        pendingEmptyPairs = addPendingEmptyParams(queryParams, pendingEmptyPairs, encoding);
+                        addParam(queryParams, name.toString(), value == null ? null : value.toString(), encoding);
+                    }
+                    name.setLength(0);
+                    value = null;
+                }
+                else if (current == '=' && value == null)
+                {
+                    value = new StringBuilder();
+                }
+                else
+                {
+                    (value == null ? name : value).append(current);
+                }
+            }
+        }
+        if (blank)
+        {
+            return new ParameterMap();
+        }
+        if (name.length() > 0 || value != null)
+        {
+            addPendingEmptyParams(queryParams, pendingEmptyPairs, encoding);
+            addParam(queryParams, name.toString(), value == null ? null : value.toString(), encoding);
+        }
+        return queryParams;
+    }
+
+    private static int addPendingEmptyParams(ParameterMap queryParams, int pendingEmptyPairs, Charset encoding)
+    {
+        for (int i = 0; i < pendingEmptyPairs; i++)
+        {
+            addParam(queryParams, StringUtils.EMPTY, null, encoding);
+        }
+        return 0;
+    }
+
     public static ParameterMap decodeString(String encodedString, Charset encoding)
     {
         ParameterMap queryParams = new ParameterMap();
@@ -11,35 +11,51 @@ import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
 import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
+import org.mule.runtime.module.http.internal.listener.matcher.AcceptsAllMethodsRequestMatcher;
 import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.MethodRequestMatcher;
 import org.mule.runtime.core.util.Preconditions;
-import org.mule.runtime.core.util.StringUtils;
 
 import com.google.common.base.Joiner;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps the {@link RequestHandler}s of the listeners of each {@link Server} and finds the one that
+ * has to handle each request.
+ * <p/>
+ * The listeners of a server are compiled into a radix trie of path segments, where a run of literal
+ * segments without listeners of their own is collapsed into a single edge, and uri params and
+ * segments with a wildcard share one edge per node. Each node also keeps the listeners for its path
+ * and for its path followed by a wildcard, together with the methods they accept as a bitmask. The
+ * trie is immutable and is compiled again when a listener is added or disposed, so finding the
+ * handler of a request takes no lock and allocates nothing.
+ */
 public class HttpListenerRegistry implements RequestHandlerProvider
 {
 
     private static final String WILDCARD_CHARACTER = "*";
     private static final String SLASH = "/";
+    private static final String CATCH_ALL_SUFFIX = "/*";
+    private static final String SPACE_ENTITY = "%20";
+    private static final char PLUS_SIGN = '+';
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS", "TRACE", "CONNECT"};
+    private static final int OTHER_METHODS = 1 << METHODS.length;
+    private static final int ALL_METHODS = -1;
+
     private Logger logger = LoggerFactory.getLogger(getClass());
 
-    private final ServerAddressMap<Server> serverAddressToServerMap = new ServerAddressMap<>();
-    private final Map<Server, ServerAddressRequestHandlerRegistry> requestHandlerPerServerAddress = new HashMap<>();
+    private final ServerAddressMap<Server> serverAddressToServerMap = new ServerAddressMap<>(new ConcurrentHashMap<>());
+    private final Map<Server, ServerAddressRequestHandlerRegistry> requestHandlerPerServerAddress = new ConcurrentHashMap<>();
 
     public synchronized RequestHandlerManager addRequestHandler(final Server server, final RequestHandler requestHandler, final ListenerRequestMatcher requestMatcher)
     {
@@ -79,150 +95,74 @@ public class HttpListenerRegistry implements RequestHandlerProvider
     public class ServerAddressRequestHandlerRegistry
     {
 
-        private PathMap serverRequestHandler;
-        private PathMap rootPathMap = new PathMap();
-        private PathMap catchAllPathMap = new PathMap();
-        private Set<String> paths = new HashSet<>();
-        private LoadingCache<String, Stack<PathMap>> pathMapSearchCache = CacheBuilder.newBuilder().maximumSize(1000).build(new CacheLoader<String, Stack<PathMap>>() {
-            public Stack<PathMap> load(String path) {
-                return findPossibleRequestHandlers(path);
-            }
-        });
+        private volatile List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = Collections.emptyList();
+        private volatile RouteNode root = new RouteBuilder().compile(null);
 
         public synchronized RequestHandlerManager addRequestHandler(final ListenerRequestMatcher requestMatcher, final RequestHandler requestHandler)
         {
-            pathMapSearchCache.invalidateAll();
             String requestMatcherPath = normalizePathWithSpacesOrEncodedSpaces(requestMatcher.getPath());
-            Preconditions.checkArgument(requestMatcherPath.startsWith(SLASH) || requestMatcherPath.equals(WILDCARD_CHARACTER), "path parameter must start with /");
-            validateCollision(requestMatcher);
-            paths.add( getMethodAndPath(requestMatcher.getMethodRequestMatcher().getMethodsList(), requestMatcherPath) );
-            PathMap currentPathMap = rootPathMap;
-            final RequestHandlerMatcherPair addedRequestHandlerMatcherPair;
-            final PathMap requestHandlerOwner;
-            if (requestMatcherPath.equals(WILDCARD_CHARACTER))
-            {
-                serverRequestHandler = new PathMap();
-                addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-                requestHandlerOwner = serverRequestHandler;
-                serverRequestHandler.addRequestHandlerMatcherPair(addedRequestHandlerMatcherPair);
-            }
-            else if (requestMatcherPath.equals("/*"))
-            {
-                addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-                requestHandlerOwner = catchAllPathMap;
-                catchAllPathMap.addRequestHandlerMatcherPair(addedRequestHandlerMatcherPair);
-            }
-            else if (requestMatcherPath.equals(SLASH))
+            Preconditions.checkArgument(requestMatcherPath.startsWith(SLASH), "path parameter must start with /");
+            final RequestHandlerMatcherPair addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler, requestMatcherPath);
+            validateCollision(addedRequestHandlerMatcherPair);
+
+            List<RequestHandlerMatcherPair> updatedRequestHandlerMatcherPairs = new ArrayList<>(requestHandlerMatcherPairs);
+            updatedRequestHandlerMatcherPairs.add(addedRequestHandlerMatcherPair);
+            update(updatedRequestHandlerMatcherPairs);
+            return new DefaultRequestHandlerManager(this, addedRequestHandlerMatcherPair);
+        }
+
+        synchronized void removeRequestHandlerMatcherPair(RequestHandlerMatcherPair requestHandlerMatcherPair)
+        {
+            List<RequestHandlerMatcherPair> updatedRequestHandlerMatcherPairs = new ArrayList<>(requestHandlerMatcherPairs);
+            if (updatedRequestHandlerMatcherPairs.remove(requestHandlerMatcherPair))
             {
-                addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-                requestHandlerOwner = rootPathMap;
-                rootPathMap.addRequestHandlerMatcherPair(addedRequestHandlerMatcherPair);
+                update(updatedRequestHandlerMatcherPairs);
             }
-            else
-            {
-                final String[] pathParts = splitPath(requestMatcherPath);
-                int insertionLevel = getPathPartsSize(requestMatcherPath);
-                for (int i = 1; i < insertionLevel - 1; i++)
-                {
-                    String currentPath = pathParts[i];
-                    PathMap pathMap = currentPathMap.getChildPathMap(currentPath);
-                    if (i != insertionLevel - 1)
-                    {
-                        if (pathMap == null)
-                        {
-                            pathMap = new PathMap();
-                            currentPathMap.addChildPathMap(currentPath, pathMap);
-                        }
-                    }
+        }
 
-                    currentPathMap = pathMap;
-                }
-                String currentPath = pathParts[insertionLevel - 1];
-                PathMap pathMap = currentPathMap.getLastChildPathMap(currentPath);
-                if (pathMap == null)
-                {
-                    pathMap = new PathMap();
-                    currentPathMap.addChildPathMap(currentPath, pathMap);
-                }
-                if (requestMatcherPath.endsWith(WILDCARD_CHARACTER))
-                {
-                    addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-                    pathMap.addWildcardRequestHandler(addedRequestHandlerMatcherPair);
-                    requestHandlerOwner = pathMap;
-                }
-                else
-                {
-                    addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-                    pathMap.addRequestHandlerMatcherPair(addedRequestHandlerMatcherPair);
-                    requestHandlerOwner = pathMap;
-                }
+        private void update(List<RequestHandlerMatcherPair> updatedRequestHandlerMatcherPairs)
+        {
+            RouteBuilder rootBuilder = new RouteBuilder();
+            for (RequestHandlerMatcherPair requestHandlerMatcherPair : updatedRequestHandlerMatcherPairs)
+            {
+                rootBuilder.add(requestHandlerMatcherPair);
             }
-            return new DefaultRequestHandlerManager(requestHandlerOwner, addedRequestHandlerMatcherPair);
+            root = rootBuilder.compile(null);
+            requestHandlerMatcherPairs = Collections.unmodifiableList(updatedRequestHandlerMatcherPairs);
         }
 
-        private void validateCollision(ListenerRequestMatcher newListenerRequestMatcher)
+        private void validateCollision(RequestHandlerMatcherPair newRequestHandlerMatcherPair)
         {
-            final String newListenerRequestMatcherPath = newListenerRequestMatcher.getPath();
-            final Stack<PathMap> possibleRequestHandlers = findPossibleRequestHandlersFromCache(newListenerRequestMatcherPath);
-            for (PathMap possibleRequestHandler : possibleRequestHandlers)
+            final ListenerRequestMatcher newListenerRequestMatcher = newRequestHandlerMatcherPair.getRequestMatcher();
+            for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs)
             {
-                final List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = possibleRequestHandler.getRequestHandlerMatcherPairs();
-                for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs)
+                final ListenerRequestMatcher requestMatcher = requestHandlerMatcherPair.getRequestMatcher();
+                if (requestHandlerMatcherPair.routeKey.equals(newRequestHandlerMatcherPair.routeKey) &&
+                    newListenerRequestMatcher.getMethodRequestMatcher().intersectsWith(requestMatcher.getMethodRequestMatcher()))
                 {
-                    final ListenerRequestMatcher requestMatcher = requestHandlerMatcherPair.getRequestMatcher();
-                    final String possibleCollisionRequestMatcherPath = requestMatcher.getPath();
-                    if (isSameDepth(possibleCollisionRequestMatcherPath, newListenerRequestMatcherPath))
-                    {
-                        if (newListenerRequestMatcher.getMethodRequestMatcher().intersectsWith(requestMatcher.getMethodRequestMatcher()))
-                        {
-                            String possibleCollisionLastPathPart = getLastPathPortion(possibleCollisionRequestMatcherPath);
-                            String newListenerRequestMatcherLastPathPart  = getLastPathPortion(newListenerRequestMatcherPath);
-                            if (possibleCollisionLastPathPart.equals(newListenerRequestMatcherLastPathPart) ||
-                                (isCatchAllPath(possibleCollisionLastPathPart) && isCatchAllPath(newListenerRequestMatcherLastPathPart)) ||
-                                (isCatchAllPath(possibleCollisionLastPathPart) && isUriParameter(newListenerRequestMatcherLastPathPart)) ||
-                                (isUriParameter(possibleCollisionLastPathPart) && isCatchAllPath(newListenerRequestMatcherLastPathPart) ||
-                                 (isUriParameter(possibleCollisionLastPathPart) && isUriParameter(newListenerRequestMatcherLastPathPart))))
-                            {
-                                throw new MuleRuntimeException(CoreMessages.createStaticMessage(String.format("Already exists a listener matching that path and methods. Listener matching %s new listener %s", requestMatcher, newListenerRequestMatcher)));
-                            }
-                        }
-                    }
+                    throw new MuleRuntimeException(CoreMessages.createStaticMessage(String.format("Already exists a listener matching that path and methods. Listener matching %s new listener %s", requestMatcher, newListenerRequestMatcher)));
                 }
             }
         }
 
         public RequestHandler findRequestHandler(final HttpRequest request)
         {
-            final String path = normalizePathWithSpacesOrEncodedSpaces(request.getPath());
+            final String path = normalizeRequestPath(request.getPath());
             Preconditions.checkArgument(path.startsWith(SLASH), "path parameter must start with /");
-            Stack<PathMap> foundPaths = findPossibleRequestHandlersFromCache(path);
+            final int end = path.endsWith(SLASH) ? path.length() - 1 : path.length();
+            final RouteNode root = this.root;
 
-            boolean methodNotAllowed = false;
-            RequestHandlerMatcherPair requestHandlerMatcherPair = null;
-            while (!foundPaths.empty())
-            {
-                final PathMap pathMap = foundPaths.pop();
-                List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = pathMap.getRequestHandlerMatcherPairs();
-                requestHandlerMatcherPair = findRequestHandlerMatcherPair(requestHandlerMatcherPairs, request);
-                if (requestHandlerMatcherPair != null)
-                {
-                    break;
-                }
-                if (!requestHandlerMatcherPairs.isEmpty())
-                {
-                    //there were matching paths but no matching methods
-                    methodNotAllowed = true;
-                }
-            }
+            RequestHandlerMatcherPair requestHandlerMatcherPair = root.find(path, 1, end, methodBit(request.getMethod()), request);
             if (requestHandlerMatcherPair == null)
             {
                 if (logger.isInfoEnabled())
                 {
                     logger.info("No listener found for request: " + getMethodAndPath(request.getMethod(), request.getPath()));
-                    logger.info("Available listeners are: [{}]", Joiner.on(", ").join(this.paths));
+                    logger.info("Available listeners are: [{}]", Joiner.on(", ").join(getMethodsAndPaths()));
                 }
-                if(methodNotAllowed)
+                if (root.find(path, 1, end, ALL_METHODS, request) != null)
                 {
+                    //there were matching paths but no matching methods
                     return NoMethodRequestHandler.getInstance();
                 }
                 return NoListenerRequestHandler.getInstance();
@@ -234,216 +174,296 @@ public class HttpListenerRegistry implements RequestHandlerProvider
             return requestHandlerMatcherPair.getRequestHandler();
         }
 
-        private String getMethodAndPath(String method, String path)
+        private List<String> getMethodsAndPaths()
         {
-            return "(" + method + ")" + path;
-        }
-
-        private Stack<PathMap> findPossibleRequestHandlersFromCache(String path)
-        {
-            return findPossibleRequestHandlers(path);
-        }
-
-        private Stack<PathMap> findPossibleRequestHandlers(String path)
-        {
-            PathMap currentPathMap = rootPathMap;
-            final String[] pathParts = splitPath(path);
-            Stack<PathMap> foundPaths = new Stack<>();
-            foundPaths.add(catchAllPathMap);
-            if (path.equals(WILDCARD_CHARACTER))
-            {
-                foundPaths.push(serverRequestHandler);
-                return foundPaths;
-            }
-            if (path.equals(SLASH))
+            List<String> methodsAndPaths = new ArrayList<>();
+            for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs)
             {
-                foundPaths.push(rootPathMap);
-                return foundPaths;
+                methodsAndPaths.add(getMethodAndPath(requestHandlerMatcherPair.getRequestMatcher().getMethodRequestMatcher().getMethodsList(), requestHandlerMatcherPair.path));
             }
-            for (int i = 1; i < pathParts.length && currentPathMap != null; i++)
-            {
-                String currentPath = pathParts[i];
-                PathMap pathMap = currentPathMap.getChildPathMap(currentPath);
-                if (pathMap == null)
-                {
-                    addCatchAllPathMapIfNotNull(currentPathMap, foundPaths);
-                    pathMap = currentPathMap.getCatchAllCurrentPathMap();
-                }
-                if (i == pathParts.length - 1)
-                {
-                    if (pathMap != null)
-                    {
-                        addCatchAllPathMapIfNotNull(pathMap, foundPaths);
-                        foundPaths.push(pathMap);
-                    }
-                    else
-                    {
-                        addCatchAllPathMapIfNotNull(currentPathMap, foundPaths);
-                    }
-                }
-                currentPathMap = pathMap;
-            }
-            return foundPaths;
+            return methodsAndPaths;
         }
 
-        private void addCatchAllPathMapIfNotNull(PathMap currentPathMap, Stack<PathMap> foundPaths)
+        private String getMethodAndPath(String method, String path)
         {
-            final PathMap catchAllPathMap = currentPathMap.getCatchAllPathMap();
-            if (catchAllPathMap != null)
-            {
-                foundPaths.push(catchAllPathMap);
-            }
+            return "(" + method + ")" + path;
         }
+    }
 
-        private RequestHandlerMatcherPair findRequestHandlerMatcherPair(List<RequestHandlerMatcherPair> requestHandlerMatcherPairs, HttpRequest request)
+    private static String normalizeRequestPath(String path)
+    {
+        // most paths have no encoded spaces, so avoid the regular expressions of the normalization for them
+        if (path.indexOf(PLUS_SIGN) < 0 && !path.contains(SPACE_ENTITY))
         {
-            for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs)
-            {
-                if (requestHandlerMatcherPair.getRequestMatcher().matches(request))
-                {
-                    return requestHandlerMatcherPair;
-                }
-            }
-            return null;
+            return path;
         }
+        return normalizePathWithSpacesOrEncodedSpaces(path);
     }
 
-    private boolean isUriParameter(String pathPart)
+    private static boolean isUriParameter(String pathPart)
     {
         return (pathPart.startsWith("{") || pathPart.startsWith("/{")) && pathPart.endsWith("}");
     }
 
-    private String getLastPathPortion(String possibleCollisionRequestMatcherPath)
+    private static boolean isCatchAllPath(String path)
     {
-        final String[] parts = splitPath(possibleCollisionRequestMatcherPath);
-        if (parts.length == 0)
-        {
-            return StringUtils.EMPTY;
-        }
-        return parts[parts.length - 1];
-    }
-
-    private boolean isSameDepth(String possibleCollisionRequestMatcherPath, String newListenerRequestMatcherPath)
-    {
-        return getPathPartsSize(possibleCollisionRequestMatcherPath) == getPathPartsSize(newListenerRequestMatcherPath);
+        return WILDCARD_CHARACTER.equals(path);
     }
 
-    private int getPathPartsSize(String path)
+    private static boolean isParameterSegment(String segment)
     {
-        int pathSize = splitPath(path).length - 1;
-        pathSize += (path.endsWith(SLASH) ? 1 : 0);
-        return pathSize;
+        return isCatchAllPath(segment) || isUriParameter(segment);
     }
 
-    private String[] splitPath(String path)
+    private static int methodBit(String method)
     {
-        if (path.endsWith(SLASH) )
+        for (int i = 0; i < METHODS.length; i++)
         {
-            // Remove the last slash
-            path = path.substring(0, path.length()-1);
+            if (METHODS[i].equalsIgnoreCase(method))
+            {
+                return 1 << i;
+            }
         }
-        return path.split(SLASH, -1);
+        return OTHER_METHODS;
     }
 
-    public class PathMap
+    private static int methodMask(MethodRequestMatcher methodRequestMatcher)
     {
-
-        List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = new ArrayList<>();
-
-        private Map<String, PathMap> subPaths = new HashMap<>();
-        private PathMap catchAllPathMap;
-        private PathMap catchAllCurrentPathMap;
-
-        public PathMap getCatchAllPathMap()
+        if (methodRequestMatcher instanceof AcceptsAllMethodsRequestMatcher)
         {
-            return catchAllPathMap;
+            return ALL_METHODS;
         }
-
-        public PathMap getCatchAllCurrentPathMap()
+        int mask = 0;
+        for (String method : methodRequestMatcher.getMethods())
         {
-            return catchAllCurrentPathMap;
+            mask |= methodBit(method);
         }
+        return mask;
+    }
 
-        /**
-         * @param subPath a sub part of the path
-         * @return the node with the existent mappings. null if there's no such node.
-         */
-        public PathMap getChildPathMap(final String subPath)
+    /**
+     * Immutable node of the routing trie. Literal children are kept in an open addressing table keyed by
+     * the first segment of their label, so they can be looked up with a region of the request path.
+     */
+    private static final class RouteNode
+    {
+
+        private final String label;
+        private final int firstSegmentLength;
+        private final RouteNode[] literalChildren;
+        private final int[] literalChildHashes;
+        private final RouteNode parameterChild;
+        private final RequestHandlerMatcherPair[] requestHandlerMatcherPairs;
+        private final int methods;
+        private final RequestHandlerMatcherPair[] catchAllRequestHandlerMatcherPairs;
+        private final int catchAllMethods;
+
+        private RouteNode(String label, List<RouteNode> literalChildren, RouteNode parameterChild, List<RequestHandlerMatcherPair> requestHandlerMatcherPairs, List<RequestHandlerMatcherPair> catchAllRequestHandlerMatcherPairs)
         {
-            if (isCatchAllPath(subPath) || isUriParameter(subPath))
+            this.label = label;
+            this.firstSegmentLength = label == null ? 0 : firstSegmentLength(label);
+            this.parameterChild = parameterChild;
+            this.requestHandlerMatcherPairs = requestHandlerMatcherPairs.toArray(new RequestHandlerMatcherPair[requestHandlerMatcherPairs.size()]);
+            this.methods = methods(this.requestHandlerMatcherPairs);
+            this.catchAllRequestHandlerMatcherPairs = catchAllRequestHandlerMatcherPairs.toArray(new RequestHandlerMatcherPair[catchAllRequestHandlerMatcherPairs.size()]);
+            this.catchAllMethods = methods(this.catchAllRequestHandlerMatcherPairs);
+
+            int capacity = Integer.highestOneBit(Math.max(1, literalChildren.size() * 2 - 1)) << 1;
+            this.literalChildren = new RouteNode[capacity];
+            this.literalChildHashes = new int[capacity];
+            for (RouteNode literalChild : literalChildren)
             {
-                return getCatchAllCurrentPathMap();
+                int hash = hash(literalChild.label, 0, literalChild.firstSegmentLength);
+                int index = hash & (capacity - 1);
+                while (this.literalChildren[index] != null)
+                {
+                    index = (index + 1) & (capacity - 1);
+                }
+                this.literalChildren[index] = literalChild;
+                this.literalChildHashes[index] = hash;
             }
-            PathMap pathMap = subPaths.get(subPath);
-            return pathMap;
         }
 
         /**
-         * @param subPath a sub part of the path
-         * @return the node with the existent mappings. null if there's no such node.
+         * Finds the listener for the path segments between {@code position} and {@code end}, preferring
+         * literal segments over uri params, and those over wildcards.
+         *
+         * @return the matching listener, or null if there is none
          */
-        public PathMap getLastChildPathMap(final String subPath)
+        private RequestHandlerMatcherPair find(String path, int position, int end, int method, HttpRequest request)
         {
-            if (isCatchAllPath(subPath) || isUriParameter(subPath))
+            RequestHandlerMatcherPair requestHandlerMatcherPair;
+            if (position > end)
+            {
+                requestHandlerMatcherPair = match(requestHandlerMatcherPairs, methods, method, request);
+                if (requestHandlerMatcherPair != null)
+                {
+                    return requestHandlerMatcherPair;
+                }
+                // a wildcard also matches its own path, so /path/* handles requests to /path
+                return match(catchAllRequestHandlerMatcherPairs, catchAllMethods, method, request);
+            }
+
+            int segmentEnd = path.indexOf('/', position);
+            if (segmentEnd < 0 || segmentEnd > end)
+            {
+                segmentEnd = end;
+            }
+
+            RouteNode literalChild = literalChild(path, position, segmentEnd);
+            if (literalChild != null)
+            {
+                int labelEnd = position + literalChild.label.length();
+                if (labelEnd == segmentEnd ||
+                    (labelEnd <= end && (labelEnd == end || path.charAt(labelEnd) == '/') && path.regionMatches(segmentEnd, literalChild.label, literalChild.firstSegmentLength, labelEnd - segmentEnd)))
+                {
+                    requestHandlerMatcherPair = literalChild.find(path, labelEnd + 1, end, method, request);
+                    if (requestHandlerMatcherPair != null)
+                    {
+                        return requestHandlerMatcherPair;
+                    }
+                }
+            }
+            if (parameterChild != null)
             {
-                return getCatchAllCurrentPathMap();
+                requestHandlerMatcherPair = parameterChild.find(path, segmentEnd + 1, end, method, request);
+                if (requestHandlerMatcherPair != null)
+                {
+                    return requestHandlerMatcherPair;
+                }
             }
-            PathMap pathMap = subPaths.get(subPath);
-            return pathMap;
+            return match(catchAllRequestHandlerMatcherPairs, catchAllMethods, method, request);
         }
 
-        public void addRequestHandlerMatcherPair(final RequestHandlerMatcherPair requestHandlerMatcherPair)
+        private RouteNode literalChild(String path, int start, int end)
         {
-            this.requestHandlerMatcherPairs.add(requestHandlerMatcherPair);
+            int length = end - start;
+            int hash = hash(path, start, end);
+            int index = hash & (literalChildren.length - 1);
+            RouteNode literalChild;
+            while ((literalChild = literalChildren[index]) != null)
+            {
+                if (literalChildHashes[index] == hash && literalChild.firstSegmentLength == length && path.regionMatches(start, literalChild.label, 0, length))
+                {
+                    return literalChild;
+                }
+                index = (index + 1) & (literalChildren.length - 1);
+            }
+            return null;
         }
 
-        public void addChildPathMap(final String path, final PathMap pathMap)
+        private static RequestHandlerMatcherPair match(RequestHandlerMatcherPair[] requestHandlerMatcherPairs, int methods, int method, HttpRequest request)
         {
-            if (path.equals(WILDCARD_CHARACTER) || path.endsWith("}"))
+            if ((methods & method) == 0)
             {
-                catchAllCurrentPathMap = pathMap;
+                return null;
             }
-            else
+            for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs)
             {
-                subPaths.put(path, pathMap);
+                if ((requestHandlerMatcherPair.methods & method) != 0 &&
+                    (method != OTHER_METHODS || requestHandlerMatcherPair.getRequestMatcher().matches(request)))
+                {
+                    return requestHandlerMatcherPair;
+                }
             }
+            return null;
         }
 
-        public List<RequestHandlerMatcherPair> getRequestHandlerMatcherPairs()
+        private static int methods(RequestHandlerMatcherPair[] requestHandlerMatcherPairs)
         {
-            return requestHandlerMatcherPairs;
+            int methods = 0;
+            for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs)
+            {
+                methods |= requestHandlerMatcherPair.methods;
+            }
+            return methods;
+        }
+
+        private static int firstSegmentLength(String label)
+        {
+            int slash = label.indexOf('/');
+            return slash < 0 ? label.length() : slash;
         }
 
-        public void addWildcardRequestHandler(RequestHandlerMatcherPair requestHandlerMatcherPair)
+        private static int hash(String value, int start, int end)
         {
-            if (this.catchAllPathMap == null)
+            int hash = 0;
+            for (int i = start; i < end; i++)
             {
-                this.catchAllPathMap = new PathMap();
+                hash = 31 * hash + value.charAt(i);
             }
-            this.catchAllPathMap.addRequestHandlerMatcherPair(requestHandlerMatcherPair);
+            return hash ^ (hash >>> 16);
         }
+    }
 
-        public boolean removeRequestHandlerMatcherPair(RequestHandlerMatcherPair requestHandlerMatcherPair)
+    /**
+     * Mutable trie with a node per path segment, that is compressed into {@link RouteNode}s once all the
+     * listeners are added.
+     */
+    private static final class RouteBuilder
+    {
+
+        private final Map<String, RouteBuilder> literalChildren = new LinkedHashMap<>();
+        private RouteBuilder parameterChild;
+        private final List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = new ArrayList<>();
+        private final List<RequestHandlerMatcherPair> catchAllRequestHandlerMatcherPairs = new ArrayList<>();
+
+        private void add(RequestHandlerMatcherPair requestHandlerMatcherPair)
         {
-            if (this.requestHandlerMatcherPairs.remove(requestHandlerMatcherPair))
+            RouteBuilder current = this;
+            for (String segment : requestHandlerMatcherPair.segments)
             {
-                return true;
+                if (isParameterSegment(segment))
+                {
+                    if (current.parameterChild == null)
+                    {
+                        current.parameterChild = new RouteBuilder();
+                    }
+                    current = current.parameterChild;
+                }
+                else
+                {
+                    current = current.literalChildren.computeIfAbsent(segment, key -> new RouteBuilder());
+                }
             }
-            if (this.catchAllPathMap != null && this.catchAllPathMap.removeRequestHandlerMatcherPair(requestHandlerMatcherPair))
+            if (requestHandlerMatcherPair.catchAll)
             {
-                return true;
+                current.catchAllRequestHandlerMatcherPairs.add(requestHandlerMatcherPair);
             }
-            if (this.catchAllCurrentPathMap != null && this.catchAllCurrentPathMap.removeRequestHandlerMatcherPair(requestHandlerMatcherPair))
+            else
             {
-                return true;
+                current.requestHandlerMatcherPairs.add(requestHandlerMatcherPair);
             }
-            return false;
         }
-    }
 
-    private boolean isCatchAllPath(String path)
-    {
-        return WILDCARD_CHARACTER.equals(path);
+        private boolean isPassThrough()
+        {
+            return requestHandlerMatcherPairs.isEmpty() && catchAllRequestHandlerMatcherPairs.isEmpty() && parameterChild == null && literalChildren.size() == 1;
+        }
+
+        /**
+         * @param label the literal segment that leads to this node, or null for the root and uri params
+         */
+        private RouteNode compile(String label)
+        {
+            RouteBuilder node = this;
+            if (label != null)
+            {
+                while (node.isPassThrough())
+                {
+                    Map.Entry<String, RouteBuilder> onlyChild = node.literalChildren.entrySet().iterator().next();
+                    label = label + SLASH + onlyChild.getKey();
+                    node = onlyChild.getValue();
+                }
+            }
+            List<RouteNode> compiledLiteralChildren = new ArrayList<>(node.literalChildren.size());
+            for (Map.Entry<String, RouteBuilder> literalChild : node.literalChildren.entrySet())
+            {
+                compiledLiteralChildren.add(literalChild.getValue().compile(literalChild.getKey()));
+            }
+            RouteNode compiledParameterChild = node.parameterChild == null ? null : node.parameterChild.compile(null);
+            return new RouteNode(label, compiledLiteralChildren, compiledParameterChild, node.requestHandlerMatcherPairs, node.catchAllRequestHandlerMatcherPairs);
+        }
     }
 
     public class RequestHandlerMatcherPair
@@ -451,12 +471,40 @@ public class HttpListenerRegistry implements RequestHandlerProvider
 
         private ListenerRequestMatcher requestMatcher;
         private RequestHandler requestHandler;
-        private boolean running = true;
+        private volatile boolean running = true;
+
+        private final String path;
+        private final String[] segments;
+        private final boolean catchAll;
+        private final String routeKey;
+        private final int methods;
 
-        private RequestHandlerMatcherPair(ListenerRequestMatcher requestMatcher, RequestHandler requestHandler)
+        private RequestHandlerMatcherPair(ListenerRequestMatcher requestMatcher, RequestHandler requestHandler, String path)
         {
             this.requestMatcher = requestMatcher;
             this.requestHandler = requestHandler;
+            this.path = path;
+            this.methods = methodMask(requestMatcher.getMethodRequestMatcher());
+
+            this.catchAll = path.endsWith(CATCH_ALL_SUFFIX);
+            String routePath = catchAll ? path.substring(0, path.length() - CATCH_ALL_SUFFIX.length()) : path;
+            if (routePath.endsWith(SLASH))
+            {
+                routePath = routePath.substring(0, routePath.length() - 1);
+            }
+            this.segments = routePath.isEmpty() ? new String[0] : routePath.substring(1).split(SLASH, -1);
+
+            // listeners collide when they have the same route, no matter the names of their uri params
+            StringBuilder routeKeyBuilder = new StringBuilder(SLASH);
+            for (String segment : segments)
+            {
+                routeKeyBuilder.append(isParameterSegment(segment) ? WILDCARD_CHARACTER : segment).append(SLASH);
+            }
+            if (catchAll)
+            {
+                routeKeyBuilder.append(WILDCARD_CHARACTER);
+            }
+            this.routeKey = routeKeyBuilder.toString();
         }
 
         public ListenerRequestMatcher getRequestMatcher()
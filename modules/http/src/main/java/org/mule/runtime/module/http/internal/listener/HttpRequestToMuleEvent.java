@@ -25,7 +25,6 @@ import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.session.DefaultMuleSession;
-import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.module.http.api.HttpConstants;
 import org.mule.runtime.module.http.api.HttpHeaders;
 import org.mule.runtime.module.http.internal.domain.EmptyHttpEntity;
@@ -35,6 +34,7 @@ import org.mule.runtime.module.http.internal.domain.MultipartHttpEntity;
 import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
 import org.mule.runtime.module.http.internal.domain.request.HttpRequestContext;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -97,9 +97,9 @@ public class HttpRequestToMuleEvent
                         {
                             try
                             {
-                                payload = decodeUrlEncodedBody(IOUtils.toString(((InputStreamHttpEntity) entity).getInputStream()), mediaType.getCharset().get());
+                                payload = decodeUrlEncodedBody(((InputStreamHttpEntity) entity).getInputStream(), mediaType.getCharset().get());
                             }
-                            catch (IllegalArgumentException e)
+                            catch (IllegalArgumentException | IOException e)
                             {
                                 throw new HttpRequestParsingException("Cannot decode x-www-form-urlencoded payload", e);
                             }
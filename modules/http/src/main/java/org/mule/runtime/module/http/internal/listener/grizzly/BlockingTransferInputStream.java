@@ -6,48 +6,152 @@
  */
 package org.mule.runtime.module.http.internal.listener.grizzly;
 
+import static java.lang.Math.min;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
 
+import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.ReadResult;
 import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.http.HttpContent;
-import org.glassfish.grizzly.utils.BufferInputStream;
 
 /**
- * {@link java.io.InputStream} to be used when the HTTP request
- * has Transfer-Encoding: chunked or the content is not fully provided because the
+ * {@link java.io.InputStream} over the content of an HTTP request, to be used when the
+ * request has Transfer-Encoding: chunked or the content is not fully provided because the
  * message is too large.
  *
- * This {@link java.io.InputStream} implementation does a blocking read
- * over the HTTP connection to read the next chunk when there is no more
- * data available.
+ * The content is read straight from the Grizzly {@link Buffer}s of each chunk. A buffer is
+ * released as soon as it has been consumed, and this {@link java.io.InputStream} does a
+ * blocking read over the HTTP connection for the next chunk only when there is no more data
+ * available, so the memory used does not depend on the size of the request. The content can
+ * also be read as a {@link ReadableByteChannel}, to copy it without going through a byte array.
  */
-public class BlockingTransferInputStream extends InputStream
+public class BlockingTransferInputStream extends InputStream implements ReadableByteChannel
 {
 
     private final FilterChainContext filterChainContext;
-    private InputStream chunk;
+    private Buffer chunk;
     private boolean lastPacketReceived;
+    private boolean closed;
 
-    public BlockingTransferInputStream(FilterChainContext filterChainContext, InputStream firstChunk)
+    public BlockingTransferInputStream(FilterChainContext filterChainContext, HttpContent firstChunk)
     {
         this.filterChainContext = filterChainContext;
-        this.chunk = firstChunk;
+        this.chunk = firstChunk.getContent();
+        this.lastPacketReceived = firstChunk.isLast();
     }
 
     @Override
     public int read() throws IOException
     {
-        int value = chunk.read();
-        if (value == -1 && !lastPacketReceived)
+        if (!hasRemaining())
+        {
+            return -1;
+        }
+        return chunk.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException
+    {
+        if (length == 0)
+        {
+            return 0;
+        }
+        if (!hasRemaining())
+        {
+            return -1;
+        }
+        int read = min(length, chunk.remaining());
+        chunk.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public int read(ByteBuffer destination) throws IOException
+    {
+        if (closed)
+        {
+            throw new ClosedChannelException();
+        }
+        if (!destination.hasRemaining())
+        {
+            return 0;
+        }
+        if (!hasRemaining())
         {
+            return -1;
+        }
+        int read = min(destination.remaining(), chunk.remaining());
+        int limit = destination.limit();
+        destination.limit(destination.position() + read);
+        chunk.get(destination);
+        destination.limit(limit);
+        return read;
+    }
+
+    @Override
+    public long skip(long length) throws IOException
+    {
+        if (length <= 0 || !hasRemaining())
+        {
+            return 0;
+        }
+        int skipped = (int) min(length, chunk.remaining());
+        chunk.position(chunk.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException
+    {
+        return closed || chunk == null ? 0 : chunk.remaining();
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+        return !closed;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        closed = true;
+        release();
+    }
+
+    /**
+     * @return true if there is content left to read, reading the next chunk from the connection if the current one
+     *         has been consumed
+     */
+    private boolean hasRemaining() throws IOException
+    {
+        while (!closed && (chunk == null || !chunk.hasRemaining()))
+        {
+            release();
+            if (lastPacketReceived)
+            {
+                return false;
+            }
             ReadResult readResult = filterChainContext.read();
             HttpContent httpContent = (HttpContent) readResult.getMessage();
             lastPacketReceived = httpContent.isLast();
-            chunk = new BufferInputStream(httpContent.getContent());
-            value = chunk.read();
+            chunk = httpContent.getContent();
+        }
+        return !closed;
+    }
+
+    private void release()
+    {
+        if (chunk != null)
+        {
+            chunk.tryDispose();
+            chunk = null;
         }
-        return value;
     }
 }
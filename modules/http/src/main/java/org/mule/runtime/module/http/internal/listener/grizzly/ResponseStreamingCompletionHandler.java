@@ -15,8 +15,12 @@ import org.mule.runtime.module.http.internal.listener.async.ResponseStatusCallba
 
 import com.google.common.base.Preconditions;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.WriteResult;
@@ -38,6 +42,7 @@ public class ResponseStreamingCompletionHandler
     private final FilterChainContext ctx;
     private final HttpResponsePacket httpResponsePacket;
     private final InputStream inputStream;
+    private ReadableByteChannel channel;
     private final ResponseStatusCallback responseStatusCallback;
 
     private volatile boolean isDone;
@@ -49,10 +54,28 @@ public class ResponseStreamingCompletionHandler
         this.ctx = ctx;
         httpResponsePacket = buildHttpResponsePacket(request, httpResponse);
         inputStream = ((InputStreamHttpEntity) httpResponse.getEntity()).getInputStream();
+        channel = getChannel(inputStream);
         memoryManager = ctx.getConnection().getTransport().getMemoryManager();
         this.responseStatusCallback = responseStatusCallback;
     }
 
+    /**
+     * Files and request contents can be read straight into the buffers that are written, without copying them
+     * through a byte array.
+     */
+    private static ReadableByteChannel getChannel(InputStream inputStream)
+    {
+        if (inputStream instanceof FileInputStream)
+        {
+            return ((FileInputStream) inputStream).getChannel();
+        }
+        if (inputStream instanceof ReadableByteChannel)
+        {
+            return (ReadableByteChannel) inputStream;
+        }
+        return null;
+    }
+
     public void start() throws IOException
     {
         sendInputStreamChunk();
@@ -62,11 +85,26 @@ public class ResponseStreamingCompletionHandler
     {
         final Buffer buffer = memoryManager.allocate(8 * 1024);
 
-        final byte[] bufferByteArray = buffer.array();
-        final int offset = buffer.arrayOffset();
-        final int length = buffer.remaining();
+        int bytesRead;
+        if (channel != null || !buffer.hasArray())
+        {
+            if (channel == null)
+            {
+                channel = Channels.newChannel(inputStream);
+            }
+            // reads straight into the memory of the buffer, which may be outside of the heap
+            final ByteBuffer byteBuffer = buffer.toByteBuffer();
+            do
+            {
+                bytesRead = channel.read(byteBuffer);
+            }
+            while (bytesRead == 0);
+        }
+        else
+        {
+            bytesRead = inputStream.read(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+        }
 
-        int bytesRead = inputStream.read(bufferByteArray, offset, length);
         final HttpContent content;
 
         if (bytesRead == -1)
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.multipart;
+
+import static java.lang.Math.max;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.io.FileBackedOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.mail.Header;
+import javax.mail.MessagingException;
+import javax.mail.internet.ContentType;
+import javax.mail.internet.InternetHeaders;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.ParseException;
+
+/**
+ * Parses multipart content as it is read, instead of loading all of it first.
+ * <p/>
+ * The content of each part is kept in memory up to {@link #MEMORY_THRESHOLD_PROPERTY} bytes, and in a temporary file
+ * beyond that, so receiving large uploads takes a bounded amount of memory.
+ */
+public class HttpMultipartDecoder
+{
+
+    /**
+     * System property with the number of bytes of the content of a part that are kept in memory.
+     */
+    public static final String MEMORY_THRESHOLD_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.multipart.memoryThreshold";
+
+    private static final int DEFAULT_MEMORY_THRESHOLD = 256 * 1024;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final String BOUNDARY_PARAMETER = "boundary";
+    private static final String CONTENT_DISPOSITION_PART_HEADER = "Content-Disposition";
+    private static final String NAME_ATTRIBUTE = "name";
+
+    private static final int MEMORY_THRESHOLD = Integer.getInteger(MEMORY_THRESHOLD_PROPERTY, DEFAULT_MEMORY_THRESHOLD);
+
+    public static Collection<HttpPart> decode(InputStream content, String contentType) throws IOException
+    {
+        final MultipartReader reader = new MultipartReader(content, ("\r\n--" + getBoundary(contentType)).getBytes(ISO_8859_1));
+        final List<HttpPart> parts = new ArrayList<>();
+
+        if (!reader.copyToDelimiter(ByteStreams.nullOutputStream()))
+        {
+            throw new IOException("Missing start boundary");
+        }
+        while (!reader.skipDelimiterLine())
+        {
+            final InternetHeaders headers;
+            try
+            {
+                headers = new InternetHeaders(reader);
+            }
+            catch (MessagingException e)
+            {
+                throw new IOException(e);
+            }
+
+            final FileBackedOutputStream partContent = new FileBackedOutputStream(MEMORY_THRESHOLD, true);
+            final CountingOutputStream countingPartContent = new CountingOutputStream(partContent);
+            final boolean lastPart;
+            try
+            {
+                lastPart = !reader.copyToDelimiter(countingPartContent);
+            }
+            finally
+            {
+                partContent.close();
+            }
+            parts.add(createPart(headers, partContent, (int) countingPartContent.getCount()));
+            if (lastPart)
+            {
+                // there is no close delimiter, keep what was received as it's done for other truncated content
+                break;
+            }
+        }
+        return parts;
+    }
+
+    private static String getBoundary(String contentType) throws IOException
+    {
+        final String boundary;
+        try
+        {
+            boundary = new ContentType(contentType).getParameter(BOUNDARY_PARAMETER);
+        }
+        catch (ParseException e)
+        {
+            throw new IOException(e);
+        }
+        if (boundary == null)
+        {
+            throw new IOException("Missing boundary in content type " + contentType);
+        }
+        return boundary;
+    }
+
+    private static HttpPart createPart(InternetHeaders headers, FileBackedOutputStream content, int size) throws IOException
+    {
+        try
+        {
+            // a part without content, just to resolve the file name and content type as it's done for mime messages
+            final MimeBodyPart part = new MimeBodyPart(headers, new byte[0]);
+            String filename = part.getFileName();
+            String partName = filename;
+            String[] contentDispositions = part.getHeader(CONTENT_DISPOSITION_PART_HEADER);
+            if (contentDispositions != null)
+            {
+                String contentDisposition = contentDispositions[0];
+                if (contentDisposition.contains(NAME_ATTRIBUTE))
+                {
+                    partName = contentDisposition.substring(contentDisposition.indexOf(NAME_ATTRIBUTE) + NAME_ATTRIBUTE.length() + 2);
+                    partName = partName.substring(0, partName.indexOf("\""));
+                }
+            }
+            HttpPart httpPart = new HttpPart(partName, filename, content.asByteSource(), part.getContentType(), size);
+
+            Enumeration<Header> partHeaders = part.getAllHeaders();
+            while (partHeaders.hasMoreElements())
+            {
+                Header header = partHeaders.nextElement();
+                httpPart.addHeader(header.getName(), header.getValue());
+            }
+            return httpPart;
+        }
+        catch (MessagingException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Buffers the multipart content to find the delimiters between parts. The headers of each part are read through
+     * this {@link InputStream}.
+     */
+    private static final class MultipartReader extends InputStream
+    {
+
+        private final InputStream source;
+        private final byte[] delimiter;
+        private final byte[] buffer;
+        private int position;
+        private int limit;
+
+        private MultipartReader(InputStream source, byte[] delimiter)
+        {
+            this.source = source;
+            this.delimiter = delimiter;
+            this.buffer = new byte[max(BUFFER_SIZE, delimiter.length * 2)];
+            // the first delimiter may be at the very start of the content, without the line break of the others
+            buffer[limit++] = '\r';
+            buffer[limit++] = '\n';
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            if (position == limit && !fill())
+            {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        /**
+         * Copies the content up to the next delimiter, and skips the delimiter.
+         *
+         * @return false if the content ended before a delimiter was found
+         */
+        private boolean copyToDelimiter(OutputStream out) throws IOException
+        {
+            while (true)
+            {
+                int index = indexOfDelimiter();
+                if (index >= 0)
+                {
+                    out.write(buffer, position, index - position);
+                    position = index + delimiter.length;
+                    return true;
+                }
+                // keep the bytes that may be the start of a delimiter until more content is read
+                int end = max(position, limit - delimiter.length + 1);
+                out.write(buffer, position, end - position);
+                position = end;
+                if (!fill())
+                {
+                    out.write(buffer, position, limit - position);
+                    position = limit;
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Skips the rest of the line of a delimiter.
+         *
+         * @return true if it was the delimiter that closes the content, or if there is no more content
+         */
+        private boolean skipDelimiterLine() throws IOException
+        {
+            int current = read();
+            if (current == '-' && read() == '-')
+            {
+                return true;
+            }
+            while (current != -1 && current != '\n')
+            {
+                current = read();
+            }
+            return current == -1;
+        }
+
+        private int indexOfDelimiter()
+        {
+            for (int i = position; i <= limit - delimiter.length; i++)
+            {
+                if (buffer[i] == delimiter[0])
+                {
+                    int j = 1;
+                    while (j < delimiter.length && buffer[i + j] == delimiter[j])
+                    {
+                        j++;
+                    }
+                    if (j == delimiter.length)
+                    {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return false if there is no more content to read
+         */
+        private boolean fill() throws IOException
+        {
+            if (position > 0)
+            {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+            int read;
+            do
+            {
+                read = source.read(buffer, limit, buffer.length - limit);
+            }
+            while (read == 0);
+            if (read < 0)
+            {
+                return false;
+            }
+            limit += read;
+            return true;
+        }
+    }
+}
@@ -7,8 +7,8 @@
 package org.mule.runtime.module.http.internal.multipart;
 
 import com.google.common.collect.Lists;
+import com.google.common.io.ByteSource;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -23,7 +23,7 @@ public class HttpPart implements Part
 
     public static final int NO_SIZE = -1;
 
-    private final byte[] content;
+    private final ByteSource content;
     private final String contentType;
     private final String partName;
     private final String fileName;
@@ -36,6 +36,14 @@ public class HttpPart implements Part
     }
 
     public HttpPart(String partName, String fileName, byte[] content, String contentType, int size)
+    {
+        this(partName, fileName, ByteSource.wrap(content), contentType, size);
+    }
+
+    /**
+     * @param content the content of the part, which can be read more than once
+     */
+    public HttpPart(String partName, String fileName, ByteSource content, String contentType, int size)
     {
         this.partName = partName;
         this.fileName = fileName;
@@ -109,7 +117,7 @@ public class HttpPart implements Part
     @Override
     public InputStream getInputStream() throws IOException
     {
-        return new ByteArrayInputStream(content);
+        return content.openStream();
     }
 
     @Override
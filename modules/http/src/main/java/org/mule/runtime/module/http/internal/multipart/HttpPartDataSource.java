@@ -6,13 +6,11 @@
  */
 package org.mule.runtime.module.http.internal.multipart;
 
-import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.message.ds.ByteArrayDataSource;
 import org.mule.runtime.core.message.ds.StringDataSource;
 import org.mule.runtime.module.http.internal.HttpParam;
 import org.mule.runtime.core.util.IOUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -30,30 +28,24 @@ public class HttpPartDataSource implements DataSource
 {
 
     private final HttpPart part;
-    private byte[] content;
 
     private HttpPartDataSource(HttpPart part)
     {
-        try
-        {
-            this.part = part;
-            this.content = IOUtils.toByteArray(part.getInputStream());
-        }
-        catch (IOException e)
-        {
-            throw new MuleRuntimeException(e);
-        }
+        this.part = part;
     }
 
     public byte[] getContent() throws IOException
     {
-        return this.content;
+        return IOUtils.toByteArray(part.getInputStream());
     }
 
+    /**
+     * The content is read from the part each time, so parts kept in temporary files are not loaded in memory.
+     */
     @Override
     public InputStream getInputStream() throws IOException
     {
-        return new ByteArrayInputStream(getContent());
+        return part.getInputStream();
     }
 
     @Override
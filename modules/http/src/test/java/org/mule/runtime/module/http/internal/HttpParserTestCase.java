@@ -19,6 +19,8 @@ import org.junit.Test;
 public class HttpParserTestCase extends AbstractMuleTestCase
 {
 
+    private static final String BOUNDARY = "bOuNdArY";
+
     @Test
     public void normalizePath()
     {
@@ -30,4 +32,54 @@ public class HttpParserTestCase extends AbstractMuleTestCase
         assertThat(normalizePathWithSpacesOrEncodedSpaces("+some%20path"), is(expectedNormalizedPath));
     }
 
+    @Test
+    public void decodeUrlEncodedBodyFromStream() throws Exception
+    {
+        String body = "name=John+Doe&city=S%C3%A3o+Paulo&&tag=a&tag=b&flag&";
+        ParameterMap parameters = decodeUrlEncodedBody(new ByteArrayInputStream(body.getBytes(UTF_8)), UTF_8);
+
+        assertThat(parameters, is(decodeString(body, UTF_8)));
+        assertThat(parameters.get("name"), is("John Doe"));
+        assertThat(parameters.get("city"), is("S\u00e3o Paulo"));
+        assertThat(parameters.getAll("tag"), contains("a", "b"));
+        assertThat(parameters.containsKey("flag"), is(true));
+        assertThat(parameters.get("flag"), is(nullValue()));
+        assertThat(decodeUrlEncodedBody(new ByteArrayInputStream("  ".getBytes(UTF_8)), UTF_8).isEmpty(), is(true));
+    }
+
+    @Test
+    public void parseMultipartContent() throws Exception
+    {
+        String largeContent = StringUtils.repeat("0123456789", 10000);
+        String body = "preamble\r\n" +
+                      "--" + BOUNDARY + "\r\n" +
+                      "Content-Disposition: form-data; name=\"field\"\r\n" +
+                      "\r\n" +
+                      "value\r\n" +
+                      "--" + BOUNDARY + "\r\n" +
+                      "Content-Disposition: form-data; name=\"file\"; filename=\"data.txt\"\r\n" +
+                      "Content-Type: text/plain\r\n" +
+                      "\r\n" +
+                      largeContent + "\r\n" +
+                      "--" + BOUNDARY + "--\r\n";
+
+        List<HttpPart> parts = new ArrayList<>(parseMultipartContent(new ByteArrayInputStream(body.getBytes(UTF_8)), "multipart/form-data; boundary=" + BOUNDARY));
+
+        assertThat(parts.size(), is(2));
+        assertThat(parts.get(0).getName(), is("field"));
+        assertThat(parts.get(0).getFileName(), is(nullValue()));
+        assertThat(IOUtils.toString(parts.get(0).getInputStream()), is("value"));
+        assertThat(parts.get(1).getName(), is("file"));
+        assertThat(parts.get(1).getFileName(), is("data.txt"));
+        assertThat(parts.get(1).getContentType(), is("text/plain"));
+        assertThat(parts.get(1).getSize(), is((long) largeContent.length()));
+        assertThat(IOUtils.toString(parts.get(1).getInputStream()), is(largeContent));
+    }
+
+    @Test(expected = IOException.class)
+    public void parseMultipartContentWithoutStartBoundary() throws Exception
+    {
+        parseMultipartContent(new ByteArrayInputStream("no parts".getBytes(UTF_8)), "multipart/form-data; boundary=" + BOUNDARY);
+    }
+
 }
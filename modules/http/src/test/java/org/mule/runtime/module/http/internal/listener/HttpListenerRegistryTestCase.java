@@ -283,6 +283,48 @@ public class HttpListenerRegistryTestCase extends AbstractMuleTestCase
         assertThat(requestHandler, is(instanceOf(NoListenerRequestHandler.class)));
     }
 
+    @Test
+    public void methodNotAllowed()
+    {
+        httpListenerRegistry = new HttpListenerRegistry();
+        httpListenerRegistry.addRequestHandler(testServer, mock(RequestHandler.class), new ListenerRequestMatcher(new MethodRequestMatcher(GET_METHOD), ANOTHER_PATH));
+        final HttpRequest mockRequest = createMockRequestWithPath(ANOTHER_PATH);
+        when(mockRequest.getMethod()).thenReturn(POST_METHOD);
+        assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, mockRequest), is(instanceOf(NoMethodRequestHandler.class)));
+    }
+
+    @Test
+    public void routeToCatchAllWhenLongerPathHasNoListener()
+    {
+        httpListenerRegistry = new HttpListenerRegistry();
+        final RequestHandler catchAllRequestHandler = mock(RequestHandler.class);
+        httpListenerRegistry.addRequestHandler(testServer, catchAllRequestHandler, new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), SECOND_LEVEL_CATCH_ALL));
+        httpListenerRegistry.addRequestHandler(testServer, mock(RequestHandler.class), new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), URI_PARAM_IN_THE_MIDDLE));
+        httpListenerRegistry.addRequestHandler(testServer, mock(RequestHandler.class), new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), FIRST_LEVEL_PATH_LOWER_CASE + "/second-level/third-level/fourth-level"));
+        routePath(SECOND_LEVEL_PATH, GET_METHOD, catchAllRequestHandler);
+        routePath(SECOND_LEVEL_PATH + "/third-level", GET_METHOD, catchAllRequestHandler);
+        routePath(SECOND_LEVEL_PATH + "/third-level/another-level", GET_METHOD, catchAllRequestHandler);
+        routePath(SECOND_LEVEL_PATH + "/third-level-path/another-level", GET_METHOD, catchAllRequestHandler);
+    }
+
+    @Test
+    public void stoppedAndDisposedListener()
+    {
+        httpListenerRegistry = new HttpListenerRegistry();
+        final RequestHandler catchAllRequestHandler = mock(RequestHandler.class);
+        final RequestHandler requestHandler = mock(RequestHandler.class);
+        httpListenerRegistry.addRequestHandler(testServer, catchAllRequestHandler, new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), FIRST_LEVEL_CATCH_ALL));
+        final RequestHandlerManager requestHandlerManager = httpListenerRegistry.addRequestHandler(testServer, requestHandler, new ListenerRequestMatcher(new MethodRequestMatcher(GET_METHOD), SECOND_LEVEL_PATH));
+        routePath(SECOND_LEVEL_PATH, GET_METHOD, requestHandler);
+
+        requestHandlerManager.stop();
+        assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(SECOND_LEVEL_PATH, GET_METHOD)), is(instanceOf(ServiceTemporarilyUnavailableListenerRequestHandler.class)));
+
+        requestHandlerManager.dispose();
+        routePath(SECOND_LEVEL_PATH, GET_METHOD, catchAllRequestHandler);
+        httpListenerRegistry.addRequestHandler(testServer, requestHandler, new ListenerRequestMatcher(new MethodRequestMatcher(GET_METHOD), SECOND_LEVEL_PATH));
+    }
+
     private void routePath(String requestPath, String listenerPath)
     {
         assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(requestPath)), is(requestHandlerPerPath.get(listenerPath)));
@@ -295,6 +337,13 @@ public class HttpListenerRegistryTestCase extends AbstractMuleTestCase
         assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, mockRequest), is(expectedRequestHandler));
     }
 
+    private HttpRequest createMockRequestWithPath(String path, String method)
+    {
+        final HttpRequest mockRequest = createMockRequestWithPath(path);
+        when(mockRequest.getMethod()).thenReturn(method);
+        return mockRequest;
+    }
+
     private HttpRequest createMockRequestWithPath(String path)
     {
         final HttpRequest mockRequest = mock(HttpRequest.class);
@@ -27,25 +27,47 @@ public class ArtifactDeploymentStatusTracker  extends AbstractDeploymentListener
     }
 
     protected Map<String, DeploymentState> deploymentStates = new ConcurrentHashMap<String, DeploymentState>();
+    private final Map<String, Long> deploymentStartTimes = new ConcurrentHashMap<>();
+    private final Map<String, Long> deploymentTimes = new ConcurrentHashMap<>();
 
     public Map<String, DeploymentState> getDeploymentStates()
     {
         return Collections.unmodifiableMap(deploymentStates);
     }
 
+    /**
+     * @return the time in milliseconds that took the last finished deployment of each artifact
+     */
+    public Map<String, Long> getDeploymentTimes()
+    {
+        return Collections.unmodifiableMap(deploymentTimes);
+    }
+
     public void onDeploymentStart(String artifactName)
     {
+        deploymentStartTimes.put(artifactName, System.currentTimeMillis());
         deploymentStates.put(artifactName, DeploymentState.DEPLOYING);
     }
 
     public void onDeploymentSuccess(String artifactName)
     {
         deploymentStates.put(artifactName, DeploymentState.DEPLOYED);
+        recordDeploymentTime(artifactName);
     }
 
     public void onDeploymentFailure(String artifactName, Throwable failureCause)
     {
         deploymentStates.put(artifactName, DeploymentState.FAILED);
+        recordDeploymentTime(artifactName);
+    }
+
+    private void recordDeploymentTime(String artifactName)
+    {
+        Long startTime = deploymentStartTimes.remove(artifactName);
+        if (startTime != null)
+        {
+            deploymentTimes.put(artifactName, System.currentTimeMillis() - startTime);
+        }
     }
 
 }
@@ -7,6 +7,7 @@
 package org.mule.runtime.module.launcher;
 
 import static org.mule.runtime.core.util.SplashScreen.miniSplash;
+import static org.mule.runtime.module.launcher.DeploymentScheduler.isDeploymentLockDelegated;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.config.i18n.MessageFactory;
 import org.mule.runtime.core.util.CollectionUtils;
@@ -24,6 +25,7 @@ import java.net.URL;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -37,6 +39,8 @@ import org.slf4j.LoggerFactory;
  * - Keeps track of deployed artifacts
  * - Avoid already deployed artifacts to be redeployed
  * - Deploys, undeploys, redeploys packaged and exploded artifacts
+ * <p/>
+ * Different artifacts can be deployed concurrently by a {@link DeploymentScheduler}.
  */
 public class DefaultArchiveDeployer<T extends DeployableArtifact> implements ArchiveDeployer<T>
 {
@@ -50,7 +54,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     private final ArtifactDeployer<T> deployer;
     private final ArtifactArchiveInstaller artifactArchiveInstaller;
     private final ReentrantLock deploymentLock;
-    private final Map<String, ZombieFile> artifactZombieMap = new HashMap<String, ZombieFile>();
+    private final Map<String, ZombieFile> artifactZombieMap = new ConcurrentHashMap<String, ZombieFile>();
     private final File artifactDir;
     private final ObservableList<T> artifacts;
     private final ArtifactDeploymentTemplate deploymentTemplate;
@@ -96,8 +100,11 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     public T deployExplodedArtifact(String artifactDir) throws DeploymentException
     {
         String artifactName = artifactDir;
-        @SuppressWarnings("rawtypes")
-        Collection<String> deployedAppNames = CollectionUtils.collect(artifacts, new BeanToPropertyValueTransformer(ARTIFACT_NAME_PROPERTY));
+        Collection<String> deployedAppNames;
+        synchronized (artifacts)
+        {
+            deployedAppNames = CollectionUtils.collect(artifacts, new BeanToPropertyValueTransformer(ARTIFACT_NAME_PROPERTY));
+        }
 
         if (deployedAppNames.contains(artifactName) && (!artifactZombieMap.containsKey(artifactName)))
         {
@@ -123,7 +130,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
             return;
         }
 
-        T artifact = (T) CollectionUtils.find(artifacts, new BeanPropertyValueEqualsPredicate(ARTIFACT_NAME_PROPERTY, artifactId));
+        T artifact = findArtifact(artifactId);
         undeploy(artifact);
     }
 
@@ -187,9 +194,8 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     {
         Map<URL, Long> result = new HashMap<URL, Long>();
 
-        for (String artifact : artifactZombieMap.keySet())
+        for (ZombieFile file : artifactZombieMap.values())
         {
-            ZombieFile file = artifactZombieMap.get(artifact);
             result.put(file.url, file.originalTimestamp);
         }
         return result;
@@ -207,7 +213,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
         logRequestToUndeployArtifact(artifact);
         try
         {
-            if (!deploymentLock.tryLock(0, TimeUnit.SECONDS))
+            if (!tryLock())
             {
                 return;
             }
@@ -258,7 +264,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
         }
 
         // check if this artifact is running first, undeployArtifact it then
-        T artifact = (T) CollectionUtils.find(artifacts, new BeanPropertyValueEqualsPredicate(ARTIFACT_NAME_PROPERTY, artifactName));
+        T artifact = findArtifact(artifactName);
         if (artifact != null)
         {
             deploymentTemplate.preRedeploy(artifact);
@@ -317,7 +323,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     {
         try
         {
-            if (!deploymentLock.tryLock(0, TimeUnit.SECONDS))
+            if (!tryLock())
             {
                 return;
             }
@@ -387,7 +393,6 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
 
     private void addZombieFile(String artifactName, File marker)
     {
-        // no sync required as deploy operations are single-threaded
         if (marker == null)
         {
             return;
@@ -410,20 +415,29 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
 
     private T findArtifact(String artifactName)
     {
-        return (T) CollectionUtils.find(artifacts, new BeanPropertyValueEqualsPredicate(ARTIFACT_NAME_PROPERTY, artifactName));
+        synchronized (artifacts)
+        {
+            return (T) CollectionUtils.find(artifacts, new BeanPropertyValueEqualsPredicate(ARTIFACT_NAME_PROPERTY, artifactName));
+        }
     }
 
     private void trackArtifact(T artifact)
     {
-        preTrackArtifact(artifact);
+        synchronized (artifacts)
+        {
+            preTrackArtifact(artifact);
 
-        artifacts.add(artifact);
+            artifacts.add(artifact);
+        }
     }
 
     public void preTrackArtifact(T artifact)
     {
-        T previousArtifact = findArtifact(artifact.getArtifactName());
-        artifacts.remove(previousArtifact);
+        synchronized (artifacts)
+        {
+            T previousArtifact = findArtifact(artifact.getArtifactName());
+            artifacts.remove(previousArtifact);
+        }
     }
 
     private void undeploy(T artifact)
@@ -433,7 +447,10 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
         {
             deploymentListener.onUndeploymentStart(artifact.getArtifactName());
 
-            artifacts.remove(artifact);
+            synchronized (artifacts)
+            {
+                artifacts.remove(artifact);
+            }
             guardedUndeploy(artifact);
 
             deploymentListener.onUndeploymentSuccess(artifact.getArtifactName());
@@ -463,11 +480,16 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
         }
     }
 
+    private boolean tryLock() throws InterruptedException
+    {
+        return isDeploymentLockDelegated(deploymentLock) || deploymentLock.tryLock(0, TimeUnit.SECONDS);
+    }
+
     private T guardedInstallFrom(URL artifactUrl) throws IOException
     {
         try
         {
-            if (!deploymentLock.tryLock(0, TimeUnit.SECONDS))
+            if (!tryLock())
             {
                 throw new IOException(ANOTHER_DEPLOYMENT_OPERATION_IS_IN_PROGRESS);
             }
@@ -497,7 +519,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     {
         try
         {
-            if (!deploymentLock.tryLock(0, TimeUnit.SECONDS))
+            if (!tryLock())
             {
                 return;
             }
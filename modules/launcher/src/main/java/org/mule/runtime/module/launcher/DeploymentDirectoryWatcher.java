@@ -9,6 +9,7 @@ package org.mule.runtime.module.launcher;
 import static org.mule.runtime.core.util.SplashScreen.miniSplash;
 import static org.mule.runtime.module.launcher.DefaultArchiveDeployer.ARTIFACT_NAME_PROPERTY;
 import static org.mule.runtime.module.launcher.DefaultArchiveDeployer.ZIP_FILE_SUFFIX;
+import static org.mule.runtime.module.launcher.DeploymentScheduler.getConfiguredDeploymentThreads;
 import org.mule.runtime.core.config.StartupContext;
 import org.mule.runtime.core.util.ArrayUtils;
 import org.mule.runtime.core.util.CollectionUtils;
@@ -30,6 +31,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +56,9 @@ import org.slf4j.LoggerFactory;
  * It will periodically scan the artifact directories in order to process new deployments,
  * remove artifacts that were previously deployed but the anchor file was removed and redeploy
  * those applications which configuration has changed.
+ * <p/>
+ * Domains are deployed before applications, as applications depend on them. Applications only depend
+ * on domains, so they are deployed and redeployed in parallel using a {@link DeploymentScheduler}.
  */
 public class DeploymentDirectoryWatcher implements Runnable
 {
@@ -74,6 +79,8 @@ public class DeploymentDirectoryWatcher implements Runnable
     private final ObservableList<Domain> domains;
     private final File appsDir;
     private final File domainsDir;
+    private final DeploymentScheduler applicationDeploymentScheduler;
+    private final DeploymentScheduler domainDeploymentScheduler;
     private ScheduledExecutorService artifactDirMonitorTimer;
 
     protected volatile boolean dirty;
@@ -87,6 +94,8 @@ public class DeploymentDirectoryWatcher implements Runnable
         this.applicationArchiveDeployer = applicationArchiveDeployer;
         this.applications = applications;
         this.domains = domains;
+        this.applicationDeploymentScheduler = new DeploymentScheduler(deploymentLock, getConfiguredDeploymentThreads());
+        this.domainDeploymentScheduler = new DeploymentScheduler(deploymentLock, 1);
         applications.addPropertyChangeListener(new PropertyChangeListener()
         {
             public void propertyChange(PropertyChangeEvent e)
@@ -206,6 +215,7 @@ public class DeploymentDirectoryWatcher implements Runnable
     public void stop()
     {
         stopAppDirMonitorTimer();
+        applicationDeploymentScheduler.stop();
 
         deploymentLock.lock();
         try
@@ -268,8 +278,7 @@ public class DeploymentDirectoryWatcher implements Runnable
 
     private void deployPackedApps(String[] zips)
     {
-        for (String zip : zips)
-        {
+        applicationDeploymentScheduler.deploy(Arrays.asList(zips), zip -> {
             try
             {
                 applicationArchiveDeployer.deployPackagedArtifact(zip);
@@ -278,13 +287,12 @@ public class DeploymentDirectoryWatcher implements Runnable
             {
                 // Ignore and continue
             }
-        }
+        });
     }
 
     private void deployExplodedApps(String[] apps)
     {
-        for (String addedApp : apps)
-        {
+        applicationDeploymentScheduler.deploy(Arrays.asList(apps), addedApp -> {
             try
             {
                 applicationArchiveDeployer.deployExplodedArtifact(addedApp);
@@ -293,7 +301,7 @@ public class DeploymentDirectoryWatcher implements Runnable
             {
                 // Ignore and continue
             }
-        }
+        });
     }
 
     // Cycle is:
@@ -523,13 +531,13 @@ public class DeploymentDirectoryWatcher implements Runnable
     private void redeployModifiedDomains()
     {
         Collection redeployableDomains = getArtifactsToRedeploy(domains);
-        redeployModifiedArtifacts(redeployableDomains, domainTimestampListener, domainArchiveDeployer);
+        redeployModifiedArtifacts(redeployableDomains, domainTimestampListener, domainArchiveDeployer, domainDeploymentScheduler);
     }
 
     private void redeployModifiedApplications()
     {
         Collection redeployableApplications = getArtifactsToRedeploy(applications);
-        redeployModifiedArtifacts(redeployableApplications, applicationTimestampListener, applicationArchiveDeployer);
+        redeployModifiedArtifacts(redeployableApplications, applicationTimestampListener, applicationArchiveDeployer, applicationDeploymentScheduler);
     }
 
     private <T extends DeployableArtifact> Collection getArtifactsToRedeploy(Collection<T> collection)
@@ -537,25 +545,30 @@ public class DeploymentDirectoryWatcher implements Runnable
         return CollectionUtils.select(collection, object -> ((DeployableArtifactDescriptor) ((DeployableArtifact) object).getDescriptor()).isRedeploymentEnabled());
     }
 
-    private <T extends Artifact> void redeployModifiedArtifacts(Collection<T> artifacts, ArtifactTimestampListener<T> artifactTimestampListener, ArchiveDeployer<T> artifactArchiveDeployer)
+    private <T extends Artifact> void redeployModifiedArtifacts(Collection<T> artifacts, ArtifactTimestampListener<T> artifactTimestampListener, ArchiveDeployer<T> artifactArchiveDeployer, DeploymentScheduler deploymentScheduler)
     {
+        final Map<String, T> modifiedArtifacts = new LinkedHashMap<>();
         for (T artifact : artifacts)
         {
             if (artifactTimestampListener.isArtifactResourceUpdated(artifact))
             {
-                try
-                {
-                    artifactArchiveDeployer.redeploy(artifact);
-                }
-                catch (DeploymentException e)
+                modifiedArtifacts.put(artifact.getArtifactName(), artifact);
+            }
+        }
+
+        deploymentScheduler.deploy(modifiedArtifacts.keySet(), artifactName -> {
+            try
+            {
+                artifactArchiveDeployer.redeploy(modifiedArtifacts.get(artifactName));
+            }
+            catch (DeploymentException e)
+            {
+                if (logger.isDebugEnabled())
                 {
-                    if (logger.isDebugEnabled())
-                    {
-                        logger.debug("Error redeploying artifact {}", artifact.getArtifactName(), e);
-                    }
+                    logger.debug("Error redeploying artifact {}", artifactName, e);
                 }
             }
-        }
+        });
     }
 
     private void stopAppDirMonitorTimer()
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher;
+
+import static org.mule.runtime.core.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.util.Preconditions.checkState;
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deploys artifacts that do not depend on each other using a bounded pool of threads.
+ * <p/>
+ * Deployments are scheduled by the thread that owns the deployment lock, which waits until all
+ * of them are finished. Threads running a scheduled deployment act on behalf of the lock owner,
+ * see {@link #isDeploymentLockDelegated(ReentrantLock)}.
+ * <p/>
+ * When the {@value #DEPLOYMENT_THREADS_PROPERTY} system property is not greater than one,
+ * deployments run in the calling thread, one after the other.
+ */
+public class DeploymentScheduler
+{
+
+    public static final String DEPLOYMENT_THREADS_PROPERTY = "mule.launcher.deploymentThreads";
+
+    private static final String DEPLOYER_THREAD_NAME = "Mule.app.deployer";
+
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentScheduler.class);
+
+    private static final ThreadLocal<ReentrantLock> delegatedLock = new ThreadLocal<>();
+
+    private final ReentrantLock deploymentLock;
+    private final int threads;
+    private ExecutorService executor;
+
+    /**
+     * Creates a new scheduler
+     *
+     * @param deploymentLock lock held by the thread scheduling deployments. Non null
+     * @param threads maximum number of artifacts deployed at the same time
+     */
+    public DeploymentScheduler(ReentrantLock deploymentLock, int threads)
+    {
+        checkArgument(deploymentLock != null, "Deployment lock cannot be null");
+
+        this.deploymentLock = deploymentLock;
+        this.threads = threads;
+    }
+
+    /**
+     * @return the number of deployment threads configured using {@value #DEPLOYMENT_THREADS_PROPERTY}
+     */
+    public static int getConfiguredDeploymentThreads()
+    {
+        try
+        {
+            return Integer.parseInt(System.getProperty(DEPLOYMENT_THREADS_PROPERTY));
+        }
+        catch (NumberFormatException e)
+        {
+            return 1;
+        }
+    }
+
+    /**
+     * Deploys the given artifacts and waits until all of them are processed.
+     * <p/>
+     * If the calling thread is interrupted, the deployments which did not start yet are cancelled and
+     * the ones in progress are waited for before returning with the interrupted status set.
+     *
+     * @param artifactNames names of the artifacts to deploy, which must not depend on each other
+     * @param deployment deploys a single artifact. Failures must be handled by the deployment itself.
+     */
+    public void deploy(Collection<String> artifactNames, Consumer<String> deployment)
+    {
+        if (threads <= 1 || artifactNames.size() <= 1)
+        {
+            artifactNames.forEach(deployment);
+            return;
+        }
+
+        checkState(deploymentLock.isHeldByCurrentThread(), "Deployments must be scheduled by the owner of the deployment lock");
+
+        final List<ScheduledDeployment> deployments = new ArrayList<>(artifactNames.size());
+        for (String artifactName : artifactNames)
+        {
+            ScheduledDeployment scheduledDeployment = new ScheduledDeployment(artifactName, deployment);
+            scheduledDeployment.future = getExecutor().submit(scheduledDeployment);
+            deployments.add(scheduledDeployment);
+        }
+
+        for (ScheduledDeployment scheduledDeployment : deployments)
+        {
+            try
+            {
+                scheduledDeployment.future.get();
+            }
+            catch (InterruptedException e)
+            {
+                // the caller releases the deployment lock once this method returns, so no deployment
+                // can be left running on its behalf
+                cancel(deployments);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (ExecutionException e)
+            {
+                logger.error("Unexpected error deploying artifact", e.getCause());
+            }
+        }
+    }
+
+    private void cancel(List<ScheduledDeployment> deployments)
+    {
+        for (ScheduledDeployment scheduledDeployment : deployments)
+        {
+            scheduledDeployment.cancel();
+        }
+        for (ScheduledDeployment scheduledDeployment : deployments)
+        {
+            scheduledDeployment.awaitUninterruptibly();
+        }
+    }
+
+    /**
+     * Stops the threads used to deploy artifacts.
+     */
+    public synchronized void stop()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * @param lock lock to check
+     * @return true if the current thread is running a deployment scheduled by the owner of the given lock
+     */
+    public static boolean isDeploymentLockDelegated(ReentrantLock lock)
+    {
+        return lock != null && delegatedLock.get() == lock;
+    }
+
+    private synchronized ExecutorService getExecutor()
+    {
+        if (executor == null)
+        {
+            executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory(DEPLOYER_THREAD_NAME, Thread.currentThread().getContextClassLoader()));
+        }
+        return executor;
+    }
+
+    /**
+     * A deployment which runs on behalf of the owner of the deployment lock. It is either run or cancelled,
+     * whichever happens first.
+     */
+    private class ScheduledDeployment implements Runnable
+    {
+
+        private final String artifactName;
+        private final Consumer<String> deployment;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private Future<?> future;
+
+        private ScheduledDeployment(String artifactName, Consumer<String> deployment)
+        {
+            this.artifactName = artifactName;
+            this.deployment = deployment;
+        }
+
+        @Override
+        public void run()
+        {
+            if (!claimed.compareAndSet(false, true))
+            {
+                return;
+            }
+
+            delegatedLock.set(deploymentLock);
+            try
+            {
+                deployment.accept(artifactName);
+            }
+            finally
+            {
+                delegatedLock.remove();
+                finished.countDown();
+            }
+        }
+
+        /**
+         * Prevents the deployment from running if it has not started yet
+         */
+        private void cancel()
+        {
+            if (claimed.compareAndSet(false, true))
+            {
+                future.cancel(false);
+                finished.countDown();
+            }
+        }
+
+        /**
+         * Waits until the deployment is either finished or cancelled, ignoring interruptions
+         */
+        private void awaitUninterruptibly()
+        {
+            while (true)
+            {
+                try
+                {
+                    finished.await();
+                    return;
+                }
+                catch (InterruptedException e)
+                {
+                    // keep waiting, the caller restores the interrupted status
+                }
+            }
+        }
+    }
+}
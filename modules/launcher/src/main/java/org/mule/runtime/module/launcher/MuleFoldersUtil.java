@@ -27,6 +27,7 @@ public class MuleFoldersUtil
     public static final String DOMAINS_FOLDER = "domains";
     public static final String CONTAINER_APP_PLUGINS = "app-plugins";
     public static final String USER_FOLDER = "user";
+    public static final String PACKAGE_INDEX_FOLDER = "package-index";
 
     private MuleFoldersUtil()
     {
@@ -113,4 +114,9 @@ public class MuleFoldersUtil
     {
         return new File(getMuleHomeFolder(), CONTAINER_APP_PLUGINS);
     }
+
+    public static File getPackageIndexFolder()
+    {
+        return new File(getExecutionFolder(), PACKAGE_INDEX_FOLDER);
+    }
 }
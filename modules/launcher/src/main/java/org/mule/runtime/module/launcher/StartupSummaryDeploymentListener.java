@@ -28,9 +28,11 @@ public class StartupSummaryDeploymentListener implements StartupListener
     private static final String APPLICATION_LABEL = "APPLICATION";
     private static final String DOMAIN_OWNER_LABEL = "DOMAIN";
     private static final String STATUS_LABEL = "STATUS";
+    private static final String DEPLOYMENT_TIME_LABEL = "TIME";
     private static final int ARTIFACT_NAME_LABEL_LENGTH = 45;
     private static final int STATUS_LABEL_LENGTH = 18;
     private static final int DOMAIN_OWNER_LABEL_LENGTH = 30;
+    private static final int DEPLOYMENT_TIME_LABEL_LENGTH = 12;
 
     private static final String UNKNOWN_ARTIFACT_NAME = "UNKNOWN";
 
@@ -54,18 +56,21 @@ public class StartupSummaryDeploymentListener implements StartupListener
         Multimap<String, String> applicationsPerDomain = LinkedListMultimap.create();
 
         Map<String, ArtifactDeploymentStatusTracker.DeploymentState> domainDeploymentState = tracker.getDomainDeploymentStatusTracker().getDeploymentStates();
+        Map<String, Long> domainDeploymentTimes = tracker.getDomainDeploymentStatusTracker().getDeploymentTimes();
 
         SimpleLoggingTable domainTable = new SimpleLoggingTable();
         domainTable.addColumn(DOMAIN_OWNER_LABEL, ARTIFACT_NAME_LABEL_LENGTH);
         domainTable.addColumn(STATUS_LABEL, STATUS_LABEL_LENGTH);
+        domainTable.addColumn(DEPLOYMENT_TIME_LABEL, DEPLOYMENT_TIME_LABEL_LENGTH);
 
         for (String domain : domainDeploymentState.keySet())
         {
-            String[] data = new String[] {domain, domainDeploymentState.get(domain).toString()};
+            String[] data = new String[] {domain, domainDeploymentState.get(domain).toString(), formatDeploymentTime(domainDeploymentTimes.get(domain))};
             domainTable.addDataRow(data);
         }
 
         Map<String, ArtifactDeploymentStatusTracker.DeploymentState> applicationStates = tracker.getApplicationDeploymentStatusTracker().getDeploymentStates();
+        Map<String, Long> applicationDeploymentTimes = tracker.getApplicationDeploymentStatusTracker().getDeploymentTimes();
 
         for (String applicationName : applicationStates.keySet())
         {
@@ -86,12 +91,13 @@ public class StartupSummaryDeploymentListener implements StartupListener
             applicationTable.addColumn(APPLICATION_LABEL, ARTIFACT_NAME_LABEL_LENGTH);
             applicationTable.addColumn(DOMAIN_OWNER_LABEL, DOMAIN_OWNER_LABEL_LENGTH);
             applicationTable.addColumn(STATUS_LABEL, STATUS_LABEL_LENGTH);
+            applicationTable.addColumn(DEPLOYMENT_TIME_LABEL, DEPLOYMENT_TIME_LABEL_LENGTH);
 
             for (String domainName : applicationsPerDomain.keySet())
             {
                 for (String app : applicationsPerDomain.get(domainName))
                 {
-                    String[] data = new String[] {app, domainName, applicationStates.get(app).toString()};
+                    String[] data = new String[] {app, domainName, applicationStates.get(app).toString(), formatDeploymentTime(applicationDeploymentTimes.get(app))};
                     applicationTable.addDataRow(data);
                 }
             }
@@ -105,4 +111,9 @@ public class StartupSummaryDeploymentListener implements StartupListener
 
         logger.info(message);
     }
+
+    private String formatDeploymentTime(Long deploymentTime)
+    {
+        return deploymentTime == null ? "" : deploymentTime + " ms";
+    }
 }
@@ -17,6 +17,11 @@ import java.util.List;
 public class CompositeApplicationClassLoader extends CompositeArtifactClassLoader implements ApplicationClassLoader
 {
 
+    static
+    {
+        registerAsParallelCapable();
+    }
+
     /**
      * Creates a new instance
      *  @param appName name of the artifact owning the created instance.
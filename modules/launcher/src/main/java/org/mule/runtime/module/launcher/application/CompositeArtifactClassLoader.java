@@ -35,6 +35,11 @@ import org.slf4j.LoggerFactory;
 public class CompositeArtifactClassLoader extends CompositeClassLoader implements ArtifactClassLoader
 {
 
+    static
+    {
+        registerAsParallelCapable();
+    }
+
     protected static final Logger logger = LoggerFactory.getLogger(CompositeApplicationClassLoader.class);
     private final String artifactName;
     private final List<ArtifactClassLoader> artifactClassLoaders;
@@ -39,19 +39,24 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Creates default mule applications
  */
 public class DefaultApplicationFactory implements ArtifactFactory<Application>
 {
 
+    private static final Logger logger = LoggerFactory.getLogger(DefaultApplicationFactory.class);
+
     private final ArtifactClassLoaderFactory applicationClassLoaderFactory;
     private final ApplicationDescriptorFactory applicationDescriptorFactory;
     private final ApplicationPluginFactory applicationPluginFactory;
     private final DomainRepository domainRepository;
     private final ApplicationPluginRepository applicationPluginRepository;
     protected DeploymentListener deploymentListener;
-    private PackageDiscoverer packageDiscoverer = new FilePackageDiscoverer();
+    private PackageDiscoverer packageDiscoverer = new IndexedPackageDiscoverer(new FilePackageDiscoverer());
 
     public DefaultApplicationFactory(ArtifactClassLoaderFactory<ApplicationDescriptor> applicationClassLoaderFactory, ApplicationDescriptorFactory applicationDescriptorFactory, ApplicationPluginFactory applicationPluginFactory, DomainRepository domainRepository, ApplicationPluginRepository applicationPluginRepository)
     {
@@ -132,7 +137,7 @@ public class DefaultApplicationFactory implements ArtifactFactory<Application>
         URL[] pluginLibs = descriptor.getSharedPluginLibs();
         if (pluginLibs != null && pluginLibs.length != 0)
         {
-            lookupStrategies = getLookStrategiesFrom(pluginLibs);
+            lookupStrategies = getLookStrategiesFrom(descriptor.getName(), pluginLibs);
         }
         ClassLoaderLookupPolicy lookupPolicy = parent.getClassLoaderLookupPolicy().extend(lookupStrategies);
 
@@ -179,8 +184,9 @@ public class DefaultApplicationFactory implements ArtifactFactory<Application>
         return pluginDescriptors.stream().map(descriptor -> applicationPluginFactory.create(descriptor, parentClassLoader)).collect(Collectors.toCollection(() -> new LinkedList<>()));
     }
 
-    private Map<String, ClassLoaderLookupStrategy> getLookStrategiesFrom(URL[] libraries)
+    private Map<String, ClassLoaderLookupStrategy> getLookStrategiesFrom(String appName, URL[] libraries)
     {
+        final long startTime = System.currentTimeMillis();
         final Map<String, ClassLoaderLookupStrategy> result = new HashMap<>();
 
         for (URL library : libraries)
@@ -192,6 +198,11 @@ public class DefaultApplicationFactory implements ArtifactFactory<Application>
             }
         }
 
+        if (logger.isInfoEnabled())
+        {
+            logger.info(format("[%s] Discovered %d packages from %d shared plugin libraries in %d ms", appName, result.size(), libraries.length, System.currentTimeMillis() - startTime));
+        }
+
         return result;
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.launcher.application;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.unmodifiableSet;
+import static org.mule.runtime.core.util.Preconditions.checkArgument;
+import static org.mule.runtime.module.launcher.MuleFoldersUtil.getPackageIndexFolder;
+
+import org.mule.runtime.core.util.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Discovers Java packages from JAR files using an index, so the same JAR is not explored
+ * every time an artifact is deployed.
+ * <p/>
+ * The packages of a JAR are persisted in the index folder keyed by the hash of the JAR content,
+ * so the index is still valid when an artifact is redeployed and its JAR files are extracted again.
+ * Packages are also kept in memory while the JAR file is not modified, which avoids reading JAR files
+ * shared by many artifacts. Folders are always explored using the delegate discoverer.
+ */
+public class IndexedPackageDiscoverer implements PackageDiscoverer
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedPackageDiscoverer.class);
+
+    private static final String HASH_ALGORITHM = "SHA-1";
+    private static final String INDEX_EXTENSION = ".packages";
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_INDEXED_LIBRARIES = 4096;
+
+    private final PackageDiscoverer delegate;
+    private final File indexFolder;
+    private final Map<String, IndexEntry> indexedLibraries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance that keeps the index in the container's
+     * {@link org.mule.runtime.module.launcher.MuleFoldersUtil#getPackageIndexFolder() package index folder}
+     *
+     * @param delegate discoverer used to explore the libraries that are not indexed. Non null
+     */
+    public IndexedPackageDiscoverer(PackageDiscoverer delegate)
+    {
+        this(delegate, null);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param delegate discoverer used to explore the libraries that are not indexed. Non null
+     * @param indexFolder folder where the index is persisted. When null, the container's package index folder is used.
+     */
+    public IndexedPackageDiscoverer(PackageDiscoverer delegate, File indexFolder)
+    {
+        checkArgument(delegate != null, "Delegate package discoverer cannot be null");
+
+        this.delegate = delegate;
+        this.indexFolder = indexFolder;
+    }
+
+    @Override
+    public Set<String> findPackages(URL library)
+    {
+        final File libraryFile;
+        try
+        {
+            libraryFile = new File(URLDecoder.decode(library.getFile(), "UTF-8"));
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Cannot explore URL: " + library, e);
+        }
+
+        if (!libraryFile.isFile() || !libraryFile.getName().toLowerCase().endsWith(".jar"))
+        {
+            return delegate.findPackages(library);
+        }
+
+        final String libraryPath = libraryFile.getAbsolutePath();
+        final long length = libraryFile.length();
+        final long lastModified = libraryFile.lastModified();
+
+        IndexEntry entry = indexedLibraries.get(libraryPath);
+        if (entry != null && entry.length == length && entry.lastModified == lastModified)
+        {
+            return entry.packages;
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final File indexFile = new File(getIndexFolder(), hash(libraryFile) + INDEX_EXTENSION);
+        Set<String> packages = readIndex(indexFile);
+        final boolean indexed = packages != null;
+        if (!indexed)
+        {
+            packages = unmodifiableSet(new HashSet<>(delegate.findPackages(library)));
+            writeIndex(indexFile, packages);
+        }
+
+        if (indexedLibraries.size() >= MAX_INDEXED_LIBRARIES)
+        {
+            indexedLibraries.clear();
+        }
+        indexedLibraries.put(libraryPath, new IndexEntry(length, lastModified, packages));
+
+        if (logger.isDebugEnabled())
+        {
+            logger.debug(String.format("%s packages of '%s' in %d ms", indexed ? "Read indexed" : "Discovered", library, System.currentTimeMillis() - startTime));
+        }
+
+        return packages;
+    }
+
+    private File getIndexFolder()
+    {
+        return indexFolder == null ? getPackageIndexFolder() : indexFolder;
+    }
+
+    private String hash(File libraryFile)
+    {
+        try (InputStream content = new FileInputStream(libraryFile))
+        {
+            final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = content.read(buffer)) != -1)
+            {
+                digest.update(buffer, 0, read);
+            }
+
+            return StringUtils.toHexString(digest.digest());
+        }
+        catch (IOException | NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("Cannot explore library: " + libraryFile, e);
+        }
+    }
+
+    private Set<String> readIndex(File indexFile)
+    {
+        if (!indexFile.exists())
+        {
+            return null;
+        }
+
+        try
+        {
+            return unmodifiableSet(new HashSet<>(Files.readAllLines(indexFile.toPath(), UTF_8)));
+        }
+        catch (IOException e)
+        {
+            logger.warn("Cannot read package index file: " + indexFile, e);
+            return null;
+        }
+    }
+
+    private void writeIndex(File indexFile, Set<String> packages)
+    {
+        try
+        {
+            final File folder = indexFile.getParentFile();
+            if (!folder.exists() && !folder.mkdirs() && !folder.exists())
+            {
+                throw new IOException("Cannot create package index folder: " + folder);
+            }
+
+            // Writes to a temporary file first so other deployments never read a partial index
+            final File tempFile = File.createTempFile(indexFile.getName(), ".tmp", folder);
+            try
+            {
+                Files.write(tempFile.toPath(), packages, UTF_8);
+                try
+                {
+                    Files.move(tempFile.toPath(), indexFile.toPath(), ATOMIC_MOVE);
+                }
+                catch (AtomicMoveNotSupportedException e)
+                {
+                    Files.move(tempFile.toPath(), indexFile.toPath(), REPLACE_EXISTING);
+                }
+            }
+            finally
+            {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+        }
+        catch (IOException e)
+        {
+            if (logger.isDebugEnabled())
+            {
+                logger.debug("Cannot write package index file: " + indexFile, e);
+            }
+        }
+    }
+
+    private static final class IndexEntry
+    {
+
+        private final long length;
+        private final long lastModified;
+        private final Set<String> packages;
+
+        private IndexEntry(long length, long lastModified, Set<String> packages)
+        {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.packages = packages;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.mule.runtime.module.launcher.DeploymentException;
 import org.mule.runtime.module.launcher.MuleFoldersUtil;
 import org.mule.runtime.module.launcher.MuleSharedDomainClassLoader;
 import org.mule.runtime.module.launcher.application.FilePackageDiscoverer;
+import org.mule.runtime.module.launcher.application.IndexedPackageDiscoverer;
 import org.mule.runtime.module.launcher.application.PackageDiscoverer;
 import org.mule.runtime.module.launcher.descriptor.DomainDescriptor;
 import org.mule.runtime.module.reboot.MuleContainerBootstrapUtils;
@@ -53,7 +54,7 @@ public class DomainClassLoaderFactory implements ArtifactClassLoaderFactory<Doma
     private final ClassLoader parentClassLoader;
 
     private Map<String, ArtifactClassLoader> domainArtifactClassLoaders = new HashMap<>();
-    private PackageDiscoverer packageDiscoverer = new FilePackageDiscoverer();
+    private PackageDiscoverer packageDiscoverer = new IndexedPackageDiscoverer(new FilePackageDiscoverer());
 
     /**
      * Creates a new instance
@@ -109,7 +110,7 @@ public class DomainClassLoaderFactory implements ArtifactClassLoaderFactory<Doma
     {
         validateDomain(domain);
         final List<URL> urls = getDomainUrls(domain);
-        final Map<String, ClassLoaderLookupStrategy> domainLookStrategies = getLookStrategiesFrom(urls);
+        final Map<String, ClassLoaderLookupStrategy> domainLookStrategies = getLookStrategiesFrom(domain, urls);
         final ClassLoaderLookupPolicy domainLookupPolicy = containerLookupPolicy.extend(domainLookStrategies);
 
         ArtifactClassLoader classLoader = new MuleSharedDomainClassLoader(domain, parentClassLoader, domainLookupPolicy, urls);
@@ -117,8 +118,9 @@ public class DomainClassLoaderFactory implements ArtifactClassLoaderFactory<Doma
         return createClassLoaderUnregisterWrapper(classLoader);
     }
 
-    private Map<String, ClassLoaderLookupStrategy> getLookStrategiesFrom(List<URL> libraries)
+    private Map<String, ClassLoaderLookupStrategy> getLookStrategiesFrom(String domain, List<URL> libraries)
     {
+        final long startTime = System.currentTimeMillis();
         final Map<String, ClassLoaderLookupStrategy> result = new HashMap<>();
 
         for (URL library : libraries)
@@ -130,6 +132,11 @@ public class DomainClassLoaderFactory implements ArtifactClassLoaderFactory<Doma
             }
         }
 
+        if (logger.isInfoEnabled())
+        {
+            logger.info(format("[%s] Discovered %d packages from %d domain libraries in %d ms", domain, result.size(), libraries.size(), System.currentTimeMillis() - startTime));
+        }
+
         return result;
     }
 
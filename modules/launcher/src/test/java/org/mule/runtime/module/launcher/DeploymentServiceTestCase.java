@@ -36,6 +36,7 @@ import static org.mockito.Mockito.verify;
 import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.module.artifact.classloader.ArtifactClassLoaderFilter.EXPORTED_CLASS_PACKAGES_PROPERTY;
 import static org.mule.runtime.module.artifact.classloader.ArtifactClassLoaderFilter.EXPORTED_RESOURCE_PACKAGES_PROPERTY;
+import static org.mule.runtime.module.launcher.DeploymentScheduler.DEPLOYMENT_THREADS_PROPERTY;
 import static org.mule.runtime.module.launcher.MuleFoldersUtil.CONTAINER_APP_PLUGINS;
 import static org.mule.runtime.module.launcher.MuleFoldersUtil.PLUGINS_FOLDER;
 import static org.mule.runtime.module.launcher.MuleFoldersUtil.getContainerAppPluginsFolder;
@@ -75,6 +76,7 @@ import org.mule.runtime.module.launcher.domain.Domain;
 import org.mule.runtime.module.launcher.domain.DomainClassLoaderFactory;
 import org.mule.runtime.module.launcher.domain.TestDomainFactory;
 import org.mule.runtime.module.launcher.nativelib.DefaultNativeLibraryFinderFactory;
+import org.mule.tck.MuleTestUtils;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.junit4.rule.DynamicPort;
 import org.mule.tck.junit4.rule.SystemProperty;
@@ -434,6 +436,25 @@ public class DeploymentServiceTestCase extends AbstractMuleTestCase
         assertApplicationAnchorFileExists(emptyAppFileBuilder.getId());
     }
 
+    @Test
+    public void deploysExplodedAppsInParallelOnStartup() throws Exception
+    {
+        addExplodedAppFromBuilder(emptyAppFileBuilder);
+        addExplodedAppFromBuilder(dummyAppDescriptorFileBuilder);
+
+        MuleTestUtils.testWithSystemProperty(DEPLOYMENT_THREADS_PROPERTY, "2", () -> {
+            deploymentService = new MuleDeploymentService(containerClassLoader);
+            deploymentService.addDeploymentListener(applicationDeploymentListener);
+            deploymentService.start();
+        });
+
+        assertApplicationDeploymentSuccess(applicationDeploymentListener, emptyAppFileBuilder.getId());
+        assertApplicationDeploymentSuccess(applicationDeploymentListener, dummyAppDescriptorFileBuilder.getId());
+        assertAppsDir(NONE, new String[] {emptyAppFileBuilder.getId(), dummyAppDescriptorFileBuilder.getId()}, true);
+        assertApplicationAnchorFileExists(emptyAppFileBuilder.getId());
+        assertApplicationAnchorFileExists(dummyAppDescriptorFileBuilder.getId());
+    }
+
     @Test
     public void deploysPackagedAppOnStartupWhenExplodedAppIsAlsoPresent() throws Exception
     {
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.launcher.application;
+
+import static java.util.Collections.singleton;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.runtime.core.util.FileUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class IndexedPackageDiscovererTestCase extends AbstractMuleTestCase
+{
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final PackageDiscoverer delegate = mock(PackageDiscoverer.class);
+
+    @Test
+    public void reusesIndexForLibraryWithSameContent() throws Exception
+    {
+        when(delegate.findPackages(any(URL.class))).thenReturn(singleton("org.foo"));
+        final File indexFolder = temporaryFolder.newFolder("index");
+        final File library = createLibrary("first.jar", "foo");
+        final File copiedLibrary = createLibrary("second.jar", "foo");
+
+        final Set<String> packages = new IndexedPackageDiscoverer(delegate, indexFolder).findPackages(library.toURI().toURL());
+        final Set<String> copiedPackages = new IndexedPackageDiscoverer(delegate, indexFolder).findPackages(copiedLibrary.toURI().toURL());
+
+        assertThat(packages, equalTo(singleton("org.foo")));
+        assertThat(copiedPackages, equalTo(singleton("org.foo")));
+        verify(delegate, times(1)).findPackages(any(URL.class));
+    }
+
+    @Test
+    public void discoversPackagesAgainWhenLibraryChanges() throws Exception
+    {
+        when(delegate.findPackages(any(URL.class))).thenReturn(singleton("org.foo"), singleton("org.bar"));
+        final IndexedPackageDiscoverer packageDiscoverer = new IndexedPackageDiscoverer(delegate, temporaryFolder.newFolder("index"));
+        final File library = createLibrary("test.jar", "foo");
+
+        assertThat(packageDiscoverer.findPackages(library.toURI().toURL()), equalTo(singleton("org.foo")));
+
+        FileUtils.writeStringToFile(library, "bar-modified");
+        assertThat(packageDiscoverer.findPackages(library.toURI().toURL()), equalTo(singleton("org.bar")));
+        verify(delegate, times(2)).findPackages(any(URL.class));
+    }
+
+    @Test
+    public void alwaysExploresFolders() throws Exception
+    {
+        when(delegate.findPackages(any(URL.class))).thenReturn(singleton("org.foo"));
+        final IndexedPackageDiscoverer packageDiscoverer = new IndexedPackageDiscoverer(delegate, temporaryFolder.newFolder("index"));
+        final URL folder = temporaryFolder.newFolder("classes").toURI().toURL();
+
+        packageDiscoverer.findPackages(folder);
+        packageDiscoverer.findPackages(folder);
+
+        verify(delegate, times(2)).findPackages(folder);
+    }
+
+    private File createLibrary(String name, String content) throws Exception
+    {
+        final File library = temporaryFolder.newFile(name);
+        FileUtils.writeStringToFile(library, content);
+
+        return library;
+    }
+}
@@ -121,6 +121,21 @@ public class FlowConstructService implements FlowConstructServiceMBean, MBeanReg
         return statistics.getTotalProcessingTime();
     }
 
+    public long getProcessingTimeP50()
+    {
+        return statistics.getProcessingTimeP50();
+    }
+
+    public long getProcessingTimeP99()
+    {
+        return statistics.getProcessingTimeP99();
+    }
+
+    public long getProcessingTimeP999()
+    {
+        return statistics.getProcessingTimeP999();
+    }
+
     public long getExecutionErrors()
     {
         return statistics.getExecutionErrors();
@@ -31,6 +31,12 @@ public interface FlowConstructStatsMBean
 
     long getTotalProcessingTime();
 
+    long getProcessingTimeP50();
+
+    long getProcessingTimeP99();
+
+    long getProcessingTimeP999();
+
     long getFatalErrors();
 
     long getExecutionErrors();
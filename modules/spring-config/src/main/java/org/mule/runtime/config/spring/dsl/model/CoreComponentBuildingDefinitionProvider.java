@@ -360,6 +360,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
                                                  .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
                                                  .withSetterParameterDefinition("rootMessageVariableName", fromSimpleParameter("rootMessageVariableName").build())
                                                  .withSetterParameterDefinition("counterVariableName", fromSimpleParameter("counterVariableName").build())
+                                                 .withSetterParameterDefinition("maxConcurrency", fromSimpleParameter("maxConcurrency").build())
+                                                 .withSetterParameterDefinition("ordered", fromSimpleParameter("ordered").build())
                                                  .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(MessageProcessor.class).build())
                                                  .build());
         componentBuildingDefinitions.add(baseDefinition.copy()
@@ -529,6 +531,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
                                                  .withTypeDefinition(fromType(ListenerSubscriptionPair.class))
                                                  .withSetterParameterDefinition("listener", fromSimpleReferenceParameter("ref").build())
                                                  .withSetterParameterDefinition("subscription", fromSimpleParameter("subscription").build())
+                                                 .withSetterParameterDefinition("group", fromSimpleParameter("group").build())
+                                                 .withSetterParameterDefinition("overflowPolicy", fromSimpleParameter("overflowPolicy").build())
                                                  .build());
 
         return componentBuildingDefinitions;
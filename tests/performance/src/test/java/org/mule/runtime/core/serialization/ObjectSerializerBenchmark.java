@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.serialization.internal.AbstractObjectSerializer;
+import org.mule.runtime.core.serialization.internal.BinaryObjectSerializer;
+import org.mule.runtime.core.serialization.internal.JavaObjectSerializer;
+import org.mule.runtime.core.util.IOUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link BinaryObjectSerializer} against {@link JavaObjectSerializer} serializing messages and plain
+ * collections, the objects most frequently written to queue stores and object stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ObjectSerializerBenchmark
+{
+
+    @Param({"java", "binary"})
+    public String serializerType;
+
+    @Param({"2", "20"})
+    public int properties;
+
+    private AbstractObjectSerializer serializer;
+    private MuleMessage message;
+    private Map<String, Object> map;
+    private byte[] serializedMessage;
+    private byte[] serializedMap;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        MuleContext muleContext = mock(MuleContext.class);
+        when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+        serializer = "binary".equals(serializerType) ? new BinaryObjectSerializer() : new JavaObjectSerializer();
+        serializer.setMuleContext(muleContext);
+
+        MuleMessage.Builder builder = MuleMessage.builder()
+                                                 .payload(IOUtils.getResourceAsString("test-data.json", getClass()))
+                                                 .mediaType(MediaType.JSON);
+        map = new HashMap<>();
+        for (int i = 0; i < properties; i++)
+        {
+            builder.addInboundProperty("inbound" + i, "value" + i);
+            builder.addOutboundProperty("outbound" + i, i);
+            map.put("key" + i, "value" + i);
+        }
+        message = builder.build();
+
+        serializedMessage = serializer.serialize(message);
+        serializedMap = serializer.serialize(map);
+    }
+
+    @Benchmark
+    public byte[] serializeMessage()
+    {
+        return serializer.serialize(message);
+    }
+
+    @Benchmark
+    public Object deserializeMessage()
+    {
+        return serializer.deserialize(serializedMessage);
+    }
+
+    @Benchmark
+    public byte[] serializeMap()
+    {
+        return serializer.serialize(map);
+    }
+
+    @Benchmark
+    public Object deserializeMap()
+    {
+        return serializer.deserialize(serializedMap);
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(ObjectSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
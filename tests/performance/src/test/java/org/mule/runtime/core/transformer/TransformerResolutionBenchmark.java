@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.transformer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.registry.TransformerResolver.RegistryAction.ADDED;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.core.api.transformer.Transformer;
+import org.mule.runtime.core.transformer.graph.GraphTransformerResolver;
+import org.mule.runtime.core.transformer.simple.ObjectToString;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures resolving an already seen transformation from several threads at once, which is what every implicit
+ * conversion of a payload does. The string keyed lookup is the way resolutions used to be cached, for comparison.
+ * Run with -prof gc to check that the table lookups allocate nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TransformerResolutionBenchmark
+{
+
+    private DataType source;
+    private DataType result;
+    private GraphTransformerResolver graphResolver;
+    private TransformerResolutionTable<Transformer> table;
+    private Map<String, Transformer> stringKeyedCache;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        source = DataType.builder().type(InputStream.class).build();
+        result = DataType.builder().type(String.class).mediaType(MediaType.TEXT).build();
+
+        graphResolver = new GraphTransformerResolver();
+        graphResolver.transformerChange(new ObjectToString(), ADDED);
+        Transformer transformer = graphResolver.resolve(source, result);
+
+        table = new TransformerResolutionTable<>();
+        table.putIfAbsent(source, result, transformer);
+
+        stringKeyedCache = new ConcurrentHashMap<>();
+        stringKeyedCache.put(source.toString() + result.toString(), transformer);
+    }
+
+    @Benchmark
+    public Transformer graphResolve() throws Exception
+    {
+        return graphResolver.resolve(source, result);
+    }
+
+    @Benchmark
+    public Transformer tableLookup()
+    {
+        return table.get(source, result);
+    }
+
+    @Benchmark
+    public Transformer stringKeyedLookup()
+    {
+        return stringKeyedCache.get(source.toString() + result.toString());
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(TransformerResolutionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
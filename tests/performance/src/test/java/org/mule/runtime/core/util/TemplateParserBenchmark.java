@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import org.mule.runtime.core.util.TemplateParser.TemplateCallback;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures parsing the kind of templates that flows parse on every message, such as logger messages, dynamic
+ * paths and queries. Expressions are resolved from a map, so only the cost of the template itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TemplateParserBenchmark
+{
+
+    @Param({"Processing order #[flowVars.orderId] for customer #[message.inboundProperties['customer']]",
+            "/api/#[flowVars.version]/orders/#[flowVars.orderId]/items",
+            "SELECT * FROM ORDERS WHERE ID = #[flowVars.orderId] AND STATUS = '#[flowVars.status]'",
+            "#[payload]",
+            "No expressions at all"})
+    public String template;
+
+    private TemplateParser parser;
+    private TemplateCallback callback;
+
+    @Setup
+    public void setUp()
+    {
+        Map<String, Object> values = new HashMap<>();
+        values.put("flowVars.orderId", 1234);
+        values.put("flowVars.version", "v1");
+        values.put("flowVars.status", "SHIPPED");
+        values.put("message.inboundProperties['customer']", "ACME");
+        values.put("payload", "payload");
+
+        parser = TemplateParser.createMuleStyleParser();
+        callback = values::get;
+    }
+
+    @Benchmark
+    public String parse()
+    {
+        return parser.parse(callback, template);
+    }
+
+    @Benchmark
+    public boolean isContainsTemplate()
+    {
+        return parser.isContainsTemplate(template);
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(TemplateParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -114,7 +114,7 @@ public abstract class AbstractReceiverWorker implements Work
                         Object preProcessedPayload = preProcessMessage(payload);
                         if (preProcessedPayload != null)
                         {
-                            MuleMessage muleMessage = receiver.createMuleMessage(preProcessedPayload, endpoint.getEncoding());
+                            MuleMessage muleMessage = createMuleMessage(preProcessedPayload);
                             muleMessage = preRouteMuleMessage(muleMessage);
                             // TODO Move getSessionHandler() to the Connector interface
                             SessionHandler handler;
@@ -194,6 +194,19 @@ public abstract class AbstractReceiverWorker implements Work
         return payloads;
     }
 
+    /**
+     * Creates the {@link MuleMessage} to be routed from a pre-processed transport message. The default implementation
+     * delegates to the receiver, workers that route several transport messages as a single one can override it.
+     *
+     * @param payload the pre-processed transport message
+     * @return the message to be routed
+     * @throws Exception
+     */
+    protected MuleMessage createMuleMessage(Object payload) throws Exception
+    {
+        return receiver.createMuleMessage(payload, endpoint.getEncoding());
+    }
+
     /**
      * This callback is called before a message is routed into Mule and can be used by the worker to set connection
      * specific properties to message before it gets routed
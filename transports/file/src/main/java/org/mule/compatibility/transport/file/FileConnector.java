@@ -74,6 +74,7 @@ public class FileConnector extends AbstractConnector
     public static final String PROPERTY_FILE_TIMESTAMP = "timestamp";
 
     public static final long DEFAULT_POLLING_FREQUENCY = 1000;
+    public static final int DEFAULT_MAX_TRACKED_FILES = 10000;
 
     /**
      * Time in milliseconds to poll. On each poll the poll() method is called
@@ -112,6 +113,12 @@ public class FileConnector extends AbstractConnector
 
     private boolean recursive = false;
 
+    private boolean incrementalPolling = false;
+
+    private int maxTrackedFiles = DEFAULT_MAX_TRACKED_FILES;
+
+    private int maxConcurrentFiles = 1;
+
     public FileConnector(MuleContext context)
     {
         super(context);
@@ -630,4 +637,45 @@ public class FileConnector extends AbstractConnector
     {
         this.recursive = recursive;
     }
+
+    public boolean isIncrementalPolling()
+    {
+        return incrementalPolling;
+    }
+
+    /**
+     * @param incrementalPolling whether receivers track the read directory between polls instead of listing it
+     *                           on every poll
+     * @see IncrementalFileScanner
+     */
+    public void setIncrementalPolling(boolean incrementalPolling)
+    {
+        this.incrementalPolling = incrementalPolling;
+    }
+
+    public int getMaxTrackedFiles()
+    {
+        return maxTrackedFiles;
+    }
+
+    /**
+     * @param maxTrackedFiles maximum number of files an incremental poll keeps track of
+     */
+    public void setMaxTrackedFiles(int maxTrackedFiles)
+    {
+        this.maxTrackedFiles = maxTrackedFiles;
+    }
+
+    public int getMaxConcurrentFiles()
+    {
+        return maxConcurrentFiles;
+    }
+
+    /**
+     * @param maxConcurrentFiles maximum number of files an incremental poll processes at the same time
+     */
+    public void setMaxConcurrentFiles(int maxConcurrentFiles)
+    {
+        this.maxConcurrentFiles = maxConcurrentFiles;
+    }
 }
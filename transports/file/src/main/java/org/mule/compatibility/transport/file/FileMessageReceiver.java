@@ -52,14 +52,21 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 
+import javax.resource.spi.work.Work;
+
 import org.apache.commons.collections.comparators.ReverseComparator;
 
 /**
  * <code>FileMessageReceiver</code> is a polling listener that reads files from a
  * directory.
+ * <p/>
+ * When the connector has <code>incrementalPolling</code> enabled, the directory is tracked between polls by an
+ * {@link IncrementalFileScanner} and the files it reports as stable are processed by up to
+ * <code>maxConcurrentFiles</code> workers, without checking whether they can be locked.
  */
 
 public class FileMessageReceiver extends AbstractPollingMessageReceiver
@@ -84,6 +91,7 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
     private LockFactory lockFactory;
     private boolean poolOnPrimaryInstanceOnly;
     private ObjectStore<String> filesBeingProcessingObjectStore;
+    private IncrementalFileScanner incrementalScanner;
 
     public FileMessageReceiver(Connector connector,
                                FlowConstruct flowConstruct,
@@ -166,6 +174,12 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
             {
                 logger.debug("Listening on endpointUri: " + readDirectory.getAbsolutePath());
             }
+
+            if (fileConnector.isIncrementalPolling())
+            {
+                incrementalScanner = new IncrementalFileScanner(readDirectory, fileConnector.isRecursive(),
+                                                                this::accept, fileConnector.getMaxTrackedFiles());
+            }
         }
 
         if (moveDir != null)
@@ -181,7 +195,11 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
     @Override
     protected void doDisconnect() throws Exception
     {
-        // template method
+        if (incrementalScanner != null)
+        {
+            incrementalScanner.close();
+            incrementalScanner = null;
+        }
     }
 
     @Override
@@ -195,6 +213,13 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
     {
         try
         {
+            IncrementalFileScanner scanner = incrementalScanner;
+            if (scanner != null)
+            {
+                pollIncrementally(scanner);
+                return;
+            }
+
             List<File> files = this.listFiles();
             if (logger.isDebugEnabled())
             {
@@ -214,46 +239,130 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
                 // don't process directories
                 if (file.isFile())
                 {
-                    Lock fileLock = lockFactory.createLock(file.getName());
-                    if (fileLock.tryLock())
+                    processPolledFile(file, true);
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+        }
+    }
+
+    /**
+     * Processes the files that did not change since the previous poll. Files are processed concurrently
+     * unless a comparator is configured, in which case they are processed in order.
+     */
+    private void pollIncrementally(IncrementalFileScanner scanner) throws Exception
+    {
+        List<File> files = scanner.scan();
+        if (files.isEmpty())
+        {
+            return;
+        }
+        if (logger.isDebugEnabled())
+        {
+            logger.debug("Stable files: " + files.toString());
+        }
+
+        Comparator<File> comparator = getComparator();
+        if (comparator != null)
+        {
+            Collections.sort(files, comparator);
+        }
+
+        int maxConcurrentFiles = comparator == null ? fileConnector.getMaxConcurrentFiles() : 1;
+        Semaphore workers = new Semaphore(maxConcurrentFiles);
+        try
+        {
+            for (File file : files)
+            {
+                if (getLifecycleState().isStopping())
+                {
+                    break;
+                }
+                if (maxConcurrentFiles > 1)
+                {
+                    workers.acquire();
+                    try
+                    {
+                        getWorkManager().scheduleWork(new FileWork(file, scanner, workers));
+                    }
+                    catch (Exception e)
                     {
-                        try
-                        {
-                            String fileAbsolutePath = file.getAbsolutePath();
-                            try
-                            {
-                                filesBeingProcessingObjectStore.store(fileAbsolutePath, fileAbsolutePath);
-
-                                if (logger.isDebugEnabled())
-                                {
-                                    logger.debug(String.format("Flag for '%s' stored successfully.", fileAbsolutePath));
-                                }
-                            }
-                            catch (ObjectAlreadyExistsException e)
-                            {
-                                if (logger.isDebugEnabled())
-                                {
-                                    logger.debug(String.format("Flag for '%s' being processed is on. Skipping file.", fileAbsolutePath));
-                                }
-                                continue;
-                            }
-                            if (file.exists())
-                            {
-                                processFile(file);
-                            }
-                        }
-                        finally
-                        {
-                            fileLock.unlock();
-                        }
+                        workers.release();
+                        throw e;
                     }
                 }
+                else
+                {
+                    processIncrementalFile(file, scanner);
+                }
             }
         }
+        finally
+        {
+            // wait for the workers, so the next poll does not pick up the files being processed
+            workers.acquireUninterruptibly(maxConcurrentFiles);
+        }
+    }
+
+    private void processIncrementalFile(File file, IncrementalFileScanner scanner)
+    {
+        try
+        {
+            processPolledFile(file, false);
+        }
         catch (Exception e)
         {
             getEndpoint().getMuleContext().getExceptionListener().handleException(e);
         }
+
+        // files that are neither moved nor deleted are polled again, as when listing the directory
+        if (file.exists())
+        {
+            synchronized (scanner)
+            {
+                scanner.track(file);
+            }
+        }
+    }
+
+    private void processPolledFile(File file, boolean checkFileLock) throws MuleException
+    {
+        Lock fileLock = lockFactory.createLock(file.getName());
+        if (fileLock.tryLock())
+        {
+            try
+            {
+                String fileAbsolutePath = file.getAbsolutePath();
+                try
+                {
+                    filesBeingProcessingObjectStore.store(fileAbsolutePath, fileAbsolutePath);
+
+                    if (logger.isDebugEnabled())
+                    {
+                        logger.debug(String.format("Flag for '%s' stored successfully.", fileAbsolutePath));
+                    }
+                }
+                catch (ObjectAlreadyExistsException e)
+                {
+                    if (logger.isDebugEnabled())
+                    {
+                        logger.debug(String.format("Flag for '%s' being processed is on. Skipping file.", fileAbsolutePath));
+                    }
+                    return;
+                }
+                if (file.exists())
+                {
+                    processFile(file, checkFileLock);
+                }
+            }
+            finally
+            {
+                fileLock.unlock();
+            }
+        }
     }
 
     @Override
@@ -263,6 +372,11 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
     }
 
     public void processFile(File file) throws MuleException
+    {
+        processFile(file, true);
+    }
+
+    private void processFile(File file, boolean checkFileLock) throws MuleException
     {
         //TODO RM*: This can be put in a Filter. Also we can add an AndFileFilter/OrFileFilter to allow users to
         //combine file filters (since we can only pass a single filter to File.listFiles, we would need to wrap
@@ -281,7 +395,7 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
         }
 
         // don't process a file that is locked by another process (probably still being written)
-        if (!attemptFileLock(file))
+        if (checkFileLock && !attemptFileLock(file))
         {
             return;
         }
@@ -702,27 +816,26 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
                     basicListFiles(file, discoveredFiles);
                 }
             }
-            else
+            else if (accept(file))
             {
-                boolean addFile = true;
-
-                if (fileFilter != null)
-                {
-                    addFile = fileFilter.accept(file);
-                }
-                else if (filenameFilter != null)
-                {
-                    addFile = filenameFilter.accept(currentDirectory, file.getName());
-                }
-
-                if (addFile)
-                {
-                    discoveredFiles.add(file);
-                }
+                discoveredFiles.add(file);
             }
         }
     }
 
+    private boolean accept(File file)
+    {
+        if (fileFilter != null)
+        {
+            return fileFilter.accept(file);
+        }
+        else if (filenameFilter != null)
+        {
+            return filenameFilter.accept(file.getParentFile(), file.getName());
+        }
+        return true;
+    }
+
     /**
      * Exception tolerant roll back method
      *
@@ -759,4 +872,38 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver
         }
         return null;
     }
+
+    private class FileWork implements Work
+    {
+
+        private final File file;
+        private final IncrementalFileScanner scanner;
+        private final Semaphore workers;
+
+        FileWork(File file, IncrementalFileScanner scanner, Semaphore workers)
+        {
+            this.file = file;
+            this.scanner = scanner;
+            this.workers = workers;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                processIncrementalFile(file, scanner);
+            }
+            finally
+            {
+                workers.release();
+            }
+        }
+
+        @Override
+        public void release()
+        {
+            // nothing to release
+        }
+    }
 }
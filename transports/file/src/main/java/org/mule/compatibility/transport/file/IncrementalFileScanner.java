@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.file;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.emptySet;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the files of a directory between polls, so that a poll does not have to list and sort
+ * the whole directory.
+ * <p/>
+ * The directory is listed once with a {@link DirectoryStream}. After that, only the files reported by a
+ * {@link WatchService} are looked at, and the directory is listed again only when the watch service
+ * overflows or is not supported, or when listing stopped after finding <code>maxTrackedFiles</code> files. A file is
+ * returned by {@link #scan()} once its size and modification time did not change between two scans, so it
+ * is not necessary to lock it to find out whether it is still being written.
+ * <p/>
+ * This class is not thread safe, it is meant to be used by a single polling thread.
+ */
+class IncrementalFileScanner implements Closeable
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalFileScanner.class);
+
+    private final Path directory;
+    private final boolean recursive;
+    private final FileFilter filter;
+    private final int maxTrackedFiles;
+    private final WatchService watchService;
+
+    /**
+     * Files that were seen but are not stable yet, in the order they were found.
+     */
+    private final Map<Path, FileState> trackedFiles = new LinkedHashMap<>();
+    private boolean rescanRequired = true;
+    private Set<Path> returnedPaths = emptySet();
+
+    IncrementalFileScanner(File directory, boolean recursive, FileFilter filter, int maxTrackedFiles)
+    {
+        this.directory = directory.toPath();
+        this.recursive = recursive;
+        this.filter = filter;
+        this.maxTrackedFiles = maxTrackedFiles;
+        this.watchService = createWatchService(this.directory);
+    }
+
+    private static WatchService createWatchService(Path directory)
+    {
+        try
+        {
+            return directory.getFileSystem().newWatchService();
+        }
+        catch (IOException | UnsupportedOperationException e)
+        {
+            logger.warn("Cannot watch directory " + directory + ", it will be listed on every poll: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the files that did not change since the previous scan
+     * @throws IOException if the directory cannot be listed
+     */
+    List<File> scan() throws IOException
+    {
+        // Only files tracked by a previous scan can be stable
+        Set<Path> stablePaths = new LinkedHashSet<>();
+        for (Iterator<Map.Entry<Path, FileState>> it = trackedFiles.entrySet().iterator(); it.hasNext(); )
+        {
+            Map.Entry<Path, FileState> entry = it.next();
+            FileState current = readState(entry.getKey());
+            if (current == null)
+            {
+                it.remove();
+            }
+            else if (current.equals(entry.getValue()))
+            {
+                stablePaths.add(entry.getKey());
+                it.remove();
+            }
+            else
+            {
+                entry.setValue(current);
+            }
+        }
+
+        // The listing below must not track the stable files again
+        returnedPaths = stablePaths;
+        try
+        {
+            if (watchService == null)
+            {
+                rescanRequired = true;
+            }
+            else
+            {
+                processWatchEvents();
+            }
+
+            if (rescanRequired)
+            {
+                rescanRequired = false;
+                list(directory, watchService != null);
+            }
+        }
+        finally
+        {
+            returnedPaths = emptySet();
+        }
+
+        List<File> stableFiles = new ArrayList<>(stablePaths.size());
+        for (Path path : stablePaths)
+        {
+            stableFiles.add(path.toFile());
+        }
+        return stableFiles;
+    }
+
+    /**
+     * Tracks a file again, for example because it was not moved or deleted after being processed.
+     */
+    void track(File file)
+    {
+        track(file.toPath());
+    }
+
+    int getTrackedFilesCount()
+    {
+        return trackedFiles.size();
+    }
+
+    private void processWatchEvents() throws IOException
+    {
+        WatchKey key;
+        while ((key = watchService.poll()) != null)
+        {
+            Path watchedDirectory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents())
+            {
+                if (event.kind() == OVERFLOW)
+                {
+                    rescanRequired = true;
+                    continue;
+                }
+
+                Path path = watchedDirectory.resolve((Path) event.context());
+                if (Files.isDirectory(path, NOFOLLOW_LINKS))
+                {
+                    if (recursive && event.kind() == ENTRY_CREATE)
+                    {
+                        // Files may have been created before the directory could be watched
+                        list(path, true);
+                    }
+                }
+                else if (accept(path))
+                {
+                    track(path);
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private void list(Path currentDirectory, boolean watch) throws IOException
+    {
+        if (watch)
+        {
+            currentDirectory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        }
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(currentDirectory))
+        {
+            for (Path path : entries)
+            {
+                if (trackedFiles.size() >= maxTrackedFiles)
+                {
+                    // Stop listing, the rest is listed once the tracked files are processed
+                    rescanRequired = true;
+                    return;
+                }
+
+                if (Files.isDirectory(path, NOFOLLOW_LINKS))
+                {
+                    if (recursive)
+                    {
+                        list(path, watch);
+                    }
+                }
+                else if (accept(path))
+                {
+                    track(path);
+                }
+            }
+        }
+        catch (NoSuchFileException e)
+        {
+            // directory was removed while being listed
+        }
+    }
+
+    private boolean accept(Path path)
+    {
+        return filter == null || filter.accept(path.toFile());
+    }
+
+    private void track(Path path)
+    {
+        if (trackedFiles.containsKey(path) || returnedPaths.contains(path))
+        {
+            return;
+        }
+        if (trackedFiles.size() >= maxTrackedFiles)
+        {
+            // Pick the file up once there is room for it
+            rescanRequired = true;
+            return;
+        }
+        FileState state = readState(path);
+        if (state != null)
+        {
+            trackedFiles.put(path, state);
+        }
+    }
+
+    private FileState readState(Path path)
+    {
+        try
+        {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+            return attributes.isRegularFile() ? new FileState(attributes.size(), attributes.lastModifiedTime().toMillis()) : null;
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        trackedFiles.clear();
+        if (watchService != null)
+        {
+            watchService.close();
+        }
+    }
+
+    private static final class FileState
+    {
+
+        private final long size;
+        private final long lastModified;
+
+        FileState(long size, long lastModified)
+        {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof FileState))
+            {
+                return false;
+            }
+            FileState other = (FileState) obj;
+            return size == other.size && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * Long.hashCode(size) + Long.hashCode(lastModified);
+        }
+    }
+}
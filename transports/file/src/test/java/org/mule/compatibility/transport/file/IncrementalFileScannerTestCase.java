@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.file;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class IncrementalFileScannerTestCase extends AbstractMuleTestCase
+{
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private IncrementalFileScanner scanner;
+
+    @After
+    public void closeScanner() throws IOException
+    {
+        if (scanner != null)
+        {
+            scanner.close();
+        }
+    }
+
+    @Test
+    public void filesReturnedOnceStable() throws Exception
+    {
+        File first = createFile("first.txt", "first");
+        File second = createFile("second.txt", "second");
+        scanner = new IncrementalFileScanner(temporaryFolder.getRoot(), false, null, 10);
+
+        assertThat(scanner.scan(), is(empty()));
+        assertThat(scanner.scan(), containsInAnyOrder(first, second));
+        assertThat(scanner.scan(), is(empty()));
+    }
+
+    @Test
+    public void growingFileNotReturned() throws Exception
+    {
+        File file = createFile("growing.txt", "a");
+        scanner = new IncrementalFileScanner(temporaryFolder.getRoot(), false, null, 10);
+
+        assertThat(scanner.scan(), is(empty()));
+        append(file, "b");
+        assertThat(scanner.scan(), is(empty()));
+        assertThat(scanner.scan(), containsInAnyOrder(file));
+    }
+
+    @Test
+    public void trackedFilesAreBounded() throws Exception
+    {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            files.add(createFile("file" + i + ".txt", "content"));
+        }
+        scanner = new IncrementalFileScanner(temporaryFolder.getRoot(), false, null, 2);
+
+        List<File> found = new ArrayList<>();
+        for (int i = 0; i < 10 && found.size() < files.size(); i++)
+        {
+            assertThat(scanner.getTrackedFilesCount() <= 2, is(true));
+            for (File file : scanner.scan())
+            {
+                // processed files are moved away
+                found.add(file);
+                assertThat(file.delete(), is(true));
+            }
+        }
+        assertThat(found, containsInAnyOrder(files.toArray()));
+    }
+
+    @Test
+    public void filteredAndRecursiveFiles() throws Exception
+    {
+        File accepted = createFile("accepted.txt", "accepted");
+        createFile("ignored.tmp", "ignored");
+        File nested = new File(temporaryFolder.newFolder("nested"), "nested.txt");
+        append(nested, "nested");
+        scanner = new IncrementalFileScanner(temporaryFolder.getRoot(), true, file -> file.getName().endsWith(".txt"), 10);
+
+        scanner.scan();
+        assertThat(scanner.scan(), containsInAnyOrder(accepted, nested));
+    }
+
+    @Test
+    public void retrackedFileReturnedAgain() throws Exception
+    {
+        File file = createFile("kept.txt", "kept");
+        scanner = new IncrementalFileScanner(temporaryFolder.getRoot(), false, null, 10);
+
+        scanner.scan();
+        assertThat(scanner.scan(), hasSize(1));
+        scanner.track(file);
+        assertThat(scanner.scan(), containsInAnyOrder(file));
+    }
+
+    private File createFile(String name, String content) throws IOException
+    {
+        File file = temporaryFolder.newFile(name);
+        append(file, content);
+        return file;
+    }
+
+    private void append(File file, String content) throws IOException
+    {
+        try (FileOutputStream out = new FileOutputStream(file, true))
+        {
+            out.write(content.getBytes());
+        }
+    }
+}
@@ -81,6 +81,11 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
 
     public static final int REDELIVERY_IGNORE = -1;
 
+    /**
+     * Default time in milliseconds a consumer waits to complete a batch of messages.
+     */
+    public static final long DEFAULT_BATCH_TIMEOUT = 100;
+
     private AtomicInteger receiverReportedExceptionCount = new AtomicInteger();
 
     ////////////////////////////////////////////////////////////////////////
@@ -103,6 +108,22 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
 
     private boolean cacheJmsSessions = true;
 
+    /**
+     * Maximum number of messages each consumer receives into a single transaction or acknowledgement.
+     * The default of 1 disables batching.
+     */
+    private int batchSize = 1;
+
+    /**
+     * Maximum time in milliseconds a consumer waits for more messages before processing an incomplete batch.
+     */
+    private long batchTimeout = DEFAULT_BATCH_TIMEOUT;
+
+    /**
+     * Whether a batch is routed as a single message collection instead of one event per message.
+     */
+    private boolean batchAsCollection;
+
     /**
      * Whether to create a consumer on connect.
      */
@@ -217,6 +238,10 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
     @Override
     protected void doInitialise() throws InitialisationException
     {
+        if (batchSize > 1 && batchTimeout <= 0)
+        {
+            throw new InitialisationException(CoreMessages.propertyHasInvalidValue("batchTimeout", batchTimeout), this);
+        }
         responseTimeoutTimer = new Timer(ThreadNameHelper.getPrefix(muleContext) + name + ".ResponseTimeoutTimer");
         if (jmsSupport == null)
         {
@@ -1414,6 +1439,57 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
         return this.numberOfConcurrentTransactedReceivers;
     }
 
+    /**
+     * @return maximum number of messages each consumer receives into a single transaction or acknowledgement
+     * @see org.mule.compatibility.transport.jms.MultiConsumerJmsMessageReceiver
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize maximum number of messages each consumer receives into a single transaction or
+     *                  acknowledgement, 1 disables batching
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return maximum time in milliseconds a consumer waits to complete a batch
+     */
+    public long getBatchTimeout()
+    {
+        return batchTimeout;
+    }
+
+    /**
+     * @param batchTimeout maximum time in milliseconds a consumer waits to complete a batch
+     */
+    public void setBatchTimeout(long batchTimeout)
+    {
+        this.batchTimeout = batchTimeout;
+    }
+
+    /**
+     * @return true if a batch is routed as a single message collection
+     */
+    public boolean isBatchAsCollection()
+    {
+        return batchAsCollection;
+    }
+
+    /**
+     * @param batchAsCollection true to route a batch as a single message collection, false to route
+     *                          one event per message within the batch transaction
+     */
+    public void setBatchAsCollection(boolean batchAsCollection)
+    {
+        this.batchAsCollection = batchAsCollection;
+    }
+
     public boolean isEmbeddedMode()
     {
         return embeddedMode;
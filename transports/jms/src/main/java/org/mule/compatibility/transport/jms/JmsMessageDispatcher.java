@@ -30,7 +30,9 @@ import org.mule.runtime.core.util.ClassUtils;
 import org.mule.runtime.core.util.concurrent.Latch;
 import org.mule.runtime.core.util.concurrent.WaitableBoolean;
 
+import java.util.Map;
 import java.util.TimerTask;
+import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 
 import javax.jms.DeliveryMode;
@@ -44,6 +46,8 @@ import javax.jms.Session;
 import javax.jms.TemporaryQueue;
 import javax.jms.TemporaryTopic;
 
+import org.springframework.jms.connection.CachingConnectionFactory;
+
 /**
  * <code>JmsMessageDispatcher</code> is responsible for dispatching messages to JMS
  * destinations. All JMS semantics apply and settings such as replyTo and QoS
@@ -57,6 +61,15 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher
     private boolean disableTemporaryDestinations = false;
     private boolean returnOriginalMessageAsReply = false;
 
+    /**
+     * Producers for this endpoint destination, kept open for the consumer sessions that are reused by consecutive
+     * transactions. Only used when the connection factory does not already cache producers.
+     * <p/>
+     * Keys are weak, since consumers drop their session wrapper when they close the underlying session, which
+     * also closes its producers. Entries for replaced sessions are then discarded instead of being kept forever.
+     */
+    private final Map<Session, MessageProducer> cachedProducers = new WeakHashMap<Session, MessageProducer>();
+
     public JmsMessageDispatcher(OutboundEndpoint endpoint)
     {
         super(endpoint);
@@ -91,7 +104,7 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher
     @Override
     protected void doDisconnect() throws Exception
     {
-        // template method
+        closeCachedProducers();
     }
 
     protected boolean isDisableTemporaryDestinations()
@@ -139,6 +152,7 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher
         Session session = null;
         MessageProducer producer = null;
         boolean delayedCleanup = false;
+        boolean cachedProducer = false;
 
         try
         {
@@ -154,7 +168,8 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher
             }
 
             session = connector.getTransactionalResource(endpoint);
-            producer = createProducer(session, topic);
+            cachedProducer = isProducerCacheable(session);
+            producer = cachedProducer ? getCachedProducer(session, topic) : createProducer(session, topic);
 
             final Destination replyTo = getReplyToDestination(jmsMessage, session, event, useReplyToDestination, topic);
 
@@ -208,11 +223,24 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher
                 return internalSend(producer, jmsMessage, topic, ttl, priority, persistent);
             }
         }
+        catch (JMSException e)
+        {
+            if (cachedProducer)
+            {
+                // The session may have been closed, so do not reuse its producer
+                evictCachedProducer(session);
+                cachedProducer = false;
+            }
+            throw e;
+        }
         finally
         {
             if (!delayedCleanup)
             {
-                connector.closeQuietly(producer);
+                if (!cachedProducer)
+                {
+                    connector.closeQuietly(producer);
+                }
                 closeSession(session);
             }
         }
@@ -339,6 +367,51 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher
         return connector.getJmsSupport().createProducer(session, dest, topic);
     }
 
+    /**
+     * Producers can be kept open only for the consumer sessions bound to the current transaction, as these are not
+     * closed when the transaction finishes. The session is used by a single thread at a time, and so is its producer.
+     */
+    private boolean isProducerCacheable(Session session)
+    {
+        return session != null
+               && ReusableSessionWrapperFactory.isWrapper(session)
+               && !(connector.getConnectionFactory() instanceof CachingConnectionFactory);
+    }
+
+    private MessageProducer getCachedProducer(Session session, boolean topic) throws JMSException
+    {
+        synchronized (cachedProducers)
+        {
+            MessageProducer producer = cachedProducers.get(session);
+            if (producer == null)
+            {
+                producer = createProducer(session, topic);
+                cachedProducers.put(session, producer);
+            }
+            return producer;
+        }
+    }
+
+    private void evictCachedProducer(Session session)
+    {
+        synchronized (cachedProducers)
+        {
+            cachedProducers.remove(session);
+        }
+    }
+
+    private void closeCachedProducers()
+    {
+        synchronized (cachedProducers)
+        {
+            for (MessageProducer producer : cachedProducers.values())
+            {
+                connector.closeQuietly(producer);
+            }
+            cachedProducers.clear();
+        }
+    }
+
     private Message getJmsMessagePayload(MuleEvent event) throws DispatchException
     {
         Object message = event.getMessage().getPayload();
@@ -483,7 +556,7 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher
     @Override
     protected void doDispose()
     {
-        // template method
+        closeCachedProducers();
     }
 
     /**
@@ -6,6 +6,9 @@
  */
 package org.mule.compatibility.transport.jms;
 
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.singletonList;
+
 import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
 import org.mule.compatibility.core.api.transport.Connector;
 import org.mule.compatibility.core.connector.EndpointConnectException;
@@ -17,6 +20,7 @@ import org.mule.compatibility.transport.jms.redelivery.RedeliveryHandler;
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MessagingException;
 import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.exception.RollbackSourceCallback;
 import org.mule.runtime.core.api.lifecycle.CreateException;
@@ -32,6 +36,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.jms.Destination;
 import javax.jms.JMSException;
@@ -39,6 +44,8 @@ import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.MessageListener;
 import javax.jms.Session;
+import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +54,11 @@ import org.slf4j.LoggerFactory;
  * In Mule an endpoint corresponds to a single receiver. It's up to the receiver to do multithreaded consumption and
  * resource allocation, if needed. This class honors the <code>numberOfConcurrentTransactedReceivers</code> strictly
  * and will create exactly this number of consumers.
+ * <p>
+ * When the connector <code>batchSize</code> is greater than 1, consumers do not register a {@link MessageListener}.
+ * Each one receives up to <code>batchSize</code> messages, or as many as arrive within <code>batchTimeout</code>
+ * milliseconds, and processes them within a single transaction or client acknowledgement. The batch is routed either
+ * as one event per message or, if <code>batchAsCollection</code> is set, as a single message collection.
  */
 public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
 {
@@ -119,9 +131,8 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
     @Override
     protected void doStop() throws MuleException
     {
-        super.doStop();
-
         logger.debug("doStop()");
+        // Stop consumers first, so batch receives finish before the work manager waits for them
         if (consumers != null)
         {
             SubReceiver sub;
@@ -131,6 +142,8 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
                 sub.doStop(true);
             }
         }
+
+        super.doStop();
         reconnectWorkManager.dispose();
     }
 
@@ -247,7 +260,9 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
         private final Logger subLogger = LoggerFactory.getLogger(getClass());
 
         private volatile Session session;
+        private volatile Session reusableSession;
         private volatile MessageConsumer consumer;
+        private final AtomicBoolean receivingBatches = new AtomicBoolean(false);
 
         protected volatile boolean connected;
         protected volatile boolean started;
@@ -288,6 +303,22 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
             }
             jmsConnector.closeQuietly(session);
             session = null;
+            reusableSession = null;
+        }
+
+        /**
+         * @return a wrapper of the consumer session to bind to transactions. The same wrapper is returned
+         * while the session is open, so resources cached per session survive between transactions.
+         */
+        protected Session getReusableSession()
+        {
+            Session current = reusableSession;
+            if (current == null)
+            {
+                current = ReusableSessionWrapperFactory.createWrapper(session);
+                reusableSession = current;
+            }
+            return current;
         }
 
         private void recoverSession()
@@ -311,6 +342,12 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
                 doConnect();
             }
 
+            if (jmsConnector.getBatchSize() > 1)
+            {
+                startBatchReceive();
+                return;
+            }
+
             try
             {
                 MessageListener currentMessageListener = consumer.getMessageListener();
@@ -326,6 +363,24 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
             }
         }
 
+        private void startBatchReceive() throws MuleException
+        {
+            started = true;
+            if (receivingBatches.compareAndSet(false, true))
+            {
+                try
+                {
+                    getWorkManager().scheduleWork(new BatchReceiveWork());
+                }
+                catch (WorkException e)
+                {
+                    receivingBatches.set(false);
+                    started = false;
+                    throw new LifecycleException(e, this);
+                }
+            }
+        }
+
         /**
          * Stop the subreceiver.
          * @param force - if true, any exceptions will be logged but the subreceiver will be considered stopped regardless
@@ -335,6 +390,13 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
         {
             subLogger.debug("SUB doStop()");
 
+            if (jmsConnector.getBatchSize() > 1)
+            {
+                // The batch receive work finishes once its current receive times out
+                started = false;
+                return;
+            }
+
             if (consumer != null)
             {
                 try
@@ -436,12 +498,62 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
 
         @Override
         public void onMessage(final Message message)
+        {
+            isProcessingMessage = true;
+            // Note: Despite the name "Worker", there is no new thread created here in order to maintain synchronicity for exception handling.
+            process(new JmsWorker(message, MultiConsumerJmsMessageReceiver.this, this));
+        }
+
+        /**
+         * Receives up to <code>batchSize</code> messages, waiting at most <code>batchTimeout</code> milliseconds
+         * for them, and processes them with a single worker.
+         */
+        protected void receiveBatch() throws JMSException
+        {
+            final MessageConsumer currentConsumer = consumer;
+            final int batchSize = jmsConnector.getBatchSize();
+            final long batchTimeout = jmsConnector.getBatchTimeout();
+
+            Message message = currentConsumer.receive(batchTimeout);
+            if (message == null)
+            {
+                return;
+            }
+
+            isProcessingMessage = true;
+            List<Message> batch = new ArrayList<Message>(batchSize);
+            batch.add(message);
+
+            long deadline = currentTimeMillis() + batchTimeout;
+            for (long remaining = batchTimeout; batch.size() < batchSize && remaining > 0; remaining = deadline - currentTimeMillis())
+            {
+                message = currentConsumer.receive(remaining);
+                if (message == null)
+                {
+                    break;
+                }
+                batch.add(message);
+            }
+
+            if (subLogger.isDebugEnabled())
+            {
+                subLogger.debug("Received batch of " + batch.size() + " messages on " + endpoint.getEndpointURI());
+            }
+
+            if (jmsConnector.isBatchAsCollection())
+            {
+                process(new JmsCollectionWorker(batch, MultiConsumerJmsMessageReceiver.this, this));
+            }
+            else
+            {
+                process(new JmsWorker(batch, MultiConsumerJmsMessageReceiver.this, this));
+            }
+        }
+
+        private void process(JmsWorker worker)
         {
             try
             {
-                isProcessingMessage = true;
-                // Note: Despite the name "Worker", there is no new thread created here in order to maintain synchronicity for exception handling.
-                JmsWorker worker = new JmsWorker(message, MultiConsumerJmsMessageReceiver.this, this);
                 worker.processMessages();
             }
             catch (Exception e)
@@ -474,17 +586,72 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
                 isProcessingMessage = false;
             }
         }
+
+        /**
+         * Receives batches on a single thread for as long as the consumer is started.
+         */
+        private class BatchReceiveWork implements Work
+        {
+
+            @Override
+            public void run()
+            {
+                do
+                {
+                    try
+                    {
+                        while (started && consumer != null)
+                        {
+                            receiveBatch();
+                        }
+                    }
+                    catch (Exception e)
+                    {
+                        // The connector exception listener takes care of reconnecting, which starts new consumers
+                        if (started)
+                        {
+                            getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+                        }
+                        receivingBatches.set(false);
+                        return;
+                    }
+                    receivingBatches.set(false);
+                }
+                // The consumer may have been restarted before this work noticed it was stopped
+                while (started && receivingBatches.compareAndSet(false, true));
+            }
+
+            @Override
+            public void release()
+            {
+                // nothing to release
+            }
+        }
     }
 
     protected class JmsWorker extends AbstractReceiverWorker
     {
         private final SubReceiver subReceiver;
+        private final Message acknowledgeMessage;
 
         public JmsWorker(Message message, AbstractMessageReceiver receiver, SubReceiver subReceiver)
         {
-            super(new ArrayList<Object>(1), receiver);
+            this(new ArrayList<Object>(singletonList(message)), message, receiver, subReceiver);
+        }
+
+        /**
+         * Creates a worker that routes each message of the batch as an individual event within the same transaction.
+         */
+        public JmsWorker(List<Message> batch, AbstractMessageReceiver receiver, SubReceiver subReceiver)
+        {
+            this(new ArrayList<Object>(batch), batch.get(batch.size() - 1), receiver, subReceiver);
+        }
+
+        protected JmsWorker(List<Object> messages, Message acknowledgeMessage, AbstractMessageReceiver receiver, SubReceiver subReceiver)
+        {
+            super(messages, receiver);
             this.subReceiver = subReceiver;
-            messages.add(message);
+            this.acknowledgeMessage = acknowledgeMessage;
         }
 
         @Override
@@ -534,19 +701,53 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver
                 {
                     logger.debug("Binding " + subReceiver.session + " to " + jmsConnector.getConnection());
                 }
-                tx.bindResource(jmsConnector.getConnection(), ReusableSessionWrapperFactory.createWrapper(subReceiver.session));
+                tx.bindResource(jmsConnector.getConnection(), subReceiver.getReusableSession());
             }
             else
             {
                 if (tx instanceof JmsClientAcknowledgeTransaction)
                 {
                     //We should still bind the session to the transaction, but we also need the message itself
-                    //since that is the object that gets Acknowledged
+                    //since that is the object that gets Acknowledged. Acknowledging the last message of a batch
+                    //acknowledges all the messages consumed by the session.
                     //tx.bindResource(jmsConnector.getConnection(), session);
-                    ((JmsClientAcknowledgeTransaction) tx).setMessage((Message) messages.get(0));
+                    ((JmsClientAcknowledgeTransaction) tx).setMessage(acknowledgeMessage);
                 }
             }
         }
     }
 
+    /**
+     * Routes a whole batch as a single message whose payload is the collection of the received messages.
+     */
+    protected class JmsCollectionWorker extends JmsWorker
+    {
+
+        public JmsCollectionWorker(List<Message> batch, AbstractMessageReceiver receiver, SubReceiver subReceiver)
+        {
+            super(new ArrayList<Object>(singletonList(batch)), batch.get(batch.size() - 1), receiver, subReceiver);
+        }
+
+        @Override
+        protected Object preProcessMessage(Object batch) throws Exception
+        {
+            for (Object message : (List<?>) batch)
+            {
+                super.preProcessMessage(message);
+            }
+            return batch;
+        }
+
+        @Override
+        protected MuleMessage createMuleMessage(Object batch) throws Exception
+        {
+            List<MuleMessage> collection = new ArrayList<MuleMessage>(((List<?>) batch).size());
+            for (Object message : (List<?>) batch)
+            {
+                collection.add(super.createMuleMessage(message));
+            }
+            return MuleMessage.builder().collectionPayload(collection, MuleMessage.class).build();
+        }
+    }
+
 }
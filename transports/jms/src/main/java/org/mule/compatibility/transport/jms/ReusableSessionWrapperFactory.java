@@ -32,4 +32,14 @@ public class ReusableSessionWrapperFactory
         }
     }
 
+    /**
+     * @return true if the session was created by this factory, so closing it does not close the underlying session
+     */
+    public static boolean isWrapper(Session session)
+    {
+        return session instanceof ReusableSessionWrapper
+               || session instanceof ReusableQueueSessionWrapper
+               || session instanceof ReusableTopicSessionWrapper;
+    }
+
 }
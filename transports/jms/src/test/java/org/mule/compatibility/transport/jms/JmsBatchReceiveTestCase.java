@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.functional.junit4.FunctionalTestCase;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.api.client.MuleClient;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests that JMS consumers configured with a batch size route every received message,
+ * both as individual events and as message collections.
+ */
+public class JmsBatchReceiveTestCase extends FunctionalTestCase
+{
+
+    private static final int MESSAGES = 12;
+    private static final int BATCH_SIZE = 5;
+
+    @Override
+    protected String getConfigFile()
+    {
+        return "jms-batch-receive-config.xml";
+    }
+
+    @Test
+    public void pipelinedBatchSentWithinTransaction() throws Exception
+    {
+        MuleClient client = muleContext.getClient();
+        Set<String> expected = new HashSet<String>();
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            expected.add(TEST_MESSAGE + i);
+            client.dispatch("jms://batchIn?connector=batchJms", TEST_MESSAGE + i, null);
+        }
+
+        Set<String> received = new HashSet<String>();
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            MuleMessage response = client.request("jms://batchOut?connector=batchJms", RECEIVE_TIMEOUT);
+            assertThat(response, notNullValue());
+            received.add(getPayloadAsString(response));
+        }
+
+        assertThat(received, equalTo(expected));
+        assertThat(client.request("jms://batchIn?connector=batchJms", RECEIVE_TIMEOUT / 10), nullValue());
+    }
+
+    @Test
+    public void batchRoutedAsCollection() throws Exception
+    {
+        MuleClient client = muleContext.getClient();
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            client.dispatch("jms://collectionIn?connector=collectionJms", TEST_MESSAGE + i, null);
+        }
+
+        int received = 0;
+        while (received < MESSAGES)
+        {
+            MuleMessage response = client.request("vm://collectionOut", RECEIVE_TIMEOUT);
+            assertThat(response, notNullValue());
+            int batchSize = (Integer) response.getPayload();
+            assertThat(batchSize, lessThanOrEqualTo(BATCH_SIZE));
+            received += batchSize;
+        }
+
+        assertThat(received, equalTo(MESSAGES));
+        assertThat(client.request("jms://collectionIn?connector=collectionJms", RECEIVE_TIMEOUT / 10), nullValue());
+    }
+}
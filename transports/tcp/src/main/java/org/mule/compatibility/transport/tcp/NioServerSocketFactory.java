@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
+
+/**
+ * Creates server sockets backed by a {@link ServerSocketChannel}, so connections can be
+ * accepted and read without blocking.
+ */
+public class NioServerSocketFactory extends TcpServerSocketFactory
+{
+
+    @Override
+    public ServerSocket createServerSocket(InetAddress address, int port, int backlog, Boolean reuse) throws IOException
+    {
+        return configure(ServerSocketChannel.open().socket(), reuse, new InetSocketAddress(address, port), backlog);
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog, Boolean reuse) throws IOException
+    {
+        return configure(ServerSocketChannel.open().socket(), reuse, new InetSocketAddress(port), backlog);
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleProperties;
+
+import java.util.Properties;
+
+/**
+ * A {@link TcpConnector} which receives messages using {@link NioTcpMessageReceiver}, where a small
+ * set of I/O threads serves all the connections, instead of using a thread per connection.
+ * <p/>
+ * The configured {@link TcpProtocol} must be a {@link NonBlockingTcpProtocol}.
+ */
+public class NioTcpConnector extends TcpConnector
+{
+
+    public static final int DEFAULT_IO_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of threads used to accept and read the connections
+     */
+    private int ioThreads = DEFAULT_IO_THREADS;
+
+    public NioTcpConnector(MuleContext context)
+    {
+        super(context);
+        setServerSocketFactory(new NioServerSocketFactory());
+        serviceOverrides = new Properties();
+        serviceOverrides.setProperty(MuleProperties.CONNECTOR_MESSAGE_RECEIVER_CLASS,
+            NioTcpMessageReceiver.class.getName());
+    }
+
+    public int getIoThreads()
+    {
+        return ioThreads;
+    }
+
+    public void setIoThreads(int ioThreads)
+    {
+        this.ioThreads = ioThreads;
+    }
+}
@@ -0,0 +1,616 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import static java.nio.channels.SelectionKey.OP_ACCEPT;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static java.nio.channels.SelectionKey.OP_WRITE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_REMOTE_CLIENT_ADDRESS;
+import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
+import org.mule.compatibility.core.api.transport.Connector;
+import org.mule.compatibility.core.connector.EndpointConnectException;
+import org.mule.compatibility.core.transport.AbstractMessageReceiver;
+import org.mule.compatibility.core.transport.AbstractReceiverWorker;
+import org.mule.compatibility.transport.tcp.i18n.TcpMessages;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.lifecycle.CreateException;
+import org.mule.runtime.core.api.transaction.Transaction;
+import org.mule.runtime.core.api.transaction.TransactionException;
+import org.mule.runtime.core.connector.ConnectException;
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
+import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.resource.spi.work.WorkException;
+import javax.resource.spi.work.WorkManager;
+
+/**
+ * <code>NioTcpMessageReceiver</code> acts like a TCP server to receive socket requests using
+ * non-blocking I/O.
+ * <p/>
+ * Connections are accepted and read by a small set of I/O threads, each one serving many connections
+ * with a {@link Selector}, so idle connections do not hold any thread. Received data is split into frames
+ * by the {@link NonBlockingTcpProtocol} of the connector and the frames are only dispatched to the flow,
+ * using the receiver {@link WorkManager}, once they are complete. While the messages received on a connection
+ * are processed no more data is read from it, so messages and responses keep their order.
+ */
+public class NioTcpMessageReceiver extends AbstractMessageReceiver
+{
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    private static final long MAX_SELECT_TIMEOUT = 1000;
+
+    private final NonBlockingTcpProtocol protocol;
+    private final int ioThreads;
+    private final AtomicInteger nextIoLoop = new AtomicInteger();
+
+    private volatile boolean running;
+    private ServerSocketChannel serverChannel;
+    private SelectionKey acceptKey;
+    private IoLoop[] ioLoops;
+    private ExecutorService ioExecutor;
+
+    public NioTcpMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint)
+            throws CreateException
+    {
+        super(connector, flowConstruct, endpoint);
+
+        if (!(connector instanceof NioTcpConnector))
+        {
+            throw new CreateException(TcpMessages.nioReceiverCannotBeUsed(), this);
+        }
+        TcpProtocol tcpProtocol = ((NioTcpConnector) connector).getTcpProtocol();
+        if (!(tcpProtocol instanceof NonBlockingTcpProtocol))
+        {
+            throw new CreateException(TcpMessages.nonBlockingProtocolRequired(tcpProtocol), this);
+        }
+        protocol = (NonBlockingTcpProtocol) tcpProtocol;
+        ioThreads = Math.max(1, ((NioTcpConnector) connector).getIoThreads());
+    }
+
+    @Override
+    protected void doConnect() throws ConnectException
+    {
+        URI uri = endpoint.getEndpointURI().getUri();
+
+        try
+        {
+            ServerSocket serverSocket = ((TcpConnector) connector).getServerSocket(uri);
+            serverChannel = serverSocket.getChannel();
+            if (serverChannel == null)
+            {
+                serverSocket.close();
+                throw new IOException("Server socket factory must create server sockets backed by a channel");
+            }
+            serverChannel.configureBlocking(false);
+
+            ioLoops = new IoLoop[ioThreads];
+            for (int i = 0; i < ioThreads; i++)
+            {
+                ioLoops[i] = new IoLoop(Selector.open());
+            }
+            acceptKey = serverChannel.register(ioLoops[0].selector, isStarted() ? OP_ACCEPT : 0);
+        }
+        catch (Exception e)
+        {
+            closeChannels();
+            throw new EndpointConnectException(TcpMessages.failedToBindToUri(uri), e, this);
+        }
+
+        running = true;
+        ioExecutor = Executors.newFixedThreadPool(ioThreads, new NamedThreadFactory(
+                ThreadNameHelper.receiver(endpoint.getMuleContext(), connector.getName()) + ".io"));
+        for (IoLoop ioLoop : ioLoops)
+        {
+            ioExecutor.execute(ioLoop);
+        }
+    }
+
+    @Override
+    protected void doDisconnect() throws ConnectException
+    {
+        running = false;
+        if (ioExecutor != null)
+        {
+            ioExecutor.shutdown();
+            ioExecutor = null;
+        }
+        closeChannels();
+    }
+
+    @Override
+    protected void doStart() throws MuleException
+    {
+        setAccepting(true);
+    }
+
+    @Override
+    protected void doStop() throws MuleException
+    {
+        setAccepting(false);
+    }
+
+    @Override
+    protected void doDispose()
+    {
+        running = false;
+        closeChannels();
+        logger.info("Closed Tcp port");
+    }
+
+    private void setAccepting(boolean accepting)
+    {
+        final SelectionKey key = acceptKey;
+        final IoLoop[] loops = ioLoops;
+        if (key != null && loops != null)
+        {
+            loops[0].execute(() ->
+            {
+                if (key.isValid())
+                {
+                    key.interestOps(accepting ? OP_ACCEPT : 0);
+                }
+            });
+        }
+    }
+
+    private synchronized void closeChannels()
+    {
+        if (ioLoops != null)
+        {
+            for (IoLoop ioLoop : ioLoops)
+            {
+                if (ioLoop != null)
+                {
+                    ioLoop.selector.wakeup();
+                }
+            }
+            ioLoops = null;
+        }
+        acceptKey = null;
+
+        if (serverChannel != null)
+        {
+            if (logger.isDebugEnabled())
+            {
+                logger.debug("Closing: " + serverChannel);
+            }
+            try
+            {
+                serverChannel.close();
+            }
+            catch (IOException e)
+            {
+                logger.warn("Failed to close server socket: " + e.getMessage(), e);
+            }
+            serverChannel = null;
+        }
+    }
+
+    /**
+     * Serves a set of connections from a single thread.  Other threads interact with the
+     * connections by submitting tasks to the loop, see {@link #execute(Runnable)}.
+     */
+    private class IoLoop implements Runnable
+    {
+
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        private IoLoop(Selector selector)
+        {
+            this.selector = selector;
+        }
+
+        private void execute(Runnable task)
+        {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run()
+        {
+            final long keepAliveTimeout = ((TcpConnector) connector).getKeepAliveTimeout();
+            final long selectTimeout = keepAliveTimeout > 0 ? Math.min(keepAliveTimeout, MAX_SELECT_TIMEOUT) : 0;
+
+            try
+            {
+                while (running)
+                {
+                    selector.select(selectTimeout);
+                    runTasks();
+
+                    Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                    while (selectedKeys.hasNext())
+                    {
+                        SelectionKey key = selectedKeys.next();
+                        selectedKeys.remove();
+                        if (!key.isValid())
+                        {
+                            continue;
+                        }
+
+                        if (key.attachment() == null)
+                        {
+                            if (key.isAcceptable())
+                            {
+                                accept((ServerSocketChannel) key.channel());
+                            }
+                        }
+                        else
+                        {
+                            TcpConnection connection = (TcpConnection) key.attachment();
+                            if (key.isReadable())
+                            {
+                                connection.read(readBuffer);
+                            }
+                            if (key.isValid() && key.isWritable())
+                            {
+                                connection.flush();
+                            }
+                        }
+                    }
+
+                    if (keepAliveTimeout > 0)
+                    {
+                        closeIdleConnections(keepAliveTimeout);
+                    }
+                }
+            }
+            catch (ClosedSelectorException e)
+            {
+                // closed while disconnecting
+            }
+            catch (Exception e)
+            {
+                if (running)
+                {
+                    getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+                }
+            }
+            finally
+            {
+                close();
+            }
+        }
+
+        private void runTasks()
+        {
+            Runnable task;
+            while ((task = tasks.poll()) != null)
+            {
+                task.run();
+            }
+        }
+
+        private void accept(ServerSocketChannel channel)
+        {
+            SocketChannel socketChannel;
+            try
+            {
+                while ((socketChannel = channel.accept()) != null)
+                {
+                    ((TcpConnector) connector).configureSocket(TcpConnector.SERVER, socketChannel.socket());
+                    socketChannel.configureBlocking(false);
+
+                    final IoLoop ioLoop = ioLoops[Math.floorMod(nextIoLoop.getAndIncrement(), ioLoops.length)];
+                    final SocketChannel acceptedChannel = socketChannel;
+                    ioLoop.execute(() -> ioLoop.register(acceptedChannel));
+                }
+            }
+            catch (Exception e)
+            {
+                if (running)
+                {
+                    getEndpoint().getMuleContext().getExceptionListener().handleException(new EndpointConnectException(e, null));
+                }
+            }
+        }
+
+        private void register(SocketChannel channel)
+        {
+            TcpConnection connection = new TcpConnection(this, channel);
+            try
+            {
+                connection.key = channel.register(selector, OP_READ, connection);
+            }
+            catch (IOException e)
+            {
+                logger.warn("Failed to register connection: " + e.getMessage());
+                connection.close();
+            }
+        }
+
+        private void closeIdleConnections(long keepAliveTimeout)
+        {
+            final long now = System.currentTimeMillis();
+            for (SelectionKey key : selector.keys())
+            {
+                TcpConnection connection = (TcpConnection) key.attachment();
+                if (connection != null && !connection.processing && now - connection.lastActivity > keepAliveTimeout)
+                {
+                    connection.close();
+                }
+            }
+        }
+
+        private void close()
+        {
+            try
+            {
+                for (SelectionKey key : selector.keys())
+                {
+                    if (key.attachment() != null)
+                    {
+                        ((TcpConnection) key.attachment()).close();
+                    }
+                }
+                selector.close();
+            }
+            catch (Exception e)
+            {
+                logger.warn("Failed to close selector: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * State of a single accepted connection. All the methods are invoked from the thread of its {@link IoLoop}.
+     */
+    private class TcpConnection
+    {
+
+        private final IoLoop ioLoop;
+        private final SocketChannel channel;
+        private final SocketAddress remoteAddress;
+        private final TcpFrameDecoder decoder = protocol.createFrameDecoder();
+        private final Queue<ByteBuffer> pendingWrites = new ArrayDeque<>();
+        private SelectionKey key;
+        private boolean processing;
+        private boolean endOfStream;
+        private long lastActivity = System.currentTimeMillis();
+
+        private TcpConnection(IoLoop ioLoop, SocketChannel channel)
+        {
+            this.ioLoop = ioLoop;
+            this.channel = channel;
+            this.remoteAddress = channel.socket().getRemoteSocketAddress();
+        }
+
+        private void read(ByteBuffer buffer)
+        {
+            final List<Object> frames = new ArrayList<>();
+            try
+            {
+                buffer.clear();
+                lastActivity = System.currentTimeMillis();
+                if (channel.read(buffer) < 0)
+                {
+                    endOfStream = true;
+                    addFrame(frames, decoder.endOfStream());
+                }
+                else
+                {
+                    buffer.flip();
+                    byte[] frame;
+                    while ((frame = decoder.decode(buffer)) != null)
+                    {
+                        frames.add(frame);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                if (logger.isDebugEnabled())
+                {
+                    logger.debug("Closing connection from " + remoteAddress + ": " + e.getMessage());
+                }
+                close();
+                return;
+            }
+
+            if (!frames.isEmpty())
+            {
+                process(frames);
+            }
+            else if (endOfStream)
+            {
+                closeWhenFlushed();
+            }
+        }
+
+        private void addFrame(List<Object> frames, byte[] frame)
+        {
+            if (frame != null)
+            {
+                frames.add(frame);
+            }
+        }
+
+        private void process(List<Object> frames)
+        {
+            processing = true;
+            key.interestOps(key.interestOps() & ~OP_READ);
+            try
+            {
+                getWorkManager().scheduleWork(new FrameWorker(this, frames), WorkManager.INDEFINITE, null, connector);
+            }
+            catch (WorkException e)
+            {
+                getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+                close();
+            }
+        }
+
+        /**
+         * Invoked once the messages read from this connection are processed.
+         *
+         * @param responses data to write back to the client
+         */
+        private void processed(List<byte[]> responses)
+        {
+            processing = false;
+            lastActivity = System.currentTimeMillis();
+            if (!key.isValid())
+            {
+                return;
+            }
+
+            for (byte[] response : responses)
+            {
+                pendingWrites.add(ByteBuffer.wrap(response));
+            }
+            if (!endOfStream)
+            {
+                key.interestOps(key.interestOps() | OP_READ);
+            }
+            flush();
+        }
+
+        private void flush()
+        {
+            try
+            {
+                while (!pendingWrites.isEmpty())
+                {
+                    ByteBuffer data = pendingWrites.peek();
+                    channel.write(data);
+                    if (data.hasRemaining())
+                    {
+                        key.interestOps(key.interestOps() | OP_WRITE);
+                        return;
+                    }
+                    pendingWrites.poll();
+                }
+            }
+            catch (IOException e)
+            {
+                logger.warn("Failed to write response to " + remoteAddress + ": " + e.getMessage());
+                close();
+                return;
+            }
+
+            key.interestOps(key.interestOps() & ~OP_WRITE);
+            if (endOfStream)
+            {
+                closeWhenFlushed();
+            }
+        }
+
+        private void closeWhenFlushed()
+        {
+            if (!processing && pendingWrites.isEmpty())
+            {
+                close();
+            }
+        }
+
+        private void close()
+        {
+            if (key != null)
+            {
+                key.cancel();
+            }
+            try
+            {
+                channel.close();
+            }
+            catch (IOException e)
+            {
+                logger.warn("Socket close failed with: " + e);
+            }
+        }
+    }
+
+    /**
+     * Processes the frames read from a connection and collects the responses.
+     */
+    private class FrameWorker extends AbstractReceiverWorker
+    {
+
+        private final TcpConnection connection;
+        private final List<byte[]> responses = new ArrayList<>();
+
+        private FrameWorker(TcpConnection connection, List<Object> frames)
+        {
+            super(frames, NioTcpMessageReceiver.this);
+            this.connection = connection;
+        }
+
+        @Override
+        protected void bindTransaction(Transaction tx) throws TransactionException
+        {
+            //nothing to do
+        }
+
+        @Override
+        protected Object preProcessMessage(Object message) throws Exception
+        {
+            return protocol.readFrame((byte[]) message);
+        }
+
+        @Override
+        protected MuleMessage preRouteMuleMessage(final MuleMessage message) throws Exception
+        {
+            MuleMessage muleMessage = super.preRouteMuleMessage(message);
+
+            if (connection.remoteAddress != null)
+            {
+                return MuleMessage.builder(muleMessage).addOutboundProperty(MULE_REMOTE_CLIENT_ADDRESS, connection.remoteAddress.toString()).build();
+            }
+            else
+            {
+                return muleMessage;
+            }
+        }
+
+        @Override
+        protected void handleResults(List messages) throws Exception
+        {
+            //should send back only if remote synch is set or no outbound endpoints
+            if (endpoint.getExchangePattern().hasResponse())
+            {
+                for (Object message : messages)
+                {
+                    ByteArrayOutputStream response = new ByteArrayOutputStream();
+                    protocol.write(response, message);
+                    responses.add(response.toByteArray());
+                }
+            }
+        }
+
+        @Override
+        public void release()
+        {
+            connection.ioLoop.execute(() -> connection.processed(responses));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import java.io.IOException;
+
+/**
+ * A {@link TcpProtocol} that can also frame messages received on non-blocking
+ * connections, as done by {@link NioTcpMessageReceiver}.
+ */
+public interface NonBlockingTcpProtocol extends TcpProtocol
+{
+
+    /**
+     * @return a new decoder to split the data received on a single connection into frames
+     */
+    TcpFrameDecoder createFrameDecoder();
+
+    /**
+     * Reads a message from a complete frame.
+     *
+     * @param frame a frame returned by a decoder created by this protocol
+     * @return the message contained in the frame, or null if there is no message
+     * @throws IOException if an exception occurs
+     */
+    Object readFrame(byte[] frame) throws IOException;
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Splits the data received on a single connection into frames without blocking.
+ * <p/>
+ * A decoder keeps the state of a partially received frame between invocations, so
+ * each connection must use its own decoder. Decoders are not thread safe.
+ */
+public interface TcpFrameDecoder
+{
+
+    /**
+     * Consumes the received data up to the end of the next frame.
+     *
+     * @param data data received from the connection, ready to be read
+     * @return the next complete frame, or null when all the data was consumed without completing a frame
+     * @throws IOException if the data does not follow the protocol
+     */
+    byte[] decode(ByteBuffer data) throws IOException;
+
+    /**
+     * Invoked when the remote peer closes the connection.
+     *
+     * @return the last frame, or null when there is no pending frame
+     * @throws IOException if the connection was closed in the middle of a frame
+     */
+    byte[] endOfStream() throws IOException;
+
+}
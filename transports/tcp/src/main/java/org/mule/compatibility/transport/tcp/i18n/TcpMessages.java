@@ -8,6 +8,7 @@ package org.mule.compatibility.transport.tcp.i18n;
 
 import org.mule.compatibility.transport.tcp.TcpConnector;
 import org.mule.compatibility.transport.tcp.TcpPropertyHelper;
+import org.mule.compatibility.transport.tcp.TcpProtocol;
 import org.mule.runtime.core.config.i18n.Message;
 import org.mule.runtime.core.config.i18n.MessageFactory;
 
@@ -48,6 +49,14 @@ public class TcpMessages extends MessageFactory
     {
         return factory.createMessage(BUNDLE_PATH, 6, TcpPropertyHelper.MULE_TCP_BIND_LOCALHOST_TO_ALL_LOCAL_INTERFACES_PROPERTY);
     }
-}
 
+    public static Message nioReceiverCannotBeUsed()
+    {
+        return factory.createMessage(BUNDLE_PATH, 7);
+    }
 
+    public static Message nonBlockingProtocolRequired(TcpProtocol protocol)
+    {
+        return factory.createMessage(BUNDLE_PATH, 8, protocol == null ? null : protocol.getClass().getName());
+    }
+}
@@ -15,6 +15,7 @@ import org.mule.runtime.core.api.serialization.ObjectSerializer;
 import org.mule.runtime.core.util.ClassUtils;
 import org.mule.runtime.core.util.IOUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -226,6 +227,20 @@ public abstract class AbstractByteProtocol implements TcpProtocol
         }
     }
 
+    /**
+     * Reads a message from a complete frame, as received by a non-blocking connection. This implementation
+     * reads the frame using {@link #read(InputStream)}, so frames must contain all the data written by the
+     * protocol for a single message.
+     *
+     * @param frame a complete frame
+     * @return the message contained in the frame, or null if there is no message
+     * @throws IOException if an exception occurs
+     */
+    public Object readFrame(byte[] frame) throws IOException
+    {
+        return read(new ByteArrayInputStream(frame));
+    }
+
     @Override
     public ResponseOutputStream createResponse(Socket socket) throws IOException
     {
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp.protocols;
+
+import org.mule.compatibility.transport.tcp.TcpFrameDecoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes frames written by {@link EOFProtocol}, where all the data received until the
+ * connection is closed is a single frame.
+ */
+public class EOFFrameDecoder implements TcpFrameDecoder
+{
+
+    private final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+
+    @Override
+    public byte[] decode(ByteBuffer data)
+    {
+        byte[] chunk = new byte[data.remaining()];
+        data.get(chunk);
+        frame.write(chunk, 0, chunk.length);
+
+        return null;
+    }
+
+    @Override
+    public byte[] endOfStream()
+    {
+        return frame.size() == 0 ? null : frame.toByteArray();
+    }
+}
@@ -6,13 +6,22 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.NonBlockingTcpProtocol;
+import org.mule.compatibility.transport.tcp.TcpFrameDecoder;
+
 /**
  * The EOFProtocol class is an application level tcp protocol that does nothing.
  * Reading is terminated by the stream being closed by the client.
  */
-public class EOFProtocol extends DirectProtocol
+public class EOFProtocol extends DirectProtocol implements NonBlockingTcpProtocol
 {
 
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new EOFFrameDecoder();
+    }
+
     /**
      * Repeat until end of file
      *
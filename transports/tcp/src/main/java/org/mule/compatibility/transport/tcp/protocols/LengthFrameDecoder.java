@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp.protocols;
+
+import org.mule.compatibility.transport.tcp.TcpFrameDecoder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes frames written by {@link LengthProtocol}. Returned frames include the length
+ * header, so they can be read using {@link LengthProtocol#read(java.io.InputStream)}.
+ */
+public class LengthFrameDecoder implements TcpFrameDecoder
+{
+
+    private static final int SIZE_INT = 4;
+
+    private final int maxMessageLength;
+    private final ByteBuffer header = ByteBuffer.allocate(SIZE_INT);
+    private ByteBuffer frame;
+
+    /**
+     * @param maxMessageLength maximum length of the frame data, or {@link LengthProtocol#NO_MAX_LENGTH}
+     */
+    public LengthFrameDecoder(int maxMessageLength)
+    {
+        this.maxMessageLength = maxMessageLength;
+    }
+
+    @Override
+    public byte[] decode(ByteBuffer data) throws IOException
+    {
+        if (frame == null)
+        {
+            transfer(data, header);
+            if (header.hasRemaining())
+            {
+                return null;
+            }
+
+            int length = header.getInt(0);
+            if (length < 0 || (maxMessageLength > 0 && length > maxMessageLength))
+            {
+                throw new IOException("Length " + length + " exceeds limit: " + maxMessageLength);
+            }
+            frame = ByteBuffer.allocate(SIZE_INT + length);
+            frame.putInt(length);
+            header.clear();
+        }
+
+        transfer(data, frame);
+        if (frame.hasRemaining())
+        {
+            return null;
+        }
+
+        byte[] result = frame.array();
+        frame = null;
+        return result;
+    }
+
+    @Override
+    public byte[] endOfStream() throws IOException
+    {
+        if (frame == null && header.position() == 0)
+        {
+            return null;
+        }
+        throw new EOFException("Connection closed before the end of the message");
+    }
+
+    private static void transfer(ByteBuffer source, ByteBuffer target)
+    {
+        int length = Math.min(source.remaining(), target.remaining());
+        ByteBuffer chunk = source.duplicate();
+        chunk.limit(chunk.position() + length);
+        target.put(chunk);
+        source.position(source.position() + length);
+    }
+}
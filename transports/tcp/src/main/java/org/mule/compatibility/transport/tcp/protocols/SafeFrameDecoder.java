@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp.protocols;
+
+import org.mule.compatibility.transport.tcp.TcpFrameDecoder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes frames written by {@link SafeProtocol}. Returned frames contain both the cookie
+ * and the data, so they can be read using {@link SafeProtocol#read(java.io.InputStream)}.
+ */
+public class SafeFrameDecoder implements TcpFrameDecoder
+{
+
+    private final TcpFrameDecoder cookieDecoder;
+    private final TcpFrameDecoder dataDecoder;
+    private byte[] cookie;
+
+    /**
+     * @param maxCookieLength maximum length of the cookie
+     * @param maxMessageLength maximum length of the data, or {@link LengthProtocol#NO_MAX_LENGTH}
+     */
+    public SafeFrameDecoder(int maxCookieLength, int maxMessageLength)
+    {
+        cookieDecoder = new LengthFrameDecoder(maxCookieLength);
+        dataDecoder = new LengthFrameDecoder(maxMessageLength);
+    }
+
+    @Override
+    public byte[] decode(ByteBuffer data) throws IOException
+    {
+        if (cookie == null)
+        {
+            cookie = cookieDecoder.decode(data);
+            if (cookie == null)
+            {
+                return null;
+            }
+        }
+
+        byte[] frameData = dataDecoder.decode(data);
+        if (frameData == null)
+        {
+            return null;
+        }
+
+        byte[] frame = new byte[cookie.length + frameData.length];
+        System.arraycopy(cookie, 0, frame, 0, cookie.length);
+        System.arraycopy(frameData, 0, frame, cookie.length, frameData.length);
+        cookie = null;
+
+        return frame;
+    }
+
+    @Override
+    public byte[] endOfStream() throws IOException
+    {
+        if (cookie != null)
+        {
+            throw new EOFException("Connection closed after the cookie but before the data");
+        }
+        return cookieDecoder.endOfStream();
+    }
+}
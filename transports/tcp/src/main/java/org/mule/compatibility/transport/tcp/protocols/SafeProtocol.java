@@ -6,11 +6,14 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.NonBlockingTcpProtocol;
+import org.mule.compatibility.transport.tcp.TcpFrameDecoder;
 import org.mule.compatibility.transport.tcp.TcpProtocol;
 import org.mule.runtime.core.ResponseOutputStream;
 import org.mule.runtime.core.api.serialization.DefaultObjectSerializer;
 import org.mule.runtime.core.api.serialization.ObjectSerializer;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -25,11 +28,11 @@ import javax.inject.Inject;
  * You should probably change to LengthProtocol.
  * Remember - both sender and receiver must use the same protocol.
  */
-public class SafeProtocol implements TcpProtocol
+public class SafeProtocol implements NonBlockingTcpProtocol
 {
 
     public static final String COOKIE = "You are using SafeProtocol";
-    private TcpProtocol delegate = new LengthProtocol();
+    private LengthProtocol delegate = new LengthProtocol();
     private TcpProtocol cookieProtocol = new LengthProtocol(COOKIE.length());
 
     @Override
@@ -51,6 +54,18 @@ public class SafeProtocol implements TcpProtocol
         }
     }
 
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new SafeFrameDecoder(COOKIE.length(), delegate.getMaxMessageLength());
+    }
+
+    @Override
+    public Object readFrame(byte[] frame) throws IOException
+    {
+        return read(new ByteArrayInputStream(frame));
+    }
+
     @Override
     public void write(OutputStream os, Object data) throws IOException
     {
@@ -6,6 +6,8 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.TcpFrameDecoder;
+
 /**
  * Extend {@link org.mule.compatibility.transport.tcp.protocols.XmlMessageProtocol} to continue reading
  * until either a new message or EOF is found.
@@ -13,6 +15,12 @@ package org.mule.compatibility.transport.tcp.protocols;
 public class XmlMessageEOFProtocol extends XmlMessageProtocol
 {
 
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new XmlMessageFrameDecoder(true);
+    }
+
     /**
      * Continue reading til EOF or new document found
      *
@@ -6,6 +6,9 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.NonBlockingTcpProtocol;
+import org.mule.compatibility.transport.tcp.TcpFrameDecoder;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
@@ -45,7 +48,7 @@ import java.util.concurrent.ConcurrentMap;
  * be read later.
  * </p>
  */
-public class XmlMessageProtocol extends AbstractByteProtocol
+public class XmlMessageProtocol extends AbstractByteProtocol implements NonBlockingTcpProtocol
 {
     
     private static final String XML_PATTERN = "<?xml";
@@ -127,6 +130,18 @@ public class XmlMessageProtocol extends AbstractByteProtocol
         }
     }
 
+    @Override
+    public TcpFrameDecoder createFrameDecoder()
+    {
+        return new XmlMessageFrameDecoder(false);
+    }
+
+    @Override
+    public Object readFrame(byte[] frame) throws IOException
+    {
+        return nullEmptyArray(frame);
+    }
+
     /**
      * Show we continue reading?  This class, following previous implementations, only
      * reads while input is saturated.
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import static org.junit.Assert.assertEquals;
+import org.mule.functional.junit4.FunctionalTestCase;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.api.client.MuleClient;
+import org.mule.tck.junit4.rule.DynamicPort;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class NioTcpFunctionalTestCase extends FunctionalTestCase
+{
+
+    protected static String TEST_MESSAGE = "Test TCP Request";
+
+    @ClassRule
+    public static DynamicPort dynamicPort1 = new DynamicPort("port1");
+
+    public NioTcpFunctionalTestCase()
+    {
+        setDisposeContextPerClass(true);
+    }
+
+    @Override
+    protected String getConfigFile()
+    {
+        return "nio-tcp-functional-test-flow.xml";
+    }
+
+    @Test
+    public void testSend() throws Exception
+    {
+        MuleClient client = muleContext.getClient();
+        MuleMessage result = client.send("clientEndpoint", TEST_MESSAGE, null);
+        assertEquals(TEST_MESSAGE + " Received", getPayloadAsString(result));
+    }
+
+    @Test
+    public void testSendManyMessagesOnSameConnection() throws Exception
+    {
+        MuleClient client = muleContext.getClient();
+        for (int i = 0; i < 10; i++)
+        {
+            MuleMessage result = client.send("clientEndpoint", TEST_MESSAGE + i, null);
+            assertEquals(TEST_MESSAGE + i + " Received", getPayloadAsString(result));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp.protocols;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.mule.compatibility.transport.tcp.NonBlockingTcpProtocol;
+import org.mule.compatibility.transport.tcp.TcpFrameDecoder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+@SmallTest
+public class FrameDecoderTestCase extends AbstractMuleTestCase
+{
+
+    private static final String FIRST_MESSAGE = "first message";
+    private static final String SECOND_MESSAGE = "second message";
+
+    @Test
+    public void lengthFramesSplitInChunks() throws Exception
+    {
+        assertSplitInChunks(new LengthProtocol());
+    }
+
+    @Test
+    public void lengthFramesInSingleChunk() throws Exception
+    {
+        LengthProtocol protocol = new LengthProtocol();
+        TcpFrameDecoder decoder = protocol.createFrameDecoder();
+        ByteBuffer data = ByteBuffer.wrap(concat(write(protocol, FIRST_MESSAGE), write(protocol, SECOND_MESSAGE)));
+
+        assertMessage(protocol, decoder.decode(data), FIRST_MESSAGE);
+        assertMessage(protocol, decoder.decode(data), SECOND_MESSAGE);
+        assertThat(decoder.decode(data), nullValue());
+        assertThat(decoder.endOfStream(), nullValue());
+    }
+
+    @Test(expected = IOException.class)
+    public void lengthFrameExceedingMaxLength() throws Exception
+    {
+        LengthProtocol protocol = new LengthProtocol(FIRST_MESSAGE.length() - 1);
+        protocol.createFrameDecoder().decode(ByteBuffer.wrap(write(protocol, FIRST_MESSAGE)));
+    }
+
+    @Test(expected = EOFException.class)
+    public void lengthFrameClosedBeforeEnd() throws Exception
+    {
+        LengthProtocol protocol = new LengthProtocol();
+        byte[] frame = write(protocol, FIRST_MESSAGE);
+        TcpFrameDecoder decoder = protocol.createFrameDecoder();
+
+        assertThat(decoder.decode(ByteBuffer.wrap(frame, 0, frame.length - 1)), nullValue());
+        decoder.endOfStream();
+    }
+
+    @Test
+    public void safeFramesSplitInChunks() throws Exception
+    {
+        assertSplitInChunks(new SafeProtocol());
+    }
+
+    @Test
+    public void eofFrame() throws Exception
+    {
+        EOFProtocol protocol = new EOFProtocol();
+        TcpFrameDecoder decoder = protocol.createFrameDecoder();
+        byte[] data = FIRST_MESSAGE.getBytes();
+
+        assertThat(decoder.decode(ByteBuffer.wrap(data, 0, 5)), nullValue());
+        assertThat(decoder.decode(ByteBuffer.wrap(data, 5, data.length - 5)), nullValue());
+        assertMessage(protocol, decoder.endOfStream(), FIRST_MESSAGE);
+    }
+
+    @Test
+    public void xmlFrames() throws Exception
+    {
+        String firstDocument = "<?xml version=\"1.0\"?><first/>";
+        String secondDocument = "<?xml version=\"1.0\"?><second/>";
+        XmlMessageEOFProtocol protocol = new XmlMessageEOFProtocol();
+        TcpFrameDecoder decoder = protocol.createFrameDecoder();
+        byte[] data = (firstDocument + secondDocument).getBytes();
+
+        // the start of the next document is split between both chunks
+        int chunkEnd = firstDocument.length() + 2;
+        assertThat(decoder.decode(ByteBuffer.wrap(data, 0, chunkEnd)), nullValue());
+        assertMessage(protocol, decoder.decode(ByteBuffer.wrap(data, chunkEnd, data.length - chunkEnd)), firstDocument);
+        assertThat(decoder.decode(ByteBuffer.allocate(0)), nullValue());
+        assertMessage(protocol, decoder.endOfStream(), secondDocument);
+    }
+
+    @Test
+    public void xmlFrameWhenNoMoreDataAvailable() throws Exception
+    {
+        String document = "<?xml version=\"1.0\"?><document/>";
+        XmlMessageProtocol protocol = new XmlMessageProtocol();
+
+        assertMessage(protocol, protocol.createFrameDecoder().decode(ByteBuffer.wrap(document.getBytes())), document);
+    }
+
+    private void assertSplitInChunks(NonBlockingTcpProtocol protocol) throws Exception
+    {
+        TcpFrameDecoder decoder = protocol.createFrameDecoder();
+        byte[] data = concat(write(protocol, FIRST_MESSAGE), write(protocol, SECOND_MESSAGE));
+
+        int frames = 0;
+        String[] messages = new String[2];
+        for (int i = 0; i < data.length; i++)
+        {
+            byte[] frame = decoder.decode(ByteBuffer.wrap(data, i, 1));
+            if (frame != null)
+            {
+                messages[frames++] = new String((byte[]) protocol.readFrame(frame));
+            }
+        }
+
+        assertThat(messages, equalTo(new String[] {FIRST_MESSAGE, SECOND_MESSAGE}));
+        assertThat(decoder.endOfStream(), nullValue());
+    }
+
+    private void assertMessage(NonBlockingTcpProtocol protocol, byte[] frame, String expected) throws IOException
+    {
+        assertThat(new String((byte[]) protocol.readFrame(frame)), equalTo(expected));
+    }
+
+    private byte[] write(NonBlockingTcpProtocol protocol, String message) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        protocol.write(out, message);
+        return out.toByteArray();
+    }
+
+    private byte[] concat(byte[] first, byte[] second)
+    {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}